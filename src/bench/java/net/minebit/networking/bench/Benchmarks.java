@@ -0,0 +1,103 @@
+package net.minebit.networking.bench;
+
+import java.util.function.IntSupplier;
+
+import net.minebit.networking.exceptions.IllegalConstructionException;
+
+/**
+ * This class runs the benchmarks of the library and contains the means to time
+ * an operation. Every operation is repeated in rounds, the first of which only
+ * warm up the runtime, and the fastest measured round is reported, since slower
+ * ones are slowed down by the rest of the system rather than by the operation.
+ * The benchmarks are run by the <code>bench</code> task of the build, either
+ * all of them or the ones whose names are given as arguments.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+public final class Benchmarks {
+
+	/**
+	 * The number of rounds run before the measured ones.
+	 */
+	public static final int WARMUP_ROUNDS = 5;
+
+	/**
+	 * The number of measured rounds.
+	 */
+	public static final int ROUNDS = 10;
+
+	private static volatile int sink = 0;
+
+	/**
+	 * This constructor throws an {@link IllegalConstructionException} as
+	 * {@link Benchmarks} objects can't and shouldn't be constructed
+	 */
+	private Benchmarks() {
+		throw new IllegalConstructionException(Benchmarks.class.getSimpleName() + " objects cannot be constructed!");
+	}
+
+	/**
+	 * This method runs the benchmarks whose names are given, or all of them if
+	 * none are given.
+	 *
+	 * @param args The names of the benchmarks to run
+	 */
+	public static void main(String[] args) {
+		if (selected(args, "message")) {
+			MessageEncodingBenchmark.run();
+		}
+		if (selected(args, "compression")) {
+			CompressionBenchmark.run();
+		}
+	}
+
+	/**
+	 * This method runs the given operation the given number of times per round
+	 * and returns the time a single operation took in the fastest round in
+	 * nanoseconds. The values returned by the operation are consumed, so the
+	 * runtime cannot skip the work producing them.
+	 *
+	 * @param operations The number of operations per round
+	 * @param operation  The operation to time
+	 * @return The nanoseconds per operation
+	 */
+	public static double measure(int operations, IntSupplier operation) {
+		long best = Long.MAX_VALUE;
+		int result = 0;
+		for (int round = 0; round < WARMUP_ROUNDS + ROUNDS; round++) {
+			long start = System.nanoTime();
+			for (int count = 0; count < operations; count++) {
+				result += operation.getAsInt();
+			}
+			long elapsed = System.nanoTime() - start;
+			if (round >= WARMUP_ROUNDS) {
+				best = Math.min(best, elapsed);
+			}
+		}
+		sink += result;
+		return (double) best / operations;
+	}
+
+	/**
+	 * This method returns whether the benchmark with the given name should run
+	 * according to the given arguments.
+	 *
+	 * @param args The names of the benchmarks to run
+	 * @param name The name of the benchmark
+	 * @return Whether the benchmark should run
+	 */
+	private static boolean selected(String[] args, String name) {
+		if (args.length == 0) {
+			return true;
+		}
+		for (String arg : args) {
+			if (arg.equals(name)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
@@ -0,0 +1,196 @@
+package net.minebit.networking.bench;
+
+import java.util.Random;
+
+import net.minebit.networking.exceptions.IllegalConstructionException;
+import net.minebit.networking.messages.Message;
+import net.minebit.networking.messages.MessageBuilder;
+import net.minebit.networking.wrappers.CompressionWrapper;
+import net.minebit.networking.wrappers.LzWrapper;
+
+/**
+ * This class compares the {@link LzWrapper} with the {@link CompressionWrapper}
+ * on payloads of encoded {@link Message}s resembling the updates of a game
+ * server, in batches of 1, 16 and 64 messages. For every codec and batch size
+ * the compressed size relative to the original one and the throughput of
+ * compressing and decompressing into preallocated arrays are reported, where
+ * the throughput is measured in megabytes of original data per second.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+final class CompressionBenchmark {
+
+	private static final int[] BATCHES = { 1, 16, 64 };
+	private static final int PAYLOADS = 256;
+	private static final int BYTES_PER_ROUND = 64 * 1024 * 1024;
+
+	/**
+	 * This constructor throws an {@link IllegalConstructionException} as
+	 * {@link CompressionBenchmark} objects can't and shouldn't be constructed
+	 */
+	private CompressionBenchmark() {
+		throw new IllegalConstructionException(CompressionBenchmark.class.getSimpleName() + " objects cannot be constructed!");
+	}
+
+	/**
+	 * This method runs the benchmark and prints its results.
+	 */
+	static void run() {
+		System.out.println("Compression of Message payloads");
+		System.out.printf("%8s %6s %8s %10s %14s %14s%n", "codec", "batch", "bytes", "ratio", "wrap MB/s", "unwrap MB/s");
+		Random random = new Random(0);
+		for (int batch : BATCHES) {
+			byte[][] payloads = new byte[PAYLOADS][];
+			long total = 0;
+			for (int index = 0; index < PAYLOADS; index++) {
+				payloads[index] = payload(random, batch);
+				total += payloads[index].length;
+			}
+			int average = (int) (total / PAYLOADS);
+			measure("lz", batch, average, payloads, new Codec() {
+
+				@Override
+				public int wrap(byte[] source, byte[] target) {
+					return LzWrapper.INSTANCE.wrap(source, 0, source.length, target, 0);
+				}
+
+				@Override
+				public int unwrap(byte[] source, int length, byte[] target) {
+					return LzWrapper.INSTANCE.unwrap(source, 0, length, target, 0);
+				}
+
+				@Override
+				public int getMaxWrappedLength(int length) {
+					return LzWrapper.getMaxWrappedLength(length);
+				}
+
+			});
+			measure("zlib", batch, average, payloads, new Codec() {
+
+				@Override
+				public int wrap(byte[] source, byte[] target) {
+					return CompressionWrapper.INSTANCE.wrap(source, 0, source.length, target, 0);
+				}
+
+				@Override
+				public int unwrap(byte[] source, int length, byte[] target) {
+					return CompressionWrapper.INSTANCE.unwrap(source, 0, length, target, 0);
+				}
+
+				@Override
+				public int getMaxWrappedLength(int length) {
+					return CompressionWrapper.getMaxWrappedLength(length);
+				}
+
+			});
+		}
+	}
+
+	/**
+	 * This method measures the given codec on the given payloads and prints the
+	 * results.
+	 *
+	 * @param name     The name of the codec
+	 * @param batch    The number of messages of every payload
+	 * @param average  The average length of the payloads
+	 * @param payloads The payloads to compress
+	 * @param codec    The codec to measure
+	 */
+	private static void measure(String name, int batch, int average, byte[][] payloads, Codec codec) {
+		byte[][] wrapped = new byte[payloads.length][];
+		int[] lengths = new int[payloads.length];
+		long original = 0, compressed = 0;
+		int longest = 0;
+		for (int index = 0; index < payloads.length; index++) {
+			longest = Math.max(longest, payloads[index].length);
+			wrapped[index] = new byte[codec.getMaxWrappedLength(payloads[index].length)];
+			lengths[index] = codec.wrap(payloads[index], wrapped[index]);
+			original += payloads[index].length;
+			compressed += lengths[index];
+		}
+		byte[] target = new byte[codec.getMaxWrappedLength(longest)];
+		byte[] unwrapped = new byte[longest];
+		int operations = Math.max(BYTES_PER_ROUND / Math.max(average, 1) / payloads.length, 1) * payloads.length;
+		int[] next = new int[1];
+		double wrapNanos = Benchmarks.measure(operations, () -> codec.wrap(payloads[next[0]++ % payloads.length], target));
+		double unwrapNanos = Benchmarks.measure(operations, () -> {
+			int index = next[0]++ % payloads.length;
+			return codec.unwrap(wrapped[index], lengths[index], unwrapped);
+		});
+		System.out.printf("%8s %6d %8d %10.3f %14.0f %14.0f%n", name, batch, average, (double) compressed / original, average * 1000 / wrapNanos, average * 1000 / unwrapNanos);
+	}
+
+	/**
+	 * This method returns the encoded form of the given number of messages,
+	 * resembling the movement updates of the players of a game server.
+	 *
+	 * @param random The source of the values of the messages
+	 * @param batch  The number of messages
+	 * @return The encoded messages
+	 */
+	private static byte[] payload(Random random, int batch) {
+		byte[][] messages = new byte[batch][];
+		int length = 0;
+		for (int index = 0; index < batch; index++) {
+			MessageBuilder builder = MessageBuilder.empty();
+			builder.setTitle("player.move");
+			builder.setEntry("player", "player-" + random.nextInt(64));
+			builder.setEntry("world", "overworld");
+			builder.setEntry("x", random.nextInt(2048) - 1024 + random.nextDouble());
+			builder.setEntry("y", 64.0);
+			builder.setEntry("z", random.nextInt(2048) - 1024 + random.nextDouble());
+			builder.setEntry("yaw", random.nextFloat() * 360);
+			builder.setEntry("onGround", random.nextBoolean());
+			messages[index] = builder.build().get().bytes().get();
+			length += messages[index].length;
+		}
+		byte[] payload = new byte[length];
+		int position = 0;
+		for (byte[] message : messages) {
+			System.arraycopy(message, 0, payload, position, message.length);
+			position += message.length;
+		}
+		return payload;
+	}
+
+	/**
+	 * This interface represents a codec compressing and decompressing into
+	 * preallocated arrays.
+	 */
+	private interface Codec {
+
+		/**
+		 * This method compresses the given array into the given target and returns
+		 * the number of bytes written.
+		 *
+		 * @param source The array to compress
+		 * @param target The array to write into
+		 * @return The number of bytes written
+		 */
+		int wrap(byte[] source, byte[] target);
+
+		/**
+		 * This method decompresses the given number of bytes of the given array into
+		 * the given target and returns the number of bytes written.
+		 *
+		 * @param source The array to decompress
+		 * @param length The number of bytes to decompress
+		 * @param target The array to write into
+		 * @return The number of bytes written
+		 */
+		int unwrap(byte[] source, int length, byte[] target);
+
+		/**
+		 * This method returns the largest length the given number of bytes may be
+		 * compressed into.
+		 *
+		 * @param length The number of bytes to compress
+		 * @return The maximum compressed length
+		 */
+		int getMaxWrappedLength(int length);
+
+	}
+
+}
@@ -0,0 +1,99 @@
+package net.minebit.networking.bench;
+
+import java.util.Optional;
+
+import net.minebit.networking.exceptions.IllegalConstructionException;
+import net.minebit.networking.messages.Message;
+import net.minebit.networking.messages.MessageBuilder;
+
+/**
+ * This class measures how the time taken to encode a {@link Message} grows with
+ * the number of its entries. Messages of 10, 100 and 500 entries of mixed types
+ * are built and encoded, and the time of building them alone is subtracted, so
+ * the time per entry that remains is the cost of encoding. Since the encoded
+ * form is computed in a single presized pass, the time per entry should stay
+ * roughly the same for every size, and the last column reports it relative to
+ * the smallest size.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+final class MessageEncodingBenchmark {
+
+	private static final int[] SIZES = { 10, 100, 500 };
+	private static final int ENTRIES_PER_ROUND = 1_000_000;
+
+	/**
+	 * This constructor throws an {@link IllegalConstructionException} as
+	 * {@link MessageEncodingBenchmark} objects can't and shouldn't be constructed
+	 */
+	private MessageEncodingBenchmark() {
+		throw new IllegalConstructionException(MessageEncodingBenchmark.class.getSimpleName() + " objects cannot be constructed!");
+	}
+
+	/**
+	 * This method runs the benchmark and prints its results.
+	 */
+	static void run() {
+		System.out.println("Message encoding");
+		System.out.printf("%8s %10s %14s %12s %10s%n", "entries", "bytes", "ns/message", "ns/entry", "relative");
+		double baseline = 0;
+		for (int size : SIZES) {
+			MessageBuilder builder = builder(size);
+			int operations = ENTRIES_PER_ROUND / size;
+			double building = Benchmarks.measure(operations, () -> builder.build().get().getTitle().length());
+			double encoding = Benchmarks.measure(operations, () -> encode(builder.build().get()));
+			double perMessage = Math.max(encoding - building, 0);
+			double perEntry = perMessage / size;
+			if (baseline == 0) {
+				baseline = perEntry;
+			}
+			int bytes = encode(builder.build().get());
+			System.out.printf("%8d %10d %14.0f %12.1f %10.2f%n", size, bytes, perMessage, perEntry, perEntry / baseline);
+		}
+	}
+
+	/**
+	 * This method returns a builder of messages with the given number of entries,
+	 * cycling through integers, doubles, strings and byte arrays.
+	 *
+	 * @param size The number of entries
+	 * @return The builder of the messages
+	 */
+	private static MessageBuilder builder(int size) {
+		MessageBuilder builder = MessageBuilder.empty();
+		builder.setTitle("benchmark.message");
+		for (int entry = 0; entry < size; entry++) {
+			String key = "key-" + entry;
+			switch (entry & 3) {
+			case 0:
+				builder.setEntry(key, entry);
+				break;
+			case 1:
+				builder.setEntry(key, entry * 0.5);
+				break;
+			case 2:
+				builder.setEntry(key, "value-" + entry);
+				break;
+			default:
+				builder.setEntry(key, new byte[16]);
+				break;
+			}
+		}
+		return builder;
+	}
+
+	/**
+	 * This method encodes the given message and returns the length of its encoded
+	 * form, or zero if it could not be encoded.
+	 *
+	 * @param message The message to encode
+	 * @return The length of the encoded form
+	 */
+	private static int encode(Message message) {
+		Optional<byte[]> bytesOptional = message.bytes();
+		return bytesOptional.isPresent() ? bytesOptional.get().length : 0;
+	}
+
+}
@@ -0,0 +1,507 @@
+package net.minebit.networking.client;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+import net.minebit.networking.exceptions.NetworkingException;
+import net.minebit.networking.frames.FrameDecoder;
+import net.minebit.networking.frames.FrameEncoder;
+import net.minebit.networking.frames.IncrementalFrameDecoder;
+import net.minebit.networking.messages.Message;
+import net.minebit.networking.requests.IRequest;
+import net.minebit.networking.requests.message.synchronous.MessageSynchronousRequest;
+import net.minebit.networking.requests.message.synchronous.MessageSynchronousRequestBuilder;
+import net.minebit.networking.requests.session.resume.SessionResumeRequest;
+import net.minebit.networking.responses.IResponse;
+import net.minebit.networking.responses.error.ErrorResponse;
+import net.minebit.networking.responses.message.synchronous.MessageSynchronousResponse;
+import net.minebit.networking.responses.session.create.SessionCreateResponse;
+import net.minebit.networking.responses.session.create.SessionCreateResponseBuilder;
+import net.minebit.networking.responses.session.end.SessionEndResponseBuilder;
+import net.minebit.networking.responses.session.resume.SessionResumeResponseBuilder;
+import net.minebit.networking.util.ConnectionThreads;
+import net.minebit.networking.wrappers.WrapperContext;
+
+/**
+ * This class represents a client that pipelines requests over a single
+ * connection to a server. Every request is sent in a frame carrying a unique
+ * correlation id and returns a {@link CompletableFuture} immediately, without
+ * waiting for the previous requests to be answered. A single reading thread
+ * decodes the responses as they arrive and completes the future whose request
+ * has the same correlation id, so responses may arrive in any order. The
+ * futures are completed on the reading thread, so actions depending on them
+ * must not block. The client counts the frames of its session it receives, so
+ * it can resume the session through a new connection without missing any. In
+ * blocking mode the reading thread is created through {@link ConnectionThreads}
+ * and is a virtual thread on runtimes supporting them. Clients are constructed
+ * with a {@link ClientBuilder}.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+public final class Client {
+
+	private final Object mutex = new Object();
+	private final ReentrantLock writeLock = new ReentrantLock();
+
+	private final SocketAddress address;
+	private final int bufferSize;
+	private final int maxFrameLength;
+	private final FrameEncoder encoder;
+	private final IResponseListener[] listeners;
+	private final AtomicReferenceArray<PendingResponse> pending;
+	private final int pendingMask;
+	private final AtomicInteger nextCorrelationId = new AtomicInteger(0);
+	private final boolean blocking;
+	private final WrapperContext context = new WrapperContext();
+
+	private volatile SocketChannel channel = null;
+	private volatile boolean connected = false;
+	private volatile int sequence = 0;
+	private Thread thread = null;
+
+	/**
+	 * This constructor constructs a new {@link Client} with the given
+	 * configuration, which is not connected yet.
+	 *
+	 * @param address        The address of the server
+	 * @param bufferSize     The capacity of the read buffer
+	 * @param maxFrameLength The maximum length of a received frame
+	 * @param maxPending     The maximum number of pending requests, which must be a
+	 *                       power of two
+	 * @param encoder        The encoder of the requests
+	 * @param listeners      The listeners of the unanswered responses
+	 * @param blocking       Whether the reading thread is a connection thread
+	 */
+	Client(SocketAddress address, int bufferSize, int maxFrameLength, int maxPending, FrameEncoder encoder, IResponseListener[] listeners, boolean blocking) {
+		this.address = address;
+		this.bufferSize = bufferSize;
+		this.maxFrameLength = maxFrameLength;
+		this.encoder = encoder;
+		this.listeners = listeners.clone();
+		this.pending = new AtomicReferenceArray<>(maxPending);
+		this.pendingMask = maxPending - 1;
+		this.blocking = blocking;
+	}
+
+	/**
+	 * This method connects the client to its server and starts its reading
+	 * thread. If the client is already connected the operation will be marked as
+	 * failed.
+	 *
+	 * @return Whether the client was connected
+	 * @throws IOException If the connection could not be established
+	 */
+	public boolean connect() throws IOException {
+		Thread previous;
+		synchronized (this.mutex) {
+			if (this.connected) {
+				return false;
+			}
+			previous = this.thread;
+		}
+		if (previous != null && previous != Thread.currentThread()) {
+			join(previous);
+		}
+		synchronized (this.mutex) {
+			if (this.connected) {
+				return false;
+			}
+			SocketChannel channel = SocketChannel.open();
+			try {
+				channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+				channel.connect(this.address);
+			} catch (IOException exception) {
+				channel.close();
+				throw exception;
+			}
+			this.context.reset();
+			this.channel = channel;
+			this.connected = true;
+			if (this.blocking) {
+				this.thread = ConnectionThreads.create(() -> read(channel), "minebit-client-reader");
+			} else {
+				this.thread = new Thread(() -> read(channel), "minebit-client-reader");
+				this.thread.setDaemon(true);
+			}
+			this.thread.start();
+			return true;
+		}
+	}
+
+	/**
+	 * This method closes the connection of the client. The requests that have not
+	 * been answered yet are completed exceptionally with a
+	 * {@link NetworkingException}. If the client is not connected the operation
+	 * will be marked as failed.
+	 *
+	 * @return Whether the client was disconnected
+	 */
+	public boolean close() {
+		synchronized (this.mutex) {
+			if (!this.connected) {
+				return false;
+			}
+			disconnect(this.channel);
+			return true;
+		}
+	}
+
+	/**
+	 * This method returns whether the client is connected.
+	 *
+	 * @return Whether the client is connected
+	 */
+	public boolean isConnected() {
+		return this.connected;
+	}
+
+	/**
+	 * This method returns the sequence number of the last frame of the session of
+	 * the client that has been received, which is counted from the creation of
+	 * the session. A session resumed through a {@link SessionResumeRequest}
+	 * carrying this number is replayed the frames sent after it.
+	 *
+	 * @return The sequence number of the last received frame
+	 */
+	public int getSequence() {
+		return this.sequence;
+	}
+
+	/**
+	 * This method returns the {@link WrapperContext} the frames sent and received
+	 * by the client are wrapped and unwrapped with, which holds the dictionary
+	 * negotiated when the session was created and the state of the compression
+	 * streams of the current connection.
+	 *
+	 * @return The client's wrapper context
+	 */
+	public WrapperContext getWrapperContext() {
+		return this.context;
+	}
+
+	/**
+	 * This method returns the number of requests that have been sent and not
+	 * answered yet.
+	 *
+	 * @return The number of pending requests
+	 */
+	public int getPendingCount() {
+		int count = 0;
+		for (int slot = 0; slot < this.pending.length(); slot++) {
+			if (this.pending.get(slot) != null) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * This method sends the given request to the server without waiting for the
+	 * previous ones to be answered and returns a {@link CompletableFuture} of its
+	 * response. If the client is not connected, too many requests are pending, or
+	 * the request could not be encoded or written, the future is completed
+	 * exceptionally with a {@link NetworkingException}. Sending a
+	 * {@link SessionResumeRequest}, which should be the first request of a
+	 * connection, continues counting the frames of the session from its sequence
+	 * number. This method may be invoked from any thread.
+	 *
+	 * @param request The request to send
+	 * @return The future response to the request
+	 */
+	public CompletableFuture<IResponse> send(IRequest request) {
+		if (!this.connected) {
+			return failed("The client is not connected!");
+		}
+		if (request instanceof SessionResumeRequest) {
+			this.sequence = ((SessionResumeRequest) request).getSequence();
+		}
+		Optional<PendingResponse> responseOptional = register();
+		if (!responseOptional.isPresent()) {
+			return failed("Too many requests are pending!");
+		}
+		PendingResponse response = responseOptional.get();
+		int correlationId = response.getCorrelationId();
+		SocketChannel channel = this.channel;
+		boolean stateful = this.encoder.isStateful();
+		if (stateful) {
+			this.writeLock.lock();
+		}
+		try {
+			Optional<ByteBuffer[]> frameOptional = this.encoder.encode(request, correlationId, this.context);
+			if (!frameOptional.isPresent()) {
+				complete(correlationId, new NetworkingException("The request could not be encoded!"));
+				return response;
+			}
+			write(channel, frameOptional.get());
+		} catch (IOException exception) {
+			complete(correlationId, new NetworkingException("The request could not be written!", exception));
+			disconnect(channel);
+			return response;
+		} finally {
+			if (stateful) {
+				this.writeLock.unlock();
+			}
+		}
+		if (!this.connected) {
+			complete(correlationId, new NetworkingException("The connection was closed!"));
+		}
+		return response;
+	}
+
+	/**
+	 * This method sends the given synchronous request to the server without
+	 * waiting for the previous ones to be answered and returns a
+	 * {@link CompletableFuture} of its response. If the server answers with an
+	 * {@link ErrorResponse} or any response other than a
+	 * {@link MessageSynchronousResponse}, the future is completed exceptionally
+	 * with a {@link NetworkingException}.
+	 *
+	 * @param request The request to send
+	 * @return The future response to the request
+	 * @see #send(IRequest)
+	 */
+	public CompletableFuture<MessageSynchronousResponse> send(MessageSynchronousRequest request) {
+		return send((IRequest) request).thenApply(Client::expectSynchronous);
+	}
+
+	/**
+	 * This method sends a synchronous request carrying the given message to the
+	 * server and returns a {@link CompletableFuture} of its response.
+	 *
+	 * @param message The message to send
+	 * @return The future response to the request
+	 * @see #send(MessageSynchronousRequest)
+	 */
+	public CompletableFuture<MessageSynchronousResponse> sendSynchronous(Message message) {
+		MessageSynchronousRequestBuilder builder = MessageSynchronousRequestBuilder.empty();
+		builder.setMessage(message);
+		Optional<IRequest> requestOptional = builder.build();
+		if (!requestOptional.isPresent()) {
+			CompletableFuture<MessageSynchronousResponse> future = new CompletableFuture<>();
+			future.completeExceptionally(new NetworkingException("The request could not be built!"));
+			return future;
+		}
+		return send((MessageSynchronousRequest) requestOptional.get());
+	}
+
+	/**
+	 * This method claims a free slot of the pending table for a new correlation
+	 * id and returns the future occupying it contained in an {@link Optional}. If
+	 * no slot is free an empty {@link Optional} will be returned.
+	 *
+	 * @return The registered future
+	 */
+	private Optional<PendingResponse> register() {
+		for (int attempt = 0; attempt <= this.pendingMask; attempt++) {
+			int correlationId = this.nextCorrelationId.incrementAndGet();
+			if (correlationId == 0) {
+				correlationId = this.nextCorrelationId.incrementAndGet();
+			}
+			int slot = correlationId & this.pendingMask;
+			if (this.pending.get(slot) == null) {
+				PendingResponse response = new PendingResponse(correlationId);
+				if (this.pending.compareAndSet(slot, null, response)) {
+					return Optional.of(response);
+				}
+			}
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * This method removes the future of the request with the given correlation id
+	 * from the pending table and returns it contained in an {@link Optional}. If
+	 * no such request is pending an empty {@link Optional} will be returned.
+	 *
+	 * @param correlationId The correlation id of the request
+	 * @return The removed future
+	 */
+	private Optional<PendingResponse> remove(int correlationId) {
+		int slot = correlationId & this.pendingMask;
+		PendingResponse response = this.pending.get(slot);
+		if (response == null || response.getCorrelationId() != correlationId || !this.pending.compareAndSet(slot, response, null)) {
+			return Optional.empty();
+		}
+		return Optional.of(response);
+	}
+
+	/**
+	 * This method completes the future of the request with the given correlation
+	 * id exceptionally with the given exception, if it is still pending.
+	 *
+	 * @param correlationId The correlation id of the request
+	 * @param exception     The reason of the failure
+	 */
+	private void complete(int correlationId, NetworkingException exception) {
+		Optional<PendingResponse> responseOptional = remove(correlationId);
+		if (responseOptional.isPresent()) {
+			responseOptional.get().completeExceptionally(exception);
+		}
+	}
+
+	/**
+	 * This method writes the given frame to the given channel, without being
+	 * interleaved with the frames written by other threads.
+	 *
+	 * @param channel The channel of the connection
+	 * @param frame   The header and payload of the frame
+	 * @throws IOException If an I/O error occurs while writing
+	 */
+	private void write(SocketChannel channel, ByteBuffer[] frame) throws IOException {
+		ByteBuffer header = frame[0], payload = frame[frame.length - 1];
+		this.writeLock.lock();
+		try {
+			while (header.hasRemaining() || payload.hasRemaining()) {
+				channel.write(frame);
+			}
+		} finally {
+			this.writeLock.unlock();
+		}
+	}
+
+	/**
+	 * This method reads and decodes the responses arriving through the given
+	 * channel until the connection is closed, after which the pending requests
+	 * are failed.
+	 *
+	 * @param channel The channel of the connection
+	 */
+	private void read(SocketChannel channel) {
+		FrameDecoder<IResponse> frameDecoder = FrameDecoder.responses();
+		frameDecoder.setMaxLength(this.maxFrameLength);
+		frameDecoder.setContext(this.context);
+		IncrementalFrameDecoder<IResponse> decoder = new IncrementalFrameDecoder<>(frameDecoder);
+		ByteBuffer buffer = this.blocking ? ByteBuffer.allocate(this.bufferSize) : ByteBuffer.allocateDirect(this.bufferSize);
+		try {
+			while (true) {
+				buffer.clear();
+				if (channel.read(buffer) < 0) {
+					break;
+				}
+				buffer.flip();
+				if (decoder.decode(buffer, this::received) < 0) {
+					break;
+				}
+			}
+		} catch (IOException | RuntimeException exception) {
+			// The connection is closed regardless
+		} finally {
+			disconnect(channel);
+		}
+	}
+
+	/**
+	 * This method counts the given response as a frame of the session, unless it
+	 * creates, resumes or ends the session, adopts the dictionary negotiated for
+	 * a created session, and completes the future of the
+	 * request it answers or, if there is none, notifies the listeners.
+	 *
+	 * @param correlationId The correlation id of the response's frame
+	 * @param response      The received response
+	 */
+	private void received(int correlationId, IResponse response) {
+		byte builderId = response.getBuilderId();
+		if (builderId == SessionCreateResponseBuilder.ID) {
+			this.sequence = 0;
+			this.context.setDictionaryId(((SessionCreateResponse) response).getDictionaryId());
+		} else if (builderId != SessionResumeResponseBuilder.ID && builderId != SessionEndResponseBuilder.ID) {
+			this.sequence++;
+		}
+		Optional<PendingResponse> pendingOptional = correlationId == 0 ? Optional.empty() : remove(correlationId);
+		if (pendingOptional.isPresent()) {
+			pendingOptional.get().complete(response);
+			return;
+		}
+		for (IResponseListener listener : this.listeners) {
+			listener.received(this, response);
+		}
+	}
+
+	/**
+	 * This method closes the given channel, if it is still the channel of the
+	 * client, and fails all the pending requests.
+	 *
+	 * @param channel The channel to close
+	 */
+	private void disconnect(SocketChannel channel) {
+		try {
+			channel.close();
+		} catch (IOException exception) {
+			// The channel is discarded regardless
+		}
+		synchronized (this.mutex) {
+			if (this.channel != channel) {
+				return;
+			}
+			this.connected = false;
+			this.context.reset();
+			for (int slot = 0; slot < this.pending.length(); slot++) {
+				PendingResponse response = this.pending.getAndSet(slot, null);
+				if (response != null) {
+					response.completeExceptionally(new NetworkingException("The connection was closed!"));
+				}
+			}
+		}
+	}
+
+	/**
+	 * This method returns a future that has already failed with a
+	 * {@link NetworkingException} with the given description.
+	 *
+	 * @param description The description of the failure
+	 * @return The failed future
+	 */
+	private static CompletableFuture<IResponse> failed(String description) {
+		CompletableFuture<IResponse> future = new CompletableFuture<>();
+		future.completeExceptionally(new NetworkingException(description));
+		return future;
+	}
+
+	/**
+	 * This method returns the given response as a
+	 * {@link MessageSynchronousResponse}, or throws a {@link NetworkingException}
+	 * if it is of a different type.
+	 *
+	 * @param response The received response
+	 * @return The synchronous response
+	 */
+	private static MessageSynchronousResponse expectSynchronous(IResponse response) {
+		if (response instanceof MessageSynchronousResponse) {
+			return (MessageSynchronousResponse) response;
+		}
+		if (response instanceof ErrorResponse) {
+			throw new NetworkingException(((ErrorResponse) response).getDescription());
+		}
+		throw new NetworkingException("Unexpected response type " + response.getBuilderId() + "!");
+	}
+
+	/**
+	 * This method waits for the given thread to finish.
+	 *
+	 * @param thread The thread to wait for
+	 */
+	private static void join(Thread thread) {
+		boolean interrupted = false;
+		while (thread.isAlive()) {
+			try {
+				thread.join();
+			} catch (InterruptedException exception) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
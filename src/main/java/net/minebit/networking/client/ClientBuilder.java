@@ -0,0 +1,249 @@
+package net.minebit.networking.client;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import net.minebit.networking.frames.FrameDecoder;
+import net.minebit.networking.frames.FrameEncoder;
+import net.minebit.networking.util.ConnectionThreads;
+import net.minebit.networking.util.IBuilder;
+import net.minebit.networking.wrappers.EWrapperContainer;
+
+/**
+ * This class represents a builder used to build {@link Client}s by taking the
+ * provided configuration and listeners and parsing them into a newly constructed
+ * instance.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+public class ClientBuilder implements IBuilder<Client> {
+
+	/**
+	 * The default capacity of the read buffer of a client.
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * The default capacity of the read buffer of a client in blocking mode.
+	 */
+	public static final int DEFAULT_BLOCKING_BUFFER_SIZE = 4 * 1024;
+
+	/**
+	 * The default maximum number of requests that may be pending at once.
+	 */
+	public static final int DEFAULT_MAX_PENDING = 4096;
+
+	/**
+	 * The largest maximum number of requests that may be pending at once.
+	 */
+	public static final int MAX_PENDING_LIMIT = 1 << 24;
+
+	private final Object mutex = new Object();
+
+	private SocketAddress address = null;
+	private int bufferSize = DEFAULT_BUFFER_SIZE;
+	private int blockingBufferSize = DEFAULT_BLOCKING_BUFFER_SIZE;
+	private boolean blocking = false;
+	private int maxFrameLength = FrameDecoder.DEFAULT_MAX_LENGTH;
+	private int maxPending = DEFAULT_MAX_PENDING;
+	private EWrapperContainer[] wrappers = new EWrapperContainer[0];
+	private final List<IResponseListener> listeners = new ArrayList<>();
+
+	/**
+	 * This method returns a newly constructed empty {@link ClientBuilder} builder.
+	 *
+	 * @return The new {@link ClientBuilder}
+	 * @see #ClientBuilder()
+	 */
+	public static ClientBuilder empty() {
+		return new ClientBuilder();
+	}
+
+	/**
+	 * This constructor constructs a new {@link ClientBuilder} used to build new
+	 * {@link Client} objects with the configuration provided and return them.
+	 */
+	private ClientBuilder() {
+	}
+
+	/**
+	 * This method sets the address of the server the client will connect to.
+	 *
+	 * @param address The server's address
+	 */
+	public void setAddress(SocketAddress address) {
+		synchronized (this.mutex) {
+			this.address = address;
+		}
+	}
+
+	/**
+	 * This method sets the client to connect to the server with the given host
+	 * name and port. If the port is out of range or the host is NULL the
+	 * operation will be marked as failed.
+	 *
+	 * @param host The server's host name
+	 * @param port The server's port
+	 * @return Whether the operation was successful
+	 */
+	public boolean setAddress(String host, int port) {
+		if (host == null || port < 0 || port > 0xFFFF) {
+			return false;
+		}
+		setAddress(new InetSocketAddress(host, port));
+		return true;
+	}
+
+	/**
+	 * This method sets the capacity of the buffer the responses are read into
+	 * outside blocking mode, which is also the largest amount of data read with a
+	 * single operation.
+	 *
+	 * @param bufferSize The capacity of the buffer
+	 * @return Whether the operation was successful
+	 */
+	public boolean setBufferSize(int bufferSize) {
+		if (bufferSize <= 0) {
+			return false;
+		}
+		synchronized (this.mutex) {
+			this.bufferSize = bufferSize;
+		}
+		return true;
+	}
+
+	/**
+	 * This method sets whether the client runs in blocking mode, in which its
+	 * reading thread is created through {@link ConnectionThreads} and reads
+	 * through a small heap buffer, whose capacity is set with
+	 * {@link #setBlockingBufferSize(int)}, so it is a virtual thread on runtimes
+	 * supporting them and a single process may run a very large number of
+	 * clients.
+	 *
+	 * @param blocking Whether the client runs in blocking mode
+	 */
+	public void setBlocking(boolean blocking) {
+		synchronized (this.mutex) {
+			this.blocking = blocking;
+		}
+	}
+
+	/**
+	 * This method sets the capacity of the heap buffer the responses are read
+	 * into in blocking mode. Since every client holds its buffer for as long as
+	 * it is connected, the capacity should be small, and frames longer than it
+	 * are simply read with several operations.
+	 *
+	 * @param blockingBufferSize The capacity of the buffer
+	 * @return Whether the operation was successful
+	 */
+	public boolean setBlockingBufferSize(int blockingBufferSize) {
+		if (blockingBufferSize <= 0) {
+			return false;
+		}
+		synchronized (this.mutex) {
+			this.blockingBufferSize = blockingBufferSize;
+		}
+		return true;
+	}
+
+	/**
+	 * This method sets the maximum number of bytes that may follow the length
+	 * prefix of a received frame. The connection is closed if a longer frame is
+	 * received.
+	 *
+	 * @param maxFrameLength The maximum frame length
+	 * @return Whether the operation was successful
+	 */
+	public boolean setMaxFrameLength(int maxFrameLength) {
+		if (maxFrameLength < FrameDecoder.MIN_LENGTH) {
+			return false;
+		}
+		synchronized (this.mutex) {
+			this.maxFrameLength = maxFrameLength;
+		}
+		return true;
+	}
+
+	/**
+	 * This method sets the maximum number of requests that may be sent without
+	 * having been answered, which is rounded up to the next power of two. If the
+	 * number is not positive or exceeds {@link #MAX_PENDING_LIMIT} the operation
+	 * will be marked as failed.
+	 *
+	 * @param maxPending The maximum number of pending requests
+	 * @return Whether the operation was successful
+	 */
+	public boolean setMaxPending(int maxPending) {
+		if (maxPending <= 0 || maxPending > MAX_PENDING_LIMIT) {
+			return false;
+		}
+		synchronized (this.mutex) {
+			this.maxPending = maxPending == 1 ? 1 : Integer.highestOneBit(maxPending - 1) << 1;
+		}
+		return true;
+	}
+
+	/**
+	 * This method sets the wrappers applied to the payload of every request in the
+	 * given order.
+	 *
+	 * @param wrappers The wrappers to apply
+	 * @return Whether the operation was successful
+	 */
+	public boolean setWrappers(EWrapperContainer... wrappers) {
+		if (wrappers == null || wrappers.length > FrameEncoder.MAX_WRAPPERS) {
+			return false;
+		}
+		for (EWrapperContainer wrapper : wrappers) {
+			if (wrapper == null) {
+				return false;
+			}
+		}
+		synchronized (this.mutex) {
+			this.wrappers = wrappers.clone();
+		}
+		return true;
+	}
+
+	/**
+	 * This method adds the given listener to the ones notified of the responses
+	 * that do not answer any pending request.
+	 *
+	 * @param listener The listener to add
+	 * @return Whether the operation was successful
+	 */
+	public boolean addListener(IResponseListener listener) {
+		if (listener == null) {
+			return false;
+		}
+		synchronized (this.mutex) {
+			this.listeners.add(listener);
+		}
+		return true;
+	}
+
+	/**
+	 * This method finalizes the building process of the {@link Client} and returns
+	 * the final result contained in an {@link Optional}. The client is not
+	 * connected. If no address has been set an empty {@link Optional} will be
+	 * returned.
+	 */
+	@Override
+	public Optional<Client> build() {
+		synchronized (this.mutex) {
+			if (this.address == null) {
+				return Optional.empty();
+			}
+			IResponseListener[] listeners = this.listeners.toArray(new IResponseListener[0]);
+			int bufferSize = this.blocking ? this.blockingBufferSize : this.bufferSize;
+			return Optional.of(new Client(this.address, bufferSize, this.maxFrameLength, this.maxPending, new FrameEncoder(this.wrappers), listeners, this.blocking));
+		}
+	}
+
+}
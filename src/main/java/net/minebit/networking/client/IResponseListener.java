@@ -0,0 +1,26 @@
+package net.minebit.networking.client;
+
+import net.minebit.networking.responses.IResponse;
+
+/**
+ * Classes implementing this interface receive the {@link IResponse}s of a
+ * {@link Client} that do not answer any of its pending requests, such as
+ * responses the server sends on its own.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ */
+@FunctionalInterface
+public interface IResponseListener {
+
+	/**
+	 * This method is invoked by the reading thread of the given client when a
+	 * response that does not answer any of its pending requests is received, so
+	 * it must not block.
+	 *
+	 * @param client   The client that received the response
+	 * @param response The received response
+	 */
+	public void received(Client client, IResponse response);
+
+}
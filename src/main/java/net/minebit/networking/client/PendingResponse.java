@@ -0,0 +1,40 @@
+package net.minebit.networking.client;
+
+import java.util.concurrent.CompletableFuture;
+
+import net.minebit.networking.responses.IResponse;
+
+/**
+ * This class represents the future response to a request sent by a
+ * {@link Client}, which remembers the correlation id of the request so that
+ * the slot it occupies in the pending table of the client can be verified
+ * without a separate entry object.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+final class PendingResponse extends CompletableFuture<IResponse> {
+
+	private final int correlationId;
+
+	/**
+	 * This constructor constructs a new {@link PendingResponse} for the request
+	 * with the given correlation id.
+	 *
+	 * @param correlationId The correlation id of the request
+	 */
+	PendingResponse(int correlationId) {
+		this.correlationId = correlationId;
+	}
+
+	/**
+	 * This method returns the correlation id of the request.
+	 *
+	 * @return The request's correlation id
+	 */
+	int getCorrelationId() {
+		return this.correlationId;
+	}
+
+}
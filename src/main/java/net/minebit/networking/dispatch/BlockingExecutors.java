@@ -0,0 +1,48 @@
+package net.minebit.networking.dispatch;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.minebit.networking.exceptions.IllegalConstructionException;
+
+/**
+ * This class creates the executors running the handlers registered with
+ * {@link EExecutionMode#BLOCKING}, which give every handler a thread of its
+ * own. The threads are daemon threads reused while they are kept alive.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+public final class BlockingExecutors {
+
+	private static final long KEEP_ALIVE = 60;
+
+	private static final AtomicInteger COUNTER = new AtomicInteger(0);
+
+	/**
+	 * This constructor throws an {@link IllegalConstructionException} as
+	 * {@link BlockingExecutors} objects can't and shouldn't be constructed
+	 */
+	private BlockingExecutors() {
+		throw new IllegalConstructionException(BlockingExecutors.class.getSimpleName() + " objects cannot be constructed!");
+	}
+
+	/**
+	 * This method creates a new executor running every task on a thread of its
+	 * own.
+	 *
+	 * @return The new executor
+	 */
+	public static ExecutorService create() {
+		return new ThreadPoolExecutor(0, Integer.MAX_VALUE, KEEP_ALIVE, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+			Thread thread = new Thread(runnable, "minebit-blocking-" + COUNTER.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+}
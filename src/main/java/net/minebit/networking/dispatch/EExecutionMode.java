@@ -0,0 +1,31 @@
+package net.minebit.networking.dispatch;
+
+/**
+ * This enum contains the ways the {@link IMessageHandler} of a message title
+ * may be executed by a {@link MessageDispatcher}.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+public enum EExecutionMode {
+
+	/**
+	 * The handler is invoked directly on the I/O thread that received the
+	 * message, which suits cheap handlers that never block, such as lookups.
+	 */
+	INLINE,
+
+	/**
+	 * The handler is invoked on a pool with a bounded number of threads, which
+	 * suits handlers performing heavy computation.
+	 */
+	POOL,
+
+	/**
+	 * The handler is invoked on a thread of its own, which suits handlers that
+	 * spend most of their time blocked, such as database or file operations.
+	 */
+	BLOCKING;
+
+}
@@ -0,0 +1,35 @@
+package net.minebit.networking.dispatch;
+
+import java.util.Optional;
+
+import net.minebit.networking.messages.Message;
+import net.minebit.networking.server.ServerConnection;
+
+/**
+ * Classes implementing this interface handle the {@link Message}s with a
+ * specific title received by a server through synchronous or asynchronous
+ * requests, as routed by a {@link MessageDispatcher}. Handlers are invoked on
+ * the thread selected by the {@link EExecutionMode} they were registered with.
+ * Handlers of asynchronous requests should respond to interruption, so they
+ * stop as soon as the request is cancelled or its session ends.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ */
+@FunctionalInterface
+public interface IMessageHandler {
+
+	/**
+	 * This method handles the given message received through the given
+	 * connection and returns the resulting message contained in an
+	 * {@link Optional}. If there is no result an empty {@link Optional} shall be
+	 * returned.
+	 *
+	 * @param connection The connection the message was received through
+	 * @param message    The received message
+	 * @return The result of the message
+	 * @throws Exception If handling the message fails or is interrupted
+	 */
+	public Optional<Message> handle(ServerConnection connection, Message message) throws Exception;
+
+}
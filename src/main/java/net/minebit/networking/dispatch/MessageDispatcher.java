@@ -0,0 +1,331 @@
+package net.minebit.networking.dispatch;
+
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import net.minebit.networking.messages.Message;
+import net.minebit.networking.requests.IRequest;
+import net.minebit.networking.requests.message.asynchronous.MessageAsynchronousRequest;
+import net.minebit.networking.requests.message.asynchronous.MessageAsynchronousRequestBuilder;
+import net.minebit.networking.requests.message.synchronous.MessageSynchronousRequest;
+import net.minebit.networking.requests.message.synchronous.MessageSynchronousRequestBuilder;
+import net.minebit.networking.responses.IResponse;
+import net.minebit.networking.responses.error.ErrorResponseBuilder;
+import net.minebit.networking.responses.message.asynchronous.MessageAsynchronousResponseBuilder;
+import net.minebit.networking.responses.message.synchronous.MessageSynchronousResponseBuilder;
+import net.minebit.networking.server.ServerBuilder;
+import net.minebit.networking.server.ServerConnection;
+import net.minebit.networking.sessions.AsynchronousEngine;
+import net.minebit.networking.sessions.AsynchronousTask;
+import net.minebit.networking.sessions.IAsynchronousWork;
+import net.minebit.networking.sessions.Session;
+import net.minebit.networking.sessions.SessionManager;
+
+/**
+ * This class routes the {@link Message}s of the synchronous and asynchronous
+ * requests received by a server to the {@link IMessageHandler} registered for
+ * their title, so handlers no longer have to compare titles by hand. The
+ * routes are stored in a fixed open-addressing table built once when the
+ * dispatcher is constructed, so finding the handler of a message costs a
+ * single hash of its title and usually a single comparison. Each title is
+ * executed according to its {@link EExecutionMode}: inline on the I/O thread,
+ * on a pool or on a thread of its own. The results of synchronous requests
+ * handled off the I/O thread are sent once they are ready, while asynchronous
+ * requests are run as {@link AsynchronousTask}s of their {@link Session},
+ * through an {@link AsynchronousEngine} if one is set for pooled titles.
+ * Dispatchers are constructed with a {@link MessageDispatcherBuilder} and serve
+ * the message requests of a server after being installed into its
+ * {@link ServerBuilder}.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+public final class MessageDispatcher {
+
+	private final String[] titles;
+	private final Route[] routes;
+	private final int mask;
+	private final Route fallback;
+	private final Executor pool;
+	private final Executor blocking;
+	private final boolean ownsBlocking;
+	private final AsynchronousEngine engine;
+
+	/**
+	 * This constructor constructs a new {@link MessageDispatcher} with the given
+	 * routes and executors.
+	 *
+	 * @param routes   The routes of the message titles
+	 * @param fallback The route of the titles without a route of their own, which
+	 *                 may be NULL
+	 * @param pool     The executor of the pooled handlers
+	 * @param blocking The executor of the blocking handlers, which is created if
+	 *                 it is NULL
+	 * @param engine   The engine of the pooled asynchronous requests, which may
+	 *                 be NULL
+	 */
+	MessageDispatcher(Map<String, Route> routes, Route fallback, Executor pool, Executor blocking, AsynchronousEngine engine) {
+		int capacity = Integer.highestOneBit(Math.max(routes.size(), 1) * 2 - 1) << 1;
+		this.titles = new String[capacity];
+		this.routes = new Route[capacity];
+		this.mask = capacity - 1;
+		for (Entry<String, Route> entry : routes.entrySet()) {
+			int index = spread(entry.getKey().hashCode()) & this.mask;
+			while (this.titles[index] != null) {
+				index = (index + 1) & this.mask;
+			}
+			this.titles[index] = entry.getKey();
+			this.routes[index] = entry.getValue();
+		}
+		this.fallback = fallback;
+		this.pool = pool;
+		this.ownsBlocking = blocking == null;
+		this.blocking = this.ownsBlocking ? BlockingExecutors.create() : blocking;
+		this.engine = engine;
+	}
+
+	/**
+	 * This method returns whether a handler is registered for the given title,
+	 * not counting the fallback handler.
+	 *
+	 * @param title The title of the messages
+	 * @return Whether the title has a handler
+	 */
+	public boolean isRegistered(String title) {
+		return title != null && find(title) != null;
+	}
+
+	/**
+	 * This method registers the handlers of the synchronous and asynchronous
+	 * message requests to the given {@link ServerBuilder}, so the servers it
+	 * builds route them through this dispatcher. Asynchronous requests require
+	 * the sessions of the server to be managed by a {@link SessionManager}
+	 * installed into the same builder.
+	 *
+	 * @param builder The builder of the server
+	 */
+	public void install(ServerBuilder builder) {
+		builder.setHandler(MessageSynchronousRequestBuilder.ID, this::handleSynchronous);
+		builder.setHandler(MessageAsynchronousRequestBuilder.ID, this::handleAsynchronous);
+	}
+
+	/**
+	 * This method shuts down the executor of the blocking handlers, if it was
+	 * created by the dispatcher. Executing handlers are completed, but new
+	 * blocking messages are rejected.
+	 */
+	public void shutdown() {
+		if (this.ownsBlocking) {
+			((ExecutorService) this.blocking).shutdown();
+		}
+	}
+
+	/**
+	 * This method handles the message of the given synchronous request and
+	 * returns the response containing its result. If the handler of the message
+	 * is not executed inline, the response is sent once it is ready and an empty
+	 * {@link Optional} is returned.
+	 *
+	 * @param connection    The connection the request was received through
+	 * @param correlationId The correlation id of the request
+	 * @param request       The received request
+	 * @return The response to the request
+	 */
+	private Optional<IResponse> handleSynchronous(ServerConnection connection, int correlationId, IRequest request) {
+		Message message = ((MessageSynchronousRequest) request).getMessage();
+		Route route = route(message);
+		if (route == null) {
+			return unsupported(message);
+		}
+		if (route.mode == EExecutionMode.INLINE) {
+			return invoke(route, connection, message);
+		}
+		try {
+			executor(route.mode).execute(() -> {
+				Optional<IResponse> responseOptional = invoke(route, connection, message);
+				if (responseOptional.isPresent()) {
+					connection.send(responseOptional.get(), correlationId);
+				}
+			});
+		} catch (RejectedExecutionException exception) {
+			return error("The server cannot handle more messages!");
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * This method submits the message of the given asynchronous request for the
+	 * session bound to the given connection and returns the response containing
+	 * the id of its task.
+	 *
+	 * @param connection    The connection the request was received through
+	 * @param correlationId The correlation id of the request
+	 * @param request       The received request
+	 * @return The response to the request
+	 */
+	private Optional<IResponse> handleAsynchronous(ServerConnection connection, int correlationId, IRequest request) {
+		Optional<Session> sessionOptional = connection.getSession();
+		if (!sessionOptional.isPresent()) {
+			return error("There is no active session!");
+		}
+		Message message = ((MessageAsynchronousRequest) request).getMessage();
+		Route route = route(message);
+		if (route == null) {
+			return unsupported(message);
+		}
+		IAsynchronousWork work = task -> route.handler.handle(connection, message);
+		Optional<AsynchronousTask> taskOptional;
+		if (route.mode == EExecutionMode.POOL && this.engine != null) {
+			taskOptional = this.engine.submit(sessionOptional.get(), work);
+		} else {
+			taskOptional = sessionOptional.get().submit(executor(route.mode), work);
+		}
+		if (!taskOptional.isPresent()) {
+			return error("Too many asynchronous requests are pending!");
+		}
+		MessageAsynchronousResponseBuilder builder = MessageAsynchronousResponseBuilder.empty();
+		builder.setId(taskOptional.get().getId());
+		return builder.build();
+	}
+
+	/**
+	 * This method invokes the handler of the given route with the given message
+	 * and returns the synchronous response containing its result, or an error
+	 * response if the handler failed or had no result.
+	 *
+	 * @param route      The route of the message
+	 * @param connection The connection the message was received through
+	 * @param message    The received message
+	 * @return The response to the message
+	 */
+	private static Optional<IResponse> invoke(Route route, ServerConnection connection, Message message) {
+		Optional<Message> resultOptional;
+		try {
+			resultOptional = route.handler.handle(connection, message);
+		} catch (Exception exception) {
+			return error("The message " + message.getTitle() + " could not be handled!");
+		}
+		if (resultOptional == null || !resultOptional.isPresent()) {
+			return error("The message " + message.getTitle() + " has no result!");
+		}
+		MessageSynchronousResponseBuilder builder = MessageSynchronousResponseBuilder.empty();
+		builder.setMessage(resultOptional.get());
+		return builder.build();
+	}
+
+	/**
+	 * This method returns the route of the given message, falling back to the
+	 * fallback route if its title has none. If there is no route, NULL will be
+	 * returned.
+	 *
+	 * @param message The message to route
+	 * @return The route of the message
+	 */
+	private Route route(Message message) {
+		if (message == null || message.getTitle() == null) {
+			return null;
+		}
+		Route route = find(message.getTitle());
+		return route != null ? route : this.fallback;
+	}
+
+	/**
+	 * This method returns the route registered for the given title, or NULL if
+	 * there is none.
+	 *
+	 * @param title The title of the messages
+	 * @return The route of the title
+	 */
+	private Route find(String title) {
+		int index = spread(title.hashCode()) & this.mask;
+		String key;
+		while ((key = this.titles[index]) != null) {
+			if (key.equals(title)) {
+				return this.routes[index];
+			}
+			index = (index + 1) & this.mask;
+		}
+		return null;
+	}
+
+	/**
+	 * This method returns the executor of the handlers with the given execution
+	 * mode.
+	 *
+	 * @param mode The execution mode of the handler
+	 * @return The executor of the handler
+	 */
+	private Executor executor(EExecutionMode mode) {
+		switch (mode) {
+		case POOL:
+			return this.pool;
+		case BLOCKING:
+			return this.blocking;
+		default:
+			return Runnable::run;
+		}
+	}
+
+	/**
+	 * This method spreads the higher bits of the given hash code to the lower
+	 * ones, so titles differing only in their last characters do not collide.
+	 *
+	 * @param hash The hash code of a title
+	 * @return The spread hash code
+	 */
+	private static int spread(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+
+	/**
+	 * This method builds the error response of a message whose title has no
+	 * handler.
+	 *
+	 * @param message The unsupported message
+	 * @return The error response
+	 */
+	private static Optional<IResponse> unsupported(Message message) {
+		return error(message == null ? "The message is missing!" : "The message " + message.getTitle() + " is not supported!");
+	}
+
+	/**
+	 * This method builds an error response with the given description.
+	 *
+	 * @param description The description of the error
+	 * @return The error response
+	 */
+	private static Optional<IResponse> error(String description) {
+		ErrorResponseBuilder builder = ErrorResponseBuilder.empty();
+		builder.setDescription(description);
+		return builder.build();
+	}
+
+	/**
+	 * This class represents the handler registered for a message title along
+	 * with the way it is executed.
+	 */
+	static final class Route {
+
+		final IMessageHandler handler;
+		final EExecutionMode mode;
+
+		/**
+		 * This constructor constructs a new {@link Route} executing the given
+		 * handler with the given mode.
+		 *
+		 * @param handler The handler of the messages
+		 * @param mode    The execution mode of the handler
+		 */
+		Route(IMessageHandler handler, EExecutionMode mode) {
+			this.handler = handler;
+			this.mode = mode;
+		}
+
+	}
+
+}
@@ -0,0 +1,159 @@
+package net.minebit.networking.dispatch;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import net.minebit.networking.dispatch.MessageDispatcher.Route;
+import net.minebit.networking.sessions.AsynchronousEngine;
+import net.minebit.networking.util.IBuilder;
+
+/**
+ * This class represents a builder used to build {@link MessageDispatcher}s by
+ * taking the provided handlers and configuration and parsing them into a newly
+ * constructed instance.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+public class MessageDispatcherBuilder implements IBuilder<MessageDispatcher> {
+
+	private final Object mutex = new Object();
+
+	private final Map<String, Route> routes = new HashMap<>();
+	private Route fallback = null;
+	private Executor pool = ForkJoinPool.commonPool();
+	private Executor blocking = null;
+	private AsynchronousEngine engine = null;
+
+	/**
+	 * This method returns a newly constructed empty
+	 * {@link MessageDispatcherBuilder} builder.
+	 *
+	 * @return The new {@link MessageDispatcherBuilder}
+	 * @see #MessageDispatcherBuilder()
+	 */
+	public static MessageDispatcherBuilder empty() {
+		return new MessageDispatcherBuilder();
+	}
+
+	/**
+	 * This constructor constructs a new {@link MessageDispatcherBuilder} used to
+	 * build new {@link MessageDispatcher} objects with the configuration provided
+	 * and return them.
+	 */
+	private MessageDispatcherBuilder() {
+	}
+
+	/**
+	 * This method registers the given handler for the messages with the given
+	 * title, executed with the given mode, replacing the previous one.
+	 *
+	 * @param title   The title of the handled messages
+	 * @param handler The handler of the messages
+	 * @param mode    The execution mode of the handler
+	 * @return Whether the operation was successful
+	 */
+	public boolean register(String title, IMessageHandler handler, EExecutionMode mode) {
+		if (title == null || handler == null || mode == null) {
+			return false;
+		}
+		synchronized (this.mutex) {
+			this.routes.put(title, new Route(handler, mode));
+		}
+		return true;
+	}
+
+	/**
+	 * This method removes the handler registered for the messages with the given
+	 * title.
+	 *
+	 * @param title The title of the handled messages
+	 * @return Whether a handler was removed
+	 */
+	public boolean unregister(String title) {
+		synchronized (this.mutex) {
+			return this.routes.remove(title) != null;
+		}
+	}
+
+	/**
+	 * This method sets the handler of the messages whose title has no handler of
+	 * its own, executed with the given mode. If the given handler is NULL, these
+	 * messages will be answered with an error response.
+	 *
+	 * @param handler The handler of the messages
+	 * @param mode    The execution mode of the handler
+	 * @return Whether the operation was successful
+	 */
+	public boolean setFallback(IMessageHandler handler, EExecutionMode mode) {
+		if (handler != null && mode == null) {
+			return false;
+		}
+		synchronized (this.mutex) {
+			this.fallback = handler == null ? null : new Route(handler, mode);
+		}
+		return true;
+	}
+
+	/**
+	 * This method sets the executor of the handlers executed with
+	 * {@link EExecutionMode#POOL}, which defaults to the common
+	 * {@link ForkJoinPool}.
+	 *
+	 * @param pool The executor of the pooled handlers
+	 * @return Whether the operation was successful
+	 */
+	public boolean setPool(Executor pool) {
+		if (pool == null) {
+			return false;
+		}
+		synchronized (this.mutex) {
+			this.pool = pool;
+		}
+		return true;
+	}
+
+	/**
+	 * This method sets the executor of the handlers executed with
+	 * {@link EExecutionMode#BLOCKING}. If it is NULL, which is the default, the
+	 * dispatcher creates its own through {@link BlockingExecutors#create()}.
+	 *
+	 * @param blocking The executor of the blocking handlers
+	 */
+	public void setBlocking(Executor blocking) {
+		synchronized (this.mutex) {
+			this.blocking = blocking;
+		}
+	}
+
+	/**
+	 * This method sets the engine executing the asynchronous requests whose
+	 * handlers are executed with {@link EExecutionMode#POOL}, so they are subject
+	 * to its limits and fairness between sessions. If it is NULL, which is the
+	 * default, they are executed by the pool instead.
+	 *
+	 * @param engine The engine of the pooled asynchronous requests
+	 */
+	public void setEngine(AsynchronousEngine engine) {
+		synchronized (this.mutex) {
+			this.engine = engine;
+		}
+	}
+
+	/**
+	 * This method finalizes the building process of the {@link MessageDispatcher}
+	 * and returns the final result contained in an {@link Optional}. The routes
+	 * registered afterwards do not affect the built dispatcher.
+	 */
+	@Override
+	public Optional<MessageDispatcher> build() {
+		synchronized (this.mutex) {
+			return Optional.of(new MessageDispatcher(this.routes, this.fallback, this.pool, this.blocking, this.engine));
+		}
+	}
+
+}
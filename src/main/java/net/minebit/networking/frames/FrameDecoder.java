@@ -0,0 +1,307 @@
+package net.minebit.networking.frames;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Optional;
+
+import net.minebit.networking.requests.IRequest;
+import net.minebit.networking.requests.RequestRegistry;
+import net.minebit.networking.responses.IResponse;
+import net.minebit.networking.responses.ResponseRegistry;
+import net.minebit.networking.util.WireReader;
+import net.minebit.networking.util.communicables.ICommunicable;
+import net.minebit.networking.util.communicables.ICommunicableBuilder;
+import net.minebit.networking.util.communicables.ICommunicableContainer;
+import net.minebit.networking.wrappers.EWrapperContainer;
+import net.minebit.networking.wrappers.WrapperContext;
+
+/**
+ * This class represents a decoder that reads frames written by a
+ * {@link FrameEncoder} and converts them back into {@link ICommunicable}s. The
+ * builder of each frame is found by its id in constant time and, when it is no
+ * longer needed, handed back to its guide so that it may be recycled. Frames
+ * that cannot be decoded are consumed completely, so the following frames can
+ * still be decoded.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ * @param <OutputType> The type of {@link ICommunicable} decoded
+ *
+ */
+public final class FrameDecoder<OutputType extends ICommunicable> {
+
+	/**
+	 * The default maximum number of bytes that may follow the length prefix of a
+	 * frame.
+	 */
+	public static final int DEFAULT_MAX_LENGTH = 16 * 1024 * 1024;
+
+	/**
+	 * The minimum number of bytes that may follow the length prefix of a frame,
+	 * which is the size of the rest of its header without any wrappers.
+	 */
+	public static final int MIN_LENGTH = 6;
+
+	private final IContainerLookup<OutputType> lookup;
+	private volatile int maxLength = DEFAULT_MAX_LENGTH;
+	private volatile WrapperContext context = null;
+
+	/**
+	 * This method returns a newly constructed {@link FrameDecoder} that decodes
+	 * frames containing {@link IRequest}s.
+	 *
+	 * @return The new {@link FrameDecoder}
+	 */
+	public static FrameDecoder<IRequest> requests() {
+		return new FrameDecoder<>(RequestRegistry::getById);
+	}
+
+	/**
+	 * This method returns a newly constructed {@link FrameDecoder} that decodes
+	 * frames containing {@link IResponse}s.
+	 *
+	 * @return The new {@link FrameDecoder}
+	 */
+	public static FrameDecoder<IResponse> responses() {
+		return new FrameDecoder<>(ResponseRegistry::getById);
+	}
+
+	/**
+	 * This constructor constructs a new {@link FrameDecoder} that finds the
+	 * builders of the decoded frames through the given lookup.
+	 *
+	 * @param lookup The lookup that finds builders by their id
+	 */
+	private FrameDecoder(IContainerLookup<OutputType> lookup) {
+		this.lookup = lookup;
+	}
+
+	/**
+	 * This method sets the maximum number of bytes that may follow the length
+	 * prefix of a frame. Longer frames are rejected before any memory is allocated
+	 * for them.
+	 *
+	 * @param maxLength The new maximum length
+	 * @return Whether the operation was successful
+	 */
+	public boolean setMaxLength(int maxLength) {
+		if (maxLength < MIN_LENGTH) {
+			return false;
+		}
+		this.maxLength = maxLength;
+		return true;
+	}
+
+	/**
+	 * This method returns the maximum number of bytes that may follow the length
+	 * prefix of a frame.
+	 *
+	 * @return The maximum length
+	 */
+	public int getMaxLength() {
+		return this.maxLength;
+	}
+
+	/**
+	 * This method sets the {@link WrapperContext} the payloads of the decoded
+	 * frames are unwrapped with, which must belong to the connection the frames
+	 * are received through when stateful wrappers are applied.
+	 *
+	 * @param context The context of the connection or NULL
+	 */
+	public void setContext(WrapperContext context) {
+		this.context = context;
+	}
+
+	/**
+	 * This method returns the {@link WrapperContext} the payloads of the decoded
+	 * frames are unwrapped with contained in an {@link Optional}.
+	 *
+	 * @return The decoder's context
+	 */
+	public Optional<WrapperContext> getContext() {
+		return Optional.ofNullable(this.context);
+	}
+
+	/**
+	 * This method returns the lookup that finds the builders of the decoded
+	 * frames by their id.
+	 *
+	 * @return The decoder's lookup
+	 */
+	IContainerLookup<OutputType> getLookup() {
+		return this.lookup;
+	}
+
+	/**
+	 * This method checks whether the given length, read from the prefix of a
+	 * frame, is acceptable.
+	 *
+	 * @param length The length of the frame
+	 * @return Whether the length is acceptable
+	 */
+	boolean isValidLength(int length) {
+		return length >= MIN_LENGTH && length <= this.maxLength;
+	}
+
+	/**
+	 * This method decodes the frame whose bytes after the length prefix are the
+	 * given number of bytes of the given array starting from the given offset, and
+	 * returns the decoded communicable contained in an {@link Optional}. The
+	 * correlation id of the frame is skipped. If the payload is not wrapped it is
+	 * decoded directly from the given array, which must not be modified
+	 * afterwards. If the frame could not be decoded an empty {@link Optional} will
+	 * be returned.
+	 *
+	 * @param data   The array containing the frame
+	 * @param offset The index of the builder id of the frame
+	 * @param length The number of bytes after the length prefix
+	 * @return The decoded communicable
+	 */
+	public Optional<OutputType> decode(byte[] data, int offset, int length) {
+		WireReader reader = new WireReader(data, offset, length);
+		byte builderId = reader.readByte();
+		reader.skip(4);
+		int wrapperNumber = reader.readByte() & 0xFF, wrapperPosition = reader.position();
+		reader.skip(wrapperNumber);
+		if (reader.hasFailed()) {
+			return Optional.empty();
+		}
+		WireReader payloadReader = reader;
+		if (wrapperNumber > 0) {
+			byte[] payload = data;
+			int payloadOffset = reader.position(), payloadLength = reader.remaining();
+			for (int index = wrapperNumber - 1; index >= 0; index--) {
+				Optional<EWrapperContainer> wrapperOptional = EWrapperContainer.getById(data[wrapperPosition + index]);
+				if (!wrapperOptional.isPresent()) {
+					return Optional.empty();
+				}
+				Optional<byte[]> unwrappedOptional = wrapperOptional.get().getWrapper().unwrap(payload, payloadOffset, payloadLength, this.context);
+				if (!unwrappedOptional.isPresent()) {
+					return Optional.empty();
+				}
+				payload = unwrappedOptional.get();
+				payloadOffset = 0;
+				payloadLength = payload.length;
+			}
+			payloadReader = new WireReader(payload);
+		}
+		Optional<? extends ICommunicableContainer<? extends ICommunicableBuilder<OutputType>>> containerOptional = this.lookup.getById(builderId);
+		if (!containerOptional.isPresent()) {
+			return Optional.empty();
+		}
+		return build(containerOptional.get(), payloadReader);
+	}
+
+	/**
+	 * This method loads the given payload into a builder obtained from the given
+	 * container, builds the communicable and hands the builder back to the
+	 * container.
+	 *
+	 * @param <BuilderType> The type of builder of the container
+	 * @param container     The container of the frame's builder
+	 * @param reader        The reader over the payload of the frame
+	 * @return The built communicable
+	 */
+	private <BuilderType extends ICommunicableBuilder<OutputType>> Optional<OutputType> build(ICommunicableContainer<BuilderType> container, WireReader reader) {
+		Optional<BuilderType> builderOptional = container.getBuilder();
+		if (!builderOptional.isPresent()) {
+			return Optional.empty();
+		}
+		BuilderType builder = builderOptional.get();
+		Optional<OutputType> result = builder.load(reader) ? builder.build() : Optional.empty();
+		container.recycle(builder);
+		return result;
+	}
+
+	/**
+	 * This method reads a single frame from the given {@link InputStream} and
+	 * returns the decoded communicable contained in an {@link Optional}. The whole
+	 * frame is read even if it cannot be decoded, in which case an empty
+	 * {@link Optional} will be returned. If the length of the frame is not
+	 * acceptable the stream can no longer be read in sync and an
+	 * {@link IOException} will be thrown.
+	 *
+	 * @param stream The stream to read the frame from
+	 * @return The decoded communicable
+	 * @throws EOFException If the stream ends before a whole frame has been read
+	 * @throws IOException  If an I/O error occurs while reading or the frame is too
+	 *                      long
+	 */
+	public Optional<OutputType> read(InputStream stream) throws IOException {
+		byte[] prefix = new byte[4];
+		readFully(stream, prefix);
+		int length = ByteBuffer.wrap(prefix).getInt();
+		if (!isValidLength(length)) {
+			throw new IOException("Invalid frame length " + length + "!");
+		}
+		byte[] frame = new byte[length];
+		readFully(stream, frame);
+		return decode(frame, 0, length);
+	}
+
+	/**
+	 * This method reads a single frame from the given blocking
+	 * {@link ReadableByteChannel} and returns the decoded communicable contained in
+	 * an {@link Optional}. The whole frame is read even if it cannot be decoded, in
+	 * which case an empty {@link Optional} will be returned. If the length of the
+	 * frame is not acceptable the channel can no longer be read in sync and an
+	 * {@link IOException} will be thrown.
+	 *
+	 * @param channel The channel to read the frame from
+	 * @return The decoded communicable
+	 * @throws EOFException If the channel ends before a whole frame has been read
+	 * @throws IOException  If an I/O error occurs while reading or the frame is too
+	 *                      long
+	 */
+	public Optional<OutputType> read(ReadableByteChannel channel) throws IOException {
+		ByteBuffer prefix = ByteBuffer.allocate(4);
+		readFully(channel, prefix);
+		int length = prefix.getInt(0);
+		if (!isValidLength(length)) {
+			throw new IOException("Invalid frame length " + length + "!");
+		}
+		ByteBuffer frame = ByteBuffer.allocate(length);
+		readFully(channel, frame);
+		return decode(frame.array(), 0, length);
+	}
+
+	/**
+	 * This method fills the given array with bytes read from the given
+	 * {@link InputStream}.
+	 *
+	 * @param stream The stream to read from
+	 * @param data   The array to fill
+	 * @throws IOException If an I/O error occurs or the stream ends
+	 */
+	private static void readFully(InputStream stream, byte[] data) throws IOException {
+		int position = 0;
+		while (position < data.length) {
+			int read = stream.read(data, position, data.length - position);
+			if (read < 0) {
+				throw new EOFException("The stream ended in the middle of a frame!");
+			}
+			position += read;
+		}
+	}
+
+	/**
+	 * This method fills the given buffer with bytes read from the given
+	 * {@link ReadableByteChannel}.
+	 *
+	 * @param channel The channel to read from
+	 * @param buffer  The buffer to fill
+	 * @throws IOException If an I/O error occurs or the channel ends
+	 */
+	private static void readFully(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer) < 0) {
+				throw new EOFException("The channel ended in the middle of a frame!");
+			}
+		}
+	}
+
+}
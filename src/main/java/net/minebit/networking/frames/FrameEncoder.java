@@ -0,0 +1,323 @@
+package net.minebit.networking.frames;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Optional;
+
+import net.minebit.networking.exceptions.IllegalParameterException;
+import net.minebit.networking.util.WireWriter;
+import net.minebit.networking.util.communicables.ICommunicable;
+import net.minebit.networking.wrappers.EWrapperContainer;
+import net.minebit.networking.wrappers.IWrapper;
+import net.minebit.networking.wrappers.WrapperContext;
+
+/**
+ * This class represents an encoder that converts {@link ICommunicable}s into
+ * length-prefixed frames which can be decoded by a {@link FrameDecoder}. Each
+ * frame consists of:
+ *
+ * <ol>
+ * <li>The number of bytes that follow as an integer</li>
+ * <li>The id of the builder of the communicable as a byte</li>
+ * <li>The correlation id of the frame as an integer, which is 0 for frames that
+ * do not belong to an exchange and otherwise matches a response to the request
+ * it answers</li>
+ * <li>The number of wrappers applied as a byte, followed by the id of each
+ * wrapper in the order they were applied</li>
+ * <li>The bytes of the communicable after being wrapped</li>
+ * </ol>
+ *
+ * The header and the payload of a frame are kept in separate buffers and
+ * written one after the other, so the payload is never copied into a merged
+ * array.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+public final class FrameEncoder {
+
+	/**
+	 * The maximum number of wrappers that may be applied to a frame.
+	 */
+	public static final int MAX_WRAPPERS = 0xFF;
+
+	private final EWrapperContainer[] wrappers;
+	private final byte[] wrapperIds;
+	private final boolean stateful;
+
+	/**
+	 * This constructor constructs a new {@link FrameEncoder} that applies the given
+	 * wrappers to the payload of every frame in the given order. If more than
+	 * {@link #MAX_WRAPPERS} wrappers or NULL wrappers are given an
+	 * {@link IllegalParameterException} will be thrown.
+	 *
+	 * @param wrappers The wrappers to apply
+	 */
+	public FrameEncoder(EWrapperContainer... wrappers) {
+		if (wrappers.length > MAX_WRAPPERS) {
+			throw new IllegalParameterException("At most " + MAX_WRAPPERS + " wrappers may be applied to a frame!");
+		}
+		this.wrappers = wrappers.clone();
+		this.wrapperIds = new byte[wrappers.length];
+		boolean stateful = false;
+		for (int index = 0; index < wrappers.length; index++) {
+			if (wrappers[index] == null) {
+				throw new IllegalParameterException("The wrappers of a frame cannot be NULL!");
+			}
+			this.wrapperIds[index] = wrappers[index].getId();
+			stateful |= wrappers[index].getWrapper().isStateful();
+		}
+		this.stateful = stateful;
+	}
+
+	/**
+	 * This method returns whether any of the wrappers applied keeps state across
+	 * frames, in which case the frames of a connection must be encoded one at a
+	 * time and sent in the order they were encoded.
+	 *
+	 * @return Whether the encoder applies stateful wrappers
+	 */
+	public boolean isStateful() {
+		return this.stateful;
+	}
+
+	/**
+	 * This method returns the number of bytes the header of every frame occupies,
+	 * including the length prefix.
+	 *
+	 * @return The size of the header
+	 */
+	public int getHeaderSize() {
+		return 10 + this.wrapperIds.length;
+	}
+
+	/**
+	 * This method encodes the given {@link ICommunicable} into a frame and returns
+	 * its header and payload as two buffers contained in an {@link Optional}, ready
+	 * to be written with a single gathering write. If the communicable is NULL, it
+	 * could not be converted into bytes, or any of the wrappers failed an empty
+	 * {@link Optional} will be returned.
+	 *
+	 * @param communicable The communicable to encode
+	 * @return The header and payload of the frame
+	 * @see #encode(ICommunicable, int)
+	 */
+	public Optional<ByteBuffer[]> encode(ICommunicable communicable) {
+		return encode(communicable, 0);
+	}
+
+	/**
+	 * This method encodes the given {@link ICommunicable} into a frame carrying the
+	 * given correlation id and returns its header and payload as two buffers
+	 * contained in an {@link Optional}, ready to be written with a single
+	 * gathering write. If the communicable is NULL, it could not be converted into
+	 * bytes, or any of the wrappers failed an empty {@link Optional} will be
+	 * returned, which is always the case if the encoder is stateful, since its
+	 * wrappers need a {@link WrapperContext}.
+	 *
+	 * @param communicable  The communicable to encode
+	 * @param correlationId The correlation id of the frame
+	 * @return The header and payload of the frame
+	 * @see #encode(ICommunicable, int, WrapperContext)
+	 */
+	public Optional<ByteBuffer[]> encode(ICommunicable communicable, int correlationId) {
+		return encode(communicable, correlationId, null);
+	}
+
+	/**
+	 * This method encodes the given {@link ICommunicable} into a frame carrying the
+	 * given correlation id, wrapping its payload with the state of the given
+	 * {@link WrapperContext}, and returns its header and payload as two buffers
+	 * contained in an {@link Optional}, ready to be written with a single
+	 * gathering write. If the communicable is NULL, it could not be converted into
+	 * bytes, or any of the wrappers failed an empty {@link Optional} will be
+	 * returned.
+	 *
+	 * @param communicable  The communicable to encode
+	 * @param correlationId The correlation id of the frame
+	 * @param context       The context of the connection or NULL
+	 * @return The header and payload of the frame
+	 */
+	public Optional<ByteBuffer[]> encode(ICommunicable communicable, int correlationId, WrapperContext context) {
+		if (communicable == null) {
+			return Optional.empty();
+		}
+		Optional<byte[]> payloadOptional = WireWriter.encode(communicable);
+		if (!payloadOptional.isPresent()) {
+			return Optional.empty();
+		}
+		ByteBuffer payload = ByteBuffer.wrap(payloadOptional.get());
+		for (EWrapperContainer container : this.wrappers) {
+			IWrapper wrapper = container.getWrapper();
+			Optional<ByteBuffer> wrappedOptional = wrapper.wrap(payload, context);
+			if (!wrappedOptional.isPresent()) {
+				return Optional.empty();
+			}
+			payload = wrappedOptional.get();
+		}
+		int headerSize = getHeaderSize();
+		if (payload.remaining() > Integer.MAX_VALUE - headerSize) {
+			return Optional.empty();
+		}
+		ByteBuffer header = ByteBuffer.allocate(headerSize);
+		header.putInt(headerSize - 4 + payload.remaining());
+		header.put(communicable.getBuilderId());
+		header.putInt(correlationId);
+		header.put((byte) this.wrapperIds.length);
+		header.put(this.wrapperIds);
+		header.flip();
+		return Optional.of(new ByteBuffer[] { header, payload });
+	}
+
+	/**
+	 * This method encodes the given {@link ICommunicable} into a frame and writes
+	 * it to the given {@link OutputStream}. The header and the payload are written
+	 * separately without being merged. If the communicable could not be encoded,
+	 * nothing is written and the operation will be marked as failed.
+	 *
+	 * @param communicable The communicable to write
+	 * @param stream       The stream to write the frame to
+	 * @return Whether the operation was successful
+	 * @throws IOException If an I/O error occurs while writing
+	 */
+	public boolean write(ICommunicable communicable, OutputStream stream) throws IOException {
+		return write(communicable, 0, stream);
+	}
+
+	/**
+	 * This method encodes the given {@link ICommunicable} into a frame carrying the
+	 * given correlation id and writes it to the given {@link OutputStream}. The
+	 * header and the payload are written separately without being merged. If the
+	 * communicable could not be encoded, nothing is written and the operation will
+	 * be marked as failed, which is always the case if the encoder is stateful,
+	 * since its wrappers need a {@link WrapperContext}.
+	 *
+	 * @param communicable  The communicable to write
+	 * @param correlationId The correlation id of the frame
+	 * @param stream        The stream to write the frame to
+	 * @return Whether the operation was successful
+	 * @throws IOException If an I/O error occurs while writing
+	 * @see #write(ICommunicable, int, WrapperContext, OutputStream)
+	 */
+	public boolean write(ICommunicable communicable, int correlationId, OutputStream stream) throws IOException {
+		return write(communicable, correlationId, null, stream);
+	}
+
+	/**
+	 * This method encodes the given {@link ICommunicable} into a frame carrying the
+	 * given correlation id, wrapping its payload with the state of the given
+	 * {@link WrapperContext}, and writes it to the given {@link OutputStream}. The
+	 * header and the payload are written separately without being merged, unless
+	 * a wrapper returned a buffer without an accessible array, which is copied
+	 * first. If the communicable could not be encoded, nothing is written and the
+	 * operation will be marked as failed. If the encoder is stateful the frames of
+	 * a stream must be written in the order they are encoded, through the context
+	 * of that stream.
+	 *
+	 * @param communicable  The communicable to write
+	 * @param correlationId The correlation id of the frame
+	 * @param context       The context of the stream or NULL
+	 * @param stream        The stream to write the frame to
+	 * @return Whether the operation was successful
+	 * @throws IOException If an I/O error occurs while writing
+	 */
+	public boolean write(ICommunicable communicable, int correlationId, WrapperContext context, OutputStream stream) throws IOException {
+		Optional<ByteBuffer[]> frameOptional = encode(communicable, correlationId, context);
+		if (!frameOptional.isPresent()) {
+			return false;
+		}
+		for (ByteBuffer buffer : frameOptional.get()) {
+			if (buffer.hasArray()) {
+				stream.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+			} else {
+				byte[] bytes = new byte[buffer.remaining()];
+				buffer.duplicate().get(bytes);
+				stream.write(bytes);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * This method encodes the given {@link ICommunicable} into a frame and writes
+	 * it to the given blocking {@link WritableByteChannel}. If the channel is a
+	 * {@link GatheringByteChannel} the header and the payload are written with
+	 * gathering writes, otherwise they are written one after the other. If the
+	 * communicable could not be encoded, nothing is written and the operation will
+	 * be marked as failed.
+	 *
+	 * @param communicable The communicable to write
+	 * @param channel      The channel to write the frame to
+	 * @return Whether the operation was successful
+	 * @throws IOException If an I/O error occurs while writing
+	 */
+	public boolean write(ICommunicable communicable, WritableByteChannel channel) throws IOException {
+		return write(communicable, 0, channel);
+	}
+
+	/**
+	 * This method encodes the given {@link ICommunicable} into a frame carrying the
+	 * given correlation id and writes it to the given blocking
+	 * {@link WritableByteChannel}. If the channel is a {@link GatheringByteChannel}
+	 * the header and the payload are written with gathering writes, otherwise they
+	 * are written one after the other. If the communicable could not be encoded,
+	 * nothing is written and the operation will be marked as failed, which is
+	 * always the case if the encoder is stateful, since its wrappers need a
+	 * {@link WrapperContext}.
+	 *
+	 * @param communicable  The communicable to write
+	 * @param correlationId The correlation id of the frame
+	 * @param channel       The channel to write the frame to
+	 * @return Whether the operation was successful
+	 * @throws IOException If an I/O error occurs while writing
+	 * @see #write(ICommunicable, int, WrapperContext, WritableByteChannel)
+	 */
+	public boolean write(ICommunicable communicable, int correlationId, WritableByteChannel channel) throws IOException {
+		return write(communicable, correlationId, null, channel);
+	}
+
+	/**
+	 * This method encodes the given {@link ICommunicable} into a frame carrying the
+	 * given correlation id, wrapping its payload with the state of the given
+	 * {@link WrapperContext}, and writes it to the given blocking
+	 * {@link WritableByteChannel}. If the channel is a {@link GatheringByteChannel}
+	 * the header and the payload are written with gathering writes, otherwise they
+	 * are written one after the other. If the communicable could not be encoded,
+	 * nothing is written and the operation will be marked as failed. If the
+	 * encoder is stateful the frames of a channel must be written in the order
+	 * they are encoded, through the context of that channel.
+	 *
+	 * @param communicable  The communicable to write
+	 * @param correlationId The correlation id of the frame
+	 * @param context       The context of the channel or NULL
+	 * @param channel       The channel to write the frame to
+	 * @return Whether the operation was successful
+	 * @throws IOException If an I/O error occurs while writing
+	 */
+	public boolean write(ICommunicable communicable, int correlationId, WrapperContext context, WritableByteChannel channel) throws IOException {
+		Optional<ByteBuffer[]> frameOptional = encode(communicable, correlationId, context);
+		if (!frameOptional.isPresent()) {
+			return false;
+		}
+		ByteBuffer[] frame = frameOptional.get();
+		ByteBuffer header = frame[0], payload = frame[frame.length - 1];
+		if (channel instanceof GatheringByteChannel) {
+			GatheringByteChannel gatheringChannel = (GatheringByteChannel) channel;
+			while (header.hasRemaining() || payload.hasRemaining()) {
+				gatheringChannel.write(frame);
+			}
+			return true;
+		}
+		for (ByteBuffer buffer : frame) {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		}
+		return true;
+	}
+
+}
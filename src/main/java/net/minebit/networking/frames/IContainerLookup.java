@@ -0,0 +1,30 @@
+package net.minebit.networking.frames;
+
+import java.util.Optional;
+
+import net.minebit.networking.util.communicables.ICommunicable;
+import net.minebit.networking.util.communicables.ICommunicableBuilder;
+import net.minebit.networking.util.communicables.ICommunicableContainer;
+
+/**
+ * Classes implementing this interface find the {@link ICommunicableContainer}
+ * of a builder by its id.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ * @param <OutputType> The type of {@link ICommunicable} built
+ */
+@FunctionalInterface
+interface IContainerLookup<OutputType extends ICommunicable> {
+
+	/**
+	 * This method returns the container with the given id contained in an
+	 * {@link Optional}. If it could not be found, an empty {@link Optional} shall
+	 * be returned.
+	 *
+	 * @param id The id of the container
+	 * @return The container with the given id
+	 */
+	public Optional<? extends ICommunicableContainer<? extends ICommunicableBuilder<OutputType>>> getById(byte id);
+
+}
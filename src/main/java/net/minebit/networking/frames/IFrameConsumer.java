@@ -0,0 +1,25 @@
+package net.minebit.networking.frames;
+
+import net.minebit.networking.util.communicables.ICommunicable;
+
+/**
+ * Classes implementing this interface receive the communicables decoded from
+ * frames together with the correlation id each frame carried.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ * @param <ContentType> The type of {@link ICommunicable} received
+ */
+@FunctionalInterface
+public interface IFrameConsumer<ContentType extends ICommunicable> {
+
+	/**
+	 * This method receives the communicable decoded from a frame carrying the
+	 * given correlation id.
+	 *
+	 * @param correlationId The correlation id of the frame
+	 * @param communicable  The decoded communicable
+	 */
+	public void accept(int correlationId, ContentType communicable);
+
+}
@@ -0,0 +1,238 @@
+package net.minebit.networking.frames;
+
+import java.nio.ByteBuffer;
+import java.util.Optional;
+
+import net.minebit.networking.requests.IRequest;
+import net.minebit.networking.responses.IResponse;
+import net.minebit.networking.util.EDecodingState;
+import net.minebit.networking.util.FieldAccumulator;
+import net.minebit.networking.util.IIncrementalDecoder;
+import net.minebit.networking.util.communicables.ICommunicable;
+import net.minebit.networking.util.communicables.ICommunicableBuilder;
+import net.minebit.networking.util.communicables.ICommunicableContainer;
+import net.minebit.networking.util.converters.primitives.IntegerConverter;
+
+/**
+ * This class represents a resumable decoder for frames written by a
+ * {@link FrameEncoder}, whose bytes arrive in chunks of arbitrary size such as
+ * the reads of a non-blocking channel. The decoder keeps its progress between
+ * chunks and emits every communicable as soon as its frame is complete. The
+ * payloads of unwrapped frames whose builders provide an
+ * {@link IIncrementalDecoder} are decoded as they arrive without being
+ * reassembled, while the rest of the frames are gathered and decoded by a
+ * {@link FrameDecoder}. Each {@link IncrementalFrameDecoder} must only be used
+ * for a single connection and by a single thread at a time.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ * @param <OutputType> The type of {@link ICommunicable} decoded
+ *
+ */
+public final class IncrementalFrameDecoder<OutputType extends ICommunicable> {
+
+	private final FrameDecoder<OutputType> frameDecoder;
+	private final FieldAccumulator field = new FieldAccumulator();
+
+	private EStage stage = EStage.LENGTH;
+	private boolean failed = false;
+	private int length = 0, remaining = 0, correlationId = 0;
+	private byte[] body = null;
+	private ICommunicableContainer<ICommunicableBuilder<OutputType>> container = null;
+	private ICommunicableBuilder<OutputType> builder = null;
+	private IIncrementalDecoder<OutputType> decoder = null;
+
+	/**
+	 * This method returns a newly constructed {@link IncrementalFrameDecoder} that
+	 * decodes frames containing {@link IRequest}s.
+	 *
+	 * @return The new {@link IncrementalFrameDecoder}
+	 */
+	public static IncrementalFrameDecoder<IRequest> requests() {
+		return new IncrementalFrameDecoder<>(FrameDecoder.requests());
+	}
+
+	/**
+	 * This method returns a newly constructed {@link IncrementalFrameDecoder} that
+	 * decodes frames containing {@link IResponse}s.
+	 *
+	 * @return The new {@link IncrementalFrameDecoder}
+	 */
+	public static IncrementalFrameDecoder<IResponse> responses() {
+		return new IncrementalFrameDecoder<>(FrameDecoder.responses());
+	}
+
+	/**
+	 * This constructor constructs a new {@link IncrementalFrameDecoder} that finds
+	 * builders, limits the length of frames and decodes gathered frames using the
+	 * given {@link FrameDecoder}.
+	 *
+	 * @param frameDecoder The decoder of complete frames
+	 */
+	public IncrementalFrameDecoder(FrameDecoder<OutputType> frameDecoder) {
+		this.frameDecoder = frameDecoder;
+		this.field.expect(4);
+	}
+
+	/**
+	 * This method returns whether the decoder has failed because a frame with an
+	 * unacceptable length was received, after which the bytes that follow can no
+	 * longer be read in sync.
+	 *
+	 * @return Whether the decoder has failed
+	 */
+	public boolean hasFailed() {
+		return this.failed;
+	}
+
+	/**
+	 * This method decodes all the bytes of the given chunk, advancing its position,
+	 * and gives every communicable whose frame is completed to the given consumer,
+	 * together with the correlation id of the frame, in the order they were
+	 * received. Frames that cannot be decoded are skipped.
+	 * If the decoder has failed nothing is decoded and -1 will be returned.
+	 *
+	 * @param chunk    The next chunk of bytes
+	 * @param consumer The consumer of the decoded communicables
+	 * @return The number of communicables decoded or -1 if the decoder has failed
+	 * @see #hasFailed()
+	 */
+	public int decode(ByteBuffer chunk, IFrameConsumer<? super OutputType> consumer) {
+		int count = 0;
+		while (!this.failed) {
+			switch (this.stage) {
+			case LENGTH:
+				if (!this.field.fill(chunk)) {
+					return count;
+				}
+				this.length = this.field.readInt();
+				if (!this.frameDecoder.isValidLength(this.length)) {
+					this.failed = true;
+					return -1;
+				}
+				this.remaining = this.length;
+				this.stage = EStage.HEADER;
+				this.field.expect(FrameDecoder.MIN_LENGTH);
+				break;
+			case HEADER:
+				if (!this.field.fill(chunk)) {
+					return count;
+				}
+				this.remaining -= FrameDecoder.MIN_LENGTH;
+				startFrame(this.field.array(), this.field.offset());
+				break;
+			case BUFFER:
+				if (this.remaining > 0 && !chunk.hasRemaining()) {
+					return count;
+				}
+				int bufferCount = Math.min(this.remaining, chunk.remaining());
+				chunk.get(this.body, this.length - this.remaining, bufferCount);
+				this.remaining -= bufferCount;
+				if (this.remaining == 0) {
+					byte[] body = this.body;
+					this.body = null;
+					Optional<OutputType> resultOptional = this.frameDecoder.decode(body, 0, this.length);
+					if (resultOptional.isPresent()) {
+						consumer.accept(this.correlationId, resultOptional.get());
+						count++;
+					}
+					endFrame();
+				}
+				break;
+			case STREAM:
+				int position = chunk.position(), limit = chunk.limit();
+				chunk.limit(position + Math.min(this.remaining, chunk.remaining()));
+				EDecodingState state = this.decoder.decode(chunk);
+				chunk.limit(limit);
+				this.remaining -= chunk.position() - position;
+				if (state == EDecodingState.INCOMPLETE && this.remaining > 0) {
+					return count;
+				}
+				if (state == EDecodingState.COMPLETE) {
+					Optional<OutputType> resultOptional = this.decoder.getResult();
+					if (resultOptional.isPresent()) {
+						consumer.accept(this.correlationId, resultOptional.get());
+						count++;
+					}
+				}
+				this.container.recycle(this.builder);
+				this.container = null;
+				this.builder = null;
+				this.decoder = null;
+				this.stage = EStage.SKIP;
+				break;
+			case SKIP:
+				if (this.remaining > 0 && !chunk.hasRemaining()) {
+					return count;
+				}
+				int skipCount = Math.min(this.remaining, chunk.remaining());
+				chunk.position(chunk.position() + skipCount);
+				this.remaining -= skipCount;
+				if (this.remaining == 0) {
+					endFrame();
+				}
+				break;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * This method decides how the payload of the frame with the given header is
+	 * decoded, decoding it as it arrives if possible and gathering it otherwise.
+	 * Wrapped frames are always gathered, even if they cannot be built, so
+	 * stateful wrappers unwrap every frame of the connection.
+	 *
+	 * @param header The array containing the header of the frame
+	 * @param offset The index of the builder id of the frame
+	 */
+	@SuppressWarnings("unchecked")
+	private void startFrame(byte[] header, int offset) {
+		byte builderId = header[offset];
+		byte wrapperNumber = header[offset + FrameDecoder.MIN_LENGTH - 1];
+		this.correlationId = IntegerConverter.INSTANCE.readInt(header, offset + 1);
+		if (wrapperNumber == 0) {
+			Optional<? extends ICommunicableContainer<? extends ICommunicableBuilder<OutputType>>> containerOptional = this.frameDecoder.getLookup().getById(builderId);
+			if (!containerOptional.isPresent()) {
+				this.stage = EStage.SKIP;
+				return;
+			}
+			ICommunicableContainer<ICommunicableBuilder<OutputType>> container = (ICommunicableContainer<ICommunicableBuilder<OutputType>>) containerOptional.get();
+			Optional<ICommunicableBuilder<OutputType>> builderOptional = container.getBuilder();
+			if (!builderOptional.isPresent()) {
+				this.stage = EStage.SKIP;
+				return;
+			}
+			ICommunicableBuilder<OutputType> builder = builderOptional.get();
+			Optional<IIncrementalDecoder<OutputType>> decoderOptional = builder.getDecoder();
+			if (decoderOptional.isPresent()) {
+				this.container = container;
+				this.builder = builder;
+				this.decoder = decoderOptional.get();
+				this.decoder.reset(this.remaining);
+				this.stage = EStage.STREAM;
+				return;
+			}
+			container.recycle(builder);
+		}
+		this.body = new byte[this.length];
+		System.arraycopy(header, offset, this.body, 0, FrameDecoder.MIN_LENGTH);
+		this.stage = EStage.BUFFER;
+	}
+
+	/**
+	 * This method prepares the decoder for the length prefix of the next frame.
+	 */
+	private void endFrame() {
+		this.stage = EStage.LENGTH;
+		this.field.expect(4);
+	}
+
+	/**
+	 * This enum contains the parts of a frame in the order they are decoded.
+	 */
+	private enum EStage {
+		LENGTH, HEADER, BUFFER, STREAM, SKIP;
+	}
+
+}
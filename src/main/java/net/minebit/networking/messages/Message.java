@@ -1,16 +1,17 @@
 package net.minebit.networking.messages;
 
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 
-import net.minebit.networking.util.ByteUtils;
 import net.minebit.networking.util.IBytable;
-import net.minebit.networking.util.converters.EConverterContainer;
+import net.minebit.networking.util.WireWriter;
+import net.minebit.networking.util.converters.ConverterRegistry;
+import net.minebit.networking.util.converters.IConverterContainer;
 import net.minebit.networking.util.converters.IConverter;
-import net.minebit.networking.util.converters.StringConverter;
-import net.minebit.networking.util.converters.primitives.IntegerConverter;
+import net.minebit.networking.util.converters.RawConverter;
 
 /**
  * This class contains all the data necessary to form a message sent from a
@@ -30,6 +31,8 @@ public final class Message implements IBytable {
 
 	private final String title;
 	private final Map<String, Object> map;
+	private final MessageIndex index;
+	private volatile byte[] encoded = null;
 
 	/**
 	 * This constructor constructs a new {@link Message} that represents a message sent from a
@@ -40,8 +43,25 @@ public final class Message implements IBytable {
 	 *              accompanying them as a {@link Map}
 	 */
 	Message(String title, Map<String, Object> map) {
+		this(title, map, null);
+	}
+
+	/**
+	 * This constructor constructs a new <i>lazy</i> {@link Message} that
+	 * represents a message sent from a server to a client and the opposite, whose
+	 * decoded values are converted only when they are first requested. The entries
+	 * of the given {@link Map} take precedence over the indexed ones.
+	 * 
+	 * @param title The "title" of the message
+	 * @param map   The {@link Object}s contained in the message along with the keys
+	 *              accompanying them as a {@link Map}
+	 * @param index The {@link MessageIndex} over the encoded entries of the
+	 *              message or NULL if there are none
+	 */
+	Message(String title, Map<String, Object> map, MessageIndex index) {
 		this.title = new String(title);
 		this.map = new HashMap<>(map);
+		this.index = index;
 	}
 
 	/**
@@ -63,57 +83,163 @@ public final class Message implements IBytable {
 	 * @return The resulted value
 	 */
 	public Optional<Object> getValue(String key) {
-		return Optional.ofNullable(this.map.get(key));
+		Object value = this.map.get(key);
+		if (value == null && this.index != null && !this.map.containsKey(key)) {
+			return this.index.getValue(key);
+		}
+		return Optional.ofNullable(value);
+	}
+
+	/**
+	 * This method returns a <i>read-only</i> {@link ByteBuffer} over the raw bytes
+	 * linked to the given key. If the message was decoded lazily, the buffer is a
+	 * view of the original encoded bytes and nothing is copied. If the element is
+	 * not found or it's value is not a byte array then an empty {@link Optional}
+	 * will be returned.
+	 * 
+	 * @param key The key associated with the raw value
+	 * @return The resulted raw value
+	 */
+	public Optional<ByteBuffer> getSlice(String key) {
+		Object value = this.map.get(key);
+		if (value == null && this.index != null && !this.map.containsKey(key)) {
+			return this.index.getSlice(key);
+		}
+		if (!(value instanceof byte[])) {
+			return Optional.empty();
+		}
+		return Optional.of(ByteBuffer.wrap((byte[]) value).asReadOnlyBuffer());
 	}
 
 	/**
 	 * The {@link Message} converted and returned as an array of raw bytes. The
-	 * array may be decoded using a {@link MessageBuilder}.
+	 * array may be decoded using a {@link MessageBuilder}. The returned array is a
+	 * copy of the cached encoded form and may be freely modified.
 	 * 
 	 * @return The message as a byte array
+	 * @see #getEncoded()
 	 */
+	@Override
 	public Optional<byte[]> bytes() {
-		byte[] titleBytes = StringConverter.INSTANCE.sourceToBytes(this.title).orElse(new byte[0]);
-		int titleSize = titleBytes.length, valueNumber = map.size();
-		byte[] result = new byte[8 + titleSize];
-		byte[] titleSizeBytes = IntegerConverter.INSTANCE.sourceToBytes(titleSize).get();
-		ByteUtils.overwrite(result, titleSizeBytes, 0);
-		ByteUtils.overwrite(result, titleBytes, 4);
+		return Optional.of(encode().clone());
+	}
+
+	/**
+	 * This method returns a <i>read-only</i> {@link ByteBuffer} over the encoded
+	 * form of the {@link Message}. The message is encoded only the first time its
+	 * encoded form is requested and the result is cached, so messages that are
+	 * sent multiple times or wrapped in several responses run their converters only
+	 * once. For this reason the values of the message should not be modified after
+	 * it has been built.
+	 * 
+	 * @return The message's encoded form
+	 */
+	public Optional<ByteBuffer> getEncoded() {
+		return Optional.of(ByteBuffer.wrap(encode()).asReadOnlyBuffer());
+	}
+
+	/**
+	 * This method writes the cached encoded form of the {@link Message} into the
+	 * given {@link WireWriter}, encoding it first if needed.
+	 * 
+	 * @see #getEncoded()
+	 */
+	@Override
+	public boolean write(WireWriter writer) {
+		writer.writeBytes(encode());
+		return true;
+	}
+
+	/**
+	 * This method returns the cached encoded form of the {@link Message}, encoding
+	 * it if that has not happened yet. The cache is published through a volatile
+	 * field without locking, so concurrent first calls may each encode the message
+	 * but all of them produce and publish an identical array. Lazily decoded
+	 * messages whose entries have not been replaced reuse the region they were
+	 * decoded from.
+	 * 
+	 * @return The message's encoded form
+	 */
+	private byte[] encode() {
+		byte[] encoded = this.encoded;
+		if (encoded == null) {
+			if (this.index != null && this.map.isEmpty() && this.index.isComplete()) {
+				encoded = this.index.region();
+			} else {
+				WireWriter writer = new WireWriter(0);
+				writeEntries(writer);
+				encoded = writer.release();
+			}
+			this.encoded = encoded;
+		}
+		return encoded;
+	}
+
+	/**
+	 * This method converts the {@link Message} into the given {@link WireWriter}.
+	 * Values whose converted size is known beforehand, such as primitives and
+	 * {@link String}s, are written directly into the writer while the rest are
+	 * converted exactly once. The total size is computed before anything is
+	 * written, so the writer grows at most once and encoding grows linearly with
+	 * the number of entries. Entries of lazily decoded messages that have not been
+	 * replaced are copied in their encoded form without being converted.
+	 * 
+	 * @param writer The writer to write the message into
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private void writeEntries(WireWriter writer) {
+		int capacity = this.map.size(), valueNumber = 0, titleSize = WireWriter.utf8Length(this.title), size = 8 + titleSize;
+		String[] keys = new String[capacity];
+		int[] keySizes = new int[capacity], valueSizes = new int[capacity];
+		Object[] values = new Object[capacity];
+		IConverter[] converters = new IConverter[capacity];
+		byte[] converterIds = new byte[capacity];
 		for (Entry<String, Object> entry : this.map.entrySet()) {
 			String key = entry.getKey();
 			Object value = entry.getValue();
-			Optional<byte[]> keyBytesOptional = StringConverter.INSTANCE.sourceToBytes(key);
-			Optional<EConverterContainer> converterContainerOptional = EConverterContainer.getOptimal(value);
-			if (!keyBytesOptional.isPresent() || !converterContainerOptional.isPresent()) {
-				valueNumber--;
+			Optional<IConverterContainer> converterContainerOptional = ConverterRegistry.getOptimal(value);
+			if (key == null || !converterContainerOptional.isPresent()) {
 				continue;
 			}
-			byte[] keyBytes = keyBytesOptional.get();
-			EConverterContainer converterContainer = converterContainerOptional.get();
-			@SuppressWarnings("rawtypes")
+			IConverterContainer converterContainer = converterContainerOptional.get();
 			IConverter valueConverter = converterContainer.getConverter();
-			@SuppressWarnings("unchecked")
-			Optional<byte[]> valueBytesOptional = valueConverter.sourceToBytes(value);
-			if (!valueBytesOptional.isPresent()) {
-				valueNumber--;
-				continue;
+			int valueSize = valueConverter.size(value);
+			if (valueSize < 0) {
+				Optional<byte[]> valueBytesOptional = valueConverter.sourceToBytes(value);
+				if (!valueBytesOptional.isPresent()) {
+					continue;
+				}
+				value = valueBytesOptional.get();
+				valueConverter = RawConverter.INSTANCE;
+				valueSize = ((byte[]) value).length;
 			}
-			byte[] converterIdBytes = { converterContainer.getId() };
-			byte[] valueBytes = valueBytesOptional.get();
-			int keySize = keyBytes.length, valueSize = valueBytes.length;
-			byte[] keySizeBytes = IntegerConverter.INSTANCE.sourceToBytes(keySize).get();
-			byte[] valueSizeBytes = IntegerConverter.INSTANCE.sourceToBytes(valueSize).get();
-			byte[] data = new byte[valueSize + keySize + 9];
-			ByteUtils.overwrite(data, keySizeBytes, 0);
-			ByteUtils.overwrite(data, keyBytes, 4);
-			ByteUtils.overwrite(data, valueSizeBytes, 4 + keySize);
-			ByteUtils.overwrite(data, valueBytes, 8 + keySize);
-			ByteUtils.overwrite(data, converterIdBytes, 8 + keySize + valueSize);
-			result = ByteUtils.merge(result, data).get();
+			keys[valueNumber] = key;
+			keySizes[valueNumber] = WireWriter.utf8Length(key);
+			values[valueNumber] = value;
+			valueSizes[valueNumber] = valueSize;
+			converters[valueNumber] = valueConverter;
+			converterIds[valueNumber] = converterContainer.getId();
+			size += keySizes[valueNumber] + valueSize + 9;
+			valueNumber++;
+		}
+		if (this.index != null) {
+			size += this.index.size(this.map.keySet());
+		}
+		writer.ensureCapacity(writer.position() + size);
+		writer.writeInt(titleSize);
+		writer.writeString(this.title);
+		int valueNumberPosition = writer.position();
+		writer.writeInt(valueNumber);
+		for (int counter = 0; counter < valueNumber; counter++) {
+			writer.writeInt(keySizes[counter]);
+			writer.writeString(keys[counter]);
+			writer.writeInt(valueSizes[counter]);
+			converters[counter].write(writer, values[counter]);
+			writer.writeByte(converterIds[counter]);
+		}
+		if (this.index != null) {
+			writer.setInt(valueNumberPosition, valueNumber + this.index.write(writer, this.map.keySet()));
 		}
-		byte[] valueNumberBytes = IntegerConverter.INSTANCE.sourceToBytes(valueNumber).get();
-		ByteUtils.overwrite(result, valueNumberBytes, titleSize + 4);
-		return Optional.of(result);
 	}
 
 }
@@ -4,13 +4,11 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 
-import net.minebit.networking.util.ByteUtils;
 import net.minebit.networking.util.ILoadableBuilder;
-import net.minebit.networking.util.converters.EConverterContainer;
+import net.minebit.networking.util.WireReader;
+import net.minebit.networking.util.converters.ConverterRegistry;
+import net.minebit.networking.util.converters.IConverterContainer;
 import net.minebit.networking.util.converters.IConverter;
-import net.minebit.networking.util.converters.StringConverter;
-import net.minebit.networking.util.converters.primitives.ByteConverter;
-import net.minebit.networking.util.converters.primitives.IntegerConverter;
 
 /**
  * This class represents a builder used to build {@link Message}s by taking the
@@ -26,6 +24,8 @@ public class MessageBuilder implements ILoadableBuilder<Message> {
 
 	private String title = null;
 	private final Map<String, Object> map = new HashMap<>();
+	private boolean lazy = false;
+	private MessageIndex index = null;
 
 	/**
 	 * This method returns a newly constructed empty {@link MessageBuilder} builder.
@@ -37,6 +37,19 @@ public class MessageBuilder implements ILoadableBuilder<Message> {
 		return new MessageBuilder();
 	}
 
+	/**
+	 * This method returns a newly constructed empty {@link MessageBuilder} builder
+	 * that decodes loaded data lazily.
+	 * 
+	 * @return The new {@link MessageBuilder}
+	 * @see #setLazy(boolean)
+	 */
+	public static MessageBuilder lazy() {
+		MessageBuilder builder = new MessageBuilder();
+		builder.lazy = true;
+		return builder;
+	}
+
 	/**
 	 * This method constructs a new {@link MessageBuilder} used to build new
 	 * {@link Message} objects with the data provided and return them.
@@ -56,6 +69,24 @@ public class MessageBuilder implements ILoadableBuilder<Message> {
 		}
 	}
 
+	/**
+	 * This method changes whether the data loaded afterwards will be decoded
+	 * lazily. When decoding lazily only an index of the encoded entries is built,
+	 * each value is converted the first time {@link Message#getValue(String)}
+	 * requests it and raw values may be obtained through
+	 * {@link Message#getSlice(String)} without being copied. The built
+	 * {@link Message} keeps a reference to the loaded byte array, which must not be
+	 * modified afterwards. Loading lazily again replaces the previously indexed
+	 * entries.
+	 * 
+	 * @param lazy Whether to decode lazily
+	 */
+	public void setLazy(boolean lazy) {
+		synchronized (this.mutex) {
+			this.lazy = lazy;
+		}
+	}
+
 	/**
 	 * This method puts the given entry along with the other entries. If the key of
 	 * the given entry is already contained then the old entry with the same key
@@ -81,7 +112,7 @@ public class MessageBuilder implements ILoadableBuilder<Message> {
 			return Optional.empty();
 		}
 		synchronized (this.mutex) {
-			return Optional.of(new Message(this.title, this.map));
+			return Optional.of(new Message(this.title, this.map, this.index));
 		}
 	}
 
@@ -92,63 +123,72 @@ public class MessageBuilder implements ILoadableBuilder<Message> {
 	 */
 	@Override
 	public boolean load(byte[] data) {
-		Optional<byte[]> titleSizeBytes = ByteUtils.rip(data, 0, 3);
-		if (!titleSizeBytes.isPresent()) {
+		return load(new WireReader(data));
+	}
+
+	/**
+	 * This method decodes the data of the given {@link WireReader} and replaces the
+	 * current {@link Message} title and entries with the ones obtained. Keys and
+	 * values are decoded directly from the reader's array without being copied
+	 * first, or only indexed if the builder decodes lazily. Loading without
+	 * decoding lazily discards the index of any earlier lazy load, so the entries
+	 * of the previous data do not leak into the built {@link Message}.
+	 * 
+	 * @see #setLazy(boolean)
+	 */
+	@Override
+	public boolean load(WireReader reader) {
+		int start = reader.position(), titleSize = reader.readInt();
+		String title = reader.readString(titleSize);
+		int valueNumber = reader.readInt();
+		if (reader.hasFailed() || valueNumber < 0 || valueNumber > reader.remaining() / 9) {
 			return false;
 		}
-		int titleSize = IntegerConverter.INSTANCE.bytesToSource(titleSizeBytes.get()).get(), position = 8 + titleSize;
-		byte[] titleBytes = ByteUtils.rip(data, 4, titleSize + 3).orElse(new byte[0]);
-		Optional<byte[]> valueNumberBytes = ByteUtils.rip(data, titleSize + 4, titleSize + 7);
-		if (!valueNumberBytes.isPresent()) {
-			return false;
+		if (this.lazy) {
+			Optional<MessageIndex> indexOptional = MessageIndex.parse(reader, start, valueNumber);
+			if (!indexOptional.isPresent()) {
+				return false;
+			}
+			MessageIndex index = indexOptional.get();
+			synchronized (this.mutex) {
+				this.title = title;
+				this.index = index;
+				this.map.keySet().removeIf(index::contains);
+			}
+			return true;
 		}
-		String title = StringConverter.INSTANCE.bytesToSource(titleBytes).get();
-		int valueNumber = IntegerConverter.INSTANCE.bytesToSource(valueNumberBytes.get()).get();
 		String[] keys = new String[valueNumber];
 		Object[] values = new Object[valueNumber];
 		for (int counter = 0; counter < valueNumber; counter++) {
-			Optional<byte[]> keySizeBytes = ByteUtils.rip(data, position, position + 3);
-			if (!keySizeBytes.isPresent()) {
-				return false;
-			}
-			position += 4;
-			int keySize = IntegerConverter.INSTANCE.bytesToSource(keySizeBytes.get()).get();
-			byte[] keyBytes = ByteUtils.rip(data, position, position + keySize - 1).orElse(new byte[0]);
-			position += keySize;
-			String key = StringConverter.INSTANCE.bytesToSource(keyBytes).get();
-			Optional<byte[]> valueSizeBytes = ByteUtils.rip(data, position, position + 3);
-			if (!valueSizeBytes.isPresent()) {
-				return false;
-			}
-			position += 4;
-			int valueSize = IntegerConverter.INSTANCE.bytesToSource(valueSizeBytes.get()).get();
-			byte[] valueBytes = ByteUtils.rip(data, position, position + valueSize - 1).orElse(new byte[0]);
-			position += valueSize;
-			Optional<byte[]> converterIdBytes = ByteUtils.rip(data, position, position);
-			if (!converterIdBytes.isPresent()) {
+			int keySize = reader.readInt();
+			String key = reader.readString(keySize);
+			int valueSize = reader.readInt(), valuePosition = reader.position();
+			reader.skip(valueSize);
+			byte converterId = reader.readByte();
+			if (reader.hasFailed()) {
 				return false;
 			}
-			position++;
-			byte converterId = ByteConverter.INSTANCE.bytesToSource(converterIdBytes.get()).get();
-			Optional<EConverterContainer> converterContainerOptional = EConverterContainer.getById(converterId);
+			Optional<IConverterContainer> converterContainerOptional = ConverterRegistry.getById(converterId);
 			if (!converterContainerOptional.isPresent()) {
 				continue;
 			}
 			@SuppressWarnings("rawtypes")
 			IConverter valueConverter = converterContainerOptional.get().getConverter();
 			@SuppressWarnings("unchecked")
-			Optional<Object> valueOptional = valueConverter.bytesToSource(valueBytes);
+			Optional<Object> valueOptional = valueConverter.read(reader.array(), valuePosition, valueSize);
 			if (!valueOptional.isPresent()) {
 				continue;
 			}
-			Object value = valueOptional.get();
 			keys[counter] = key;
-			values[counter] = value;
+			values[counter] = valueOptional.get();
 		}
 		synchronized (this.mutex) {
 			this.title = title;
+			this.index = null;
 			for (int counter = 0; counter < valueNumber; counter++) {
-				this.map.put(keys[counter], values[counter]);
+				if (keys[counter] != null) {
+					this.map.put(keys[counter], values[counter]);
+				}
 			}
 		}
 		return true;
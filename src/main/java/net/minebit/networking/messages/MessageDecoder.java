@@ -0,0 +1,202 @@
+package net.minebit.networking.messages;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import net.minebit.networking.util.EDecodingState;
+import net.minebit.networking.util.FieldAccumulator;
+import net.minebit.networking.util.IIncrementalDecoder;
+import net.minebit.networking.util.converters.ConverterRegistry;
+import net.minebit.networking.util.converters.IConverter;
+import net.minebit.networking.util.converters.IConverterContainer;
+
+/**
+ * This class represents an {@link IIncrementalDecoder} that decodes
+ * {@link Message}s field by field from chunks of arbitrary size. Only the field
+ * being decoded is gathered when it is split between chunks and each value is
+ * converted as soon as its converter id arrives, so the encoded message is
+ * never reassembled. Entries with unknown converter ids or values that cannot
+ * be converted are left out, just as {@link MessageBuilder} does. The decoder
+ * may be reused for any number of messages by resetting it.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+public final class MessageDecoder implements IIncrementalDecoder<Message> {
+
+	private final FieldAccumulator field = new FieldAccumulator();
+	private final FieldAccumulator value = new FieldAccumulator();
+	private final Map<String, Object> map = new HashMap<>();
+
+	private EStage stage = EStage.DONE;
+	private EDecodingState state = EDecodingState.FAILED;
+	private int remaining = 0;
+	private String title = null;
+	private int valueNumber = 0, counter = 0;
+	private String key = null;
+	private Message result = null;
+
+	/**
+	 * This constructor constructs a new {@link MessageDecoder} that must be reset
+	 * before decoding a message.
+	 *
+	 * @see #reset(int)
+	 */
+	public MessageDecoder() {
+	}
+
+	@Override
+	public void reset(int length) {
+		this.map.clear();
+		this.title = null;
+		this.key = null;
+		this.result = null;
+		this.valueNumber = 0;
+		this.counter = 0;
+		this.remaining = length;
+		this.state = EDecodingState.INCOMPLETE;
+		this.stage = EStage.TITLE_SIZE;
+		expect(4);
+	}
+
+	@Override
+	public EDecodingState decode(ByteBuffer chunk) {
+		while (this.state == EDecodingState.INCOMPLETE && gather(chunk)) {
+			switch (this.stage) {
+			case TITLE_SIZE:
+				this.stage = EStage.TITLE;
+				expect(this.field.readInt());
+				break;
+			case TITLE:
+				this.title = this.field.readString();
+				this.stage = EStage.VALUE_NUMBER;
+				expect(4);
+				break;
+			case VALUE_NUMBER:
+				this.valueNumber = this.field.readInt();
+				if (this.valueNumber < 0 || this.valueNumber > this.remaining / 9) {
+					this.state = EDecodingState.FAILED;
+				} else {
+					nextEntry();
+				}
+				break;
+			case KEY_SIZE:
+				this.stage = EStage.KEY;
+				expect(this.field.readInt());
+				break;
+			case KEY:
+				this.key = this.field.readString();
+				this.stage = EStage.VALUE_SIZE;
+				expect(4);
+				break;
+			case VALUE_SIZE:
+				int valueSize = this.field.readInt();
+				if (valueSize < 0 || valueSize > this.remaining - 1) {
+					this.state = EDecodingState.FAILED;
+					break;
+				}
+				this.value.expect(valueSize);
+				this.stage = EStage.VALUE;
+				break;
+			case VALUE:
+				if (chunk.hasRemaining()) {
+					this.remaining--;
+					putValue(chunk.get());
+				} else {
+					this.value.retain();
+					this.stage = EStage.CONVERTER_ID;
+					expect(1);
+				}
+				break;
+			case CONVERTER_ID:
+				putValue(this.field.readByte());
+				break;
+			default:
+				this.state = EDecodingState.FAILED;
+			}
+		}
+		return this.state;
+	}
+
+	@Override
+	public Optional<Message> getResult() {
+		return Optional.ofNullable(this.result);
+	}
+
+	/**
+	 * This method gathers the current field from the given chunk and returns
+	 * whether it is complete.
+	 *
+	 * @param chunk The chunk to gather the field from
+	 * @return Whether the field is complete
+	 */
+	private boolean gather(ByteBuffer chunk) {
+		FieldAccumulator accumulator = this.stage == EStage.VALUE ? this.value : this.field;
+		int position = chunk.position();
+		boolean complete = accumulator.fill(chunk);
+		this.remaining -= chunk.position() - position;
+		return complete;
+	}
+
+	/**
+	 * This method prepares the decoder to gather a field of the given length. If
+	 * the length is negative or exceeds the remaining bytes of the message, the
+	 * decoder will be marked as failed.
+	 *
+	 * @param length The length of the field
+	 */
+	private void expect(int length) {
+		if (length < 0 || length > this.remaining) {
+			this.state = EDecodingState.FAILED;
+			return;
+		}
+		this.field.expect(length);
+	}
+
+	/**
+	 * This method converts the gathered value with the converter of the given id
+	 * and puts it along with the other entries before moving to the next one.
+	 *
+	 * @param converterId The id of the value's converter
+	 */
+	private void putValue(byte converterId) {
+		Optional<IConverterContainer> converterContainerOptional = ConverterRegistry.getById(converterId);
+		if (this.key != null && converterContainerOptional.isPresent()) {
+			@SuppressWarnings("unchecked")
+			IConverter<Object> valueConverter = (IConverter<Object>) converterContainerOptional.get().getConverter();
+			Optional<Object> valueOptional = valueConverter.read(this.value.array(), this.value.offset(), this.value.length());
+			if (valueOptional.isPresent()) {
+				this.map.put(this.key, valueOptional.get());
+			}
+		}
+		this.counter++;
+		nextEntry();
+	}
+
+	/**
+	 * This method prepares the decoder for the next entry or completes the message
+	 * if all of its entries have been decoded.
+	 */
+	private void nextEntry() {
+		if (this.counter < this.valueNumber) {
+			this.stage = EStage.KEY_SIZE;
+			expect(4);
+			return;
+		}
+		this.result = new Message(this.title, this.map);
+		this.stage = EStage.DONE;
+		this.state = EDecodingState.COMPLETE;
+	}
+
+	/**
+	 * This enum contains the fields of an encoded {@link Message} in the order they
+	 * are decoded.
+	 */
+	private enum EStage {
+		TITLE_SIZE, TITLE, VALUE_NUMBER, KEY_SIZE, KEY, VALUE_SIZE, VALUE, CONVERTER_ID, DONE;
+	}
+
+}
@@ -0,0 +1,312 @@
+package net.minebit.networking.messages;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import net.minebit.networking.util.WireReader;
+import net.minebit.networking.util.WireWriter;
+import net.minebit.networking.util.converters.ConverterRegistry;
+import net.minebit.networking.util.converters.IConverter;
+import net.minebit.networking.util.converters.RawConverter;
+
+/**
+ * This class represents a compact index over the entries of an encoded
+ * {@link Message}, that links each key to the position of its value in the
+ * original byte array along with the id of its converter. Values are only
+ * converted the first time they are requested and the result is kept for the
+ * following requests.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+final class MessageIndex {
+
+	private static final Object MISSING = new Object();
+
+	private final byte[] source;
+	private final int start, end;
+	private final int count;
+	private final boolean complete;
+	private final int[] entries;
+	private final byte[] converterIds;
+	private final int[] table;
+	private final AtomicReferenceArray<Object> values;
+
+	/**
+	 * This constructor constructs a new {@link MessageIndex} over the given array
+	 * from the already parsed entry positions.
+	 *
+	 * @param source       The array containing the encoded entries
+	 * @param start        The index of the first byte of the encoded message
+	 * @param end          The index after the last byte of the encoded message
+	 * @param complete     Whether every encoded entry has been indexed
+	 * @param count        The number of entries indexed
+	 * @param entries      The key offset, key length, value offset and value
+	 *                     length of each entry
+	 * @param converterIds The converter id of each entry
+	 * @param table        The hash table linking key hashes to entries
+	 */
+	private MessageIndex(byte[] source, int start, int end, boolean complete, int count, int[] entries, byte[] converterIds, int[] table) {
+		this.source = source;
+		this.start = start;
+		this.end = end;
+		this.complete = complete;
+		this.count = count;
+		this.entries = entries;
+		this.converterIds = converterIds;
+		this.table = table;
+		this.values = new AtomicReferenceArray<>(count);
+	}
+
+	/**
+	 * This method parses the given number of entries from the given
+	 * {@link WireReader} and returns a new {@link MessageIndex} over them contained
+	 * in an {@link Optional}. Entries with unknown converter ids are left out and
+	 * entries with duplicate keys replace the earlier ones. If the entries could
+	 * not be parsed an empty {@link Optional} will be returned.
+	 *
+	 * @param reader      The reader positioned at the first entry
+	 * @param start       The index of the first byte of the encoded message
+	 * @param valueNumber The number of entries to parse
+	 * @return The new index
+	 */
+	static Optional<MessageIndex> parse(WireReader reader, int start, int valueNumber) {
+		byte[] source = reader.array();
+		int[] entries = new int[valueNumber * 4];
+		byte[] converterIds = new byte[valueNumber];
+		int[] table = new int[Integer.highestOneBit(Math.max(valueNumber, 1) * 2 - 1) << 1];
+		int count = 0;
+		for (int counter = 0; counter < valueNumber; counter++) {
+			int keySize = reader.readInt(), keyPosition = reader.position();
+			reader.skip(keySize);
+			int valueSize = reader.readInt(), valuePosition = reader.position();
+			reader.skip(valueSize);
+			byte converterId = reader.readByte();
+			if (reader.hasFailed()) {
+				return Optional.empty();
+			}
+			if (!ConverterRegistry.getById(converterId).isPresent()) {
+				continue;
+			}
+			int slot = hash(source, keyPosition, keySize) & table.length - 1, entry = count;
+			while (table[slot] != 0) {
+				int other = table[slot] - 1;
+				if (equals(source, entries[other * 4], entries[other * 4 + 1], source, keyPosition, keySize)) {
+					entry = other;
+					break;
+				}
+				slot = slot + 1 & table.length - 1;
+			}
+			entries[entry * 4] = keyPosition;
+			entries[entry * 4 + 1] = keySize;
+			entries[entry * 4 + 2] = valuePosition;
+			entries[entry * 4 + 3] = valueSize;
+			converterIds[entry] = converterId;
+			if (entry == count) {
+				table[slot] = ++count;
+			}
+		}
+		return Optional.of(new MessageIndex(source, start, reader.position(), count == valueNumber, count, entries, converterIds, table));
+	}
+
+	/**
+	 * This method computes the hash code of the given region of bytes.
+	 *
+	 * @param bytes  The array containing the region
+	 * @param offset The index of the first byte of the region
+	 * @param length The number of bytes in the region
+	 * @return The region's hash code
+	 */
+	private static int hash(byte[] bytes, int offset, int length) {
+		int hash = 1;
+		for (int index = offset; index < offset + length; index++) {
+			hash = 31 * hash + bytes[index];
+		}
+		return hash ^ hash >>> 16;
+	}
+
+	/**
+	 * This method checks whether the two given regions of bytes are equal.
+	 *
+	 * @param first        The array containing the first region
+	 * @param firstOffset  The index of the first byte of the first region
+	 * @param firstLength  The number of bytes in the first region
+	 * @param second       The array containing the second region
+	 * @param secondOffset The index of the first byte of the second region
+	 * @param secondLength The number of bytes in the second region
+	 * @return Whether the regions are equal
+	 */
+	private static boolean equals(byte[] first, int firstOffset, int firstLength, byte[] second, int secondOffset, int secondLength) {
+		if (firstLength != secondLength) {
+			return false;
+		}
+		for (int index = 0; index < firstLength; index++) {
+			if (first[firstOffset + index] != second[secondOffset + index]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * This method returns the position of the entry with the given key or a
+	 * negative number if no such entry is indexed.
+	 *
+	 * @param key The key of the entry
+	 * @return The entry's position
+	 */
+	private int find(String key) {
+		if (key == null || this.count == 0) {
+			return -1;
+		}
+		byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+		int slot = hash(keyBytes, 0, keyBytes.length) & this.table.length - 1;
+		while (this.table[slot] != 0) {
+			int entry = this.table[slot] - 1;
+			if (equals(this.source, this.entries[entry * 4], this.entries[entry * 4 + 1], keyBytes, 0, keyBytes.length)) {
+				return entry;
+			}
+			slot = slot + 1 & this.table.length - 1;
+		}
+		return -1;
+	}
+
+	/**
+	 * This method returns whether every encoded entry has been indexed, meaning
+	 * none were left out for having an unknown converter or a duplicate key.
+	 *
+	 * @return Whether the index is complete
+	 */
+	boolean isComplete() {
+		return this.complete;
+	}
+
+	/**
+	 * This method returns the bytes of the whole encoded message the index was
+	 * built from. If the message occupies the whole array, the array itself is
+	 * returned without being copied.
+	 *
+	 * @return The encoded message
+	 */
+	byte[] region() {
+		if (this.start == 0 && this.end == this.source.length) {
+			return this.source;
+		}
+		return Arrays.copyOfRange(this.source, this.start, this.end);
+	}
+
+	/**
+	 * This method checks whether an entry with the given key is indexed.
+	 *
+	 * @param key The key of the entry
+	 * @return Whether the entry exists
+	 */
+	boolean contains(String key) {
+		return find(key) >= 0;
+	}
+
+	/**
+	 * This method returns the value linked to the given key contained in an
+	 * {@link Optional}, converting it if it is requested for the first time. If no
+	 * entry with the given key is indexed or the value could not be converted an
+	 * empty {@link Optional} will be returned.
+	 *
+	 * @param key The key of the entry
+	 * @return The entry's value
+	 */
+	Optional<Object> getValue(String key) {
+		int entry = find(key);
+		if (entry < 0) {
+			return Optional.empty();
+		}
+		Object value = this.values.get(entry);
+		if (value == null) {
+			@SuppressWarnings("unchecked")
+			IConverter<Object> converter = (IConverter<Object>) ConverterRegistry.getById(this.converterIds[entry]).get().getConverter();
+			value = converter.read(this.source, this.entries[entry * 4 + 2], this.entries[entry * 4 + 3]).orElse(MISSING);
+			if (!this.values.compareAndSet(entry, null, value)) {
+				value = this.values.get(entry);
+			}
+		}
+		return value == MISSING ? Optional.empty() : Optional.of(value);
+	}
+
+	/**
+	 * This method returns a read-only {@link ByteBuffer} over the bytes of the raw
+	 * value linked to the given key contained in an {@link Optional}, without
+	 * copying them. If no entry with the given key is indexed or its value is not
+	 * raw an empty {@link Optional} will be returned.
+	 *
+	 * @param key The key of the entry
+	 * @return The entry's raw value
+	 */
+	Optional<ByteBuffer> getSlice(String key) {
+		int entry = find(key);
+		if (entry < 0 || this.converterIds[entry] != RawConverter.ID) {
+			return Optional.empty();
+		}
+		return Optional.of(ByteBuffer.wrap(this.source, this.entries[entry * 4 + 2], this.entries[entry * 4 + 3]).slice().asReadOnlyBuffer());
+	}
+
+	/**
+	 * This method checks whether the key of the given entry is contained in the
+	 * given set of keys.
+	 *
+	 * @param entry    The position of the entry
+	 * @param excluded The set of keys
+	 * @return Whether the entry's key is contained
+	 */
+	private boolean isExcluded(int entry, Set<String> excluded) {
+		return !excluded.isEmpty() && excluded.contains(new String(this.source, this.entries[entry * 4], this.entries[entry * 4 + 1], StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * This method returns the number of bytes the indexed entries whose keys are
+	 * not contained in the given set occupy once written.
+	 *
+	 * @param excluded The keys of entries to leave out
+	 * @return The size of the entries
+	 */
+	int size(Set<String> excluded) {
+		int size = 0;
+		for (int entry = 0; entry < this.count; entry++) {
+			if (!isExcluded(entry, excluded)) {
+				size += this.entries[entry * 4 + 1] + this.entries[entry * 4 + 3] + 9;
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * This method writes the indexed entries whose keys are not contained in the
+	 * given set into the given {@link WireWriter}, copying their encoded keys and
+	 * values as they are without converting them, and returns the number of
+	 * entries written.
+	 *
+	 * @param writer   The writer to write the entries into
+	 * @param excluded The keys of entries to leave out
+	 * @return The number of entries written
+	 */
+	int write(WireWriter writer, Set<String> excluded) {
+		int written = 0;
+		for (int entry = 0; entry < this.count; entry++) {
+			if (isExcluded(entry, excluded)) {
+				continue;
+			}
+			int keyPosition = this.entries[entry * 4], keySize = this.entries[entry * 4 + 1];
+			writer.writeInt(keySize);
+			writer.writeBytes(this.source, keyPosition, keySize);
+			writer.writeInt(this.entries[entry * 4 + 3]);
+			writer.writeBytes(this.source, this.entries[entry * 4 + 2], this.entries[entry * 4 + 3]);
+			writer.writeByte(this.converterIds[entry]);
+			written++;
+		}
+		return written;
+	}
+
+}
@@ -1,9 +1,12 @@
 package net.minebit.networking.requests;
 
+import java.util.Arrays;
 import java.util.Optional;
 
 import net.minebit.networking.requests.message.asynchronous.MessageAsynchronousRequestBuilder;
 import net.minebit.networking.requests.message.asynchronous.MessageAsynchronousRequestGuide;
+import net.minebit.networking.requests.message.cancel.MessageCancelRequestBuilder;
+import net.minebit.networking.requests.message.cancel.MessageCancelRequestGuide;
 import net.minebit.networking.requests.message.synchronous.MessageSynchronousRequestBuilder;
 import net.minebit.networking.requests.message.synchronous.MessageSynchronousRequestGuide;
 import net.minebit.networking.requests.message.update.MessageUpdateRequestBuilder;
@@ -15,18 +18,20 @@ import net.minebit.networking.requests.session.end.SessionEndRequestGuide;
 import net.minebit.networking.requests.session.resume.SessionResumeRequestBuilder;
 import net.minebit.networking.requests.session.resume.SessionResumeRequestGuide;
 import net.minebit.networking.util.IGuide;
+import net.minebit.networking.util.communicables.ICommunicableContainer;
 
 /**
  * This enum acts as a container for {@link IRequestGuide} objects that contain
  * the {@link IRequestBuilder}s that build the requests supported by the library
  * along with their unique id numbers to make them identifiable remotely when
- * used. <b>Note: </b> The objects in the enum are sorted by their id.
+ * used. Other types may be added through the {@link RequestRegistry}.
+ * <b>Note: </b> The objects in the enum are sorted by their id.
  * 
  * @author Aggelowe
  * @since v0.2.0-beta
  *
  */
-public enum ERequestBuilderContainer {
+public enum ERequestBuilderContainer implements ICommunicableContainer<IRequestBuilder> {
 
 	// @formatter:off
 	SESSION_CREATE(SessionCreateRequestBuilder.ID, SessionCreateRequestGuide.INSTANCE),
@@ -34,9 +39,22 @@ public enum ERequestBuilderContainer {
 	SESSION_RESUME(SessionResumeRequestBuilder.ID, SessionResumeRequestGuide.INSTANCE),
 	MESSAGE_UPDATE(MessageUpdateRequestBuilder.ID, MessageUpdateRequestGuide.INSTANCE),
 	MESSAGE_SYNCHRONOUS(MessageSynchronousRequestBuilder.ID, MessageSynchronousRequestGuide.INSTANCE),
-	MESSAGE_ASYNCHRONOUS(MessageAsynchronousRequestBuilder.ID, MessageAsynchronousRequestGuide.INSTANCE);
+	MESSAGE_ASYNCHRONOUS(MessageAsynchronousRequestBuilder.ID, MessageAsynchronousRequestGuide.INSTANCE),
+	MESSAGE_CANCEL(MessageCancelRequestBuilder.ID, MessageCancelRequestGuide.INSTANCE);
 	// @formatter:on
 
+	private static final Optional<ERequestBuilderContainer>[] CONTAINERS;
+
+	static {
+		@SuppressWarnings("unchecked")
+		Optional<ERequestBuilderContainer>[] containers = (Optional<ERequestBuilderContainer>[]) new Optional<?>[256];
+		Arrays.fill(containers, Optional.empty());
+		for (ERequestBuilderContainer container : values()) {
+			containers[container.id & 0xFF] = Optional.of(container);
+		}
+		CONTAINERS = containers;
+	}
+
 	private final byte id;
 	private final IRequestGuide guide;
 
@@ -61,43 +79,38 @@ public enum ERequestBuilderContainer {
 	 * 
 	 * @return The new {@link IRequestBuilder} instance.
 	 */
+	@Override
 	public Optional<IRequestBuilder> getBuilder() {
 		return this.guide.build();
 	}
 
+	@Override
+	public IRequestGuide getGuide() {
+		return this.guide;
+	}
+
 	/**
 	 * This method returns the unique id of this {@link ERequestBuilderContainer}
 	 * instance.
 	 * 
 	 * @return The container's id
 	 */
+	@Override
 	public byte getId() {
 		return this.id;
 	}
 
 	/**
-	 * This method searches with binary search the enum for the
-	 * {@link ERequestBuilderContainer} that has the given id. If it could not be
-	 * found, an empty {@link Optional} shall be returned.
+	 * This method returns the {@link ERequestBuilderContainer} that has the given id
+	 * from a flat array indexed by id. If it could not be found, an empty
+	 * {@link Optional} shall be returned.
 	 * 
 	 * @param id The id number of the wanted request.
 	 * @return The request with the exact given id.
+	 * @see RequestRegistry#getById(byte)
 	 */
 	public static Optional<ERequestBuilderContainer> getById(byte id) {
-		int min = 0, max = values().length - 1, mid;
-		while (max >= min) {
-			mid = (max - min) / 2 + min;
-			ERequestBuilderContainer value = values()[mid];
-			if (value.id == id) {
-				return Optional.of(value);
-			}
-			if (value.id > id) {
-				max = mid - 1;
-				continue;
-			}
-			min = mid + 1;
-		}
-		return Optional.empty();
+		return CONTAINERS[id & 0xFF];
 	}
 
 }
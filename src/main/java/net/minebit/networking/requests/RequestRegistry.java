@@ -0,0 +1,97 @@
+package net.minebit.networking.requests;
+
+import java.util.Optional;
+
+import net.minebit.networking.exceptions.IllegalConstructionException;
+import net.minebit.networking.util.communicables.CommunicableRegistry;
+import net.minebit.networking.util.communicables.ICommunicableContainer;
+import net.minebit.networking.util.communicables.ICommunicableGuide;
+import net.minebit.networking.util.communicables.RecyclingGuide;
+
+/**
+ * This class contains the guides of all the requests that may be
+ * communicated, which are the ones of the {@link ERequestBuilderContainer} along
+ * with the ones registered by the application under unused ids. Guides are found
+ * by their id in constant time. Guides may be wrapped in a
+ * {@link RecyclingGuide} so that builders are reused instead of constructed for
+ * every request, which {@link #enableRecycling(byte, int)} does for the guides of
+ * the library as well.
+ * 
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+public final class RequestRegistry {
+
+	/**
+	 * The first id that may be used by requests registered by the application.
+	 * The ids below it are reserved for the requests of the library.
+	 */
+	public static final int FIRST_CUSTOM_ID = CommunicableRegistry.FIRST_CUSTOM_ID;
+
+	private static final CommunicableRegistry<IRequestBuilder> REGISTRY = new CommunicableRegistry<>(ERequestBuilderContainer.values());
+
+	/**
+	 * This constructor throws an {@link IllegalConstructionException} as
+	 * {@link RequestRegistry} objects can't and shouldn't be constructed
+	 */
+	private RequestRegistry() {
+		throw new IllegalConstructionException(RequestRegistry.class.getSimpleName() + " objects cannot be constructed!");
+	}
+
+	/**
+	 * This method registers the given guide under the given id so that the
+	 * requests it builds may be communicated. The same guide must be registered
+	 * with the same id on both ends of a connection. If the id is either reserved
+	 * for the library or already taken the operation will be marked as failed.
+	 * 
+	 * @param id    The unique identifier of the guide
+	 * @param guide The guide that constructs the builders
+	 * @return Whether the operation was successful
+	 */
+	public static boolean register(byte id, ICommunicableGuide<IRequestBuilder> guide) {
+		return REGISTRY.register(id, guide);
+	}
+
+	/**
+	 * This method registers the given {@link ICommunicableContainer}. If the
+	 * container is NULL, lacks a guide, or its id is either reserved for the
+	 * library or already taken the operation will be marked as failed.
+	 * 
+	 * @param container The container to register
+	 * @return Whether the operation was successful
+	 */
+	public static boolean register(ICommunicableContainer<IRequestBuilder> container) {
+		return REGISTRY.register(container);
+	}
+
+	/**
+	 * This method makes the builders of the request with the given id be reused
+	 * instead of constructed for every decoded request, keeping up to the given
+	 * number of recycled builders. This is supported for the requests of the
+	 * library as well as the registered ones. If no request has the given id, the
+	 * capacity is not positive or its builders are already recycled the
+	 * operation will be marked as failed.
+	 * 
+	 * @param id       The id of the request
+	 * @param capacity The maximum number of recycled builders kept
+	 * @return Whether the operation was successful
+	 * @see CommunicableRegistry#enableRecycling(byte, int)
+	 */
+	public static boolean enableRecycling(byte id, int capacity) {
+		return REGISTRY.enableRecycling(id, capacity);
+	}
+
+	/**
+	 * This method returns the container of the request that has the given id
+	 * contained in an {@link Optional}. If it could not be found, an empty
+	 * {@link Optional} shall be returned.
+	 * 
+	 * @param id The id number of the wanted request
+	 * @return The request with the exact given id
+	 */
+	public static Optional<ICommunicableContainer<IRequestBuilder>> getById(byte id) {
+		return REGISTRY.getById(id);
+	}
+
+}
@@ -4,6 +4,7 @@ import java.util.Optional;
 
 import net.minebit.networking.messages.Message;
 import net.minebit.networking.requests.IRequest;
+import net.minebit.networking.util.WireWriter;
 
 /**
  * This class represents an {@link IRequest} sent to a server by a client,
@@ -48,4 +49,9 @@ public class MessageAsynchronousRequest implements IRequest {
 		return message.bytes();
 	}
 
+	@Override
+	public boolean write(WireWriter writer) {
+		return message.write(writer);
+	}
+
 }
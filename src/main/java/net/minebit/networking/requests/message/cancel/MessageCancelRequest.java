@@ -0,0 +1,58 @@
+package net.minebit.networking.requests.message.cancel;
+
+import java.util.Optional;
+
+import net.minebit.networking.requests.IRequest;
+import net.minebit.networking.util.WireWriter;
+
+/**
+ * This class represents an {@link IRequest} sent to a server by a client,
+ * requesting the cancellation of a previously sent asynchronous request by the
+ * id the server assigned to it and also contains the means to convert the
+ * request into an array of bytes.
+ * 
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ */
+public class MessageCancelRequest implements IRequest {
+
+	private final int id;
+
+	/**
+	 * This constructor constructs a new {@link MessageCancelRequest} that
+	 * represents a request to cancel an asynchronous request sent from a client to
+	 * the server.
+	 * 
+	 * @param id The id of the asynchronous request to cancel
+	 */
+	MessageCancelRequest(int id) {
+		this.id = id;
+	}
+
+	/**
+	 * This method returns the id of the asynchronous request to cancel, as
+	 * received in its asynchronous response.
+	 * 
+	 * @return The asynchronous request's id
+	 */
+	public int getId() {
+		return this.id;
+	}
+
+	@Override
+	public byte getBuilderId() {
+		return MessageCancelRequestBuilder.ID;
+	}
+
+	@Override
+	public Optional<byte[]> bytes() {
+		return WireWriter.encode(this);
+	}
+
+	@Override
+	public boolean write(WireWriter writer) {
+		writer.writeInt(this.id);
+		return true;
+	}
+
+}
@@ -0,0 +1,91 @@
+package net.minebit.networking.requests.message.cancel;
+
+import java.util.Optional;
+
+import net.minebit.networking.requests.IRequest;
+import net.minebit.networking.requests.IRequestBuilder;
+import net.minebit.networking.util.WireReader;
+
+/**
+ * This class represents a builder used to build {@link MessageCancelRequest}s
+ * by taking the provided information and parsing it into a newly constructed
+ * instance.
+ * 
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+public class MessageCancelRequestBuilder implements IRequestBuilder {
+
+	/**
+	 * The unique id of the builder's container
+	 */
+	public static final byte ID = 0x06;
+
+	private final Object mutex = new Object();
+
+	private int id = 0;
+
+	/**
+	 * This method returns a newly constructed empty
+	 * {@link MessageCancelRequestBuilder} builder.
+	 * 
+	 * @return The new {@link MessageCancelRequestBuilder}
+	 * @see #MessageCancelRequestBuilder()
+	 */
+	public static MessageCancelRequestBuilder empty() {
+		return new MessageCancelRequestBuilder();
+	}
+
+	/**
+	 * This constructor constructs a new {@link MessageCancelRequestBuilder} used
+	 * to build new {@link MessageCancelRequest} objects with the data provided and
+	 * return them.
+	 */
+	private MessageCancelRequestBuilder() {
+	}
+
+	/**
+	 * This method sets the id of the asynchronous request to cancel.
+	 * 
+	 * @param id The asynchronous request's id
+	 */
+	public void setId(int id) {
+		synchronized (this.mutex) {
+			this.id = id;
+		}
+	}
+
+	@Override
+	public boolean reset() {
+		synchronized (this.mutex) {
+			this.id = 0;
+		}
+		return true;
+	}
+
+	@Override
+	public boolean load(byte[] data) {
+		return load(new WireReader(data));
+	}
+
+	@Override
+	public boolean load(WireReader reader) {
+		int id = reader.readInt();
+		if (reader.hasFailed()) {
+			return false;
+		}
+		synchronized (this.mutex) {
+			this.id = id;
+		}
+		return true;
+	}
+
+	@Override
+	public Optional<IRequest> build() {
+		synchronized (this.mutex) {
+			return Optional.of(new MessageCancelRequest(this.id));
+		}
+	}
+
+}
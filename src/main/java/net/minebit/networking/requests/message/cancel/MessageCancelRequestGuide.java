@@ -0,0 +1,36 @@
+package net.minebit.networking.requests.message.cancel;
+
+import java.util.Optional;
+
+import net.minebit.networking.requests.IRequestBuilder;
+import net.minebit.networking.requests.IRequestGuide;
+
+/**
+ * This class represents a guide used to build {@link MessageCancelRequest}s by
+ * taking the provided information and parsing it into a newly constructed
+ * instance.
+ * 
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+public class MessageCancelRequestGuide implements IRequestGuide {
+
+	/**
+	 * The only instance of the {@link MessageCancelRequestGuide} object.
+	 */
+	public static final MessageCancelRequestGuide INSTANCE = new MessageCancelRequestGuide();
+
+	/**
+	 * This method constructs a new {@link MessageCancelRequestGuide} used to build
+	 * new {@link MessageCancelRequestBuilder} objects and return them.
+	 */
+	private MessageCancelRequestGuide() {
+	}
+
+	@Override
+	public Optional<IRequestBuilder> build() {
+		return Optional.of(MessageCancelRequestBuilder.empty());
+	}
+
+}
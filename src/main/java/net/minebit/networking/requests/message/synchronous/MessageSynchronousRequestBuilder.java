@@ -4,8 +4,11 @@ import java.util.Optional;
 
 import net.minebit.networking.messages.Message;
 import net.minebit.networking.messages.MessageBuilder;
+import net.minebit.networking.messages.MessageDecoder;
 import net.minebit.networking.requests.IRequest;
 import net.minebit.networking.requests.IRequestBuilder;
+import net.minebit.networking.util.IIncrementalDecoder;
+import net.minebit.networking.util.WireReader;
 
 /**
  * This class represents a builder used to build
@@ -26,6 +29,8 @@ public class MessageSynchronousRequestBuilder implements IRequestBuilder {
 	private final Object mutex = new Object();
 
 	private Message message;
+	private boolean lazy = false;
+	private IIncrementalDecoder<IRequest> decoder = null;
 
 	/**
 	 * This method returns a newly constructed empty
@@ -57,10 +62,53 @@ public class MessageSynchronousRequestBuilder implements IRequestBuilder {
 		}
 	}
 
+	/**
+	 * This method changes whether the message loaded afterwards will be decoded
+	 * lazily, converting each value only when it is first requested.
+	 * 
+	 * @param lazy Whether to decode lazily
+	 * @see MessageBuilder#setLazy(boolean)
+	 */
+	public void setLazy(boolean lazy) {
+		synchronized (this.mutex) {
+			this.lazy = lazy;
+		}
+	}
+
+	@Override
+	public boolean reset() {
+		synchronized (this.mutex) {
+			this.message = null;
+		}
+		return true;
+	}
+
+	/**
+	 * This method returns an {@link IIncrementalDecoder} which decodes the message
+	 * with a {@link MessageDecoder} as its bytes arrive and then builds the request.
+	 * The decoder is created once and reused along with the builder. Messages
+	 * decoded incrementally are never decoded lazily.
+	 */
+	@Override
+	public Optional<IIncrementalDecoder<IRequest>> getDecoder() {
+		if (this.decoder == null) {
+			this.decoder = new MessageDecoder().map(message -> {
+				setMessage(message);
+				return build();
+			});
+		}
+		return Optional.of(this.decoder);
+	}
+
 	@Override
 	public boolean load(byte[] data) {
-		MessageBuilder builder = MessageBuilder.empty();
-		boolean messageSuccess = builder.load(data);
+		return load(new WireReader(data));
+	}
+
+	@Override
+	public boolean load(WireReader reader) {
+		MessageBuilder builder = this.lazy ? MessageBuilder.lazy() : MessageBuilder.empty();
+		boolean messageSuccess = builder.load(reader);
 		if (!messageSuccess) {
 			return false;
 		}
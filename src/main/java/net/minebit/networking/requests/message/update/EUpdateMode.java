@@ -0,0 +1,70 @@
+package net.minebit.networking.requests.message.update;
+
+import java.util.Optional;
+
+/**
+ * This enum contains the ways a server may deliver the results of the
+ * asynchronous requests of a session, as requested by a
+ * {@link MessageUpdateRequest}, along with their unique id numbers.
+ * <b>Note: </b> The objects in the enum are sorted by their id.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+public enum EUpdateMode {
+
+	/**
+	 * The completed results are returned immediately, even if there are none.
+	 */
+	POLL((byte) 0x00),
+
+	/**
+	 * The request is answered as soon as results are completed or when its timeout
+	 * passes, whichever happens first.
+	 */
+	LONG_POLL((byte) 0x01),
+
+	/**
+	 * The completed results are returned immediately and every result completed
+	 * afterwards is pushed to the client without being requested, until another
+	 * mode is requested.
+	 */
+	PUSH((byte) 0x02);
+
+	private static final EUpdateMode[] MODES = values();
+
+	private final byte id;
+
+	/**
+	 * This constructor constructs a new {@link EUpdateMode} with the given unique
+	 * id.
+	 *
+	 * @param id The unique identifier of the mode
+	 */
+	private EUpdateMode(byte id) {
+		this.id = id;
+	}
+
+	/**
+	 * This method returns the unique id of this {@link EUpdateMode} instance.
+	 *
+	 * @return The mode's id
+	 */
+	public byte getId() {
+		return this.id;
+	}
+
+	/**
+	 * This method returns the {@link EUpdateMode} that has the given id. If it
+	 * could not be found, an empty {@link Optional} shall be returned.
+	 *
+	 * @param id The id number of the wanted mode.
+	 * @return The mode with the exact given id.
+	 */
+	public static Optional<EUpdateMode> getById(byte id) {
+		int index = id & 0xFF;
+		return index < MODES.length ? Optional.of(MODES[index]) : Optional.empty();
+	}
+
+}
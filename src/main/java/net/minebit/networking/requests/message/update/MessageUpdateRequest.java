@@ -3,6 +3,7 @@ package net.minebit.networking.requests.message.update;
 import java.util.Optional;
 
 import net.minebit.networking.requests.IRequest;
+import net.minebit.networking.util.WireWriter;
 
 /**
  * This class represents an {@link IRequest} sent to a server by a client,
@@ -14,12 +15,56 @@ import net.minebit.networking.requests.IRequest;
  */
 public class MessageUpdateRequest implements IRequest {
 
+	private final EUpdateMode mode;
+	private final int timeout;
+	private final int acknowledged;
+
 	/**
 	 * This constructor constructs a new {@link MessageUpdateRequest} that
 	 * represents a request for the transmission of completed asynchronous message
 	 * requests sent from a client to the sever
+	 * 
+	 * @param mode         The requested delivery mode
+	 * @param timeout      The longest time in milliseconds to wait for results
+	 * @param acknowledged The sequence number of the last processed result
+	 */
+	MessageUpdateRequest(EUpdateMode mode, int timeout, int acknowledged) {
+		this.mode = mode;
+		this.timeout = timeout;
+		this.acknowledged = acknowledged;
+	}
+
+	/**
+	 * This method returns the way the client requests the results to be
+	 * delivered.
+	 * 
+	 * @return The requested delivery mode
+	 */
+	public EUpdateMode getMode() {
+		return this.mode;
+	}
+
+	/**
+	 * This method returns the longest time in milliseconds the server may wait for
+	 * results before answering, which is only used in
+	 * {@link EUpdateMode#LONG_POLL} mode.
+	 * 
+	 * @return The request's timeout
+	 */
+	public int getTimeout() {
+		return this.timeout;
+	}
+
+	/**
+	 * This method returns the sequence number of the last result the client has
+	 * processed, so the server may release it along with every result delivered
+	 * before it. If the value is negative the client does not acknowledge results
+	 * and the server releases them as soon as they are delivered.
+	 * 
+	 * @return The sequence number of the last acknowledged result
 	 */
-	MessageUpdateRequest() {
+	public int getAcknowledged() {
+		return this.acknowledged;
 	}
 
 	@Override
@@ -29,7 +74,15 @@ public class MessageUpdateRequest implements IRequest {
 
 	@Override
 	public Optional<byte[]> bytes() {
-		return Optional.of(new byte[0]);
+		return WireWriter.encode(this);
+	}
+
+	@Override
+	public boolean write(WireWriter writer) {
+		writer.writeByte(this.mode.getId());
+		writer.writeInt(this.timeout);
+		writer.writeInt(this.acknowledged);
+		return true;
 	}
 
 }
@@ -4,6 +4,7 @@ import java.util.Optional;
 
 import net.minebit.networking.requests.IRequest;
 import net.minebit.networking.requests.IRequestBuilder;
+import net.minebit.networking.util.WireReader;
 
 /**
  * This class represents a builder used to build {@link MessageUpdateRequest}s
@@ -21,6 +22,12 @@ public class MessageUpdateRequestBuilder implements IRequestBuilder {
 	 */
 	public static final byte ID = 0x03;
 
+	private final Object mutex = new Object();
+
+	private EUpdateMode mode = EUpdateMode.POLL;
+	private int timeout = 0;
+	private int acknowledged = -1;
+
 	/**
 	 * This method returns a newly constructed empty
 	 * {@link MessageUpdateRequestBuilder} builder.
@@ -40,14 +47,96 @@ public class MessageUpdateRequestBuilder implements IRequestBuilder {
 	private MessageUpdateRequestBuilder() {
 	}
 
+	/**
+	 * This method sets the way the results should be delivered.
+	 * 
+	 * @param mode The delivery mode
+	 * @return Whether the operation was successful
+	 */
+	public boolean setMode(EUpdateMode mode) {
+		if (mode == null) {
+			return false;
+		}
+		synchronized (this.mutex) {
+			this.mode = mode;
+		}
+		return true;
+	}
+
+	/**
+	 * This method sets the longest time in milliseconds the server may wait for
+	 * results before answering in {@link EUpdateMode#LONG_POLL} mode.
+	 * 
+	 * @param timeout The timeout in milliseconds
+	 * @return Whether the operation was successful
+	 */
+	public boolean setTimeout(int timeout) {
+		if (timeout < 0) {
+			return false;
+		}
+		synchronized (this.mutex) {
+			this.timeout = timeout;
+		}
+		return true;
+	}
+
+	/**
+	 * This method sets the sequence number of the last result processed by the
+	 * client, which the server may release. A negative value disables
+	 * acknowledgements, in which case results are released when delivered.
+	 * 
+	 * @param acknowledged The sequence number of the last processed result
+	 * @see MessageUpdateRequest#getAcknowledged()
+	 */
+	public void setAcknowledged(int acknowledged) {
+		synchronized (this.mutex) {
+			this.acknowledged = acknowledged;
+		}
+	}
+
+	@Override
+	public boolean reset() {
+		synchronized (this.mutex) {
+			this.mode = EUpdateMode.POLL;
+			this.timeout = 0;
+			this.acknowledged = -1;
+		}
+		return true;
+	}
+
 	@Override
 	public boolean load(byte[] data) {
+		return load(new WireReader(data));
+	}
+
+	/**
+	 * This method loads the given bytes into the builder. An empty request is
+	 * loaded as a {@link EUpdateMode#POLL} request.
+	 */
+	@Override
+	public boolean load(WireReader reader) {
+		if (reader.remaining() == 0) {
+			return reset();
+		}
+		Optional<EUpdateMode> modeOptional = EUpdateMode.getById(reader.readByte());
+		int timeout = reader.readInt();
+		int acknowledged = reader.readInt();
+		if (reader.hasFailed() || !modeOptional.isPresent() || timeout < 0) {
+			return false;
+		}
+		synchronized (this.mutex) {
+			this.mode = modeOptional.get();
+			this.timeout = timeout;
+			this.acknowledged = acknowledged;
+		}
 		return true;
 	}
 
 	@Override
 	public Optional<IRequest> build() {
-		return Optional.of(new MessageUpdateRequest());
+		synchronized (this.mutex) {
+			return Optional.of(new MessageUpdateRequest(this.mode, this.timeout, this.acknowledged));
+		}
 	}
 
 }
@@ -3,6 +3,8 @@ package net.minebit.networking.requests.session.create;
 import java.util.Optional;
 
 import net.minebit.networking.requests.IRequest;
+import net.minebit.networking.util.WireWriter;
+import net.minebit.networking.wrappers.DictionaryWrapper;
 
 /**
  * This class represents an {@link IRequest} sent to a server by a client,
@@ -14,11 +16,27 @@ import net.minebit.networking.requests.IRequest;
  */
 public class SessionCreateRequest implements IRequest {
 
+	private final int[] dictionaryIds;
+
 	/**
 	 * This constructor constructs a new {@link SessionCreateRequest} that
 	 * represents a request for a new session sent from a client to the sever
+	 * 
+	 * @param dictionaryIds The ids of the dictionaries offered by the client
+	 */
+	SessionCreateRequest(int[] dictionaryIds) {
+		this.dictionaryIds = dictionaryIds;
+	}
+
+	/**
+	 * This method returns the ids of the dictionaries the client has registered
+	 * with the {@link DictionaryWrapper}, in order of preference, one of which the
+	 * server may choose to compress the frames of the session with.
+	 * 
+	 * @return The ids of the offered dictionaries
 	 */
-	SessionCreateRequest() {
+	public int[] getDictionaryIds() {
+		return this.dictionaryIds.clone();
 	}
 
 	@Override
@@ -28,7 +46,19 @@ public class SessionCreateRequest implements IRequest {
 	
 	@Override
 	public Optional<byte[]> bytes() {
-		return Optional.of(new byte[0]);
+		return WireWriter.encode(this);
+	}
+
+	@Override
+	public boolean write(WireWriter writer) {
+		if (this.dictionaryIds.length == 0) {
+			return true;
+		}
+		writer.writeByte((byte) this.dictionaryIds.length);
+		for (int id : this.dictionaryIds) {
+			writer.writeInt(id);
+		}
+		return true;
 	}
 
 }
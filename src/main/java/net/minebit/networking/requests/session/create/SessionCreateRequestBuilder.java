@@ -4,6 +4,7 @@ import java.util.Optional;
 
 import net.minebit.networking.requests.IRequest;
 import net.minebit.networking.requests.IRequestBuilder;
+import net.minebit.networking.util.WireReader;
 
 /**
  * This class represents a builder used to build {@link SessionCreateRequest}s
@@ -21,6 +22,15 @@ public class SessionCreateRequestBuilder implements IRequestBuilder {
 	 */
 	public static final byte ID = 0x00;
 
+	/**
+	 * The maximum number of dictionaries a client may offer.
+	 */
+	public static final int MAX_DICTIONARIES = 0xFF;
+
+	private final Object mutex = new Object();
+
+	private int[] dictionaryIds = new int[0];
+
 	/**
 	 * This method returns a newly constructed empty
 	 * {@link SessionCreateRequestBuilder} builder.
@@ -40,14 +50,65 @@ public class SessionCreateRequestBuilder implements IRequestBuilder {
 	private SessionCreateRequestBuilder() {
 	}
 
+	/**
+	 * This method sets the ids of the dictionaries offered to the server, in order
+	 * of preference. If the array is NULL or contains more than
+	 * {@link #MAX_DICTIONARIES} ids the operation will be marked as failed.
+	 * 
+	 * @param dictionaryIds The ids of the offered dictionaries
+	 * @return Whether the operation was successful
+	 * @see SessionCreateRequest#getDictionaryIds()
+	 */
+	public boolean setDictionaryIds(int... dictionaryIds) {
+		if (dictionaryIds == null || dictionaryIds.length > MAX_DICTIONARIES) {
+			return false;
+		}
+		synchronized (this.mutex) {
+			this.dictionaryIds = dictionaryIds.clone();
+		}
+		return true;
+	}
+
+	@Override
+	public boolean reset() {
+		synchronized (this.mutex) {
+			this.dictionaryIds = new int[0];
+		}
+		return true;
+	}
+
 	@Override
 	public boolean load(byte[] data) {
+		return load(new WireReader(data));
+	}
+
+	/**
+	 * This method loads the given bytes into the builder. An empty request is
+	 * loaded as a request offering no dictionaries.
+	 */
+	@Override
+	public boolean load(WireReader reader) {
+		if (reader.remaining() == 0) {
+			return reset();
+		}
+		int[] dictionaryIds = new int[reader.readByte() & 0xFF];
+		for (int index = 0; index < dictionaryIds.length; index++) {
+			dictionaryIds[index] = reader.readInt();
+		}
+		if (reader.hasFailed()) {
+			return false;
+		}
+		synchronized (this.mutex) {
+			this.dictionaryIds = dictionaryIds;
+		}
 		return true;
 	}
 
 	@Override
 	public Optional<IRequest> build() {
-		return Optional.of(new SessionCreateRequest());
+		synchronized (this.mutex) {
+			return Optional.of(new SessionCreateRequest(this.dictionaryIds.clone()));
+		}
 	}
 
 }
@@ -3,6 +3,7 @@ package net.minebit.networking.requests.session.end;
 import java.util.Optional;
 
 import net.minebit.networking.requests.IRequest;
+import net.minebit.networking.util.WireWriter;
 
 /**
  * This class represents an {@link IRequest} sent to a server by a client,
@@ -31,4 +32,9 @@ public class SessionEndRequest implements IRequest {
 		return Optional.of(new byte[0]);
 	}
 
+	@Override
+	public boolean write(WireWriter writer) {
+		return true;
+	}
+
 }
@@ -4,6 +4,7 @@ import java.util.Optional;
 
 import net.minebit.networking.requests.IRequest;
 import net.minebit.networking.requests.IRequestBuilder;
+import net.minebit.networking.util.WireReader;
 
 /**
  * This class represents a builder used to build {@link SessionEndRequest}s
@@ -40,11 +41,21 @@ public class SessionEndRequestBuilder implements IRequestBuilder {
 	private SessionEndRequestBuilder() {
 	}
 	
+	@Override
+	public boolean reset() {
+		return true;
+	}
+
 	@Override
 	public boolean load(byte[] data) {
 		return true;
 	}
 
+	@Override
+	public boolean load(WireReader reader) {
+		return true;
+	}
+
 	@Override
 	public Optional<IRequest> build() {
 		return Optional.of(new SessionEndRequest());
@@ -3,7 +3,7 @@ package net.minebit.networking.requests.session.resume;
 import java.util.Optional;
 
 import net.minebit.networking.requests.IRequest;
-import net.minebit.networking.util.converters.primitives.IntegerConverter;
+import net.minebit.networking.util.WireWriter;
 
 /**
  * This class represents an {@link IRequest} sent to a server by a client,
@@ -16,16 +16,23 @@ import net.minebit.networking.util.converters.primitives.IntegerConverter;
 public class SessionResumeRequest implements IRequest {
 
 	private final int sessionId;
+	private final long sessionToken;
+	private final int sequence;
 
 	/**
 	 * This constructor constructs a new {@link SessionResumeRequest} that
 	 * represents a request to continue an old session sent from a client to the
 	 * server.
 	 * 
-	 * @param sessionId The id of the session to continue
+	 * @param sessionId    The id of the session to continue
+	 * @param sessionToken The token of the session to continue
+	 * @param sequence     The sequence number of the last frame of the session
+	 *                     the client received
 	 */
-	SessionResumeRequest(int sessionId) {
+	SessionResumeRequest(int sessionId, long sessionToken, int sequence) {
 		this.sessionId = sessionId;
+		this.sessionToken = sessionToken;
+		this.sequence = sequence;
 	}
 
 	/**
@@ -37,6 +44,26 @@ public class SessionResumeRequest implements IRequest {
 		return this.sessionId;
 	}
 
+	/**
+	 * This method returns the secret token of the session to continue from, which
+	 * the server sent when the session was created.
+	 * 
+	 * @return The session's token
+	 */
+	public long getSessionToken() {
+		return this.sessionToken;
+	}
+
+	/**
+	 * This method returns the sequence number of the last frame of the session
+	 * the client received, so the server replays only the frames sent after it.
+	 * 
+	 * @return The sequence number of the last received frame
+	 */
+	public int getSequence() {
+		return this.sequence;
+	}
+
 	@Override
 	public byte getBuilderId() {
 		return SessionResumeRequestBuilder.ID;
@@ -44,7 +71,15 @@ public class SessionResumeRequest implements IRequest {
 
 	@Override
 	public Optional<byte[]> bytes() {
-		return IntegerConverter.INSTANCE.sourceToBytes(sessionId);
+		return WireWriter.encode(this);
+	}
+
+	@Override
+	public boolean write(WireWriter writer) {
+		writer.writeInt(this.sessionId);
+		writer.writeLong(this.sessionToken);
+		writer.writeInt(this.sequence);
+		return true;
 	}
 
 }
@@ -4,7 +4,7 @@ import java.util.Optional;
 
 import net.minebit.networking.requests.IRequest;
 import net.minebit.networking.requests.IRequestBuilder;
-import net.minebit.networking.util.converters.primitives.IntegerConverter;
+import net.minebit.networking.util.WireReader;
 
 /**
  * This class represents a builder used to build {@link SessionResumeRequest}s
@@ -25,6 +25,8 @@ public class SessionResumeRequestBuilder implements IRequestBuilder {
 	private final Object mutex = new Object();
 
 	private int sessionId = 0;
+	private long sessionToken = 0;
+	private int sequence = 0;
 
 	/**
 	 * This method returns a newly constructed empty
@@ -56,14 +58,59 @@ public class SessionResumeRequestBuilder implements IRequestBuilder {
 		}
 	}
 
+	/**
+	 * This method sets the secret token of the session to continue, which the
+	 * server sent when the session was created.
+	 * 
+	 * @param sessionToken The session's token
+	 * @see SessionResumeRequest#getSessionToken()
+	 */
+	public void setSessionToken(long sessionToken) {
+		synchronized (this.mutex) {
+			this.sessionToken = sessionToken;
+		}
+	}
+
+	/**
+	 * This method sets the sequence number of the last frame of the session the
+	 * client received.
+	 * 
+	 * @param sequence The sequence number of the last received frame
+	 * @see SessionResumeRequest#getSequence()
+	 */
+	public void setSequence(int sequence) {
+		synchronized (this.mutex) {
+			this.sequence = sequence;
+		}
+	}
+
+	@Override
+	public boolean reset() {
+		synchronized (this.mutex) {
+			this.sessionId = 0;
+			this.sessionToken = 0;
+			this.sequence = 0;
+		}
+		return true;
+	}
+
 	@Override
 	public boolean load(byte[] data) {
-		Optional<Integer> sessionIdOptional = IntegerConverter.INSTANCE.bytesToSource(data);
-		if (!sessionIdOptional.isPresent()) {
+		return load(new WireReader(data));
+	}
+
+	@Override
+	public boolean load(WireReader reader) {
+		int sessionId = reader.readInt();
+		long sessionToken = reader.readLong();
+		int sequence = reader.readInt();
+		if (reader.hasFailed()) {
 			return false;
 		}
 		synchronized (this.mutex) {
-			this.sessionId = sessionIdOptional.get();
+			this.sessionId = sessionId;
+			this.sessionToken = sessionToken;
+			this.sequence = sequence;
 		}
 		return true;
 	}
@@ -71,7 +118,7 @@ public class SessionResumeRequestBuilder implements IRequestBuilder {
 	@Override
 	public Optional<IRequest> build() {
 		synchronized (this.mutex) {
-			return Optional.of(new SessionResumeRequest(this.sessionId));
+			return Optional.of(new SessionResumeRequest(this.sessionId, this.sessionToken, this.sequence));
 		}
 	}
 
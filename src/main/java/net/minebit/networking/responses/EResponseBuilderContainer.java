@@ -1,11 +1,14 @@
 package net.minebit.networking.responses;
 
+import java.util.Arrays;
 import java.util.Optional;
 
 import net.minebit.networking.responses.error.ErrorResponseBuilder;
 import net.minebit.networking.responses.error.ErrorResponseGuide;
 import net.minebit.networking.responses.message.asynchronous.MessageAsynchronousResponseBuilder;
 import net.minebit.networking.responses.message.asynchronous.MessageAsynchronousResponseGuide;
+import net.minebit.networking.responses.message.cancel.MessageCancelResponseBuilder;
+import net.minebit.networking.responses.message.cancel.MessageCancelResponseGuide;
 import net.minebit.networking.responses.message.synchronous.MessageSynchronousResponseBuilder;
 import net.minebit.networking.responses.message.synchronous.MessageSynchronousResponseGuide;
 import net.minebit.networking.responses.message.update.MessageUpdateResponseBuilder;
@@ -17,18 +20,20 @@ import net.minebit.networking.responses.session.end.SessionEndResponseGuide;
 import net.minebit.networking.responses.session.resume.SessionResumeResponseBuilder;
 import net.minebit.networking.responses.session.resume.SessionResumeResponseGuide;
 import net.minebit.networking.util.IGuide;
+import net.minebit.networking.util.communicables.ICommunicableContainer;
 
 /**
  * This enum acts as a container for {@link IResponseGuide} objects that contain
  * the {@link IResponseBuilder}s that build the responses supported by the
  * library along with their unique id numbers to make them identifiable remotely
- * when used. <b>Note: </b> The objects in the enum are sorted by their id.
+ * when used. Other types may be added through the {@link ResponseRegistry}.
+ * <b>Note: </b> The objects in the enum are sorted by their id.
  * 
  * @author Aggelowe
  * @since v0.2.0-beta
  *
  */
-public enum EResponseBuilderContainer {
+public enum EResponseBuilderContainer implements ICommunicableContainer<IResponseBuilder> {
 
 	// @formatter:off
 	ERROR(ErrorResponseBuilder.ID, ErrorResponseGuide.INSTANCE),
@@ -37,9 +42,22 @@ public enum EResponseBuilderContainer {
 	SESSION_RESUME(SessionResumeResponseBuilder.ID, SessionResumeResponseGuide.INSTANCE),
 	MESSAGE_UPDATE(MessageUpdateResponseBuilder.ID, MessageUpdateResponseGuide.INSTANCE),
 	MESSAGE_SYNCHRONOUS(MessageSynchronousResponseBuilder.ID, MessageSynchronousResponseGuide.INSTANCE),
-	MESSAGE_ASYNCHRONOUS(MessageAsynchronousResponseBuilder.ID, MessageAsynchronousResponseGuide.INSTANCE);
+	MESSAGE_ASYNCHRONOUS(MessageAsynchronousResponseBuilder.ID, MessageAsynchronousResponseGuide.INSTANCE),
+	MESSAGE_CANCEL(MessageCancelResponseBuilder.ID, MessageCancelResponseGuide.INSTANCE);
 	// @formatter:on
 
+	private static final Optional<EResponseBuilderContainer>[] CONTAINERS;
+
+	static {
+		@SuppressWarnings("unchecked")
+		Optional<EResponseBuilderContainer>[] containers = (Optional<EResponseBuilderContainer>[]) new Optional<?>[256];
+		Arrays.fill(containers, Optional.empty());
+		for (EResponseBuilderContainer container : values()) {
+			containers[container.id & 0xFF] = Optional.of(container);
+		}
+		CONTAINERS = containers;
+	}
+
 	private final byte id;
 	private final IResponseGuide guide;
 
@@ -64,43 +82,38 @@ public enum EResponseBuilderContainer {
 	 * 
 	 * @return The new {@link IResponseBuilder} instance.
 	 */
+	@Override
 	public Optional<IResponseBuilder> getBuilder() {
 		return this.guide.build();
 	}
 
+	@Override
+	public IResponseGuide getGuide() {
+		return this.guide;
+	}
+
 	/**
 	 * This method returns the unique id of this {@link EResponseBuilderContainer}
 	 * instance.
 	 * 
 	 * @return The container's id
 	 */
+	@Override
 	public byte getId() {
 		return this.id;
 	}
 
 	/**
-	 * This method searches with binary search the enum for the
-	 * {@link EResponseBuilderContainer} that has the given id. If it could not be
-	 * found, an empty {@link Optional} shall be returned.
+	 * This method returns the {@link EResponseBuilderContainer} that has the given id
+	 * from a flat array indexed by id. If it could not be found, an empty
+	 * {@link Optional} shall be returned.
 	 * 
 	 * @param id The id number of the wanted response.
 	 * @return The response with the exact given id.
+	 * @see ResponseRegistry#getById(byte)
 	 */
 	public static Optional<EResponseBuilderContainer> getById(byte id) {
-		int min = 0, max = values().length - 1, mid;
-		while (max >= min) {
-			mid = (max - min) / 2 + min;
-			EResponseBuilderContainer value = values()[mid];
-			if (value.id == id) {
-				return Optional.of(value);
-			}
-			if (value.id > id) {
-				max = mid - 1;
-				continue;
-			}
-			min = mid + 1;
-		}
-		return Optional.empty();
+		return CONTAINERS[id & 0xFF];
 	}
 
 }
@@ -3,7 +3,7 @@ package net.minebit.networking.responses.error;
 import java.util.Optional;
 
 import net.minebit.networking.responses.IResponse;
-import net.minebit.networking.util.converters.StringConverter;
+import net.minebit.networking.util.WireWriter;
 
 /**
  * This class represents an {@link IResponse} sent to a client by a server,
@@ -44,7 +44,16 @@ public class ErrorResponse implements IResponse {
 
 	@Override
 	public Optional<byte[]> bytes() {
-		return StringConverter.INSTANCE.sourceToBytes(description);
+		return WireWriter.encode(this);
+	}
+
+	@Override
+	public boolean write(WireWriter writer) {
+		if (this.description == null) {
+			return false;
+		}
+		writer.writeString(this.description);
+		return true;
 	}
 
 }
@@ -4,7 +4,7 @@ import java.util.Optional;
 
 import net.minebit.networking.responses.IResponse;
 import net.minebit.networking.responses.IResponseBuilder;
-import net.minebit.networking.util.converters.StringConverter;
+import net.minebit.networking.util.WireReader;
 
 /**
  * This class represents a builder used to build {@link ErrorResponse}s by
@@ -56,16 +56,29 @@ public class ErrorResponseBuilder implements IResponseBuilder {
 		}
 	}
 
+	@Override
+	public boolean reset() {
+		synchronized (this.mutex) {
+			this.description = null;
+		}
+		return true;
+	}
+
 	@Override
 	public boolean load(byte[] data) {
-		Optional<String> descriptionOptional = StringConverter.INSTANCE.bytesToSource(data);
-		if (descriptionOptional.isPresent()) {
-			synchronized (this.mutex) {
-				this.description = descriptionOptional.get();
-			}
-			return true;
+		return load(new WireReader(data));
+	}
+
+	@Override
+	public boolean load(WireReader reader) {
+		String description = reader.readString(reader.remaining());
+		if (reader.hasFailed()) {
+			return false;
+		}
+		synchronized (this.mutex) {
+			this.description = description;
 		}
-		return false;
+		return true;
 	}
 
 	@Override
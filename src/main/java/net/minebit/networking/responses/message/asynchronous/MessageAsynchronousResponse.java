@@ -3,7 +3,7 @@ package net.minebit.networking.responses.message.asynchronous;
 import java.util.Optional;
 
 import net.minebit.networking.responses.IResponse;
-import net.minebit.networking.util.converters.primitives.IntegerConverter;
+import net.minebit.networking.util.WireWriter;
 
 /**
  * This class represents an {@link IResponse} sent to a client by a server,
@@ -47,7 +47,13 @@ public class MessageAsynchronousResponse implements IResponse {
 
 	@Override
 	public Optional<byte[]> bytes() {
-		return IntegerConverter.INSTANCE.sourceToBytes(id);
+		return WireWriter.encode(this);
+	}
+
+	@Override
+	public boolean write(WireWriter writer) {
+		writer.writeInt(this.id);
+		return true;
 	}
 
 }
@@ -4,7 +4,7 @@ import java.util.Optional;
 
 import net.minebit.networking.responses.IResponse;
 import net.minebit.networking.responses.IResponseBuilder;
-import net.minebit.networking.util.converters.primitives.IntegerConverter;
+import net.minebit.networking.util.WireReader;
 
 /**
  * This class represents a builder used to build
@@ -56,16 +56,29 @@ public class MessageAsynchronousResponseBuilder implements IResponseBuilder {
 		}
 	}
 
+	@Override
+	public boolean reset() {
+		synchronized (this.mutex) {
+			this.id = 0;
+		}
+		return true;
+	}
+
 	@Override
 	public boolean load(byte[] data) {
-		Optional<Integer> idOptional = IntegerConverter.INSTANCE.bytesToSource(data);
-		if (idOptional.isPresent()) {
-			synchronized (this.mutex) {
-				this.id = idOptional.get();
-			}
-			return true;
+		return load(new WireReader(data));
+	}
+
+	@Override
+	public boolean load(WireReader reader) {
+		int id = reader.readInt();
+		if (reader.hasFailed()) {
+			return false;
+		}
+		synchronized (this.mutex) {
+			this.id = id;
 		}
-		return false;
+		return true;
 	}
 
 	@Override
@@ -0,0 +1,71 @@
+package net.minebit.networking.responses.message.cancel;
+
+import java.util.Optional;
+
+import net.minebit.networking.responses.IResponse;
+import net.minebit.networking.util.WireWriter;
+
+/**
+ * This class represents an {@link IResponse} sent to a client by a server,
+ * reporting whether an asynchronous request was cancelled and also contains the
+ * means to convert the response into an array of bytes.
+ * 
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ */
+public class MessageCancelResponse implements IResponse {
+
+	private final int id;
+	private final boolean cancelled;
+
+	/**
+	 * This constructor constructs a new {@link MessageCancelResponse} that
+	 * represents a response to a previously sent request, reporting whether the
+	 * asynchronous request with the given id was cancelled.
+	 * 
+	 * @param id        The id of the asynchronous request
+	 * @param cancelled Whether the asynchronous request was cancelled
+	 */
+	MessageCancelResponse(int id, boolean cancelled) {
+		this.id = id;
+		this.cancelled = cancelled;
+	}
+
+	/**
+	 * This method returns the id of the asynchronous request the client requested
+	 * to cancel.
+	 * 
+	 * @return The asynchronous request's id
+	 */
+	public int getId() {
+		return this.id;
+	}
+
+	/**
+	 * This method returns whether the asynchronous request was cancelled before
+	 * completing. If it was not, it had already completed or never existed.
+	 * 
+	 * @return Whether the request was cancelled
+	 */
+	public boolean isCancelled() {
+		return this.cancelled;
+	}
+
+	@Override
+	public byte getBuilderId() {
+		return MessageCancelResponseBuilder.ID;
+	}
+
+	@Override
+	public Optional<byte[]> bytes() {
+		return WireWriter.encode(this);
+	}
+
+	@Override
+	public boolean write(WireWriter writer) {
+		writer.writeInt(this.id);
+		writer.writeByte((byte) (this.cancelled ? 1 : 0));
+		return true;
+	}
+
+}
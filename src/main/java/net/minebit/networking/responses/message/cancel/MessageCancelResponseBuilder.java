@@ -0,0 +1,107 @@
+package net.minebit.networking.responses.message.cancel;
+
+import java.util.Optional;
+
+import net.minebit.networking.responses.IResponse;
+import net.minebit.networking.responses.IResponseBuilder;
+import net.minebit.networking.util.WireReader;
+
+/**
+ * This class represents a builder used to build {@link MessageCancelResponse}s
+ * by taking the provided information and parsing it into a newly constructed
+ * instance.
+ * 
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+public class MessageCancelResponseBuilder implements IResponseBuilder {
+
+	/**
+	 * The unique id of the builder's container
+	 */
+	public static final byte ID = 0x07;
+
+	private final Object mutex = new Object();
+
+	private int id = 0;
+	private boolean cancelled = false;
+
+	/**
+	 * This method returns a newly constructed empty
+	 * {@link MessageCancelResponseBuilder} builder.
+	 * 
+	 * @return The new {@link MessageCancelResponseBuilder}
+	 * @see #MessageCancelResponseBuilder()
+	 */
+	public static MessageCancelResponseBuilder empty() {
+		return new MessageCancelResponseBuilder();
+	}
+
+	/**
+	 * This constructor constructs a new {@link MessageCancelResponseBuilder} used
+	 * to build new {@link MessageCancelResponse} objects with the data provided
+	 * and return them.
+	 */
+	private MessageCancelResponseBuilder() {
+	}
+
+	/**
+	 * This method sets the id of the asynchronous request the client requested to
+	 * cancel.
+	 * 
+	 * @param id The asynchronous request's id
+	 */
+	public void setId(int id) {
+		synchronized (this.mutex) {
+			this.id = id;
+		}
+	}
+
+	/**
+	 * This method sets whether the asynchronous request was cancelled.
+	 * 
+	 * @param cancelled Whether the request was cancelled
+	 */
+	public void setCancelled(boolean cancelled) {
+		synchronized (this.mutex) {
+			this.cancelled = cancelled;
+		}
+	}
+
+	@Override
+	public boolean reset() {
+		synchronized (this.mutex) {
+			this.id = 0;
+			this.cancelled = false;
+		}
+		return true;
+	}
+
+	@Override
+	public boolean load(byte[] data) {
+		return load(new WireReader(data));
+	}
+
+	@Override
+	public boolean load(WireReader reader) {
+		int id = reader.readInt();
+		byte cancelled = reader.readByte();
+		if (reader.hasFailed()) {
+			return false;
+		}
+		synchronized (this.mutex) {
+			this.id = id;
+			this.cancelled = cancelled != 0;
+		}
+		return true;
+	}
+
+	@Override
+	public Optional<IResponse> build() {
+		synchronized (this.mutex) {
+			return Optional.of(new MessageCancelResponse(this.id, this.cancelled));
+		}
+	}
+
+}
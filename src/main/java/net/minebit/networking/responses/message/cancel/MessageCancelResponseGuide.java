@@ -0,0 +1,36 @@
+package net.minebit.networking.responses.message.cancel;
+
+import java.util.Optional;
+
+import net.minebit.networking.responses.IResponseBuilder;
+import net.minebit.networking.responses.IResponseGuide;
+
+/**
+ * This class represents a guide used to build {@link MessageCancelResponse}s by
+ * taking the provided information and parsing it into a newly constructed
+ * instance.
+ * 
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+public class MessageCancelResponseGuide implements IResponseGuide {
+
+	/**
+	 * The only instance of the {@link MessageCancelResponseGuide} object.
+	 */
+	public static final MessageCancelResponseGuide INSTANCE = new MessageCancelResponseGuide();
+
+	/**
+	 * This method constructs a new {@link MessageCancelResponseGuide} used to
+	 * build new {@link MessageCancelResponseBuilder} objects and return them.
+	 */
+	private MessageCancelResponseGuide() {
+	}
+
+	@Override
+	public Optional<IResponseBuilder> build() {
+		return Optional.of(MessageCancelResponseBuilder.empty());
+	}
+
+}
@@ -4,6 +4,7 @@ import java.util.Optional;
 
 import net.minebit.networking.messages.Message;
 import net.minebit.networking.responses.IResponse;
+import net.minebit.networking.util.WireWriter;
 
 /**
  * This class represents an {@link IResponse} sent to a client by a server,
@@ -48,4 +49,9 @@ public class MessageSynchronousResponse implements IResponse {
 		return message.bytes();
 	}
 
+	@Override
+	public boolean write(WireWriter writer) {
+		return message.write(writer);
+	}
+
 }
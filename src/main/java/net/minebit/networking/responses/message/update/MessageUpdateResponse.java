@@ -1,14 +1,13 @@
 package net.minebit.networking.responses.message.update;
 
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Optional;
 
 import net.minebit.networking.messages.Message;
 import net.minebit.networking.responses.IResponse;
-import net.minebit.networking.util.ByteUtils;
-import net.minebit.networking.util.converters.primitives.IntegerConverter;
+import net.minebit.networking.util.WireWriter;
 
 /**
  * This class represents an {@link IResponse} sent to a client by a server,
@@ -21,28 +20,101 @@ import net.minebit.networking.util.converters.primitives.IntegerConverter;
  */
 public class MessageUpdateResponse implements IResponse {
 
-	private final Map<Integer, Message> messages;
+	private final int sequence;
+	private final boolean more;
+	private final int[] ids;
+	private final Message[] messages;
 
 	/**
 	 * This constructor constructs a new {@link MessageUpdateResponse} that
 	 * represents a response to a previously sent request, that all the completed
 	 * asynchronous message responses to the asynchronous message requests made by
-	 * the client.
+	 * the client. The message at each index completes the request whose id is at
+	 * the same index.
 	 * 
+	 * @param sequence The sequence number of the last contained response
+	 * @param more     Whether more completed responses remain to be delivered
+	 * @param ids      The ids of the completed asynchronous requests
 	 * @param messages The completed asynchronous requests
 	 */
-	MessageUpdateResponse(Map<Integer, Message> messages) {
+	MessageUpdateResponse(int sequence, boolean more, int[] ids, Message[] messages) {
+		this.sequence = sequence;
+		this.more = more;
+		this.ids = ids;
 		this.messages = messages;
 	}
 
+	/**
+	 * This method returns the sequence number of the last completed response
+	 * contained in the response, which the client acknowledges in its next
+	 * update request once the response has been processed. The responses are
+	 * numbered consecutively from one in the order they are first delivered,
+	 * wrapping back to one after {@link Integer#MAX_VALUE}. If the response is
+	 * empty the sequence number of the last delivered response is returned.
+	 * 
+	 * @return The sequence number of the last response
+	 */
+	public int getSequence() {
+		return this.sequence;
+	}
+
+	/**
+	 * This method returns whether the server holds more completed responses than
+	 * could fit in this response, in which case the client should request them
+	 * without waiting.
+	 * 
+	 * @return Whether more responses remain
+	 */
+	public boolean hasMore() {
+		return this.more;
+	}
+
+	/**
+	 * This method returns the number of completed responses contained in the
+	 * response.
+	 * 
+	 * @return The number of responses
+	 */
+	public int size() {
+		return this.ids.length;
+	}
+
+	/**
+	 * This method returns the id of the asynchronous request completed by the
+	 * response at the given index.
+	 * 
+	 * @param index The index of the response
+	 * @return The id of the completed request
+	 */
+	public int getId(int index) {
+		return this.ids[index];
+	}
+
+	/**
+	 * This method returns the {@link Message} completing the asynchronous request
+	 * at the given index.
+	 * 
+	 * @param index The index of the response
+	 * @return The completed response
+	 */
+	public Message getMessage(int index) {
+		return this.messages[index];
+	}
+
 	/**
 	 * This method returns an <i>unmodifiable</i> {@link Map} containing all the
-	 * completed responses to the client's asynchronous request.
+	 * completed responses to the client's asynchronous request in the order they
+	 * were completed. The map is created on every invocation, so
+	 * {@link #getId(int)} and {@link #getMessage(int)} should be preferred.
 	 * 
 	 * @return The server's responses
 	 */
 	public Map<Integer, Message> getMessages() {
-		return Collections.unmodifiableMap(this.messages);
+		Map<Integer, Message> messages = new LinkedHashMap<>();
+		for (int index = 0; index < this.ids.length; index++) {
+			messages.put(this.ids[index], this.messages[index]);
+		}
+		return Collections.unmodifiableMap(messages);
 	}
 
 	@Override
@@ -52,28 +124,28 @@ public class MessageUpdateResponse implements IResponse {
 
 	@Override
 	public Optional<byte[]> bytes() {
-		int size = messages.size();
-		byte[] result = new byte[4];
-		for (Entry<Integer, Message> messageEntry : this.messages.entrySet()) {
-			int id = messageEntry.getKey();
-			Message message = messageEntry.getValue();
-			Optional<byte[]> messageBytesOptional = message.bytes();
-			if (!messageBytesOptional.isPresent()) {
-				size--;
+		return WireWriter.encode(this);
+	}
+
+	@Override
+	public boolean write(WireWriter writer) {
+		writer.writeInt(this.sequence);
+		writer.writeByte((byte) (this.more ? 1 : 0));
+		int sizePosition = writer.position(), size = 0;
+		writer.writeInt(0);
+		for (int index = 0; index < this.ids.length; index++) {
+			int entryPosition = writer.position();
+			writer.writeInt(this.ids[index]);
+			writer.writeInt(0);
+			if (!this.messages[index].write(writer)) {
+				writer.truncate(entryPosition);
 				continue;
 			}
-			int pos = result.length;
-			byte[] messageBytes = messageBytesOptional.get();
-			byte[] idBytes = IntegerConverter.INSTANCE.sourceToBytes(id).get();
-			byte[] lengthBytes = IntegerConverter.INSTANCE.sourceToBytes(messageBytes.length).get();
-			result = ByteUtils.enlarge(result, 0, messageBytes.length + 8).get();
-			ByteUtils.overwrite(result, idBytes, pos);
-			ByteUtils.overwrite(result, lengthBytes, pos + 4);
-			ByteUtils.overwrite(result, messageBytes, pos + 8);
+			writer.setInt(entryPosition + 4, writer.position() - entryPosition - 8);
+			size++;
 		}
-		byte[] sizeBytes = IntegerConverter.INSTANCE.sourceToBytes(size).get();
-		ByteUtils.overwrite(result, sizeBytes, 0);
-		return Optional.of(result);
+		writer.setInt(sizePosition, size);
+		return true;
 	}
 
 }
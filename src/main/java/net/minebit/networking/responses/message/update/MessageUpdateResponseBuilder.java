@@ -1,15 +1,14 @@
 package net.minebit.networking.responses.message.update;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
 import java.util.Optional;
 
 import net.minebit.networking.messages.Message;
 import net.minebit.networking.messages.MessageBuilder;
 import net.minebit.networking.responses.IResponse;
 import net.minebit.networking.responses.IResponseBuilder;
-import net.minebit.networking.util.ByteUtils;
-import net.minebit.networking.util.converters.primitives.IntegerConverter;
+import net.minebit.networking.util.IIncrementalDecoder;
+import net.minebit.networking.util.WireReader;
 
 /**
  * This class represents a builder used to build {@link MessageUpdateResponse}s
@@ -28,7 +27,13 @@ public class MessageUpdateResponseBuilder implements IResponseBuilder {
 	public static final byte ID = 0x04;
 
 	private final Object mutex = new Object();
-	private final Map<Integer, Message> messages = new HashMap<>();
+	private int sequence = 0;
+	private boolean more = false;
+	private int[] ids = new int[0];
+	private Message[] messages = new Message[0];
+	private int size = 0;
+	private boolean lazy = false;
+	private MessageUpdateResponseDecoder decoder = null;
 
 	/**
 	 * This method returns a newly constructed empty
@@ -50,74 +55,149 @@ public class MessageUpdateResponseBuilder implements IResponseBuilder {
 	}
 
 	/**
-	 * This method adds the given message id to the {@link Map} of {@link Message}s
-	 * to be sent to the client along with the response id provided.
+	 * This method adds the given {@link Message} to the ones to be sent to the
+	 * client along with the id of the asynchronous request it completes. The
+	 * messages are sent in the order they were added.
 	 * 
 	 * @param id      The id of the original asynchronous request
 	 * @param message The message to send
-	 * @return Whether adding the given id and message to the map was successful.
+	 * @return Whether adding the given id and message was successful.
 	 */
 	public boolean putMessage(int id, Message message) {
 		if (message == null) {
 			return false;
 		}
 		synchronized (this.mutex) {
-			this.messages.put(id, message);
+			if (this.size == this.ids.length) {
+				int capacity = Math.max(this.size * 2, 8);
+				this.ids = Arrays.copyOf(this.ids, capacity);
+				this.messages = Arrays.copyOf(this.messages, capacity);
+			}
+			this.ids[this.size] = id;
+			this.messages[this.size] = message;
+			this.size++;
 		}
 		return true;
 	}
 
+	/**
+	 * This method sets the sequence number of the last message of the response.
+	 * 
+	 * @param sequence The sequence number
+	 * @see MessageUpdateResponse#getSequence()
+	 */
+	public void setSequence(int sequence) {
+		synchronized (this.mutex) {
+			this.sequence = sequence;
+		}
+	}
+
+	/**
+	 * This method sets whether more messages remain to be delivered after the
+	 * ones of the response.
+	 * 
+	 * @param more Whether more messages remain
+	 */
+	public void setMore(boolean more) {
+		synchronized (this.mutex) {
+			this.more = more;
+		}
+	}
+
+	/**
+	 * This method returns the number of messages added to the builder.
+	 * 
+	 * @return The number of messages
+	 */
+	public int size() {
+		synchronized (this.mutex) {
+			return this.size;
+		}
+	}
+
+	/**
+	 * This method changes whether the messages loaded afterwards will be decoded
+	 * lazily, converting each value only when it is first requested.
+	 * 
+	 * @param lazy Whether to decode lazily
+	 * @see MessageBuilder#setLazy(boolean)
+	 */
+	public void setLazy(boolean lazy) {
+		synchronized (this.mutex) {
+			this.lazy = lazy;
+		}
+	}
+
+	@Override
+	public boolean reset() {
+		synchronized (this.mutex) {
+			Arrays.fill(this.messages, 0, this.size, null);
+			this.size = 0;
+			this.sequence = 0;
+			this.more = false;
+		}
+		return true;
+	}
+
+	/**
+	 * This method returns an {@link IIncrementalDecoder} which decodes each message
+	 * as its bytes arrive, puts it into this builder and finally builds the
+	 * response. The decoder is created once and reused along with the builder.
+	 * Messages decoded incrementally are never decoded lazily.
+	 */
+	@Override
+	public Optional<IIncrementalDecoder<IResponse>> getDecoder() {
+		if (this.decoder == null) {
+			this.decoder = new MessageUpdateResponseDecoder(this);
+		}
+		return Optional.of(this.decoder);
+	}
+
 	@Override
 	public boolean load(byte[] data) {
-		Optional<byte[]> sizeBytesOptional = ByteUtils.rip(data, 0, 3);
-		if (!sizeBytesOptional.isPresent()) {
+		return load(new WireReader(data));
+	}
+
+	@Override
+	public boolean load(WireReader reader) {
+		int sequence = reader.readInt();
+		byte more = reader.readByte();
+		int size = reader.readInt();
+		if (reader.hasFailed() || size < 0 || size > reader.remaining() / 8) {
 			return false;
 		}
-		byte[] sizeBytes = sizeBytesOptional.get();
-		int size = IntegerConverter.INSTANCE.bytesToSource(sizeBytes).get(), position = 4;
 		int[] ids = new int[size];
 		Message[] messages = new Message[size];
 		for (int counter = 0; counter < size; counter++) {
-			Optional<byte[]> idBytesOptional = ByteUtils.rip(data, position, position + 3);
-			position += 4;
-			Optional<byte[]> lengthBytesOptional = ByteUtils.rip(data, position, position + 3);
-			position += 4;
-			if (!idBytesOptional.isPresent() || !lengthBytesOptional.isPresent()) {
-				return false;
-			}
-			byte[] idBytes = idBytesOptional.get(), lengthBytes = lengthBytesOptional.get();
-			int id = IntegerConverter.INSTANCE.bytesToSource(idBytes).get();
-			int length = IntegerConverter.INSTANCE.bytesToSource(lengthBytes).get();
-			Optional<byte[]> messageBytesOptional = ByteUtils.rip(data, position, position + length - 1);
-			position += length;
-			if (!messageBytesOptional.isPresent()) {
+			int id = reader.readInt();
+			int length = reader.readInt();
+			WireReader messageReader = reader.readSlice(length);
+			if (reader.hasFailed()) {
 				return false;
 			}
-			byte[] messageBytes = messageBytesOptional.get();
-			MessageBuilder messageBuilder = MessageBuilder.empty();
-			if (!messageBuilder.load(messageBytes)) {
+			MessageBuilder messageBuilder = this.lazy ? MessageBuilder.lazy() : MessageBuilder.empty();
+			if (!messageBuilder.load(messageReader)) {
 				return false;
 			}
 			Optional<Message> messageOptional = messageBuilder.build();
 			if (!messageOptional.isPresent()) {
 				return false;
 			}
-			Message message = messageOptional.get();
 			ids[counter] = id;
-			messages[counter] = message;
+			messages[counter] = messageOptional.get();
 		}
-		synchronized (this.mutex) {
-			for (int counter = 0; counter < size; counter++) {
-				this.messages.put(ids[counter], messages[counter]);
-			}
+		for (int counter = 0; counter < size; counter++) {
+			putMessage(ids[counter], messages[counter]);
 		}
+		setSequence(sequence);
+		setMore(more != 0);
 		return true;
 	}
 
 	@Override
 	public Optional<IResponse> build() {
 		synchronized (this.mutex) {
-			return Optional.of(new MessageUpdateResponse(this.messages));
+			return Optional.of(new MessageUpdateResponse(this.sequence, this.more, Arrays.copyOf(this.ids, this.size), Arrays.copyOf(this.messages, this.size)));
 		}
 	}
 
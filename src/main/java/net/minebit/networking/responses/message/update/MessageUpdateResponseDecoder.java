@@ -0,0 +1,204 @@
+package net.minebit.networking.responses.message.update;
+
+import java.nio.ByteBuffer;
+import java.util.Optional;
+
+import net.minebit.networking.messages.Message;
+import net.minebit.networking.messages.MessageDecoder;
+import net.minebit.networking.responses.IResponse;
+import net.minebit.networking.util.EDecodingState;
+import net.minebit.networking.util.FieldAccumulator;
+import net.minebit.networking.util.IIncrementalDecoder;
+
+/**
+ * This class represents an {@link IIncrementalDecoder} that decodes
+ * {@link MessageUpdateResponse}s from chunks of arbitrary size into a
+ * {@link MessageUpdateResponseBuilder}. Each contained message is decoded by a
+ * single reused {@link MessageDecoder} as its bytes arrive.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+final class MessageUpdateResponseDecoder implements IIncrementalDecoder<IResponse> {
+
+	private final MessageUpdateResponseBuilder builder;
+	private final FieldAccumulator field = new FieldAccumulator();
+	private final MessageDecoder messageDecoder = new MessageDecoder();
+
+	private EStage stage = EStage.DONE;
+	private EDecodingState state = EDecodingState.FAILED;
+	private int remaining = 0, entryRemaining = 0;
+	private int size = 0, counter = 0, id = 0;
+	private IResponse result = null;
+
+	/**
+	 * This constructor constructs a new {@link MessageUpdateResponseDecoder} that
+	 * loads the decoded messages into the given builder.
+	 *
+	 * @param builder The builder to load the messages into
+	 */
+	MessageUpdateResponseDecoder(MessageUpdateResponseBuilder builder) {
+		this.builder = builder;
+	}
+
+	@Override
+	public void reset(int length) {
+		this.result = null;
+		this.size = 0;
+		this.counter = 0;
+		this.remaining = length;
+		this.state = EDecodingState.INCOMPLETE;
+		this.stage = EStage.SEQUENCE;
+		expect(4);
+	}
+
+	@Override
+	public EDecodingState decode(ByteBuffer chunk) {
+		while (this.state == EDecodingState.INCOMPLETE) {
+			if (this.stage == EStage.MESSAGE || this.stage == EStage.SKIP) {
+				if (!decodeEntry(chunk)) {
+					break;
+				}
+				continue;
+			}
+			int position = chunk.position();
+			boolean complete = this.field.fill(chunk);
+			this.remaining -= chunk.position() - position;
+			if (!complete) {
+				break;
+			}
+			switch (this.stage) {
+			case SEQUENCE:
+				this.builder.setSequence(this.field.readInt());
+				this.stage = EStage.MORE;
+				expect(1);
+				break;
+			case MORE:
+				this.builder.setMore(this.field.readByte() != 0);
+				this.stage = EStage.SIZE;
+				expect(4);
+				break;
+			case SIZE:
+				this.size = this.field.readInt();
+				if (this.size < 0 || this.size > this.remaining / 8) {
+					this.state = EDecodingState.FAILED;
+				} else {
+					nextEntry();
+				}
+				break;
+			case ID:
+				this.id = this.field.readInt();
+				this.stage = EStage.LENGTH;
+				expect(4);
+				break;
+			case LENGTH:
+				this.entryRemaining = this.field.readInt();
+				if (this.entryRemaining < 0 || this.entryRemaining > this.remaining) {
+					this.state = EDecodingState.FAILED;
+					break;
+				}
+				this.messageDecoder.reset(this.entryRemaining);
+				this.stage = EStage.MESSAGE;
+				break;
+			default:
+				this.state = EDecodingState.FAILED;
+			}
+		}
+		return this.state;
+	}
+
+	@Override
+	public Optional<IResponse> getResult() {
+		return Optional.ofNullable(this.result);
+	}
+
+	/**
+	 * This method decodes the message of the current entry, or skips the bytes of
+	 * the entry that follow the message, and returns whether the decoder may
+	 * proceed.
+	 *
+	 * @param chunk The chunk to decode the entry from
+	 * @return Whether the decoder may proceed
+	 */
+	private boolean decodeEntry(ByteBuffer chunk) {
+		int position = chunk.position();
+		if (this.stage == EStage.SKIP) {
+			chunk.position(position + Math.min(this.entryRemaining, chunk.remaining()));
+		} else {
+			int limit = chunk.limit();
+			chunk.limit(position + Math.min(this.entryRemaining, chunk.remaining()));
+			EDecodingState messageState = this.messageDecoder.decode(chunk);
+			chunk.limit(limit);
+			if (messageState == EDecodingState.FAILED) {
+				this.state = EDecodingState.FAILED;
+				return false;
+			}
+			if (messageState == EDecodingState.COMPLETE) {
+				Message message = this.messageDecoder.getResult().get();
+				this.builder.putMessage(this.id, message);
+				this.stage = EStage.SKIP;
+			}
+		}
+		int consumed = chunk.position() - position;
+		this.remaining -= consumed;
+		this.entryRemaining -= consumed;
+		if (this.entryRemaining > 0) {
+			if (!chunk.hasRemaining()) {
+				return false;
+			}
+			if (this.stage == EStage.MESSAGE) {
+				this.state = EDecodingState.FAILED;
+				return false;
+			}
+			return true;
+		}
+		if (this.stage == EStage.MESSAGE) {
+			this.state = EDecodingState.FAILED;
+			return false;
+		}
+		this.counter++;
+		nextEntry();
+		return true;
+	}
+
+	/**
+	 * This method prepares the decoder to gather a field of the given length. If
+	 * the length exceeds the remaining bytes of the response, the decoder will be
+	 * marked as failed.
+	 *
+	 * @param length The length of the field
+	 */
+	private void expect(int length) {
+		if (length > this.remaining) {
+			this.state = EDecodingState.FAILED;
+			return;
+		}
+		this.field.expect(length);
+	}
+
+	/**
+	 * This method prepares the decoder for the next entry or completes the
+	 * response if all of its entries have been decoded.
+	 */
+	private void nextEntry() {
+		if (this.counter < this.size) {
+			this.stage = EStage.ID;
+			expect(4);
+			return;
+		}
+		Optional<IResponse> responseOptional = this.builder.build();
+		this.result = responseOptional.orElse(null);
+		this.stage = EStage.DONE;
+		this.state = responseOptional.isPresent() ? EDecodingState.COMPLETE : EDecodingState.FAILED;
+	}
+
+	/**
+	 * This enum contains the fields of an encoded {@link MessageUpdateResponse} in
+	 * the order they are decoded.
+	 */
+	private enum EStage {
+		SEQUENCE, MORE, SIZE, ID, LENGTH, MESSAGE, SKIP, DONE;
+	}
+
+}
@@ -3,7 +3,7 @@ package net.minebit.networking.responses.session.create;
 import java.util.Optional;
 
 import net.minebit.networking.responses.IResponse;
-import net.minebit.networking.util.converters.primitives.IntegerConverter;
+import net.minebit.networking.util.WireWriter;
 
 /**
  * This class represents an {@link IResponse} sent to a client by a server,
@@ -17,16 +17,22 @@ import net.minebit.networking.util.converters.primitives.IntegerConverter;
 public class SessionCreateResponse implements IResponse {
 
 	private final int sessionId;
+	private final long sessionToken;
+	private final int dictionaryId;
 
 	/**
 	 * This constructor constructs a new {@link SessionCreateResponse} that
 	 * represents a response to a previously sent request containing the information
 	 * of the newly created session.
 	 * 
-	 * @param sessionId The requested session's id
+	 * @param sessionId    The requested session's id
+	 * @param sessionToken The requested session's token
+	 * @param dictionaryId The id of the chosen dictionary or zero
 	 */
-	SessionCreateResponse(int sessionId) {
+	SessionCreateResponse(int sessionId, long sessionToken, int dictionaryId) {
 		this.sessionId = sessionId;
+		this.sessionToken = sessionToken;
+		this.dictionaryId = dictionaryId;
 	}
 
 	/**
@@ -38,6 +44,27 @@ public class SessionCreateResponse implements IResponse {
 		return this.sessionId;
 	}
 
+	/**
+	 * This method returns the secret token of the newly created session, which
+	 * must be sent along with its id to resume it.
+	 * 
+	 * @return The new session token
+	 */
+	public long getSessionToken() {
+		return this.sessionToken;
+	}
+
+	/**
+	 * This method returns the id of the dictionary the server chose among the ones
+	 * offered by the client to compress the frames of the session with, or zero
+	 * if none was chosen.
+	 * 
+	 * @return The id of the chosen dictionary
+	 */
+	public int getDictionaryId() {
+		return this.dictionaryId;
+	}
+
 	@Override
 	public byte getBuilderId() {
 		return SessionCreateResponseBuilder.ID;
@@ -45,7 +72,15 @@ public class SessionCreateResponse implements IResponse {
 
 	@Override
 	public Optional<byte[]> bytes() {
-		return IntegerConverter.INSTANCE.sourceToBytes(sessionId);
+		return WireWriter.encode(this);
+	}
+
+	@Override
+	public boolean write(WireWriter writer) {
+		writer.writeInt(this.sessionId);
+		writer.writeLong(this.sessionToken);
+		writer.writeInt(this.dictionaryId);
+		return true;
 	}
 
 }
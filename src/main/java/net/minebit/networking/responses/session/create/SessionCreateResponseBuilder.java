@@ -4,7 +4,7 @@ import java.util.Optional;
 
 import net.minebit.networking.responses.IResponse;
 import net.minebit.networking.responses.IResponseBuilder;
-import net.minebit.networking.util.converters.primitives.IntegerConverter;
+import net.minebit.networking.util.WireReader;
 
 /**
  * This class represents a builder used to build {@link SessionCreateResponse}s
@@ -25,6 +25,8 @@ public class SessionCreateResponseBuilder implements IResponseBuilder {
 	private final Object mutex = new Object();
 
 	private int sessionId;
+	private long sessionToken;
+	private int dictionaryId;
 
 	/**
 	 * This method returns a newly constructed empty
@@ -56,22 +58,71 @@ public class SessionCreateResponseBuilder implements IResponseBuilder {
 		}
 	}
 
+	/**
+	 * This method sets the secret token of the new session to transmit to the
+	 * client.
+	 * 
+	 * @param sessionToken The session token
+	 * @see SessionCreateResponse#getSessionToken()
+	 */
+	public void setSessionToken(long sessionToken) {
+		synchronized (this.mutex) {
+			this.sessionToken = sessionToken;
+		}
+	}
+
+	/**
+	 * This method sets the id of the dictionary chosen for the session, or zero
+	 * if none was chosen.
+	 * 
+	 * @param dictionaryId The id of the chosen dictionary
+	 * @see SessionCreateResponse#getDictionaryId()
+	 */
+	public void setDictionaryId(int dictionaryId) {
+		synchronized (this.mutex) {
+			this.dictionaryId = dictionaryId;
+		}
+	}
+
+	@Override
+	public boolean reset() {
+		synchronized (this.mutex) {
+			this.sessionId = 0;
+			this.sessionToken = 0;
+			this.dictionaryId = 0;
+		}
+		return true;
+	}
+
 	@Override
 	public boolean load(byte[] data) {
-		Optional<Integer> sessionIdOptional = IntegerConverter.INSTANCE.bytesToSource(data);
-		if (sessionIdOptional.isPresent()) {
-			synchronized (this.mutex) {
-				this.sessionId = sessionIdOptional.get();
-			}
-			return true;
+		return load(new WireReader(data));
+	}
+
+	/**
+	 * This method loads the given bytes into the builder. A response without a
+	 * dictionary id is loaded as a response choosing no dictionary.
+	 */
+	@Override
+	public boolean load(WireReader reader) {
+		int sessionId = reader.readInt();
+		long sessionToken = reader.readLong();
+		int dictionaryId = reader.remaining() == 0 ? 0 : reader.readInt();
+		if (reader.hasFailed()) {
+			return false;
+		}
+		synchronized (this.mutex) {
+			this.sessionId = sessionId;
+			this.sessionToken = sessionToken;
+			this.dictionaryId = dictionaryId;
 		}
-		return false;
+		return true;
 	}
 
 	@Override
 	public Optional<IResponse> build() {
 		synchronized (this.mutex) {
-			return Optional.of(new SessionCreateResponse(this.sessionId));
+			return Optional.of(new SessionCreateResponse(this.sessionId, this.sessionToken, this.dictionaryId));
 		}
 	}
 }
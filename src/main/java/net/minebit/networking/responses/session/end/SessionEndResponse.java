@@ -3,6 +3,7 @@ package net.minebit.networking.responses.session.end;
 import java.util.Optional;
 
 import net.minebit.networking.responses.IResponse;
+import net.minebit.networking.util.WireWriter;
 
 /**
  * This class represents an {@link IResponse} sent to a client by a server,
@@ -32,4 +33,9 @@ public class SessionEndResponse implements IResponse {
 		return Optional.of(new byte[0]);
 	}
 
+	@Override
+	public boolean write(WireWriter writer) {
+		return true;
+	}
+
 }
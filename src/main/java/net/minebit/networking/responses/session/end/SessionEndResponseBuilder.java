@@ -4,6 +4,7 @@ import java.util.Optional;
 
 import net.minebit.networking.responses.IResponse;
 import net.minebit.networking.responses.IResponseBuilder;
+import net.minebit.networking.util.WireReader;
 
 /**
  * This class represents a builder used to build {@link SessionEndResponse}s by
@@ -40,11 +41,21 @@ public class SessionEndResponseBuilder implements IResponseBuilder {
 	private SessionEndResponseBuilder() {
 	}
 
+	@Override
+	public boolean reset() {
+		return true;
+	}
+
 	@Override
 	public boolean load(byte[] data) {
 		return true;
 	}
 
+	@Override
+	public boolean load(WireReader reader) {
+		return true;
+	}
+
 	@Override
 	public Optional<IResponse> build() {
 		return Optional.of(new SessionEndResponse());
@@ -3,6 +3,7 @@ package net.minebit.networking.responses.session.resume;
 import java.util.Optional;
 
 import net.minebit.networking.responses.IResponse;
+import net.minebit.networking.util.WireWriter;
 
 /**
  * This class represents an {@link IResponse} sent to a client by a server,
@@ -14,12 +15,41 @@ import net.minebit.networking.responses.IResponse;
  */
 public class SessionResumeResponse implements IResponse {
 
+	private final int sequence;
+	private final boolean complete;
+
 	/**
 	 * This constructor constructs a new {@link SessionResumeResponse} that
 	 * represents a response to a previously sent request marking the successful
 	 * continuation of the client's old session.
+	 * 
+	 * @param sequence The sequence number of the last frame of the session
+	 * @param complete Whether every frame the client missed was replayed
+	 */
+	SessionResumeResponse(int sequence, boolean complete) {
+		this.sequence = sequence;
+		this.complete = complete;
+	}
+
+	/**
+	 * This method returns the sequence number of the last frame the server had
+	 * sent for the session when it was resumed.
+	 * 
+	 * @return The sequence number of the last frame
+	 */
+	public int getSequence() {
+		return this.sequence;
+	}
+
+	/**
+	 * This method returns whether every frame the client missed was replayed
+	 * before this response. If it was not, because the frames no longer fit in
+	 * the server's replay buffer, the missed frames are lost.
+	 * 
+	 * @return Whether the replay was complete
 	 */
-	SessionResumeResponse() {
+	public boolean isComplete() {
+		return this.complete;
 	}
 
 	@Override
@@ -29,7 +59,14 @@ public class SessionResumeResponse implements IResponse {
 
 	@Override
 	public Optional<byte[]> bytes() {
-		return Optional.of(new byte[0]);
+		return WireWriter.encode(this);
+	}
+
+	@Override
+	public boolean write(WireWriter writer) {
+		writer.writeInt(this.sequence);
+		writer.writeByte((byte) (this.complete ? 1 : 0));
+		return true;
 	}
 
 }
@@ -4,6 +4,7 @@ import java.util.Optional;
 
 import net.minebit.networking.responses.IResponse;
 import net.minebit.networking.responses.IResponseBuilder;
+import net.minebit.networking.util.WireReader;
 
 /**
  * This class represents a builder used to build {@link SessionResumeResponse}s
@@ -21,6 +22,11 @@ public class SessionResumeResponseBuilder implements IResponseBuilder {
 	 */
 	public static final byte ID = 0x03;
 
+	private final Object mutex = new Object();
+
+	private int sequence = 0;
+	private boolean complete = true;
+
 	/**
 	 * This method returns a newly constructed empty
 	 * {@link SessionResumeResponseBuilder} builder.
@@ -40,14 +46,61 @@ public class SessionResumeResponseBuilder implements IResponseBuilder {
 	private SessionResumeResponseBuilder() {
 	}
 
+	/**
+	 * This method sets the sequence number of the last frame of the session.
+	 * 
+	 * @param sequence The sequence number of the last frame
+	 */
+	public void setSequence(int sequence) {
+		synchronized (this.mutex) {
+			this.sequence = sequence;
+		}
+	}
+
+	/**
+	 * This method sets whether every frame the client missed was replayed.
+	 * 
+	 * @param complete Whether the replay was complete
+	 */
+	public void setComplete(boolean complete) {
+		synchronized (this.mutex) {
+			this.complete = complete;
+		}
+	}
+
+	@Override
+	public boolean reset() {
+		synchronized (this.mutex) {
+			this.sequence = 0;
+			this.complete = true;
+		}
+		return true;
+	}
+
 	@Override
 	public boolean load(byte[] data) {
+		return load(new WireReader(data));
+	}
+
+	@Override
+	public boolean load(WireReader reader) {
+		int sequence = reader.readInt();
+		byte complete = reader.readByte();
+		if (reader.hasFailed()) {
+			return false;
+		}
+		synchronized (this.mutex) {
+			this.sequence = sequence;
+			this.complete = complete != 0;
+		}
 		return true;
 	}
 
 	@Override
 	public Optional<IResponse> build() {
-		return Optional.of(new SessionResumeResponse());
+		synchronized (this.mutex) {
+			return Optional.of(new SessionResumeResponse(this.sequence, this.complete));
+		}
 	}
 
 }
@@ -0,0 +1,31 @@
+package net.minebit.networking.server;
+
+/**
+ * Classes implementing this interface are notified when connections to a
+ * {@link Server} are opened and closed. Listeners are invoked on the I/O thread
+ * of the connection, so they must not block.
+ * 
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ */
+public interface IConnectionListener {
+
+	/**
+	 * This method is invoked after the given connection has been accepted and
+	 * before any of its requests is handled.
+	 * 
+	 * @param connection The opened connection
+	 */
+	public default void connected(ServerConnection connection) {
+	}
+
+	/**
+	 * This method is invoked after the given connection has been closed, either by
+	 * the client, by the server or because of an error.
+	 * 
+	 * @param connection The closed connection
+	 */
+	public default void disconnected(ServerConnection connection) {
+	}
+
+}
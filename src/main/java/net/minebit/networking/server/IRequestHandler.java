@@ -0,0 +1,36 @@
+package net.minebit.networking.server;
+
+import java.util.Optional;
+
+import net.minebit.networking.requests.IRequest;
+import net.minebit.networking.responses.IResponse;
+
+/**
+ * Classes implementing this interface define how the {@link IRequest}s of a
+ * specific type received by a {@link Server} are handled. Handlers are invoked
+ * on the I/O thread of the connection, so they must not block and should hand
+ * long-running work to other threads, replying later through
+ * {@link ServerConnection#send(IResponse, int)} with the correlation id of the
+ * request.
+ * 
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ */
+@FunctionalInterface
+public interface IRequestHandler {
+
+	/**
+	 * This method handles the given request received through the given connection
+	 * and returns the response to send back contained in an {@link Optional}. If no
+	 * response should be sent immediately an empty {@link Optional} shall be
+	 * returned. The returned response is sent with the correlation id of the
+	 * request.
+	 * 
+	 * @param connection    The connection the request was received through
+	 * @param correlationId The correlation id of the frame of the request
+	 * @param request       The received request
+	 * @return The response to the request
+	 */
+	public Optional<IResponse> handle(ServerConnection connection, int correlationId, IRequest request);
+
+}
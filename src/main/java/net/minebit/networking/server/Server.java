@@ -0,0 +1,487 @@
+package net.minebit.networking.server;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.minebit.networking.frames.FrameEncoder;
+import net.minebit.networking.requests.IRequest;
+import net.minebit.networking.responses.IResponse;
+import net.minebit.networking.responses.error.ErrorResponseBuilder;
+import net.minebit.networking.util.BufferPool;
+import net.minebit.networking.util.ConnectionThreads;
+
+/**
+ * This class represents a non-blocking server that accepts client connections,
+ * decodes the frames of their requests as they arrive, dispatches each request
+ * to the {@link IRequestHandler} registered for its builder id and writes the
+ * returned {@link IResponse} back. A single acceptor thread accepts connections
+ * through a {@link Selector} and hands them in turn to a configurable number of
+ * I/O threads, each of which serves its connections through its own
+ * {@link Selector}, so the number of threads does not grow with the number of
+ * connections. In blocking mode the acceptor instead serves every connection
+ * with a thread of its own created through {@link ConnectionThreads}, which is
+ * a virtual thread on runtimes supporting them, so the number of connections
+ * is not limited by the number of platform threads. A connection that cannot
+ * be accepted, for example because the process has run out of file
+ * descriptors, is counted and the acceptor retries after a short pause, so it
+ * only stops when the server is stopped. Servers are constructed with a
+ * {@link ServerBuilder}.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+public final class Server {
+
+	private static final long ACCEPT_BACKOFF = 50;
+
+	private final Object mutex = new Object();
+
+	private final SocketAddress address;
+	private final int ioThreads;
+	private final int maxFrameLength;
+	private final BufferPool bufferPool;
+	private final FrameEncoder encoder;
+	private final IRequestHandler[] handlers;
+	private final IConnectionListener[] listeners;
+	private final boolean blocking;
+	private final int blockingBufferSize;
+	private final Set<ServerConnection> connections = ConcurrentHashMap.newKeySet();
+	private final AtomicInteger nextConnection = new AtomicInteger(0);
+	private final AtomicLong acceptFailures = new AtomicLong(0);
+
+	private ServerSocketChannel serverChannel = null;
+	private Selector acceptSelector = null;
+	private ServerLoop[] loops = null;
+	private Thread[] threads = null;
+	private volatile boolean running = false;
+
+	/**
+	 * This constructor constructs a new {@link Server} with the given
+	 * configuration, which is not started yet.
+	 *
+	 * @param address            The address to bind to
+	 * @param ioThreads          The number of I/O threads
+	 * @param maxFrameLength     The maximum length of a received frame
+	 * @param bufferPool         The pool of the read and write buffers
+	 * @param encoder            The encoder of the responses
+	 * @param handlers           The request handlers indexed by builder id
+	 * @param listeners          The connection listeners
+	 * @param blocking           Whether every connection is served by a thread of
+	 *                           its own
+	 * @param blockingBufferSize The capacity of the read buffer of every
+	 *                           connection in blocking mode
+	 */
+	Server(SocketAddress address, int ioThreads, int maxFrameLength, BufferPool bufferPool, FrameEncoder encoder, IRequestHandler[] handlers, List<IConnectionListener> listeners, boolean blocking, int blockingBufferSize) {
+		this.address = address;
+		this.ioThreads = ioThreads;
+		this.maxFrameLength = maxFrameLength;
+		this.bufferPool = bufferPool;
+		this.encoder = encoder;
+		this.handlers = handlers.clone();
+		this.listeners = listeners.toArray(new IConnectionListener[0]);
+		this.blocking = blocking;
+		this.blockingBufferSize = blockingBufferSize;
+	}
+
+	/**
+	 * This method binds the server to its address and starts its acceptor and I/O
+	 * threads. If the server is already running the operation will be marked as
+	 * failed.
+	 *
+	 * @return Whether the server was started
+	 * @throws IOException If the server could not be bound or its selectors could
+	 *                     not be opened
+	 */
+	public boolean start() throws IOException {
+		synchronized (this.mutex) {
+			if (this.running) {
+				return false;
+			}
+			if (this.blocking) {
+				return startBlocking();
+			}
+			ServerLoop[] loops = new ServerLoop[this.ioThreads];
+			ServerSocketChannel serverChannel = ServerSocketChannel.open();
+			Selector acceptSelector = null;
+			try {
+				serverChannel.configureBlocking(false);
+				serverChannel.bind(this.address, 1024);
+				acceptSelector = Selector.open();
+				serverChannel.register(acceptSelector, SelectionKey.OP_ACCEPT);
+				for (int index = 0; index < loops.length; index++) {
+					loops[index] = new ServerLoop(this);
+				}
+			} catch (IOException exception) {
+				serverChannel.close();
+				if (acceptSelector != null) {
+					acceptSelector.close();
+				}
+				for (ServerLoop loop : loops) {
+					if (loop != null) {
+						loop.discard();
+					}
+				}
+				throw exception;
+			}
+			Selector selector = acceptSelector;
+			this.serverChannel = serverChannel;
+			this.acceptSelector = selector;
+			this.loops = loops;
+			this.running = true;
+			this.threads = new Thread[loops.length + 1];
+			for (int index = 0; index < loops.length; index++) {
+				this.threads[index] = new Thread(loops[index], "minebit-server-io-" + index);
+			}
+			this.threads[loops.length] = new Thread(() -> accept(serverChannel, selector, loops), "minebit-server-acceptor");
+			for (Thread thread : this.threads) {
+				thread.start();
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * This method binds the server to its address and starts its acceptor, which
+	 * serves every accepted connection with a thread of its own. It must be
+	 * invoked while holding the lock of the server.
+	 *
+	 * @return Whether the server was started
+	 * @throws IOException If the server could not be bound
+	 */
+	private boolean startBlocking() throws IOException {
+		ServerSocketChannel serverChannel = ServerSocketChannel.open();
+		try {
+			serverChannel.bind(this.address, 1024);
+		} catch (IOException exception) {
+			serverChannel.close();
+			throw exception;
+		}
+		this.serverChannel = serverChannel;
+		this.running = true;
+		this.threads = new Thread[] { new Thread(() -> acceptBlocking(serverChannel), "minebit-server-acceptor") };
+		this.threads[0].start();
+		return true;
+	}
+
+	/**
+	 * This method stops accepting connections, closes all the open connections and
+	 * waits for the threads of the server to finish. If the server is not running
+	 * the operation will be marked as failed.
+	 *
+	 * @return Whether the server was stopped
+	 */
+	public boolean stop() {
+		Thread[] threads;
+		synchronized (this.mutex) {
+			if (!this.running) {
+				return false;
+			}
+			this.running = false;
+			if (this.blocking) {
+				try {
+					this.serverChannel.close();
+				} catch (IOException exception) {
+					// The channel is discarded regardless
+				}
+				for (ServerConnection connection : this.connections) {
+					connection.close();
+				}
+			} else {
+				this.acceptSelector.wakeup();
+				for (ServerLoop loop : this.loops) {
+					loop.stop();
+				}
+			}
+			threads = this.threads;
+			this.serverChannel = null;
+			this.acceptSelector = null;
+			this.loops = null;
+			this.threads = null;
+		}
+		boolean interrupted = false;
+		for (Thread thread : threads) {
+			if (thread == Thread.currentThread()) {
+				continue;
+			}
+			while (thread.isAlive()) {
+				try {
+					thread.join();
+				} catch (InterruptedException exception) {
+					interrupted = true;
+				}
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+		return true;
+	}
+
+	/**
+	 * This method returns whether every connection of the server is served by a
+	 * thread of its own.
+	 *
+	 * @return Whether the server is in blocking mode
+	 */
+	public boolean isBlocking() {
+		return this.blocking;
+	}
+
+	/**
+	 * This method returns whether the server is running.
+	 *
+	 * @return Whether the server is running
+	 */
+	public boolean isRunning() {
+		return this.running;
+	}
+
+	/**
+	 * This method returns the address the server is bound to contained in an
+	 * {@link Optional}. If the server is not running an empty {@link Optional}
+	 * will be returned.
+	 *
+	 * @return The server's local address
+	 */
+	public Optional<SocketAddress> getLocalAddress() {
+		synchronized (this.mutex) {
+			if (this.serverChannel == null) {
+				return Optional.empty();
+			}
+			try {
+				return Optional.ofNullable(this.serverChannel.getLocalAddress());
+			} catch (IOException exception) {
+				return Optional.empty();
+			}
+		}
+	}
+
+	/**
+	 * This method returns the number of times the server failed to accept a
+	 * connection since it was constructed.
+	 *
+	 * @return The number of failed accepts
+	 */
+	public long getAcceptFailures() {
+		return this.acceptFailures.get();
+	}
+
+	/**
+	 * This method returns the maximum number of bytes that may follow the length
+	 * prefix of a received frame.
+	 *
+	 * @return The maximum frame length
+	 */
+	public int getMaxFrameLength() {
+		return this.maxFrameLength;
+	}
+
+	/**
+	 * This method returns the pool of the direct buffers used by the I/O threads.
+	 *
+	 * @return The server's buffer pool
+	 */
+	BufferPool getBufferPool() {
+		return this.bufferPool;
+	}
+
+	/**
+	 * This method returns the encoder of the responses sent by the server.
+	 *
+	 * @return The server's encoder
+	 */
+	FrameEncoder getEncoder() {
+		return this.encoder;
+	}
+
+	/**
+	 * This method passes the given request to the handler registered for its
+	 * builder id and sends the returned response through the given connection
+	 * with the correlation id of the request. If no handler is registered or the
+	 * handler throws an exception, an error response is sent instead. The session
+	 * bound to the connection, if any, is marked as accessed.
+	 *
+	 * @param connection    The connection the request was received through
+	 * @param correlationId The correlation id of the frame of the request
+	 * @param request       The received request
+	 */
+	void dispatch(ServerConnection connection, int correlationId, IRequest request) {
+		connection.touchSession();
+		IRequestHandler handler = this.handlers[request.getBuilderId() & 0xFF];
+		Optional<IResponse> responseOptional;
+		if (handler == null) {
+			responseOptional = error("Unsupported request type " + request.getBuilderId() + "!");
+		} else {
+			try {
+				responseOptional = handler.handle(connection, correlationId, request);
+			} catch (RuntimeException exception) {
+				responseOptional = error("The request could not be handled!");
+			}
+		}
+		if (responseOptional.isPresent()) {
+			connection.send(responseOptional.get(), correlationId);
+		}
+	}
+
+	/**
+	 * This method notifies the listeners that the given connection was opened.
+	 *
+	 * @param connection The opened connection
+	 */
+	void connected(ServerConnection connection) {
+		for (IConnectionListener listener : this.listeners) {
+			listener.connected(connection);
+		}
+	}
+
+	/**
+	 * This method notifies the listeners that the given connection was closed.
+	 *
+	 * @param connection The closed connection
+	 */
+	void disconnected(ServerConnection connection) {
+		if (this.blocking) {
+			this.connections.remove(connection);
+		}
+		for (IConnectionListener listener : this.listeners) {
+			listener.disconnected(connection);
+		}
+	}
+
+	/**
+	 * This method builds an error response with the given description.
+	 *
+	 * @param description The description of the error
+	 * @return The error response
+	 */
+	private static Optional<IResponse> error(String description) {
+		ErrorResponseBuilder builder = ErrorResponseBuilder.empty();
+		builder.setDescription(description);
+		return builder.build();
+	}
+
+	/**
+	 * This method accepts connections until the server is stopped and hands them
+	 * to the given I/O loops in turn. A failure to accept a connection does not
+	 * stop the acceptor, unless the channel accepting them was closed.
+	 *
+	 * @param serverChannel  The channel accepting the connections
+	 * @param acceptSelector The selector of the acceptor
+	 * @param loops          The I/O loops serving the connections
+	 */
+	private void accept(ServerSocketChannel serverChannel, Selector acceptSelector, ServerLoop[] loops) {
+		int next = 0;
+		try {
+			while (this.running) {
+				try {
+					acceptSelector.select();
+					acceptSelector.selectedKeys().clear();
+					SocketChannel channel;
+					while (this.running && (channel = serverChannel.accept()) != null) {
+						try {
+							channel.configureBlocking(false);
+							channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+						} catch (IOException exception) {
+							channel.close();
+							continue;
+						}
+						loops[next].register(channel);
+						next = (next + 1) % loops.length;
+					}
+				} catch (ClosedChannelException exception) {
+					break;
+				} catch (IOException exception) {
+					acceptFailed();
+				}
+			}
+		} finally {
+			try {
+				serverChannel.close();
+			} catch (IOException exception) {
+				// The channel is discarded regardless
+			}
+			try {
+				acceptSelector.close();
+			} catch (IOException exception) {
+				// The selector is discarded regardless
+			}
+		}
+	}
+
+	/**
+	 * This method accepts connections until the server is stopped and starts a
+	 * thread serving each of them, reading through a heap buffer of its own. A
+	 * failure to accept a connection does not stop the acceptor, unless the
+	 * channel accepting them was closed.
+	 *
+	 * @param serverChannel The channel accepting the connections
+	 */
+	private void acceptBlocking(ServerSocketChannel serverChannel) {
+		try {
+			while (this.running) {
+				try {
+					SocketChannel channel = serverChannel.accept();
+					try {
+						channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+					} catch (IOException exception) {
+						channel.close();
+						continue;
+					}
+					ServerConnection connection = new ServerConnection(this, null, channel);
+					this.connections.add(connection);
+					if (!this.running) {
+						this.connections.remove(connection);
+						channel.close();
+						break;
+					}
+					connected(connection);
+					int bufferSize = this.blockingBufferSize;
+					ConnectionThreads.create(() -> connection.serve(ByteBuffer.allocate(bufferSize)), "minebit-server-connection-" + this.nextConnection.incrementAndGet()).start();
+				} catch (ClosedChannelException exception) {
+					break;
+				} catch (IOException exception) {
+					acceptFailed();
+				}
+			}
+		} finally {
+			try {
+				serverChannel.close();
+			} catch (IOException exception) {
+				// The channel is discarded regardless
+			}
+		}
+	}
+
+	/**
+	 * This method counts a failure to accept a connection and, unless the server
+	 * has been stopped, waits briefly before the acceptor tries again, so a
+	 * failure that persists, such as running out of file descriptors, does not
+	 * keep it spinning.
+	 */
+	private void acceptFailed() {
+		this.acceptFailures.incrementAndGet();
+		if (!this.running) {
+			return;
+		}
+		try {
+			Thread.sleep(ACCEPT_BACKOFF);
+		} catch (InterruptedException exception) {
+			// The acceptor keeps accepting until the server is stopped
+		}
+	}
+
+}
@@ -0,0 +1,249 @@
+package net.minebit.networking.server;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import net.minebit.networking.frames.FrameDecoder;
+import net.minebit.networking.frames.FrameEncoder;
+import net.minebit.networking.util.BufferPool;
+import net.minebit.networking.util.IBuilder;
+import net.minebit.networking.wrappers.EWrapperContainer;
+
+/**
+ * This class represents a builder used to build {@link Server}s by taking the
+ * provided configuration and handlers and parsing them into a newly constructed
+ * instance.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+public class ServerBuilder implements IBuilder<Server> {
+
+	/**
+	 * The default capacity of the pooled direct buffers.
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * The default capacity of the read buffer every connection holds in blocking
+	 * mode.
+	 */
+	public static final int DEFAULT_BLOCKING_BUFFER_SIZE = 4 * 1024;
+
+	private final Object mutex = new Object();
+
+	private SocketAddress address = null;
+	private int ioThreads = Runtime.getRuntime().availableProcessors();
+	private int bufferSize = DEFAULT_BUFFER_SIZE;
+	private int blockingBufferSize = DEFAULT_BLOCKING_BUFFER_SIZE;
+	private int maxFrameLength = FrameDecoder.DEFAULT_MAX_LENGTH;
+	private EWrapperContainer[] wrappers = new EWrapperContainer[0];
+	private boolean blocking = false;
+	private final IRequestHandler[] handlers = new IRequestHandler[256];
+	private final List<IConnectionListener> listeners = new ArrayList<>();
+
+	/**
+	 * This method returns a newly constructed empty {@link ServerBuilder} builder.
+	 *
+	 * @return The new {@link ServerBuilder}
+	 * @see #ServerBuilder()
+	 */
+	public static ServerBuilder empty() {
+		return new ServerBuilder();
+	}
+
+	/**
+	 * This constructor constructs a new {@link ServerBuilder} used to build new
+	 * {@link Server} objects with the configuration provided and return them.
+	 */
+	private ServerBuilder() {
+	}
+
+	/**
+	 * This method sets the address the server will bind to.
+	 *
+	 * @param address The server's address
+	 */
+	public void setAddress(SocketAddress address) {
+		synchronized (this.mutex) {
+			this.address = address;
+		}
+	}
+
+	/**
+	 * This method sets the server to bind to the given port on all local
+	 * interfaces. If the port is out of range the operation will be marked as
+	 * failed.
+	 *
+	 * @param port The server's port
+	 * @return Whether the operation was successful
+	 */
+	public boolean setPort(int port) {
+		if (port < 0 || port > 0xFFFF) {
+			return false;
+		}
+		setAddress(new InetSocketAddress(port));
+		return true;
+	}
+
+	/**
+	 * This method sets the number of I/O threads that serve the connections of the
+	 * server.
+	 *
+	 * @param ioThreads The number of I/O threads
+	 * @return Whether the operation was successful
+	 */
+	public boolean setIoThreads(int ioThreads) {
+		if (ioThreads <= 0) {
+			return false;
+		}
+		synchronized (this.mutex) {
+			this.ioThreads = ioThreads;
+		}
+		return true;
+	}
+
+	/**
+	 * This method sets whether the server runs in blocking mode, in which every
+	 * connection is served by a thread of its own instead of the I/O threads.
+	 * The threads are virtual threads on runtimes supporting them, which lets a
+	 * server hold a very large number of mostly idle connections. Every
+	 * connection then reads through a small heap buffer of its own, whose
+	 * capacity is set with {@link #setBlockingBufferSize(int)}.
+	 *
+	 * @param blocking Whether the server runs in blocking mode
+	 */
+	public void setBlocking(boolean blocking) {
+		synchronized (this.mutex) {
+			this.blocking = blocking;
+		}
+	}
+
+	/**
+	 * This method sets the capacity of the pooled direct buffers used for reading
+	 * and writing, which is also the largest amount of data read or written with a
+	 * single operation.
+	 *
+	 * @param bufferSize The capacity of each buffer
+	 * @return Whether the operation was successful
+	 */
+	public boolean setBufferSize(int bufferSize) {
+		if (bufferSize <= 0) {
+			return false;
+		}
+		synchronized (this.mutex) {
+			this.bufferSize = bufferSize;
+		}
+		return true;
+	}
+
+	/**
+	 * This method sets the capacity of the heap buffer every connection reads
+	 * through in blocking mode. Since every connection holds its buffer for as
+	 * long as it is open, the capacity should be small, and frames longer than it
+	 * are simply read with several operations.
+	 *
+	 * @param blockingBufferSize The capacity of each buffer
+	 * @return Whether the operation was successful
+	 */
+	public boolean setBlockingBufferSize(int blockingBufferSize) {
+		if (blockingBufferSize <= 0) {
+			return false;
+		}
+		synchronized (this.mutex) {
+			this.blockingBufferSize = blockingBufferSize;
+		}
+		return true;
+	}
+
+	/**
+	 * This method sets the maximum number of bytes that may follow the length
+	 * prefix of a received frame. Connections sending longer frames are closed.
+	 *
+	 * @param maxFrameLength The maximum frame length
+	 * @return Whether the operation was successful
+	 */
+	public boolean setMaxFrameLength(int maxFrameLength) {
+		if (maxFrameLength < FrameDecoder.MIN_LENGTH) {
+			return false;
+		}
+		synchronized (this.mutex) {
+			this.maxFrameLength = maxFrameLength;
+		}
+		return true;
+	}
+
+	/**
+	 * This method sets the wrappers applied to the payload of every response in the
+	 * given order.
+	 *
+	 * @param wrappers The wrappers to apply
+	 * @return Whether the operation was successful
+	 */
+	public boolean setWrappers(EWrapperContainer... wrappers) {
+		if (wrappers == null || wrappers.length > FrameEncoder.MAX_WRAPPERS) {
+			return false;
+		}
+		for (EWrapperContainer wrapper : wrappers) {
+			if (wrapper == null) {
+				return false;
+			}
+		}
+		synchronized (this.mutex) {
+			this.wrappers = wrappers.clone();
+		}
+		return true;
+	}
+
+	/**
+	 * This method sets the handler of the requests whose builder has the given id,
+	 * replacing the previous one. If the given handler is NULL, the requests will
+	 * be answered with an error response.
+	 *
+	 * @param builderId The id of the builder of the handled requests
+	 * @param handler   The handler of the requests
+	 */
+	public void setHandler(byte builderId, IRequestHandler handler) {
+		synchronized (this.mutex) {
+			this.handlers[builderId & 0xFF] = handler;
+		}
+	}
+
+	/**
+	 * This method adds the given listener to the ones notified when connections
+	 * are opened and closed.
+	 *
+	 * @param listener The listener to add
+	 * @return Whether the operation was successful
+	 */
+	public boolean addListener(IConnectionListener listener) {
+		if (listener == null) {
+			return false;
+		}
+		synchronized (this.mutex) {
+			this.listeners.add(listener);
+		}
+		return true;
+	}
+
+	/**
+	 * This method finalizes the building process of the {@link Server} and returns
+	 * the final result contained in an {@link Optional}. The server is not started.
+	 * If no address has been set an empty {@link Optional} will be returned.
+	 */
+	@Override
+	public Optional<Server> build() {
+		synchronized (this.mutex) {
+			if (this.address == null) {
+				return Optional.empty();
+			}
+			BufferPool bufferPool = new BufferPool(this.bufferSize, this.ioThreads * 16);
+			return Optional.of(new Server(this.address, this.ioThreads, this.maxFrameLength, bufferPool, new FrameEncoder(this.wrappers), this.handlers, this.listeners, this.blocking, this.blockingBufferSize));
+		}
+	}
+
+}
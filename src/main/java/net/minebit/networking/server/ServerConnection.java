@@ -0,0 +1,473 @@
+package net.minebit.networking.server;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import net.minebit.networking.frames.FrameDecoder;
+import net.minebit.networking.frames.FrameEncoder;
+import net.minebit.networking.frames.IFrameConsumer;
+import net.minebit.networking.frames.IncrementalFrameDecoder;
+import net.minebit.networking.requests.IRequest;
+import net.minebit.networking.responses.IResponse;
+import net.minebit.networking.sessions.Session;
+import net.minebit.networking.sessions.SessionManager;
+import net.minebit.networking.wrappers.WrapperContext;
+
+/**
+ * This class represents a connection of a client to a {@link Server}. Every
+ * connection is served by a single I/O thread, which reads and decodes its
+ * requests, invokes the handlers and writes the responses. Responses may be
+ * sent from any thread; they are queued and written by the I/O thread, with
+ * consecutive small responses coalesced into a single write through a pooled
+ * direct buffer. In blocking mode the connection is instead served by a thread
+ * of its own, which blocks reading its requests, while queued responses are
+ * written by whichever sending thread acquires the write lock first.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+public final class ServerConnection {
+
+	private final Server server;
+	private final ServerLoop loop;
+	private final SocketChannel channel;
+	private final IncrementalFrameDecoder<IRequest> decoder;
+	private final IFrameConsumer<IRequest> dispatcher;
+	private final Queue<ByteBuffer[]> outbound = new ConcurrentLinkedQueue<>();
+	private final Consumer<ByteBuffer[]> enqueuer = this.outbound::add;
+	private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+	private final AtomicBoolean closing = new AtomicBoolean(false);
+	private final ReentrantLock writeLock = new ReentrantLock();
+	private final WrapperContext context = new WrapperContext();
+	private final Object encodeMutex = new Object();
+
+	private volatile boolean open = true;
+	private volatile Object attachment = null;
+	private volatile Session session = null;
+
+	private SelectionKey key = null;
+	private ByteBuffer writeBuffer = null;
+	private ByteBuffer[] frame = null;
+	private int frameIndex = 0;
+
+	/**
+	 * This constructor constructs a new {@link ServerConnection} over the given
+	 * accepted channel, served by the given I/O loop or, if it is NULL, by a
+	 * thread of its own in blocking mode.
+	 *
+	 * @param server  The server that accepted the connection
+	 * @param loop    The I/O loop that serves the connection or NULL
+	 * @param channel The channel of the connection
+	 */
+	ServerConnection(Server server, ServerLoop loop, SocketChannel channel) {
+		this.server = server;
+		this.loop = loop;
+		this.channel = channel;
+		FrameDecoder<IRequest> frameDecoder = FrameDecoder.requests();
+		frameDecoder.setMaxLength(server.getMaxFrameLength());
+		frameDecoder.setContext(this.context);
+		this.decoder = new IncrementalFrameDecoder<>(frameDecoder);
+		this.dispatcher = (correlationId, request) -> server.dispatch(this, correlationId, request);
+	}
+
+	/**
+	 * This method encodes the given response in a frame that does not answer any
+	 * request and queues it to be written to the client. This method may be
+	 * invoked from any thread. If the connection is closed or the response could
+	 * not be encoded, the operation will be marked as failed.
+	 *
+	 * @param response The response to send
+	 * @return Whether the response was queued
+	 * @see #send(IResponse, int)
+	 */
+	public boolean send(IResponse response) {
+		return send(response, 0);
+	}
+
+	/**
+	 * This method encodes the given response in a frame carrying the given
+	 * correlation id, which should be the one of the request it answers, and
+	 * queues it to be written to the client. If a session is bound to the
+	 * connection, the frame is recorded in its log so it can be replayed, unless
+	 * the server applies stateful wrappers, in which case frames are wrapped and
+	 * queued one at a time and are not recorded. This method may be invoked from
+	 * any thread. If the connection is closed or the
+	 * response could not be encoded, the operation will be marked as failed.
+	 *
+	 * @param response      The response to send
+	 * @param correlationId The correlation id of the answered request
+	 * @return Whether the response was queued
+	 */
+	public boolean send(IResponse response, int correlationId) {
+		if (!this.open) {
+			return false;
+		}
+		FrameEncoder encoder = this.server.getEncoder();
+		boolean queued;
+		if (encoder.isStateful()) {
+			synchronized (this.encodeMutex) {
+				queued = enqueue(encoder, response, correlationId);
+			}
+		} else {
+			queued = enqueue(encoder, response, correlationId);
+		}
+		if (queued) {
+			scheduleFlush();
+		}
+		return queued;
+	}
+
+	/**
+	 * This method encodes the given response in a frame carrying the given
+	 * correlation id and queues it, recording it in the log of the session of the
+	 * connection if it can be replayed. When stateful wrappers are applied it
+	 * must be invoked while holding the encoding lock, so the frames are queued
+	 * in the order their payloads were wrapped.
+	 *
+	 * @param encoder       The encoder of the server
+	 * @param response      The response to send
+	 * @param correlationId The correlation id of the answered request
+	 * @return Whether the response was queued
+	 */
+	private boolean enqueue(FrameEncoder encoder, IResponse response, int correlationId) {
+		Optional<ByteBuffer[]> frameOptional = encoder.encode(response, correlationId, this.context);
+		if (!frameOptional.isPresent()) {
+			return false;
+		}
+		Session session = this.session;
+		if (session == null || encoder.isStateful() || !session.record(response.getBuilderId(), frameOptional.get(), this.enqueuer)) {
+			this.outbound.add(frameOptional.get());
+		}
+		return true;
+	}
+
+	/**
+	 * This method queues the given already encoded frame to be written to the
+	 * client, without recording it in the log of the session of the connection.
+	 * It is used to replay frames the client missed. This method may be invoked
+	 * from any thread. If the connection is closed the operation will be marked
+	 * as failed.
+	 *
+	 * @param frame The encoded frame to send
+	 * @return Whether the frame was queued
+	 */
+	public boolean send(ByteBuffer[] frame) {
+		if (!this.open || frame == null) {
+			return false;
+		}
+		this.outbound.add(frame);
+		scheduleFlush();
+		return true;
+	}
+
+	/**
+	 * This method closes the connection. Responses that have not been written yet
+	 * are discarded. This method may be invoked from any thread.
+	 */
+	public void close() {
+		this.open = false;
+		if (this.loop == null) {
+			closeNow();
+		} else {
+			this.loop.scheduleClose(this);
+		}
+	}
+
+	/**
+	 * This method returns whether the connection is still open.
+	 *
+	 * @return Whether the connection is open
+	 */
+	public boolean isOpen() {
+		return this.open;
+	}
+
+	/**
+	 * This method returns the address of the client contained in an
+	 * {@link Optional}. If the address could not be obtained an empty
+	 * {@link Optional} will be returned.
+	 *
+	 * @return The client's address
+	 */
+	public Optional<SocketAddress> getRemoteAddress() {
+		try {
+			return Optional.ofNullable(this.channel.getRemoteAddress());
+		} catch (IOException exception) {
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * This method returns the {@link Server} that accepted the connection.
+	 *
+	 * @return The connection's server
+	 */
+	public Server getServer() {
+		return this.server;
+	}
+
+	/**
+	 * This method returns the object attached to the connection by the
+	 * application contained in an {@link Optional}.
+	 *
+	 * @return The connection's attachment
+	 */
+	public Optional<Object> getAttachment() {
+		return Optional.ofNullable(this.attachment);
+	}
+
+	/**
+	 * This method attaches the given object to the connection, replacing the
+	 * previous one.
+	 *
+	 * @param attachment The object to attach
+	 */
+	public void setAttachment(Object attachment) {
+		this.attachment = attachment;
+	}
+
+	/**
+	 * This method returns the {@link Session} bound to the connection contained in
+	 * an {@link Optional}. If no session is bound an empty {@link Optional} will
+	 * be returned.
+	 *
+	 * @return The connection's session
+	 */
+	public Optional<Session> getSession() {
+		return Optional.ofNullable(this.session);
+	}
+
+	/**
+	 * This method binds the given session to the connection, replacing the
+	 * previous one. Sessions are normally bound by their {@link SessionManager}.
+	 *
+	 * @param session The session to bind or NULL
+	 */
+	public void setSession(Session session) {
+		this.session = session;
+	}
+
+	/**
+	 * This method returns the {@link WrapperContext} the frames sent and received
+	 * through the connection are wrapped and unwrapped with, which holds the
+	 * dictionary negotiated for its session and the state of its compression
+	 * streams.
+	 *
+	 * @return The connection's wrapper context
+	 */
+	public WrapperContext getWrapperContext() {
+		return this.context;
+	}
+
+	/**
+	 * This method returns whether the frames sent through the connection can be
+	 * replayed through another connection, which is not the case when the server
+	 * applies stateful wrappers, since they can only be unwrapped by the stream
+	 * state of the connection they were sent through.
+	 *
+	 * @return Whether the frames can be replayed
+	 */
+	public boolean isReplayable() {
+		return !this.server.getEncoder().isStateful();
+	}
+
+	/**
+	 * This method marks the session bound to the connection, if any, as accessed.
+	 */
+	void touchSession() {
+		Session session = this.session;
+		if (session != null) {
+			session.touch();
+		}
+	}
+
+	/**
+	 * This method registers the channel of the connection with the given selector
+	 * for reading. It must be invoked by the I/O thread of the connection.
+	 *
+	 * @param selector The selector of the I/O thread
+	 * @throws IOException If the channel could not be registered
+	 */
+	void register(Selector selector) throws IOException {
+		this.key = this.channel.register(selector, SelectionKey.OP_READ, this);
+	}
+
+	/**
+	 * This method reads the available bytes of the channel into the given buffer
+	 * and dispatches every request they complete. It must be invoked by the I/O
+	 * thread of the connection.
+	 *
+	 * @param buffer The read buffer of the I/O thread
+	 * @throws IOException If an I/O error occurs while reading
+	 */
+	void read(ByteBuffer buffer) throws IOException {
+		buffer.clear();
+		int read = this.channel.read(buffer);
+		if (read < 0) {
+			closeNow();
+			return;
+		}
+		buffer.flip();
+		if (this.decoder.decode(buffer, this.dispatcher) < 0) {
+			closeNow();
+		}
+	}
+
+	/**
+	 * This method reads and dispatches the requests of the connection until it is
+	 * closed, blocking while no bytes are available. It must be invoked by the
+	 * thread serving the connection in blocking mode.
+	 *
+	 * @param buffer The read buffer of the connection
+	 */
+	void serve(ByteBuffer buffer) {
+		try {
+			while (this.open) {
+				read(buffer);
+			}
+		} catch (IOException | RuntimeException exception) {
+			// The connection is closed regardless
+		} finally {
+			closeNow();
+		}
+	}
+
+	/**
+	 * This method marks the connection as having a flush scheduled and returns
+	 * whether it did not have one already.
+	 *
+	 * @return Whether a flush must be scheduled
+	 */
+	boolean markFlushScheduled() {
+		return this.flushScheduled.compareAndSet(false, true);
+	}
+
+	/**
+	 * This method writes as many of the queued responses as the channel accepts,
+	 * coalescing them into a pooled direct buffer, and registers interest in
+	 * writing if some of them remain. It must be invoked by the I/O thread of the
+	 * connection.
+	 *
+	 * @throws IOException If an I/O error occurs while writing
+	 */
+	void flush() throws IOException {
+		this.flushScheduled.set(false);
+		if (!this.open || this.key == null) {
+			return;
+		}
+		while (true) {
+			if (this.writeBuffer == null) {
+				this.writeBuffer = this.server.getBufferPool().acquire();
+			}
+			fill();
+			this.writeBuffer.flip();
+			if (!this.writeBuffer.hasRemaining()) {
+				this.server.getBufferPool().release(this.writeBuffer);
+				this.writeBuffer = null;
+				this.key.interestOps(SelectionKey.OP_READ);
+				return;
+			}
+			this.channel.write(this.writeBuffer);
+			boolean drained = !this.writeBuffer.hasRemaining();
+			this.writeBuffer.compact();
+			if (!drained) {
+				this.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * This method has the queued responses written by the I/O loop of the
+	 * connection or, in blocking mode, writes them on the current thread unless
+	 * another thread is already writing them.
+	 */
+	private void scheduleFlush() {
+		if (this.loop != null) {
+			this.loop.scheduleFlush(this);
+			return;
+		}
+		while (!this.outbound.isEmpty() && this.writeLock.tryLock()) {
+			try {
+				ByteBuffer[] frame;
+				while ((frame = this.outbound.poll()) != null) {
+					ByteBuffer header = frame[0], payload = frame[frame.length - 1];
+					while (header.hasRemaining() || payload.hasRemaining()) {
+						this.channel.write(frame);
+					}
+				}
+			} catch (IOException | RuntimeException exception) {
+				closeNow();
+				return;
+			} finally {
+				this.writeLock.unlock();
+			}
+		}
+	}
+
+	/**
+	 * This method copies queued frames into the write buffer until it is full or
+	 * the queue is empty.
+	 */
+	private void fill() {
+		ByteBuffer target = this.writeBuffer;
+		while (target.hasRemaining()) {
+			if (this.frame == null) {
+				this.frame = this.outbound.poll();
+				this.frameIndex = 0;
+				if (this.frame == null) {
+					return;
+				}
+			}
+			ByteBuffer source = this.frame[this.frameIndex];
+			int limit = source.limit();
+			source.limit(source.position() + Math.min(source.remaining(), target.remaining()));
+			target.put(source);
+			source.limit(limit);
+			if (!source.hasRemaining() && ++this.frameIndex == this.frame.length) {
+				this.frame = null;
+			}
+		}
+	}
+
+	/**
+	 * This method closes the channel of the connection, releases its buffers and
+	 * notifies the listeners of the server, only the first time it is invoked. It
+	 * must be invoked by the I/O thread of the connection, unless the connection
+	 * is in blocking mode.
+	 */
+	void closeNow() {
+		this.open = false;
+		if (!this.closing.compareAndSet(false, true)) {
+			return;
+		}
+		if (this.key != null) {
+			this.key.cancel();
+		}
+		try {
+			this.channel.close();
+		} catch (IOException exception) {
+			// The connection is discarded regardless
+		}
+		if (this.writeBuffer != null) {
+			this.server.getBufferPool().release(this.writeBuffer);
+			this.writeBuffer = null;
+		}
+		this.frame = null;
+		this.outbound.clear();
+		this.context.reset();
+		this.server.disconnected(this);
+	}
+
+}
@@ -0,0 +1,194 @@
+package net.minebit.networking.server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * This class represents an I/O thread of a {@link Server}, which serves a share
+ * of its connections through a single {@link Selector}. Work requested by other
+ * threads, such as registering new connections, flushing responses and closing
+ * connections, is queued and carried out by the loop after waking its selector.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+final class ServerLoop implements Runnable {
+
+	private final Server server;
+	private final Selector selector;
+	private final Queue<SocketChannel> registrations = new ConcurrentLinkedQueue<>();
+	private final Queue<ServerConnection> flushes = new ConcurrentLinkedQueue<>();
+	private final Queue<ServerConnection> closes = new ConcurrentLinkedQueue<>();
+
+	private volatile Thread thread = null;
+	private volatile boolean running = true;
+
+	/**
+	 * This constructor constructs a new {@link ServerLoop} of the given server
+	 * with a newly opened selector.
+	 *
+	 * @param server The server the loop belongs to
+	 * @throws IOException If the selector could not be opened
+	 */
+	ServerLoop(Server server) throws IOException {
+		this.server = server;
+		this.selector = Selector.open();
+	}
+
+	/**
+	 * This method hands the given accepted channel to the loop, which will
+	 * register it and start serving it.
+	 *
+	 * @param channel The accepted channel
+	 */
+	void register(SocketChannel channel) {
+		this.registrations.add(channel);
+		this.selector.wakeup();
+	}
+
+	/**
+	 * This method flushes the given connection immediately if invoked by the loop
+	 * itself, or schedules the flush and wakes the loop otherwise.
+	 *
+	 * @param connection The connection to flush
+	 */
+	void scheduleFlush(ServerConnection connection) {
+		if (Thread.currentThread() == this.thread) {
+			try {
+				connection.flush();
+			} catch (IOException | RuntimeException exception) {
+				connection.closeNow();
+			}
+			return;
+		}
+		if (connection.markFlushScheduled()) {
+			this.flushes.add(connection);
+			this.selector.wakeup();
+		}
+	}
+
+	/**
+	 * This method schedules the given connection to be closed by the loop and
+	 * wakes the loop.
+	 *
+	 * @param connection The connection to close
+	 */
+	void scheduleClose(ServerConnection connection) {
+		this.closes.add(connection);
+		this.selector.wakeup();
+	}
+
+	/**
+	 * This method stops the loop, which closes all of its connections.
+	 */
+	void stop() {
+		this.running = false;
+		this.selector.wakeup();
+	}
+
+	/**
+	 * This method closes the selector of a loop that was never run.
+	 */
+	void discard() {
+		try {
+			this.selector.close();
+		} catch (IOException exception) {
+			// The selector is discarded regardless
+		}
+	}
+
+	@Override
+	public void run() {
+		this.thread = Thread.currentThread();
+		ByteBuffer readBuffer = this.server.getBufferPool().acquire();
+		try {
+			while (this.running) {
+				this.selector.select();
+				processQueues();
+				Iterator<SelectionKey> iterator = this.selector.selectedKeys().iterator();
+				while (iterator.hasNext()) {
+					SelectionKey key = iterator.next();
+					iterator.remove();
+					ServerConnection connection = (ServerConnection) key.attachment();
+					try {
+						if (key.isValid() && key.isWritable()) {
+							connection.flush();
+						}
+						if (key.isValid() && key.isReadable()) {
+							connection.read(readBuffer);
+						}
+					} catch (IOException | RuntimeException exception) {
+						connection.closeNow();
+					}
+				}
+			}
+		} catch (IOException exception) {
+			// The loop stops and its connections are closed
+		} finally {
+			for (SelectionKey key : this.selector.keys()) {
+				if (key.attachment() instanceof ServerConnection) {
+					((ServerConnection) key.attachment()).closeNow();
+				}
+			}
+			SocketChannel channel;
+			while ((channel = this.registrations.poll()) != null) {
+				closeQuietly(channel);
+			}
+			try {
+				this.selector.close();
+			} catch (IOException exception) {
+				// The selector is discarded regardless
+			}
+			this.server.getBufferPool().release(readBuffer);
+		}
+	}
+
+	/**
+	 * This method carries out the work queued by other threads.
+	 */
+	private void processQueues() {
+		SocketChannel channel;
+		while ((channel = this.registrations.poll()) != null) {
+			ServerConnection connection = new ServerConnection(this.server, this, channel);
+			try {
+				connection.register(this.selector);
+			} catch (IOException exception) {
+				closeQuietly(channel);
+				continue;
+			}
+			this.server.connected(connection);
+		}
+		ServerConnection connection;
+		while ((connection = this.closes.poll()) != null) {
+			connection.closeNow();
+		}
+		while ((connection = this.flushes.poll()) != null) {
+			try {
+				connection.flush();
+			} catch (IOException | RuntimeException exception) {
+				connection.closeNow();
+			}
+		}
+	}
+
+	/**
+	 * This method closes the given channel, ignoring any errors.
+	 *
+	 * @param channel The channel to close
+	 */
+	private static void closeQuietly(SocketChannel channel) {
+		try {
+			channel.close();
+		} catch (IOException exception) {
+			// The channel is discarded regardless
+		}
+	}
+
+}
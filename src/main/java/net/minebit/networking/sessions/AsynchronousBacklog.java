@@ -0,0 +1,34 @@
+package net.minebit.networking.sessions;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class represents the tasks of a {@link Session} waiting to be executed
+ * by an {@link AsynchronousEngine}, along with the number of its tasks that
+ * are waiting or executing.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+final class AsynchronousBacklog {
+
+	/**
+	 * The tasks waiting for the number of executing tasks of the session to drop
+	 * below the limit.
+	 */
+	final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * The number of executing tasks of the session.
+	 */
+	final AtomicInteger inFlight = new AtomicInteger(0);
+
+	/**
+	 * The number of waiting or executing tasks of the session.
+	 */
+	final AtomicInteger pending = new AtomicInteger(0);
+
+}
@@ -0,0 +1,267 @@
+package net.minebit.networking.sessions;
+
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.minebit.networking.messages.Message;
+import net.minebit.networking.requests.IRequest;
+import net.minebit.networking.requests.message.asynchronous.MessageAsynchronousRequest;
+import net.minebit.networking.requests.message.asynchronous.MessageAsynchronousRequestBuilder;
+import net.minebit.networking.responses.IResponse;
+import net.minebit.networking.responses.message.asynchronous.MessageAsynchronousResponseBuilder;
+import net.minebit.networking.server.ServerBuilder;
+import net.minebit.networking.server.ServerConnection;
+
+/**
+ * This class represents the engine executing the asynchronous requests of the
+ * sessions of a server. Each request is handled by an
+ * {@link IAsynchronousHandler} in an {@link AsynchronousTask} of its session,
+ * whose id is returned to the client immediately, and its result is published
+ * to the {@link CompletionQueue} of the session to be delivered by the next
+ * update. Tasks are executed by a work-stealing {@link ForkJoinPool}, so idle
+ * workers take over the tasks queued by busy ones and handlers scale across
+ * every core. Each session may only have a limited number of tasks executing
+ * at once, while the rest wait in its own backlog and are released as its
+ * tasks complete, so a burst of requests from one client cannot occupy every
+ * worker. The number of waiting tasks is bounded both per session and in
+ * total, and requests exceeding either bound are rejected. Engines are
+ * constructed with an {@link AsynchronousEngineBuilder} and serve the
+ * asynchronous requests of a server after being installed into its
+ * {@link ServerBuilder}.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+public final class AsynchronousEngine {
+
+	private final IAsynchronousHandler handler;
+	private final int maxInFlight;
+	private final int maxPending;
+	private final int capacity;
+	private final ForkJoinPool pool;
+	private final AtomicInteger pending = new AtomicInteger(0);
+
+	/**
+	 * This constructor constructs a new {@link AsynchronousEngine} with the given
+	 * handler and configuration.
+	 *
+	 * @param handler     The handler of the asynchronous requests, which may be
+	 *                    NULL
+	 * @param parallelism The number of worker threads
+	 * @param maxInFlight The maximum number of executing tasks of a session
+	 * @param maxPending  The maximum number of waiting or executing tasks of a
+	 *                    session
+	 * @param capacity    The maximum number of waiting or executing tasks in total
+	 */
+	AsynchronousEngine(IAsynchronousHandler handler, int parallelism, int maxInFlight, int maxPending, int capacity) {
+		this.handler = handler;
+		this.maxInFlight = maxInFlight;
+		this.maxPending = maxPending;
+		this.capacity = capacity;
+		this.pool = new ForkJoinPool(parallelism, pool -> {
+			ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+			thread.setName("minebit-async-" + thread.getPoolIndex());
+			thread.setDaemon(true);
+			return thread;
+		}, null, true);
+	}
+
+	/**
+	 * This method submits the given message to be handled asynchronously for the
+	 * given session and returns the task handling it contained in an
+	 * {@link Optional}. If the engine has no handler, the session has ended, the
+	 * engine is shut down or the session or the engine has too many pending
+	 * tasks, an empty {@link Optional} will be returned.
+	 *
+	 * @param session The session of the request
+	 * @param message The message of the request
+	 * @return The task handling the message
+	 */
+	public Optional<AsynchronousTask> submit(Session session, Message message) {
+		IAsynchronousHandler handler = this.handler;
+		if (handler == null || message == null) {
+			return Optional.empty();
+		}
+		return submit(session, task -> handler.handle(task, message));
+	}
+
+	/**
+	 * This method submits the given work to be performed asynchronously for the
+	 * given session, subject to the same limits as the requests handled by the
+	 * engine, and returns the task performing it contained in an
+	 * {@link Optional}. If the session has ended, the engine is shut down or the
+	 * session or the engine has too many pending tasks, an empty {@link Optional}
+	 * will be returned.
+	 *
+	 * @param session The session of the work
+	 * @param work    The work to perform
+	 * @return The task performing the work
+	 */
+	public Optional<AsynchronousTask> submit(Session session, IAsynchronousWork work) {
+		if (session == null || work == null) {
+			return Optional.empty();
+		}
+		return session.submit(task -> enqueue(session, task), work);
+	}
+
+	/**
+	 * This method returns the number of tasks waiting or executing in the engine.
+	 *
+	 * @return The number of pending tasks
+	 */
+	public int getPendingCount() {
+		return this.pending.get();
+	}
+
+	/**
+	 * This method returns the number of worker threads of the engine.
+	 *
+	 * @return The engine's parallelism
+	 */
+	public int getParallelism() {
+		return this.pool.getParallelism();
+	}
+
+	/**
+	 * This method shuts the engine down. Executing tasks are completed, but new
+	 * requests are rejected.
+	 */
+	public void shutdown() {
+		this.pool.shutdown();
+	}
+
+	/**
+	 * This method returns whether the engine has been shut down.
+	 *
+	 * @return Whether the engine is shut down
+	 */
+	public boolean isShutdown() {
+		return this.pool.isShutdown();
+	}
+
+	/**
+	 * This method registers the handler of the asynchronous requests to the given
+	 * {@link ServerBuilder}, so the servers it builds execute them through this
+	 * engine. The sessions of the server must be managed by a
+	 * {@link SessionManager} installed into the same builder.
+	 *
+	 * @param builder The builder of the server
+	 */
+	public void install(ServerBuilder builder) {
+		builder.setHandler(MessageAsynchronousRequestBuilder.ID, (connection, correlationId, request) -> handle(connection, request));
+	}
+
+	/**
+	 * This method submits the message of the given request for the session bound
+	 * to the given connection and returns the response containing the id of its
+	 * task.
+	 *
+	 * @param connection The connection the request was received through
+	 * @param request    The received request
+	 * @return The response to the request
+	 */
+	private Optional<IResponse> handle(ServerConnection connection, IRequest request) {
+		Optional<Session> sessionOptional = connection.getSession();
+		if (!sessionOptional.isPresent()) {
+			return SessionManager.error("There is no active session!");
+		}
+		Optional<AsynchronousTask> taskOptional = submit(sessionOptional.get(), ((MessageAsynchronousRequest) request).getMessage());
+		if (!taskOptional.isPresent()) {
+			return SessionManager.error("Too many asynchronous requests are pending!");
+		}
+		MessageAsynchronousResponseBuilder builder = MessageAsynchronousResponseBuilder.empty();
+		builder.setId(taskOptional.get().getId());
+		return builder.build();
+	}
+
+	/**
+	 * This method adds the given task to the backlog of the given session and
+	 * starts as many tasks of the session as its limit allows. This method is the
+	 * {@link Executor} of the tasks of the session.
+	 *
+	 * @param session The session of the task
+	 * @param task    The task to execute
+	 * @throws RejectedExecutionException If the session or the engine has too
+	 *                                    many pending tasks or the engine is shut
+	 *                                    down
+	 */
+	private void enqueue(Session session, Runnable task) {
+		if (this.pool.isShutdown()) {
+			throw new RejectedExecutionException();
+		}
+		AsynchronousBacklog backlog = session.getBacklog();
+		if (backlog.pending.incrementAndGet() > this.maxPending) {
+			backlog.pending.decrementAndGet();
+			throw new RejectedExecutionException();
+		}
+		if (this.pending.incrementAndGet() > this.capacity) {
+			this.pending.decrementAndGet();
+			backlog.pending.decrementAndGet();
+			throw new RejectedExecutionException();
+		}
+		backlog.tasks.add(task);
+		dispatch(backlog);
+	}
+
+	/**
+	 * This method starts waiting tasks of the given backlog until its backlog is
+	 * empty or the limit of executing tasks is reached.
+	 *
+	 * @param backlog The backlog of the session
+	 */
+	private void dispatch(AsynchronousBacklog backlog) {
+		while (!backlog.tasks.isEmpty()) {
+			int inFlight = backlog.inFlight.get();
+			if (inFlight >= this.maxInFlight) {
+				return;
+			}
+			if (!backlog.inFlight.compareAndSet(inFlight, inFlight + 1)) {
+				continue;
+			}
+			Runnable task = backlog.tasks.poll();
+			if (task == null) {
+				backlog.inFlight.decrementAndGet();
+				continue;
+			}
+			try {
+				this.pool.execute(() -> execute(backlog, task));
+			} catch (RejectedExecutionException exception) {
+				finish(backlog);
+			}
+		}
+	}
+
+	/**
+	 * This method executes the given task and then starts the next waiting task
+	 * of its session.
+	 *
+	 * @param backlog The backlog of the session of the task
+	 * @param task    The task to execute
+	 */
+	private void execute(AsynchronousBacklog backlog, Runnable task) {
+		try {
+			task.run();
+		} finally {
+			finish(backlog);
+			dispatch(backlog);
+		}
+	}
+
+	/**
+	 * This method releases the place of a task of the given backlog that is no
+	 * longer executing.
+	 *
+	 * @param backlog The backlog of the session of the task
+	 */
+	private void finish(AsynchronousBacklog backlog) {
+		backlog.inFlight.decrementAndGet();
+		backlog.pending.decrementAndGet();
+		this.pending.decrementAndGet();
+	}
+
+}
@@ -0,0 +1,154 @@
+package net.minebit.networking.sessions;
+
+import java.util.Optional;
+
+import net.minebit.networking.util.IBuilder;
+
+/**
+ * This class represents a builder used to build {@link AsynchronousEngine}s by
+ * taking the provided handler and configuration and parsing them into a newly
+ * constructed instance.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+public class AsynchronousEngineBuilder implements IBuilder<AsynchronousEngine> {
+
+	/**
+	 * The default maximum number of waiting or executing tasks of a session.
+	 */
+	public static final int DEFAULT_MAX_PENDING = 1024;
+
+	/**
+	 * The default maximum number of waiting or executing tasks in total.
+	 */
+	public static final int DEFAULT_CAPACITY = 1 << 16;
+
+	private final Object mutex = new Object();
+
+	private IAsynchronousHandler handler = null;
+	private int parallelism = Runtime.getRuntime().availableProcessors();
+	private int maxInFlight = 0;
+	private int maxPending = DEFAULT_MAX_PENDING;
+	private int capacity = DEFAULT_CAPACITY;
+
+	/**
+	 * This method returns a newly constructed empty
+	 * {@link AsynchronousEngineBuilder} builder.
+	 *
+	 * @return The new {@link AsynchronousEngineBuilder}
+	 * @see #AsynchronousEngineBuilder()
+	 */
+	public static AsynchronousEngineBuilder empty() {
+		return new AsynchronousEngineBuilder();
+	}
+
+	/**
+	 * This constructor constructs a new {@link AsynchronousEngineBuilder} used to
+	 * build new {@link AsynchronousEngine} objects with the configuration provided
+	 * and return them.
+	 */
+	private AsynchronousEngineBuilder() {
+	}
+
+	/**
+	 * This method sets the handler of the asynchronous requests executed by the
+	 * engine. An engine without a handler only performs the work submitted to it
+	 * directly.
+	 *
+	 * @param handler The handler of the requests
+	 * @return Whether the operation was successful
+	 */
+	public boolean setHandler(IAsynchronousHandler handler) {
+		if (handler == null) {
+			return false;
+		}
+		synchronized (this.mutex) {
+			this.handler = handler;
+		}
+		return true;
+	}
+
+	/**
+	 * This method sets the number of worker threads of the engine, which defaults
+	 * to the number of available processors.
+	 *
+	 * @param parallelism The number of worker threads
+	 * @return Whether the operation was successful
+	 */
+	public boolean setParallelism(int parallelism) {
+		if (parallelism <= 0 || parallelism > 0x7FFF) {
+			return false;
+		}
+		synchronized (this.mutex) {
+			this.parallelism = parallelism;
+		}
+		return true;
+	}
+
+	/**
+	 * This method sets the maximum number of tasks of a single session that may
+	 * execute at once. By default half of the worker threads may execute the
+	 * tasks of a single session, so the rest remain available to the others.
+	 *
+	 * @param maxInFlight The maximum number of executing tasks of a session
+	 * @return Whether the operation was successful
+	 */
+	public boolean setMaxInFlight(int maxInFlight) {
+		if (maxInFlight <= 0) {
+			return false;
+		}
+		synchronized (this.mutex) {
+			this.maxInFlight = maxInFlight;
+		}
+		return true;
+	}
+
+	/**
+	 * This method sets the maximum number of tasks of a single session that may
+	 * be waiting or executing, beyond which its requests are rejected.
+	 *
+	 * @param maxPending The maximum number of pending tasks of a session
+	 * @return Whether the operation was successful
+	 */
+	public boolean setMaxPending(int maxPending) {
+		if (maxPending <= 0) {
+			return false;
+		}
+		synchronized (this.mutex) {
+			this.maxPending = maxPending;
+		}
+		return true;
+	}
+
+	/**
+	 * This method sets the maximum number of tasks of all sessions that may be
+	 * waiting or executing, beyond which requests are rejected.
+	 *
+	 * @param capacity The maximum number of pending tasks
+	 * @return Whether the operation was successful
+	 */
+	public boolean setCapacity(int capacity) {
+		if (capacity <= 0) {
+			return false;
+		}
+		synchronized (this.mutex) {
+			this.capacity = capacity;
+		}
+		return true;
+	}
+
+	/**
+	 * This method finalizes the building process of the {@link AsynchronousEngine}
+	 * and returns the final result contained in an {@link Optional}.
+	 */
+	@Override
+	public Optional<AsynchronousEngine> build() {
+		synchronized (this.mutex) {
+			int maxInFlight = this.maxInFlight == 0 ? Math.max(this.parallelism / 2, 1) : this.maxInFlight;
+			return Optional.of(new AsynchronousEngine(this.handler, this.parallelism, maxInFlight, this.maxPending, this.capacity));
+		}
+	}
+
+}
@@ -0,0 +1,154 @@
+package net.minebit.networking.sessions;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.minebit.networking.messages.Message;
+
+/**
+ * This class represents the work of an asynchronous request that belongs to a
+ * {@link Session} and publishes its result to the {@link CompletionQueue} of
+ * the session once completed. Each task is identified within its session by
+ * the id sent to the client in the asynchronous response, by which the client
+ * may cancel it. Cancelling a task that has not started prevents it from
+ * running, while cancelling a running task interrupts its thread and discards
+ * its result. Every task of a session is cancelled when the session ends or
+ * expires. Tasks are created through {@link Session#submit}.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+public final class AsynchronousTask implements Runnable {
+
+	private static final int NEW = 0;
+	private static final int RUNNING = 1;
+	private static final int INTERRUPTING = 2;
+	private static final int CANCELLED = 3;
+	private static final int DONE = 4;
+
+	private final Session session;
+	private final int id;
+	private final IAsynchronousWork work;
+	private final AtomicInteger state = new AtomicInteger(NEW);
+
+	private volatile Thread runner = null;
+
+	/**
+	 * This constructor constructs a new {@link AsynchronousTask} with the given id
+	 * that performs the given work for the given session.
+	 *
+	 * @param session The session of the task
+	 * @param id      The id of the task
+	 * @param work    The work to perform
+	 */
+	AsynchronousTask(Session session, int id, IAsynchronousWork work) {
+		this.session = session;
+		this.id = id;
+		this.work = work;
+	}
+
+	/**
+	 * This method returns the id of the task, which is sent to the client in the
+	 * asynchronous response and identifies the result of the task.
+	 *
+	 * @return The task's id
+	 */
+	public int getId() {
+		return this.id;
+	}
+
+	/**
+	 * This method returns the session the task belongs to.
+	 *
+	 * @return The task's session
+	 */
+	public Session getSession() {
+		return this.session;
+	}
+
+	/**
+	 * This method returns whether the task has been cancelled, so that its work
+	 * may stop early.
+	 *
+	 * @return Whether the task is cancelled
+	 */
+	public boolean isCancelled() {
+		int state = this.state.get();
+		return state == INTERRUPTING || state == CANCELLED;
+	}
+
+	/**
+	 * This method returns whether the task has completed or been cancelled.
+	 *
+	 * @return Whether the task is done
+	 */
+	public boolean isDone() {
+		return this.state.get() > RUNNING;
+	}
+
+	/**
+	 * This method cancels the task, interrupting its thread if it is running, and
+	 * discards its result. If the task has already completed or been cancelled
+	 * the operation will be marked as failed.
+	 *
+	 * @return Whether the task was cancelled
+	 */
+	public boolean cancel() {
+		while (true) {
+			int state = this.state.get();
+			if (state == NEW) {
+				if (this.state.compareAndSet(NEW, CANCELLED)) {
+					this.session.removeTask(this);
+					return true;
+				}
+			} else if (state == RUNNING) {
+				if (this.state.compareAndSet(RUNNING, INTERRUPTING)) {
+					Thread runner = this.runner;
+					if (runner != null) {
+						runner.interrupt();
+					}
+					this.state.set(CANCELLED);
+					this.session.removeTask(this);
+					return true;
+				}
+			} else {
+				return false;
+			}
+		}
+	}
+
+	/**
+	 * This method performs the work of the task and publishes its result, unless
+	 * the task has been cancelled. The interrupt of a cancelled task is cleared
+	 * before returning, so it does not leak to the next task of the same thread.
+	 */
+	@Override
+	public void run() {
+		this.runner = Thread.currentThread();
+		if (!this.state.compareAndSet(NEW, RUNNING)) {
+			this.runner = null;
+			return;
+		}
+		Optional<Message> resultOptional = Optional.empty();
+		try {
+			resultOptional = this.work.perform(this);
+		} catch (Exception exception) {
+			resultOptional = Optional.empty();
+		} finally {
+			if (this.state.compareAndSet(RUNNING, DONE)) {
+				this.session.removeTask(this);
+				if (resultOptional != null && resultOptional.isPresent() && this.session.isActive()) {
+					this.session.getCompletions().publish(this.id, resultOptional.get());
+				}
+			} else {
+				while (this.state.get() == INTERRUPTING) {
+					Thread.yield();
+				}
+				Thread.interrupted();
+			}
+			this.runner = null;
+		}
+	}
+
+}
@@ -0,0 +1,262 @@
+package net.minebit.networking.sessions;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import net.minebit.networking.messages.Message;
+import net.minebit.networking.responses.message.update.MessageUpdateResponseBuilder;
+
+/**
+ * This class represents the queue of the completed asynchronous requests of a
+ * {@link Session}, which stores their results between the update requests of
+ * the client. Any number of worker threads may publish results concurrently,
+ * each with a single atomic exchange and without any locks, while a single
+ * consumer at a time drains them in the order they were published directly
+ * into a {@link MessageUpdateResponseBuilder}. A result whose publication is
+ * still in progress while the queue is drained is left for the next drain. If
+ * the client of the session has requested results to be pushed or has parked
+ * an update request, publishing a result schedules their delivery. Drained
+ * results are numbered in the order they are delivered and may be retained
+ * until the client acknowledges them, so they can be delivered again if the
+ * client reconnects before processing them.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+public final class CompletionQueue {
+
+	private static final AtomicReferenceFieldUpdater<Node, Node> NEXT = AtomicReferenceFieldUpdater.newUpdater(Node.class, Node.class, "next");
+
+	private final Session owner;
+	private final AtomicReference<Node> tail;
+	private final AtomicBoolean draining = new AtomicBoolean(false);
+
+	private volatile Node head;
+	private volatile Node acknowledged;
+	private int sequence = 0;
+
+	/**
+	 * This constructor constructs a new empty {@link CompletionQueue} belonging to
+	 * the given session.
+	 *
+	 * @param owner The session of the queue
+	 */
+	CompletionQueue(Session owner) {
+		this.owner = owner;
+		Node stub = new Node(0, null);
+		this.head = stub;
+		this.acknowledged = stub;
+		this.tail = new AtomicReference<>(stub);
+	}
+
+	/**
+	 * This method publishes the given {@link Message} as the result of the
+	 * asynchronous request with the given id. This method may be invoked from any
+	 * thread. If the message is NULL the operation will be marked as failed.
+	 *
+	 * @param id      The id of the completed asynchronous request
+	 * @param message The result of the request
+	 * @return Whether the result was published
+	 */
+	public boolean publish(int id, Message message) {
+		if (message == null) {
+			return false;
+		}
+		Node node = new Node(id, message);
+		Node previous = this.tail.getAndSet(node);
+		NEXT.lazySet(previous, node);
+		this.owner.published();
+		return true;
+	}
+
+	/**
+	 * This method returns whether there are no published results waiting to be
+	 * delivered.
+	 *
+	 * @return Whether the queue is empty
+	 */
+	public boolean isEmpty() {
+		return this.tail.get() == this.head;
+	}
+
+	/**
+	 * This method removes all the published results from the queue in the order
+	 * they were published and adds them to the given builder, releasing them
+	 * immediately. If another thread is draining the queue at the same time
+	 * nothing is drained and -1 is returned.
+	 *
+	 * @param builder The builder to add the results to
+	 * @return The number of results drained or -1
+	 * @see #drain(MessageUpdateResponseBuilder, int, int, boolean)
+	 */
+	public int drain(MessageUpdateResponseBuilder builder) {
+		return drain(builder, Integer.MAX_VALUE, Integer.MAX_VALUE, false);
+	}
+
+	/**
+	 * This method removes the published results from the queue in the order they
+	 * were published and adds them to the given builder, until the given number
+	 * of results or encoded bytes is reached. At least one result is drained if
+	 * any is waiting, even if it exceeds the byte limit on its own. The sequence
+	 * number of the last drained result and whether more results remain are set
+	 * on the builder. Unless the results are retained they are released
+	 * immediately, along with every result retained by earlier drains. If another
+	 * thread is draining the queue at the same time nothing is drained and -1 is
+	 * returned, so the caller can tell a contended drain from an empty queue.
+	 *
+	 * @param builder  The builder to add the results to
+	 * @param maxCount The maximum number of results to drain
+	 * @param maxBytes The maximum number of encoded bytes to drain
+	 * @param retain   Whether to retain the results until they are acknowledged
+	 * @return The number of results drained or -1
+	 * @see #acknowledge(int)
+	 */
+	public int drain(MessageUpdateResponseBuilder builder, int maxCount, int maxBytes, boolean retain) {
+		if (!this.draining.compareAndSet(false, true)) {
+			return -1;
+		}
+		int count = 0;
+		try {
+			boolean bounded = maxBytes != Integer.MAX_VALUE;
+			long bytes = 0;
+			Node head = this.head, next;
+			while (count < maxCount && (next = head.next) != null) {
+				if (bounded) {
+					int length = 8 + next.message.getEncoded().get().remaining();
+					if (count > 0 && bytes + length > maxBytes) {
+						break;
+					}
+					bytes += length;
+				}
+				if (next.sequence == 0) {
+					next.sequence = this.sequence = this.sequence == Integer.MAX_VALUE ? 1 : this.sequence + 1;
+				}
+				builder.putMessage(next.id, next.message);
+				head = next;
+				count++;
+			}
+			this.head = head;
+			if (!retain) {
+				release(head);
+			}
+			builder.setSequence(head.sequence);
+			builder.setMore(head.next != null);
+		} finally {
+			this.draining.set(false);
+		}
+		return count;
+	}
+
+	/**
+	 * This method releases the retained result with the given sequence number and
+	 * every result delivered before it. If no delivered result has the given
+	 * sequence number, because it has already been acknowledged or has not been
+	 * delivered, nothing is released. If another thread is draining the queue at
+	 * the same time nothing is released either, which is harmless since
+	 * acknowledgements are cumulative.
+	 *
+	 * @param sequence The sequence number of the last processed result
+	 * @return The number of results released
+	 */
+	public int acknowledge(int sequence) {
+		if (sequence <= 0 || !this.draining.compareAndSet(false, true)) {
+			return 0;
+		}
+		try {
+			Node node = this.acknowledged, head = this.head;
+			int count = 0;
+			while (node != head) {
+				node = node.next;
+				count++;
+				if (node.sequence == sequence) {
+					release(node);
+					return count;
+				}
+			}
+			return 0;
+		} finally {
+			this.draining.set(false);
+		}
+	}
+
+	/**
+	 * This method makes the retained results that have not been acknowledged
+	 * waiting to be delivered again, keeping their sequence numbers, so a client
+	 * that reconnects receives the results it may have lost.
+	 */
+	public void rewind() {
+		while (!this.draining.compareAndSet(false, true)) {
+			Thread.yield();
+		}
+		this.head = this.acknowledged;
+		this.draining.set(false);
+	}
+
+	/**
+	 * This method discards every published result, delivered or not, and returns
+	 * the number of results that had not been delivered.
+	 *
+	 * @return The number of results discarded
+	 */
+	public int clear() {
+		while (!this.draining.compareAndSet(false, true)) {
+			Thread.yield();
+		}
+		int count = 0;
+		try {
+			Node head = this.head, next;
+			while ((next = head.next) != null) {
+				head = next;
+				count++;
+			}
+			this.head = head;
+			release(head);
+		} finally {
+			this.draining.set(false);
+		}
+		return count;
+	}
+
+	/**
+	 * This method releases every delivered result up to and including the given
+	 * one. It must only be invoked while draining.
+	 *
+	 * @param last The last result to release
+	 */
+	private void release(Node last) {
+		Node node = this.acknowledged;
+		while (node != last) {
+			node = node.next;
+			node.message = null;
+		}
+		this.acknowledged = last;
+	}
+
+	/**
+	 * This class represents a published result, linked to the one published after
+	 * it.
+	 */
+	private static final class Node {
+
+		final int id;
+		Message message;
+		int sequence = 0;
+		volatile Node next = null;
+
+		/**
+		 * This constructor constructs a new {@link Node} containing the given
+		 * result.
+		 *
+		 * @param id      The id of the completed asynchronous request
+		 * @param message The result of the request
+		 */
+		Node(int id, Message message) {
+			this.id = id;
+			this.message = message;
+		}
+
+	}
+
+}
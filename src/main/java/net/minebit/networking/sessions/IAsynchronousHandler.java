@@ -0,0 +1,32 @@
+package net.minebit.networking.sessions;
+
+import java.util.Optional;
+
+import net.minebit.networking.messages.Message;
+
+/**
+ * Classes implementing this interface handle the messages of the asynchronous
+ * requests executed by an {@link AsynchronousEngine}. Handlers are invoked on
+ * the worker threads of the engine, so they may perform heavy work, but
+ * should stop early once their task is cancelled.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ */
+@FunctionalInterface
+public interface IAsynchronousHandler {
+
+	/**
+	 * This method handles the given message of an asynchronous request performed
+	 * by the given task and returns the result to publish to its session
+	 * contained in an {@link Optional}. If the result is empty or an exception is
+	 * thrown, no result is published.
+	 *
+	 * @param task    The task handling the message
+	 * @param message The message of the request
+	 * @return The result of the request
+	 * @throws Exception If the message could not be handled
+	 */
+	public Optional<Message> handle(AsynchronousTask task, Message message) throws Exception;
+
+}
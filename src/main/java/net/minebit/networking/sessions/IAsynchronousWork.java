@@ -0,0 +1,31 @@
+package net.minebit.networking.sessions;
+
+import java.util.Optional;
+
+import net.minebit.networking.messages.Message;
+
+/**
+ * Classes implementing this interface perform the work of an asynchronous
+ * request of a {@link Session}, which is run as an {@link AsynchronousTask}.
+ * Long running work should either respond to interruption or check
+ * {@link AsynchronousTask#isCancelled()} regularly, so it stops as soon as the
+ * request is cancelled or its session ends.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ */
+@FunctionalInterface
+public interface IAsynchronousWork {
+
+	/**
+	 * This method performs the work of the given task and returns its result
+	 * contained in an {@link Optional}. If the result is empty or an exception is
+	 * thrown, no result is published for the request.
+	 *
+	 * @param task The task performing the work
+	 * @return The result of the work
+	 * @throws Exception If the work fails or is interrupted
+	 */
+	public Optional<Message> perform(AsynchronousTask task) throws Exception;
+
+}
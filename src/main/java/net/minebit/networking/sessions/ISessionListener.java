@@ -0,0 +1,41 @@
+package net.minebit.networking.sessions;
+
+/**
+ * Classes implementing this interface are notified when the sessions of a
+ * {@link SessionManager} are created, resumed and ended. Listeners are invoked
+ * on the thread performing the operation, which may be an I/O thread or the
+ * expiry thread of the manager, so they must not block.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ */
+public interface ISessionListener {
+
+	/**
+	 * This method is invoked after the given session has been created.
+	 *
+	 * @param session The created session
+	 */
+	public default void created(Session session) {
+	}
+
+	/**
+	 * This method is invoked after the given session has been resumed through a
+	 * new connection.
+	 *
+	 * @param session The resumed session
+	 */
+	public default void resumed(Session session) {
+	}
+
+	/**
+	 * This method is invoked after the given session has been ended, either
+	 * explicitly or because it remained idle for too long.
+	 *
+	 * @param session The ended session
+	 * @param expired Whether the session expired
+	 */
+	public default void ended(Session session, boolean expired) {
+	}
+
+}
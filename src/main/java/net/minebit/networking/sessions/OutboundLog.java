@@ -0,0 +1,149 @@
+package net.minebit.networking.sessions;
+
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
+import net.minebit.networking.frames.FrameEncoder;
+import net.minebit.networking.responses.session.create.SessionCreateResponseBuilder;
+import net.minebit.networking.responses.session.end.SessionEndResponseBuilder;
+import net.minebit.networking.responses.session.resume.SessionResumeResponseBuilder;
+
+/**
+ * This class represents the log of the frames sent to the client of a
+ * {@link Session}, which numbers them consecutively and keeps the most recent
+ * ones in a fixed ring, so the frames a client missed while reconnecting can be
+ * replayed exactly as they were encoded. Frames are recorded and queued to the
+ * connection under the same lock, so their sequence numbers always match the
+ * order they are written in. The responses that create, resume and end the
+ * session are not recorded, since they are not part of its stream. Replayed
+ * frames carry no correlation id, since the requests they answered were failed
+ * when the connection they were received through closed, and the ids may be in
+ * use again by the client.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+final class OutboundLog {
+
+	private static final int CORRELATION_OFFSET = 5;
+
+	private final Object mutex = new Object();
+
+	private final ByteBuffer[][] frames;
+	private final int mask;
+
+	private int sequence = 0;
+	private int size = 0;
+
+	/**
+	 * This constructor constructs a new empty {@link OutboundLog} keeping the
+	 * given number of frames.
+	 *
+	 * @param capacity The number of frames to keep, which must be a power of two
+	 */
+	OutboundLog(int capacity) {
+		this.frames = new ByteBuffer[capacity][];
+		this.mask = capacity - 1;
+	}
+
+	/**
+	 * This method returns whether frames carrying a response with the given
+	 * builder id are recorded.
+	 *
+	 * @param builderId The builder id of the response
+	 * @return Whether the frames are recorded
+	 */
+	static boolean isRecorded(byte builderId) {
+		return builderId != SessionCreateResponseBuilder.ID && builderId != SessionResumeResponseBuilder.ID && builderId != SessionEndResponseBuilder.ID;
+	}
+
+	/**
+	 * This method records the given frame with the next sequence number and
+	 * passes it to the given consumer to be queued, while holding the lock of the
+	 * log.
+	 *
+	 * @param frame   The frame to record
+	 * @param enqueue The consumer queuing the frame
+	 */
+	void append(ByteBuffer[] frame, Consumer<ByteBuffer[]> enqueue) {
+		ByteBuffer[] copy = duplicate(frame);
+		synchronized (this.mutex) {
+			this.sequence++;
+			this.frames[this.sequence & this.mask] = copy;
+			if (this.size <= this.mask) {
+				this.size++;
+			}
+			enqueue.accept(frame);
+		}
+	}
+
+	/**
+	 * This method passes the recorded frames sent after the one with the given
+	 * sequence number to the given consumer to be queued, in the order they were
+	 * sent, and then invokes the given action, while holding the lock of the log
+	 * so no other frame is recorded in between. The replayed frames are
+	 * uncorrelated, so the client does not match them to its new requests.
+	 *
+	 * @param sequence The sequence number of the last frame the client received
+	 * @param enqueue  The consumer queuing the frames
+	 * @param action   The action to invoke after the frames are queued
+	 * @return Whether every frame after the given one was still recorded
+	 */
+	boolean replay(int sequence, Consumer<ByteBuffer[]> enqueue, Runnable action) {
+		synchronized (this.mutex) {
+			int missed = this.sequence - sequence;
+			boolean complete = missed >= 0 && missed <= this.size;
+			if (complete) {
+				for (int current = sequence + 1; missed > 0; current++, missed--) {
+					enqueue.accept(uncorrelate(this.frames[current & this.mask]));
+				}
+			}
+			action.run();
+			return complete;
+		}
+	}
+
+	/**
+	 * This method returns the sequence number of the last recorded frame.
+	 *
+	 * @return The sequence number of the last frame
+	 */
+	int getSequence() {
+		synchronized (this.mutex) {
+			return this.sequence;
+		}
+	}
+
+	/**
+	 * This method returns a copy of the given frame sharing its contents but not
+	 * its positions, so writing one does not consume the other.
+	 *
+	 * @param frame The frame to copy
+	 * @return The copy of the frame
+	 */
+	private static ByteBuffer[] duplicate(ByteBuffer[] frame) {
+		ByteBuffer[] copy = new ByteBuffer[frame.length];
+		for (int index = 0; index < frame.length; index++) {
+			copy[index] = frame[index].duplicate();
+		}
+		return copy;
+	}
+
+	/**
+	 * This method returns a copy of the given frame sharing its payload but not
+	 * its header, in which the correlation id is replaced with 0, as described by
+	 * {@link FrameEncoder}.
+	 *
+	 * @param frame The frame to copy
+	 * @return The uncorrelated copy of the frame
+	 */
+	private static ByteBuffer[] uncorrelate(ByteBuffer[] frame) {
+		ByteBuffer[] copy = duplicate(frame);
+		ByteBuffer header = ByteBuffer.allocate(copy[0].remaining());
+		header.put(copy[0]).putInt(CORRELATION_OFFSET, 0).flip();
+		copy[0] = header;
+		return copy;
+	}
+
+}
@@ -0,0 +1,432 @@
+package net.minebit.networking.sessions;
+
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Consumer;
+
+import net.minebit.networking.requests.message.update.EUpdateMode;
+import net.minebit.networking.server.ServerConnection;
+
+/**
+ * This class represents a session of a client managed by a
+ * {@link SessionManager}, which outlives the connection it was created through
+ * and may be resumed through another connection by its id along with its
+ * secret token, which is only sent to the client that created it. A session
+ * is ended explicitly or expires after remaining idle for longer than the idle
+ * timeout of its manager.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+public final class Session {
+
+	private static final AtomicReferenceFieldUpdater<Session, CompletionQueue> COMPLETIONS = AtomicReferenceFieldUpdater.newUpdater(Session.class, CompletionQueue.class, "completions");
+	@SuppressWarnings("rawtypes")
+	private static final AtomicReferenceFieldUpdater<Session, ConcurrentHashMap> TASKS = AtomicReferenceFieldUpdater.newUpdater(Session.class, ConcurrentHashMap.class, "tasks");
+	private static final AtomicReferenceFieldUpdater<Session, AsynchronousBacklog> BACKLOG = AtomicReferenceFieldUpdater.newUpdater(Session.class, AsynchronousBacklog.class, "backlog");
+	private static final AtomicReferenceFieldUpdater<Session, OutboundLog> LOG = AtomicReferenceFieldUpdater.newUpdater(Session.class, OutboundLog.class, "log");
+
+	private final SessionManager manager;
+	private final int id;
+	private final long token;
+	private final AtomicBoolean ended = new AtomicBoolean(false);
+	private final AtomicReference<ServerConnection> connection = new AtomicReference<>(null);
+	private final AtomicInteger nextTaskId = new AtomicInteger(0);
+
+	private volatile long lastAccess;
+	private volatile Object attachment = null;
+	private volatile CompletionQueue completions = null;
+	private volatile OutboundLog log = null;
+	private volatile AsynchronousBacklog backlog = null;
+	private volatile ConcurrentHashMap<Integer, AsynchronousTask> tasks = null;
+
+	/**
+	 * The next session in the same list of the timing wheel, or in the stack of
+	 * sessions waiting to be scheduled.
+	 */
+	Session next = null;
+
+	/**
+	 * The tick the session is scheduled to be examined at by the timing wheel.
+	 */
+	long deadline = 0;
+
+	/**
+	 * The way the results of the session are delivered, as last requested by the
+	 * client.
+	 */
+	volatile EUpdateMode updateMode = EUpdateMode.POLL;
+
+	/**
+	 * Whether the client acknowledges the results it processes, in which case
+	 * delivered results are retained until acknowledged.
+	 */
+	volatile boolean acknowledging = false;
+
+	/**
+	 * The id of the dictionary negotiated when the session was created, which
+	 * the frames sent to its client are compressed with, or zero if there is
+	 * none.
+	 */
+	volatile int dictionaryId = 0;
+
+	/**
+	 * The update request parked on the session until results are published.
+	 */
+	final AtomicReference<UpdateDispatcher.Poll> parked = new AtomicReference<>(null);
+
+	/**
+	 * Whether a delivery of the results of the session is scheduled.
+	 */
+	final AtomicBoolean deliveryScheduled = new AtomicBoolean(false);
+
+	/**
+	 * This constructor constructs a new {@link Session} with the given id and
+	 * token, which belongs to the given manager.
+	 *
+	 * @param manager The manager of the session
+	 * @param id      The id of the session
+	 * @param token   The secret token of the session
+	 */
+	Session(SessionManager manager, int id, long token) {
+		this.manager = manager;
+		this.id = id;
+		this.token = token;
+		this.lastAccess = manager.getTick();
+	}
+
+	/**
+	 * This method returns the id of the session, by which it can be resumed.
+	 *
+	 * @return The session's id
+	 */
+	public int getId() {
+		return this.id;
+	}
+
+	/**
+	 * This method returns the secret token of the session, which must be
+	 * presented along with its id to resume it. Unlike the id, the token is
+	 * random and cannot be guessed from the ids of other sessions.
+	 *
+	 * @return The session's token
+	 */
+	public long getToken() {
+		return this.token;
+	}
+
+	/**
+	 * This method returns the {@link SessionManager} the session belongs to.
+	 *
+	 * @return The session's manager
+	 */
+	public SessionManager getManager() {
+		return this.manager;
+	}
+
+	/**
+	 * This method returns the id of the dictionary negotiated when the session
+	 * was created, or zero if none was negotiated.
+	 *
+	 * @return The id of the session's dictionary
+	 */
+	public int getDictionaryId() {
+		return this.dictionaryId;
+	}
+
+	/**
+	 * This method returns whether the session has not been ended or expired.
+	 *
+	 * @return Whether the session is active
+	 */
+	public boolean isActive() {
+		return !this.ended.get();
+	}
+
+	/**
+	 * This method marks the session as accessed, postponing its expiry. It only
+	 * performs a single volatile write, so it may be invoked for every request.
+	 */
+	public void touch() {
+		this.lastAccess = this.manager.getTick();
+	}
+
+	/**
+	 * This method returns the connection the session is currently bound to
+	 * contained in an {@link Optional}. If the session is not bound to any
+	 * connection an empty {@link Optional} will be returned.
+	 *
+	 * @return The session's connection
+	 */
+	public Optional<ServerConnection> getConnection() {
+		return Optional.ofNullable(this.connection.get());
+	}
+
+	/**
+	 * This method returns the {@link CompletionQueue} storing the results of the
+	 * asynchronous requests of the session until the client requests them. The
+	 * queue is created when first requested.
+	 *
+	 * @return The session's completion queue
+	 */
+	public CompletionQueue getCompletions() {
+		CompletionQueue completions = this.completions;
+		if (completions == null) {
+			COMPLETIONS.compareAndSet(this, null, new CompletionQueue(this));
+			completions = this.completions;
+		}
+		return completions;
+	}
+
+	/**
+	 * This method creates an {@link AsynchronousTask} with a new id that performs
+	 * the given work for the session, submits it to the given executor and
+	 * returns it contained in an {@link Optional}. The id of the task should be
+	 * sent to the client in the asynchronous response, so it can identify the
+	 * result and cancel the task. The task is cancelled if the session ends
+	 * before it completes. If the session has ended or the executor rejects the
+	 * task an empty {@link Optional} will be returned.
+	 *
+	 * @param executor The executor to run the task
+	 * @param work     The work to perform
+	 * @return The submitted task
+	 */
+	public Optional<AsynchronousTask> submit(Executor executor, IAsynchronousWork work) {
+		if (executor == null || work == null || !isActive()) {
+			return Optional.empty();
+		}
+		int id;
+		do {
+			id = this.nextTaskId.incrementAndGet();
+		} while (id == 0);
+		AsynchronousTask task = new AsynchronousTask(this, id, work);
+		getTasks().put(id, task);
+		if (!isActive()) {
+			task.cancel();
+			return Optional.empty();
+		}
+		try {
+			executor.execute(task);
+		} catch (RejectedExecutionException exception) {
+			task.cancel();
+			return Optional.empty();
+		}
+		return Optional.of(task);
+	}
+
+	/**
+	 * This method returns the task of the session with the given id that has not
+	 * completed yet contained in an {@link Optional}. If there is no such task an
+	 * empty {@link Optional} will be returned.
+	 *
+	 * @param id The id of the task
+	 * @return The task with the given id
+	 */
+	public Optional<AsynchronousTask> getTask(int id) {
+		ConcurrentHashMap<Integer, AsynchronousTask> tasks = this.tasks;
+		return tasks == null ? Optional.empty() : Optional.ofNullable(tasks.get(id));
+	}
+
+	/**
+	 * This method cancels the task of the session with the given id. If there is
+	 * no such task or it has already completed the operation will be marked as
+	 * failed.
+	 *
+	 * @param id The id of the task
+	 * @return Whether the task was cancelled
+	 * @see AsynchronousTask#cancel()
+	 */
+	public boolean cancel(int id) {
+		Optional<AsynchronousTask> taskOptional = getTask(id);
+		return taskOptional.isPresent() && taskOptional.get().cancel();
+	}
+
+	/**
+	 * This method records the given frame, which carries a response with the
+	 * given builder id and is sent to the client of the session, so it can be
+	 * replayed if the client resumes the session after missing it, and passes it
+	 * to the given consumer to be queued. The frame is queued while the log of
+	 * the session is locked, so frames are always sent in the order they are
+	 * numbered. If the frame is not recorded, because replaying is disabled or
+	 * the response is not part of the stream of the session, the consumer is not
+	 * invoked and the operation will be marked as failed.
+	 *
+	 * @param builderId The builder id of the response of the frame
+	 * @param frame     The encoded frame
+	 * @param enqueue   The consumer queuing the frame
+	 * @return Whether the frame was recorded and queued
+	 */
+	public boolean record(byte builderId, ByteBuffer[] frame, Consumer<ByteBuffer[]> enqueue) {
+		if (!OutboundLog.isRecorded(builderId)) {
+			return false;
+		}
+		OutboundLog log = getLog();
+		if (log == null) {
+			return false;
+		}
+		log.append(frame, enqueue);
+		return true;
+	}
+
+	/**
+	 * This method returns the object attached to the session by the application
+	 * contained in an {@link Optional}.
+	 *
+	 * @return The session's attachment
+	 */
+	public Optional<Object> getAttachment() {
+		return Optional.ofNullable(this.attachment);
+	}
+
+	/**
+	 * This method attaches the given object to the session, replacing the previous
+	 * one.
+	 *
+	 * @param attachment The object to attach
+	 */
+	public void setAttachment(Object attachment) {
+		this.attachment = attachment;
+	}
+
+	/**
+	 * This method returns the log of the frames sent to the client of the
+	 * session, which is created when first requested. If replaying is disabled
+	 * NULL is returned.
+	 *
+	 * @return The session's outbound log
+	 */
+	OutboundLog getLog() {
+		OutboundLog log = this.log;
+		if (log == null) {
+			int capacity = this.manager.getReplayCapacity();
+			if (capacity == 0) {
+				return null;
+			}
+			LOG.compareAndSet(this, null, new OutboundLog(capacity));
+			log = this.log;
+		}
+		return log;
+	}
+
+	/**
+	 * This method returns the tasks of the session that have not completed, which
+	 * are stored in a map created when first requested.
+	 *
+	 * @return The session's tasks
+	 */
+	@SuppressWarnings("unchecked")
+	private ConcurrentHashMap<Integer, AsynchronousTask> getTasks() {
+		ConcurrentHashMap<Integer, AsynchronousTask> tasks = this.tasks;
+		if (tasks == null) {
+			TASKS.compareAndSet(this, null, new ConcurrentHashMap<Integer, AsynchronousTask>());
+			tasks = this.tasks;
+		}
+		return tasks;
+	}
+
+	/**
+	 * This method returns the backlog of the tasks of the session waiting to be
+	 * executed by an {@link AsynchronousEngine}, which is created when first
+	 * requested.
+	 *
+	 * @return The session's backlog
+	 */
+	AsynchronousBacklog getBacklog() {
+		AsynchronousBacklog backlog = this.backlog;
+		if (backlog == null) {
+			BACKLOG.compareAndSet(this, null, new AsynchronousBacklog());
+			backlog = this.backlog;
+		}
+		return backlog;
+	}
+
+	/**
+	 * This method removes the given completed or cancelled task from the tasks of
+	 * the session.
+	 *
+	 * @param task The task to remove
+	 */
+	void removeTask(AsynchronousTask task) {
+		ConcurrentHashMap<Integer, AsynchronousTask> tasks = this.tasks;
+		if (tasks != null) {
+			tasks.remove(task.getId(), task);
+		}
+	}
+
+	/**
+	 * This method cancels every task of the ended session and drops the results
+	 * that have not been delivered, so neither keeps using resources.
+	 */
+	void abandon() {
+		ConcurrentHashMap<Integer, AsynchronousTask> tasks = this.tasks;
+		if (tasks != null) {
+			for (AsynchronousTask task : tasks.values()) {
+				task.cancel();
+			}
+		}
+		CompletionQueue completions = this.completions;
+		if (completions != null) {
+			completions.clear();
+		}
+	}
+
+	/**
+	 * This method returns the tick of the manager at which the session was last
+	 * accessed.
+	 *
+	 * @return The tick of the last access
+	 */
+	long getLastAccess() {
+		return this.lastAccess;
+	}
+
+	/**
+	 * This method binds the session to the given connection and returns the
+	 * connection it was previously bound to, which may be NULL.
+	 *
+	 * @param connection The new connection of the session
+	 * @return The previous connection of the session
+	 */
+	ServerConnection bind(ServerConnection connection) {
+		return this.connection.getAndSet(connection);
+	}
+
+	/**
+	 * This method unbinds the session from the given connection, if it is still
+	 * bound to it.
+	 *
+	 * @param connection The connection to unbind from
+	 * @return Whether the session was unbound
+	 */
+	boolean unbind(ServerConnection connection) {
+		return this.connection.compareAndSet(connection, null);
+	}
+
+	/**
+	 * This method marks the session as ended, only the first time it is invoked.
+	 *
+	 * @return Whether the session was active until now
+	 */
+	boolean markEnded() {
+		return this.ended.compareAndSet(false, true);
+	}
+
+	/**
+	 * This method notifies the manager that results were published for the
+	 * session, if they should be delivered without waiting for an update request.
+	 */
+	void published() {
+		if (this.updateMode == EUpdateMode.PUSH || this.parked.get() != null) {
+			this.manager.getDispatcher().signal(this);
+		}
+	}
+
+}
@@ -0,0 +1,546 @@
+package net.minebit.networking.sessions;
+
+import java.security.SecureRandom;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+import net.minebit.networking.requests.IRequest;
+import net.minebit.networking.requests.message.cancel.MessageCancelRequest;
+import net.minebit.networking.requests.message.cancel.MessageCancelRequestBuilder;
+import net.minebit.networking.requests.message.update.MessageUpdateRequest;
+import net.minebit.networking.requests.message.update.MessageUpdateRequestBuilder;
+import net.minebit.networking.requests.session.create.SessionCreateRequest;
+import net.minebit.networking.requests.session.create.SessionCreateRequestBuilder;
+import net.minebit.networking.requests.session.end.SessionEndRequestBuilder;
+import net.minebit.networking.requests.session.resume.SessionResumeRequest;
+import net.minebit.networking.requests.session.resume.SessionResumeRequestBuilder;
+import net.minebit.networking.responses.IResponse;
+import net.minebit.networking.responses.error.ErrorResponseBuilder;
+import net.minebit.networking.responses.message.cancel.MessageCancelResponseBuilder;
+import net.minebit.networking.responses.session.create.SessionCreateResponseBuilder;
+import net.minebit.networking.responses.session.end.SessionEndResponseBuilder;
+import net.minebit.networking.responses.session.resume.SessionResumeResponseBuilder;
+import net.minebit.networking.server.IConnectionListener;
+import net.minebit.networking.server.ServerBuilder;
+import net.minebit.networking.server.ServerConnection;
+import net.minebit.networking.wrappers.DictionaryWrapper;
+
+/**
+ * This class represents a manager that allocates, stores and expires the
+ * {@link Session}s of a server. Sessions are stored in a fixed table of slots
+ * and the id of each session consists of the index of its slot and the number
+ * of times the slot has been reused, so a session is found by its id with a
+ * single array read and no boxing. Since ids are predictable, every session is
+ * also given a random token by a {@link SecureRandom}, which must accompany
+ * its id to resume it. Slots are claimed and released with atomic operations,
+ * so sessions are created, resumed and ended without any locks.
+ * Idle sessions are expired by a single expiry thread through a hierarchical
+ * {@link TimingWheel}, while accessing a session only records the current tick
+ * with a volatile write. Session managers are constructed with a
+ * {@link SessionManagerBuilder} and serve the session requests of a server
+ * after being installed into its {@link ServerBuilder}.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+public final class SessionManager {
+
+	private final Object mutex = new Object();
+
+	private final int capacity;
+	private final int replayCapacity;
+	private final int slotMask;
+	private final int slotBits;
+	private final long tickNanos;
+	private final long timeoutTicks;
+	private final long origin = System.nanoTime();
+	private final ISessionListener[] listeners;
+
+	private final AtomicReferenceArray<Session> sessions;
+	private final AtomicIntegerArray generations;
+	private final AtomicInteger cursor = new AtomicInteger(0);
+	private final SecureRandom random = new SecureRandom();
+	private final AtomicInteger size = new AtomicInteger(0);
+	private final AtomicReference<Session> incoming = new AtomicReference<>(null);
+	private final TimingWheel wheel = new TimingWheel(0);
+	private final UpdateDispatcher dispatcher;
+
+	private volatile long tick = 0;
+	private volatile boolean running = false;
+	private Thread thread = null;
+
+	/**
+	 * This constructor constructs a new {@link SessionManager} with the given
+	 * configuration, whose expiry thread is not started yet.
+	 *
+	 * @param capacity       The maximum number of sessions, which must be a power
+	 *                       of two
+	 * @param tickNanos      The duration of a tick in nanoseconds
+	 * @param timeoutTicks   The number of ticks after which idle sessions expire
+	 * @param windowNanos    The coalescing window of delivered results in
+	 *                       nanoseconds
+	 * @param maxPollNanos   The longest time an update request may be parked in
+	 *                       nanoseconds
+	 * @param maxMessages    The maximum number of results of an update response
+	 * @param maxBytes       The maximum number of encoded bytes of the results of
+	 *                       an update response
+	 * @param replayCapacity The number of frames kept by each session to be
+	 *                       replayed, which must be zero or a power of two
+	 * @param listeners      The session listeners
+	 */
+	SessionManager(int capacity, long tickNanos, long timeoutTicks, long windowNanos, long maxPollNanos, int maxMessages, int maxBytes, int replayCapacity, List<ISessionListener> listeners) {
+		this.capacity = capacity;
+		this.replayCapacity = replayCapacity;
+		this.slotMask = capacity - 1;
+		this.slotBits = Integer.numberOfTrailingZeros(capacity);
+		this.tickNanos = tickNanos;
+		this.timeoutTicks = timeoutTicks;
+		this.listeners = listeners.toArray(new ISessionListener[0]);
+		this.sessions = new AtomicReferenceArray<>(capacity);
+		this.generations = new AtomicIntegerArray(capacity);
+		this.dispatcher = new UpdateDispatcher(windowNanos, maxPollNanos, maxMessages, maxBytes);
+	}
+
+	/**
+	 * This method starts the expiry thread of the manager. If it is already
+	 * running the operation will be marked as failed.
+	 *
+	 * @return Whether the expiry thread was started
+	 */
+	public boolean start() {
+		synchronized (this.mutex) {
+			if (this.running) {
+				return false;
+			}
+			this.running = true;
+			this.thread = new Thread(this::expire, "minebit-session-expiry");
+			this.thread.setDaemon(true);
+			this.thread.start();
+			return true;
+		}
+	}
+
+	/**
+	 * This method stops the expiry thread of the manager and waits for it to
+	 * finish. Sessions do not expire while it is stopped. If it is not running
+	 * the operation will be marked as failed.
+	 *
+	 * @return Whether the expiry thread was stopped
+	 */
+	public boolean stop() {
+		Thread thread;
+		synchronized (this.mutex) {
+			if (!this.running) {
+				return false;
+			}
+			this.running = false;
+			thread = this.thread;
+			this.thread = null;
+		}
+		LockSupport.unpark(thread);
+		boolean interrupted = false;
+		while (thread != Thread.currentThread() && thread.isAlive()) {
+			try {
+				thread.join();
+			} catch (InterruptedException exception) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+		return true;
+	}
+
+	/**
+	 * This method returns whether the expiry thread of the manager is running.
+	 *
+	 * @return Whether the manager is running
+	 */
+	public boolean isRunning() {
+		return this.running;
+	}
+
+	/**
+	 * This method returns the maximum number of sessions that may exist at once.
+	 *
+	 * @return The manager's capacity
+	 */
+	public int getCapacity() {
+		return this.capacity;
+	}
+
+	/**
+	 * This method returns the number of active sessions.
+	 *
+	 * @return The number of sessions
+	 */
+	public int size() {
+		return this.size.get();
+	}
+
+	/**
+	 * This method creates a new {@link Session} with a unique id and returns it
+	 * contained in an {@link Optional}. If the maximum number of sessions has
+	 * been reached an empty {@link Optional} will be returned.
+	 *
+	 * @return The created session
+	 */
+	public Optional<Session> create() {
+		if (this.size.incrementAndGet() > this.capacity) {
+			this.size.decrementAndGet();
+			return Optional.empty();
+		}
+		while (true) {
+			int slot = this.cursor.getAndIncrement() & this.slotMask;
+			if (this.sessions.get(slot) != null) {
+				continue;
+			}
+			int id;
+			do {
+				id = this.generations.incrementAndGet(slot) << this.slotBits | slot;
+			} while (id == 0);
+			long token;
+			do {
+				token = this.random.nextLong();
+			} while (token == 0);
+			Session session = new Session(this, id, token);
+			if (this.sessions.compareAndSet(slot, null, session)) {
+				Session head;
+				do {
+					head = this.incoming.get();
+					session.next = head;
+				} while (!this.incoming.compareAndSet(head, session));
+				for (ISessionListener listener : this.listeners) {
+					listener.created(session);
+				}
+				return Optional.of(session);
+			}
+		}
+	}
+
+	/**
+	 * This method returns the active session with the given id contained in an
+	 * {@link Optional}. If there is no such session an empty {@link Optional}
+	 * will be returned.
+	 *
+	 * @param id The id of the session
+	 * @return The session with the given id
+	 */
+	public Optional<Session> getById(int id) {
+		Session session = this.sessions.get(id & this.slotMask);
+		if (session == null || session.getId() != id) {
+			return Optional.empty();
+		}
+		return Optional.of(session);
+	}
+
+	/**
+	 * This method ends the given session, releasing its id and unbinding it from
+	 * its connection. If the session does not belong to this manager or has
+	 * already ended the operation will be marked as failed.
+	 *
+	 * @param session The session to end
+	 * @return Whether the session was ended
+	 */
+	public boolean end(Session session) {
+		if (session == null || session.getManager() != this || !session.markEnded()) {
+			return false;
+		}
+		release(session, false);
+		return true;
+	}
+
+	/**
+	 * This method binds the given session to the given connection, unbinding the
+	 * connection from its previous session and the session from its previous
+	 * connection. The frames sent through the connection are then compressed
+	 * with the dictionary of the session.
+	 *
+	 * @param session    The session to bind
+	 * @param connection The connection to bind the session to
+	 */
+	public void bind(Session session, ServerConnection connection) {
+		Optional<Session> currentOptional = connection.getSession();
+		if (currentOptional.isPresent() && currentOptional.get() != session) {
+			currentOptional.get().unbind(connection);
+		}
+		connection.setSession(session);
+		connection.getWrapperContext().setDictionaryId(session.dictionaryId);
+		ServerConnection previous = session.bind(connection);
+		if (previous != null && previous != connection) {
+			Optional<Session> previousOptional = previous.getSession();
+			if (previousOptional.isPresent() && previousOptional.get() == session) {
+				previous.setSession(null);
+			}
+		}
+	}
+
+	/**
+	 * This method registers the handlers of the session, update and cancel
+	 * requests and a listener unbinding the sessions of closed connections to the
+	 * given {@link ServerBuilder}, so the servers it builds allocate their
+	 * sessions through this manager.
+	 *
+	 * @param builder The builder of the server
+	 */
+	public void install(ServerBuilder builder) {
+		builder.setHandler(SessionCreateRequestBuilder.ID, (connection, correlationId, request) -> handleCreate(connection, request));
+		builder.setHandler(SessionResumeRequestBuilder.ID, (connection, correlationId, request) -> handleResume(connection, request));
+		builder.setHandler(SessionEndRequestBuilder.ID, (connection, correlationId, request) -> handleEnd(connection));
+		builder.setHandler(MessageUpdateRequestBuilder.ID, (connection, correlationId, request) -> handleUpdate(connection, correlationId, request));
+		builder.setHandler(MessageCancelRequestBuilder.ID, (connection, correlationId, request) -> handleCancel(connection, request));
+		builder.addListener(new IConnectionListener() {
+
+			@Override
+			public void disconnected(ServerConnection connection) {
+				Optional<Session> sessionOptional = connection.getSession();
+				if (sessionOptional.isPresent()) {
+					sessionOptional.get().unbind(connection);
+				}
+			}
+
+		});
+	}
+
+	/**
+	 * This method returns the current tick of the manager, which is advanced by
+	 * the expiry thread.
+	 *
+	 * @return The current tick
+	 */
+	long getTick() {
+		return this.tick;
+	}
+
+	/**
+	 * This method returns the number of frames kept by each session to be
+	 * replayed when it is resumed, which is zero if replaying is disabled.
+	 *
+	 * @return The replay capacity
+	 */
+	int getReplayCapacity() {
+		return this.replayCapacity;
+	}
+
+	/**
+	 * This method returns the dispatcher delivering the results of the sessions
+	 * without waiting for update requests.
+	 *
+	 * @return The manager's dispatcher
+	 */
+	UpdateDispatcher getDispatcher() {
+		return this.dispatcher;
+	}
+
+	/**
+	 * This method creates a session bound to the given connection, choosing the
+	 * first dictionary offered by the request which is registered with the
+	 * {@link DictionaryWrapper}, and returns the response containing its id, its
+	 * token and the chosen dictionary.
+	 *
+	 * @param connection The connection the request was received through
+	 * @param request    The received request
+	 * @return The response to the request
+	 */
+	private Optional<IResponse> handleCreate(ServerConnection connection, IRequest request) {
+		Optional<Session> sessionOptional = create();
+		if (!sessionOptional.isPresent()) {
+			return error("The maximum number of sessions has been reached!");
+		}
+		Session session = sessionOptional.get();
+		session.dictionaryId = DictionaryWrapper.INSTANCE.negotiate(((SessionCreateRequest) request).getDictionaryIds());
+		bind(session, connection);
+		SessionCreateResponseBuilder builder = SessionCreateResponseBuilder.empty();
+		builder.setSessionId(session.getId());
+		builder.setSessionToken(session.getToken());
+		builder.setDictionaryId(session.dictionaryId);
+		return builder.build();
+	}
+
+	/**
+	 * This method binds the session requested by the given request to the given
+	 * connection, if the request carries the token of the session, replays the
+	 * frames the client missed after the last one it received and returns the
+	 * response confirming it. The frames are replayed as they were encoded but
+	 * uncorrelated, without handling their requests again. Frames wrapped by
+	 * stateful wrappers cannot be replayed, so the response reports the replay
+	 * as incomplete.
+	 *
+	 * @param connection The connection the request was received through
+	 * @param request    The received request
+	 * @return The response to the request
+	 */
+	private Optional<IResponse> handleResume(ServerConnection connection, IRequest request) {
+		SessionResumeRequest resume = (SessionResumeRequest) request;
+		int id = resume.getSessionId();
+		Optional<Session> sessionOptional = getById(id);
+		if (!sessionOptional.isPresent() || sessionOptional.get().getToken() != resume.getSessionToken()) {
+			return error("The session " + id + " does not exist!");
+		}
+		Session session = sessionOptional.get();
+		session.touch();
+		OutboundLog log = session.getLog();
+		boolean complete = false;
+		int sequence = 0;
+		if (log == null || !connection.isReplayable()) {
+			bind(session, connection);
+		} else {
+			complete = log.replay(resume.getSequence(), connection::send, () -> bind(session, connection));
+			sequence = log.getSequence();
+		}
+		this.dispatcher.resumed(session, complete);
+		for (ISessionListener listener : this.listeners) {
+			listener.resumed(session);
+		}
+		SessionResumeResponseBuilder builder = SessionResumeResponseBuilder.empty();
+		builder.setSequence(sequence);
+		builder.setComplete(complete);
+		return builder.build();
+	}
+
+	/**
+	 * This method ends the session bound to the given connection and returns the
+	 * response confirming it.
+	 *
+	 * @param connection The connection the request was received through
+	 * @return The response to the request
+	 */
+	private Optional<IResponse> handleEnd(ServerConnection connection) {
+		Optional<Session> sessionOptional = connection.getSession();
+		if (!sessionOptional.isPresent() || !end(sessionOptional.get())) {
+			return error("There is no active session!");
+		}
+		return SessionEndResponseBuilder.empty().build();
+	}
+
+	/**
+	 * This method drains the results completed for the session bound to the given
+	 * connection and returns the response containing them, unless the request is
+	 * parked until results are completed.
+	 *
+	 * @param connection    The connection the request was received through
+	 * @param correlationId The correlation id of the request
+	 * @param request       The received request
+	 * @return The response to the request
+	 */
+	private Optional<IResponse> handleUpdate(ServerConnection connection, int correlationId, IRequest request) {
+		Optional<Session> sessionOptional = connection.getSession();
+		if (!sessionOptional.isPresent()) {
+			return error("There is no active session!");
+		}
+		return this.dispatcher.update(sessionOptional.get(), connection, correlationId, (MessageUpdateRequest) request);
+	}
+
+	/**
+	 * This method cancels the asynchronous task requested by the given request
+	 * for the session bound to the given connection and returns the response
+	 * reporting whether it was cancelled.
+	 *
+	 * @param connection The connection the request was received through
+	 * @param request    The received request
+	 * @return The response to the request
+	 */
+	private Optional<IResponse> handleCancel(ServerConnection connection, IRequest request) {
+		Optional<Session> sessionOptional = connection.getSession();
+		if (!sessionOptional.isPresent()) {
+			return error("There is no active session!");
+		}
+		int id = ((MessageCancelRequest) request).getId();
+		MessageCancelResponseBuilder builder = MessageCancelResponseBuilder.empty();
+		builder.setId(id);
+		builder.setCancelled(sessionOptional.get().cancel(id));
+		return builder.build();
+	}
+
+	/**
+	 * This method advances the timing wheel once per tick until the manager is
+	 * stopped.
+	 */
+	private void expire() {
+		long next = System.nanoTime() + this.tickNanos;
+		while (this.running) {
+			long delay = next - System.nanoTime();
+			if (delay > 0) {
+				LockSupport.parkNanos(this, delay);
+				continue;
+			}
+			next += this.tickNanos;
+			long current = (System.nanoTime() - this.origin) / this.tickNanos;
+			this.tick = current;
+			Session session = this.incoming.getAndSet(null);
+			while (session != null) {
+				Session following = session.next;
+				session.next = null;
+				this.wheel.schedule(session, session.getLastAccess() + this.timeoutTicks);
+				session = following;
+			}
+			this.wheel.advance(current, this::examine);
+		}
+	}
+
+	/**
+	 * This method expires the given session if it has been idle for longer than
+	 * the idle timeout, or schedules it to be examined again otherwise.
+	 *
+	 * @param session The session to examine
+	 */
+	private void examine(Session session) {
+		if (!session.isActive()) {
+			return;
+		}
+		long deadline = session.getLastAccess() + this.timeoutTicks;
+		if (deadline >= this.wheel.getCurrentTick()) {
+			this.wheel.schedule(session, deadline);
+		} else if (session.markEnded()) {
+			release(session, true);
+		}
+	}
+
+	/**
+	 * This method releases the slot of the given ended session, cancels its
+	 * asynchronous tasks, drops its undelivered results, unbinds it from its
+	 * connection and notifies the listeners.
+	 *
+	 * @param session The ended session
+	 * @param expired Whether the session expired
+	 */
+	private void release(Session session, boolean expired) {
+		if (this.sessions.compareAndSet(session.getId() & this.slotMask, session, null)) {
+			this.size.decrementAndGet();
+		}
+		session.abandon();
+		Optional<ServerConnection> connectionOptional = session.getConnection();
+		if (connectionOptional.isPresent()) {
+			ServerConnection connection = connectionOptional.get();
+			session.unbind(connection);
+			Optional<Session> currentOptional = connection.getSession();
+			if (currentOptional.isPresent() && currentOptional.get() == session) {
+				connection.setSession(null);
+			}
+		}
+		this.dispatcher.ended(session);
+		for (ISessionListener listener : this.listeners) {
+			listener.ended(session, expired);
+		}
+	}
+
+	/**
+	 * This method builds an error response with the given description.
+	 *
+	 * @param description The description of the error
+	 * @return The error response
+	 */
+	static Optional<IResponse> error(String description) {
+		ErrorResponseBuilder builder = ErrorResponseBuilder.empty();
+		builder.setDescription(description);
+		return builder.build();
+	}
+
+}
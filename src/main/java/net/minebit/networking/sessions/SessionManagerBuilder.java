@@ -0,0 +1,285 @@
+package net.minebit.networking.sessions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import net.minebit.networking.util.IBuilder;
+
+/**
+ * This class represents a builder used to build {@link SessionManager}s by
+ * taking the provided configuration and listeners and parsing them into a newly
+ * constructed instance.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+public class SessionManagerBuilder implements IBuilder<SessionManager> {
+
+	/**
+	 * The default maximum number of sessions.
+	 */
+	public static final int DEFAULT_CAPACITY = 1 << 20;
+
+	/**
+	 * The largest maximum number of sessions, which leaves enough bits of every
+	 * session id to tell apart the sessions reusing the same slot.
+	 */
+	public static final int MAX_CAPACITY = 1 << 24;
+
+	/**
+	 * The default time in milliseconds after which idle sessions expire.
+	 */
+	public static final long DEFAULT_IDLE_TIMEOUT = 5 * 60 * 1000;
+
+	/**
+	 * The default time in milliseconds between two examinations of the idle
+	 * sessions.
+	 */
+	public static final long DEFAULT_TICK_DURATION = 100;
+
+	/**
+	 * The default time in milliseconds during which published results are
+	 * gathered before being delivered together.
+	 */
+	public static final long DEFAULT_COALESCING_WINDOW = 1;
+
+	/**
+	 * The default longest time in milliseconds an update request may be parked.
+	 */
+	public static final long DEFAULT_MAX_POLL_TIMEOUT = 30 * 1000;
+
+	/**
+	 * The default maximum number of results delivered in a single update
+	 * response.
+	 */
+	public static final int DEFAULT_MAX_UPDATE_MESSAGES = 1024;
+
+	/**
+	 * The default maximum number of encoded bytes of the results delivered in a
+	 * single update response.
+	 */
+	public static final int DEFAULT_MAX_UPDATE_BYTES = 1 << 20;
+
+	/**
+	 * The default number of frames kept by each session to be replayed.
+	 */
+	public static final int DEFAULT_REPLAY_CAPACITY = 256;
+
+	/**
+	 * The largest number of frames kept by each session to be replayed.
+	 */
+	public static final int MAX_REPLAY_CAPACITY = 1 << 16;
+
+	private final Object mutex = new Object();
+
+	private int capacity = DEFAULT_CAPACITY;
+	private long idleTimeout = TimeUnit.MILLISECONDS.toNanos(DEFAULT_IDLE_TIMEOUT);
+	private long tickDuration = TimeUnit.MILLISECONDS.toNanos(DEFAULT_TICK_DURATION);
+	private long coalescingWindow = TimeUnit.MILLISECONDS.toNanos(DEFAULT_COALESCING_WINDOW);
+	private long maxPollTimeout = TimeUnit.MILLISECONDS.toNanos(DEFAULT_MAX_POLL_TIMEOUT);
+	private int maxUpdateMessages = DEFAULT_MAX_UPDATE_MESSAGES;
+	private int maxUpdateBytes = DEFAULT_MAX_UPDATE_BYTES;
+	private int replayCapacity = DEFAULT_REPLAY_CAPACITY;
+	private final List<ISessionListener> listeners = new ArrayList<>();
+
+	/**
+	 * This method returns a newly constructed empty {@link SessionManagerBuilder}
+	 * builder.
+	 *
+	 * @return The new {@link SessionManagerBuilder}
+	 * @see #SessionManagerBuilder()
+	 */
+	public static SessionManagerBuilder empty() {
+		return new SessionManagerBuilder();
+	}
+
+	/**
+	 * This constructor constructs a new {@link SessionManagerBuilder} used to build
+	 * new {@link SessionManager} objects with the configuration provided and
+	 * return them.
+	 */
+	private SessionManagerBuilder() {
+	}
+
+	/**
+	 * This method sets the maximum number of sessions that may exist at once,
+	 * which is rounded up to the next power of two. If the number is not positive
+	 * or exceeds {@link #MAX_CAPACITY} the operation will be marked as failed.
+	 *
+	 * @param capacity The maximum number of sessions
+	 * @return Whether the operation was successful
+	 */
+	public boolean setCapacity(int capacity) {
+		if (capacity <= 0 || capacity > MAX_CAPACITY) {
+			return false;
+		}
+		synchronized (this.mutex) {
+			this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+		}
+		return true;
+	}
+
+	/**
+	 * This method sets the time after which sessions that have not been accessed
+	 * expire.
+	 *
+	 * @param idleTimeout The idle timeout
+	 * @param unit        The unit of the idle timeout
+	 * @return Whether the operation was successful
+	 */
+	public boolean setIdleTimeout(long idleTimeout, TimeUnit unit) {
+		if (idleTimeout <= 0 || unit == null) {
+			return false;
+		}
+		synchronized (this.mutex) {
+			this.idleTimeout = unit.toNanos(idleTimeout);
+		}
+		return true;
+	}
+
+	/**
+	 * This method sets the time between two examinations of the idle sessions,
+	 * which is the precision of their expiry.
+	 *
+	 * @param tickDuration The duration of a tick
+	 * @param unit         The unit of the duration
+	 * @return Whether the operation was successful
+	 */
+	public boolean setTickDuration(long tickDuration, TimeUnit unit) {
+		if (tickDuration <= 0 || unit == null) {
+			return false;
+		}
+		synchronized (this.mutex) {
+			this.tickDuration = unit.toNanos(tickDuration);
+		}
+		return true;
+	}
+
+	/**
+	 * This method sets the time during which the results published for a session
+	 * after the first one are gathered, so they are delivered in a single frame
+	 * to a parked or pushing client. If the window is zero results are delivered
+	 * immediately.
+	 *
+	 * @param coalescingWindow The coalescing window
+	 * @param unit             The unit of the window
+	 * @return Whether the operation was successful
+	 */
+	public boolean setCoalescingWindow(long coalescingWindow, TimeUnit unit) {
+		if (coalescingWindow < 0 || unit == null) {
+			return false;
+		}
+		synchronized (this.mutex) {
+			this.coalescingWindow = unit.toNanos(coalescingWindow);
+		}
+		return true;
+	}
+
+	/**
+	 * This method sets the longest time an update request in long-poll mode may
+	 * be parked, regardless of its own timeout. If the time is zero update
+	 * requests are never parked.
+	 *
+	 * @param maxPollTimeout The longest parking time
+	 * @param unit           The unit of the time
+	 * @return Whether the operation was successful
+	 */
+	public boolean setMaxPollTimeout(long maxPollTimeout, TimeUnit unit) {
+		if (maxPollTimeout < 0 || unit == null) {
+			return false;
+		}
+		synchronized (this.mutex) {
+			this.maxPollTimeout = unit.toNanos(maxPollTimeout);
+		}
+		return true;
+	}
+
+	/**
+	 * This method sets the maximum number of results delivered in a single update
+	 * response. The remaining results are delivered in further responses.
+	 *
+	 * @param maxUpdateMessages The maximum number of results
+	 * @return Whether the operation was successful
+	 */
+	public boolean setMaxUpdateMessages(int maxUpdateMessages) {
+		if (maxUpdateMessages <= 0) {
+			return false;
+		}
+		synchronized (this.mutex) {
+			this.maxUpdateMessages = maxUpdateMessages;
+		}
+		return true;
+	}
+
+	/**
+	 * This method sets the maximum number of encoded bytes of the results
+	 * delivered in a single update response. A single result exceeding the limit
+	 * is still delivered on its own.
+	 *
+	 * @param maxUpdateBytes The maximum number of bytes
+	 * @return Whether the operation was successful
+	 */
+	public boolean setMaxUpdateBytes(int maxUpdateBytes) {
+		if (maxUpdateBytes <= 0) {
+			return false;
+		}
+		synchronized (this.mutex) {
+			this.maxUpdateBytes = maxUpdateBytes;
+		}
+		return true;
+	}
+
+	/**
+	 * This method sets the number of the most recent frames sent to the client of
+	 * each session that are kept, so they can be replayed when the client resumes
+	 * the session after missing them. The number is rounded up to the next power
+	 * of two and zero disables replaying. If the number is negative or exceeds
+	 * {@link #MAX_REPLAY_CAPACITY} the operation will be marked as failed.
+	 *
+	 * @param replayCapacity The number of frames to keep
+	 * @return Whether the operation was successful
+	 */
+	public boolean setReplayCapacity(int replayCapacity) {
+		if (replayCapacity < 0 || replayCapacity > MAX_REPLAY_CAPACITY) {
+			return false;
+		}
+		synchronized (this.mutex) {
+			this.replayCapacity = replayCapacity <= 1 ? replayCapacity : Integer.highestOneBit(replayCapacity - 1) << 1;
+		}
+		return true;
+	}
+
+	/**
+	 * This method adds the given listener to the ones notified when sessions are
+	 * created, resumed and ended.
+	 *
+	 * @param listener The listener to add
+	 * @return Whether the operation was successful
+	 */
+	public boolean addListener(ISessionListener listener) {
+		if (listener == null) {
+			return false;
+		}
+		synchronized (this.mutex) {
+			this.listeners.add(listener);
+		}
+		return true;
+	}
+
+	/**
+	 * This method finalizes the building process of the {@link SessionManager} and
+	 * returns the final result contained in an {@link Optional}. The expiry thread
+	 * of the manager is not started.
+	 */
+	@Override
+	public Optional<SessionManager> build() {
+		synchronized (this.mutex) {
+			long timeoutTicks = Math.max((this.idleTimeout + this.tickDuration - 1) / this.tickDuration, 1);
+			return Optional.of(new SessionManager(this.capacity, this.tickDuration, timeoutTicks, this.coalescingWindow, this.maxPollTimeout, this.maxUpdateMessages, this.maxUpdateBytes, this.replayCapacity, this.listeners));
+		}
+	}
+
+}
@@ -0,0 +1,150 @@
+package net.minebit.networking.sessions;
+
+import java.util.function.Consumer;
+
+/**
+ * This class represents a hierarchical timing wheel that schedules
+ * {@link Session}s to be examined at a given tick. The wheel consists of
+ * {@link #LEVELS} levels of {@link #SLOTS} slots each, where every slot of a
+ * level spans {@link #SLOTS} times the ticks of a slot of the level below.
+ * Sessions are kept in intrusive lists, so scheduling them and advancing the
+ * wheel take constant time per session and allocate nothing. When the first
+ * slot of a level is reached, the sessions of the corresponding slot of the
+ * level above are distributed into the lower levels. The wheel is not thread
+ * safe and must only be used by a single thread.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+final class TimingWheel {
+
+	/**
+	 * The number of bits of a tick that index the slots of a level.
+	 */
+	static final int SLOT_BITS = 6;
+
+	/**
+	 * The number of slots of each level.
+	 */
+	static final int SLOTS = 1 << SLOT_BITS;
+
+	/**
+	 * The number of levels of the wheel.
+	 */
+	static final int LEVELS = 4;
+
+	/**
+	 * The largest number of ticks a session may be scheduled ahead of the current
+	 * one. Sessions scheduled further ahead are examined earlier.
+	 */
+	static final long MAX_DELAY = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+	private static final int SLOT_MASK = SLOTS - 1;
+
+	private final Session[][] slots = new Session[LEVELS][SLOTS];
+
+	private long currentTick;
+	private int size = 0;
+
+	/**
+	 * This constructor constructs a new empty {@link TimingWheel} whose next tick
+	 * is the given one.
+	 *
+	 * @param currentTick The first tick the wheel will advance to
+	 */
+	TimingWheel(long currentTick) {
+		this.currentTick = currentTick;
+	}
+
+	/**
+	 * This method returns the next tick the wheel will advance to.
+	 *
+	 * @return The wheel's next tick
+	 */
+	long getCurrentTick() {
+		return this.currentTick;
+	}
+
+	/**
+	 * This method returns the number of sessions scheduled in the wheel.
+	 *
+	 * @return The wheel's size
+	 */
+	int size() {
+		return this.size;
+	}
+
+	/**
+	 * This method schedules the given session to be examined at the given tick. If
+	 * the tick has already been passed the session is examined at the next one.
+	 *
+	 * @param session The session to schedule
+	 * @param tick    The tick to examine the session at
+	 */
+	void schedule(Session session, long tick) {
+		long delay = tick - this.currentTick;
+		if (delay < 0) {
+			delay = 0;
+		} else if (delay > MAX_DELAY) {
+			delay = MAX_DELAY;
+		}
+		long target = this.currentTick + delay;
+		int level = 0;
+		while (level < LEVELS - 1 && delay >= 1L << (SLOT_BITS * (level + 1))) {
+			level++;
+		}
+		int slot = (int) (target >>> (SLOT_BITS * level)) & SLOT_MASK;
+		session.deadline = target;
+		session.next = this.slots[level][slot];
+		this.slots[level][slot] = session;
+		this.size++;
+	}
+
+	/**
+	 * This method advances the wheel up to and including the given tick and gives
+	 * every session whose tick has been reached to the given consumer, which may
+	 * schedule it again.
+	 *
+	 * @param tick     The tick to advance to
+	 * @param consumer The consumer of the due sessions
+	 */
+	void advance(long tick, Consumer<Session> consumer) {
+		while (this.currentTick <= tick) {
+			long current = this.currentTick;
+			for (int level = 1; level < LEVELS && (current & ((1L << (SLOT_BITS * level)) - 1)) == 0; level++) {
+				cascade(level, (int) (current >>> (SLOT_BITS * level)) & SLOT_MASK);
+			}
+			int slot = (int) current & SLOT_MASK;
+			Session session = this.slots[0][slot];
+			this.slots[0][slot] = null;
+			this.currentTick = current + 1;
+			while (session != null) {
+				Session next = session.next;
+				session.next = null;
+				this.size--;
+				consumer.accept(session);
+				session = next;
+			}
+		}
+	}
+
+	/**
+	 * This method distributes the sessions of the given slot of the given level
+	 * into the lower levels.
+	 *
+	 * @param level The level of the slot
+	 * @param slot  The index of the slot
+	 */
+	private void cascade(int level, int slot) {
+		Session session = this.slots[level][slot];
+		this.slots[level][slot] = null;
+		while (session != null) {
+			Session next = session.next;
+			this.size--;
+			schedule(session, session.deadline);
+			session = next;
+		}
+	}
+
+}
@@ -0,0 +1,294 @@
+package net.minebit.networking.sessions;
+
+import java.util.Optional;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import net.minebit.networking.requests.message.update.EUpdateMode;
+import net.minebit.networking.requests.message.update.MessageUpdateRequest;
+import net.minebit.networking.responses.IResponse;
+import net.minebit.networking.responses.message.update.MessageUpdateResponse;
+import net.minebit.networking.responses.message.update.MessageUpdateResponseBuilder;
+import net.minebit.networking.server.ServerConnection;
+
+/**
+ * This class delivers the results completed for the sessions of a
+ * {@link SessionManager} without waiting for the client to poll for them. An
+ * update request in {@link EUpdateMode#LONG_POLL} mode finding no results is
+ * parked on its session until a result is published or its timeout passes,
+ * while sessions in {@link EUpdateMode#PUSH} mode are sent an uncorrelated
+ * response whenever results are published. Deliveries of the same session are
+ * coalesced, so the results published within the coalescing window after the
+ * first one are sent in a single frame. Every delivered response is bounded by
+ * a maximum number of results and encoded bytes, and the remaining results are
+ * delivered in further pages. Deliveries and timeouts run on a single
+ * daemon thread, which is only kept alive while there is work to do.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+final class UpdateDispatcher {
+
+	private static final long KEEP_ALIVE = 60;
+
+	private final long windowNanos;
+	private final long maxPollNanos;
+	private final int maxMessages;
+	private final int maxBytes;
+	private final ScheduledThreadPoolExecutor executor;
+
+	/**
+	 * This constructor constructs a new {@link UpdateDispatcher} with the given
+	 * coalescing window, maximum long-poll duration and response bounds.
+	 *
+	 * @param windowNanos  The coalescing window in nanoseconds
+	 * @param maxPollNanos The longest time an update request may be parked in
+	 *                     nanoseconds
+	 * @param maxMessages  The maximum number of results of a response
+	 * @param maxBytes     The maximum number of encoded bytes of the results of a
+	 *                     response
+	 */
+	UpdateDispatcher(long windowNanos, long maxPollNanos, int maxMessages, int maxBytes) {
+		this.windowNanos = windowNanos;
+		this.maxPollNanos = maxPollNanos;
+		this.maxMessages = maxMessages;
+		this.maxBytes = maxBytes;
+		this.executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+			Thread thread = new Thread(runnable, "minebit-session-delivery");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.executor.setRemoveOnCancelPolicy(true);
+		this.executor.setKeepAliveTime(KEEP_ALIVE, TimeUnit.SECONDS);
+		this.executor.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * This method serves the given update request received for the given session
+	 * and returns the response to send immediately contained in an
+	 * {@link Optional}, after releasing the results it acknowledges. If the
+	 * request was parked until results are published an empty {@link Optional}
+	 * will be returned.
+	 *
+	 * @param session       The session of the request
+	 * @param connection    The connection the request was received through
+	 * @param correlationId The correlation id of the request
+	 * @param request       The received request
+	 * @return The response to the request
+	 */
+	Optional<IResponse> update(Session session, ServerConnection connection, int correlationId, MessageUpdateRequest request) {
+		Poll previous = session.parked.getAndSet(null);
+		if (previous != null) {
+			answer(previous, null);
+		}
+		int acknowledged = request.getAcknowledged();
+		session.acknowledging = acknowledged >= 0;
+		if (acknowledged > 0) {
+			session.getCompletions().acknowledge(acknowledged);
+		}
+		EUpdateMode mode = request.getMode();
+		session.updateMode = mode;
+		MessageUpdateResponseBuilder builder = MessageUpdateResponseBuilder.empty();
+		int count = drain(session, builder);
+		if (count < 0 && mode == EUpdateMode.PUSH) {
+			signal(session);
+		}
+		if (mode != EUpdateMode.LONG_POLL || count > 0 || request.getTimeout() == 0 || this.maxPollNanos == 0) {
+			return builder.build();
+		}
+		Poll poll = new Poll(connection, correlationId);
+		session.parked.set(poll);
+		long timeout = Math.min(TimeUnit.MILLISECONDS.toNanos(request.getTimeout()), this.maxPollNanos);
+		poll.timeout = this.executor.schedule(() -> expire(session, poll), timeout, TimeUnit.NANOSECONDS);
+		if (!session.getCompletions().isEmpty()) {
+			signal(session);
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * This method schedules the delivery of the results published for the given
+	 * session, unless a delivery is already scheduled. This method may be invoked
+	 * from any thread.
+	 *
+	 * @param session The session results were published for
+	 */
+	void signal(Session session) {
+		if (!session.deliveryScheduled.compareAndSet(false, true)) {
+			return;
+		}
+		if (this.windowNanos == 0) {
+			this.executor.execute(() -> deliver(session));
+		} else {
+			this.executor.schedule(() -> deliver(session), this.windowNanos, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	/**
+	 * This method discards the update request parked on the given session, which
+	 * has been resumed through another connection, and schedules the delivery of
+	 * its pending results if it is in {@link EUpdateMode#PUSH} mode. Unless the
+	 * frames the client missed were replayed, the results it has not
+	 * acknowledged are made waiting to be delivered again.
+	 *
+	 * @param session  The resumed session
+	 * @param replayed Whether the frames the client missed were replayed
+	 */
+	void resumed(Session session, boolean replayed) {
+		Poll poll = session.parked.getAndSet(null);
+		if (poll != null) {
+			cancel(poll);
+		}
+		if (session.acknowledging && !replayed) {
+			session.getCompletions().rewind();
+		}
+		if (session.updateMode == EUpdateMode.PUSH && !session.getCompletions().isEmpty()) {
+			signal(session);
+		}
+	}
+
+	/**
+	 * This method answers the update request parked on the given ended session
+	 * with an error.
+	 *
+	 * @param session The ended session
+	 */
+	void ended(Session session) {
+		Poll poll = session.parked.getAndSet(null);
+		if (poll != null) {
+			cancel(poll);
+			Optional<IResponse> errorOptional = SessionManager.error("There is no active session!");
+			if (errorOptional.isPresent()) {
+				poll.connection.send(errorOptional.get(), poll.correlationId);
+			}
+		}
+	}
+
+	/**
+	 * This method delivers the results published for the given session to its
+	 * parked update request or, in {@link EUpdateMode#PUSH} mode, to its
+	 * connection, scheduling another delivery if they did not fit in a single
+	 * response or another thread was draining them at the same time.
+	 *
+	 * @param session The session to deliver the results of
+	 */
+	private void deliver(Session session) {
+		session.deliveryScheduled.set(false);
+		Poll poll = session.parked.getAndSet(null);
+		if (poll != null) {
+			answer(poll, session);
+			return;
+		}
+		if (session.updateMode != EUpdateMode.PUSH) {
+			return;
+		}
+		Optional<ServerConnection> connectionOptional = session.getConnection();
+		if (!connectionOptional.isPresent()) {
+			return;
+		}
+		MessageUpdateResponseBuilder builder = MessageUpdateResponseBuilder.empty();
+		int count = drain(session, builder);
+		if (count < 0) {
+			signal(session);
+		}
+		if (count <= 0) {
+			return;
+		}
+		Optional<IResponse> responseOptional = builder.build();
+		if (responseOptional.isPresent() && connectionOptional.get().send(responseOptional.get()) && ((MessageUpdateResponse) responseOptional.get()).hasMore()) {
+			signal(session);
+		}
+	}
+
+	/**
+	 * This method answers the given parked update request, if it is still parked
+	 * on the given session, once its timeout passes.
+	 *
+	 * @param session The session the request is parked on
+	 * @param poll    The parked request
+	 */
+	private void expire(Session session, Poll poll) {
+		if (session.parked.compareAndSet(poll, null)) {
+			answer(poll, session);
+		}
+	}
+
+	/**
+	 * This method answers the given update request, which is no longer parked,
+	 * with the results drained from the given session, or with no results if the
+	 * session is NULL. If another thread was draining the results at the same
+	 * time, the request is parked again and answered by another delivery, unless
+	 * a newer request has been parked in the meantime.
+	 *
+	 * @param poll    The request to answer
+	 * @param session The session to drain the results of
+	 */
+	private void answer(Poll poll, Session session) {
+		cancel(poll);
+		MessageUpdateResponseBuilder builder = MessageUpdateResponseBuilder.empty();
+		if (session != null && drain(session, builder) < 0) {
+			if (session.parked.compareAndSet(null, poll)) {
+				signal(session);
+				return;
+			}
+			builder = MessageUpdateResponseBuilder.empty();
+		}
+		Optional<IResponse> responseOptional = builder.build();
+		if (responseOptional.isPresent()) {
+			poll.connection.send(responseOptional.get(), poll.correlationId);
+		}
+	}
+
+	/**
+	 * This method drains a single response worth of the results of the given
+	 * session into the given builder, retaining them if the client acknowledges
+	 * results.
+	 *
+	 * @param session The session to drain the results of
+	 * @param builder The builder to add the results to
+	 * @return The number of results drained or -1 if another thread was draining
+	 *         them
+	 */
+	private int drain(Session session, MessageUpdateResponseBuilder builder) {
+		return session.getCompletions().drain(builder, this.maxMessages, this.maxBytes, session.acknowledging);
+	}
+
+	/**
+	 * This method cancels the timeout of the given update request.
+	 *
+	 * @param poll The request whose timeout to cancel
+	 */
+	private static void cancel(Poll poll) {
+		ScheduledFuture<?> timeout = poll.timeout;
+		if (timeout != null) {
+			timeout.cancel(false);
+		}
+	}
+
+	/**
+	 * This class represents an update request parked on a session until results
+	 * are published for it or its timeout passes.
+	 */
+	static final class Poll {
+
+		final ServerConnection connection;
+		final int correlationId;
+		volatile ScheduledFuture<?> timeout = null;
+
+		/**
+		 * This constructor constructs a new {@link Poll} representing the request
+		 * with the given correlation id received through the given connection.
+		 *
+		 * @param connection    The connection the request was received through
+		 * @param correlationId The correlation id of the request
+		 */
+		Poll(ServerConnection connection, int correlationId) {
+			this.connection = connection;
+			this.correlationId = correlationId;
+		}
+
+	}
+
+}
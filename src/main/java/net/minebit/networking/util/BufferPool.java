@@ -0,0 +1,70 @@
+package net.minebit.networking.util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * This class represents a bounded pool of direct {@link ByteBuffer}s of equal
+ * capacity, which are reused for reading from and writing to channels instead
+ * of being allocated for every operation. Buffers are acquired and released
+ * without locking through a {@link SlotPool}. When the pool is empty new
+ * buffers are allocated and when it is full released buffers are left to the
+ * garbage collector.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+public final class BufferPool {
+
+	private final int bufferSize;
+	private final SlotPool<ByteBuffer> buffers;
+
+	/**
+	 * This constructor constructs a new {@link BufferPool} that keeps up to the
+	 * given number of direct buffers with the given capacity.
+	 *
+	 * @param bufferSize The capacity of each buffer
+	 * @param capacity   The maximum number of buffers kept
+	 */
+	public BufferPool(int bufferSize, int capacity) {
+		int size = Math.max(bufferSize, 1);
+		this.bufferSize = size;
+		this.buffers = new SlotPool<>(capacity, () -> ByteBuffer.allocateDirect(size), buffer -> {
+			buffer.clear();
+			return true;
+		}, null);
+	}
+
+	/**
+	 * This method returns the capacity of the buffers of the pool.
+	 *
+	 * @return The capacity of each buffer
+	 */
+	public int getBufferSize() {
+		return this.bufferSize;
+	}
+
+	/**
+	 * This method returns a cleared buffer taken from the pool or a newly
+	 * allocated one if the pool is empty.
+	 *
+	 * @return The acquired buffer
+	 */
+	public ByteBuffer acquire() {
+		return this.buffers.acquire();
+	}
+
+	/**
+	 * This method clears the given buffer and returns it to the pool. Buffers that
+	 * were not acquired from this pool are ignored.
+	 *
+	 * @param buffer The buffer that is no longer used
+	 */
+	public void release(ByteBuffer buffer) {
+		if (buffer == null || !buffer.isDirect() || buffer.capacity() != this.bufferSize) {
+			return;
+		}
+		this.buffers.release(buffer);
+	}
+
+}
@@ -0,0 +1,28 @@
+package net.minebit.networking.util;
+
+/**
+ * This enum contains the states an {@link IIncrementalDecoder} may be in after
+ * being given a chunk of bytes.
+ * 
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+public enum EDecodingState {
+
+	/**
+	 * More bytes are needed before the object can be decoded.
+	 */
+	INCOMPLETE,
+
+	/**
+	 * The object has been decoded.
+	 */
+	COMPLETE,
+
+	/**
+	 * The bytes given could not be decoded.
+	 */
+	FAILED;
+
+}
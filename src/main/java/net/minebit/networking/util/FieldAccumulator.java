@@ -0,0 +1,142 @@
+package net.minebit.networking.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import net.minebit.networking.util.converters.primitives.IntegerConverter;
+
+/**
+ * This class gathers the bytes of a single field of known length from chunks of
+ * arbitrary size. If the whole field is contained in a chunk backed by an
+ * array, the field is read directly from that array without being copied,
+ * otherwise its bytes are copied into an internal buffer which is reused for
+ * the following fields.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+public final class FieldAccumulator {
+
+	private byte[] buffer = new byte[8];
+	private byte[] array = this.buffer;
+	private int offset = 0;
+	private int length = 0;
+	private int filled = 0;
+
+	/**
+	 * This method prepares the accumulator to gather a new field of the given
+	 * length, discarding the previous one.
+	 *
+	 * @param length The length of the field
+	 */
+	public void expect(int length) {
+		this.array = this.buffer;
+		this.offset = 0;
+		this.length = length;
+		this.filled = 0;
+	}
+
+	/**
+	 * This method gathers the bytes of the field from the given chunk, advancing
+	 * its position by at most the number of bytes still missing, and returns
+	 * whether the whole field has been gathered.
+	 *
+	 * @param chunk The chunk to gather the bytes from
+	 * @return Whether the field is complete
+	 */
+	public boolean fill(ByteBuffer chunk) {
+		if (this.filled == this.length) {
+			return true;
+		}
+		if (this.filled == 0 && chunk.hasArray() && chunk.remaining() >= this.length) {
+			this.array = chunk.array();
+			this.offset = chunk.arrayOffset() + chunk.position();
+			chunk.position(chunk.position() + this.length);
+			this.filled = this.length;
+			return true;
+		}
+		if (this.buffer.length < this.length) {
+			byte[] enlarged = new byte[Math.max(this.length, this.buffer.length << 1)];
+			System.arraycopy(this.buffer, 0, enlarged, 0, this.filled);
+			this.buffer = enlarged;
+			this.array = enlarged;
+		}
+		int count = Math.min(this.length - this.filled, chunk.remaining());
+		chunk.get(this.buffer, this.filled, count);
+		this.filled += count;
+		return this.filled == this.length;
+	}
+
+	/**
+	 * This method copies the gathered field into the internal buffer if it is
+	 * being read directly from the array of a chunk, so that it remains valid after
+	 * the chunk is reused.
+	 */
+	public void retain() {
+		if (this.array == this.buffer) {
+			return;
+		}
+		if (this.buffer.length < this.length) {
+			this.buffer = new byte[this.length];
+		}
+		System.arraycopy(this.array, this.offset, this.buffer, 0, this.length);
+		this.array = this.buffer;
+		this.offset = 0;
+	}
+
+	/**
+	 * This method returns the array containing the gathered field.
+	 *
+	 * @return The field's array
+	 */
+	public byte[] array() {
+		return this.array;
+	}
+
+	/**
+	 * This method returns the index of the first byte of the field in its array.
+	 *
+	 * @return The field's offset
+	 */
+	public int offset() {
+		return this.offset;
+	}
+
+	/**
+	 * This method returns the length of the field.
+	 *
+	 * @return The field's length
+	 */
+	public int length() {
+		return this.length;
+	}
+
+	/**
+	 * This method returns the first byte of the gathered field.
+	 *
+	 * @return The byte read
+	 */
+	public byte readByte() {
+		return this.array[this.offset];
+	}
+
+	/**
+	 * This method returns the gathered field as a big-endian integer.
+	 *
+	 * @return The integer read
+	 */
+	public int readInt() {
+		return IntegerConverter.INSTANCE.readInt(this.array, this.offset);
+	}
+
+	/**
+	 * This method decodes the gathered field as a UTF-8 {@link String}.
+	 *
+	 * @return The string read
+	 */
+	public String readString() {
+		return new String(this.array, this.offset, this.length, StandardCharsets.UTF_8);
+	}
+
+}
@@ -19,4 +19,21 @@ public interface IBytable {
 	 */
 	public Optional<byte[]> bytes();
 
+	/**
+	 * This method writes the instance along with it's data into the given
+	 * {@link WireWriter} at its current position. Unless overridden, the result of
+	 * {@link #bytes()} is written.
+	 * 
+	 * @param writer The writer to write the instance's data into
+	 * @return Whether the operation was successful
+	 */
+	public default boolean write(WireWriter writer) {
+		Optional<byte[]> bytes = bytes();
+		if (!bytes.isPresent()) {
+			return false;
+		}
+		writer.writeBytes(bytes.get());
+		return true;
+	}
+
 }
@@ -0,0 +1,78 @@
+package net.minebit.networking.util;
+
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Classes implementing this interface define how an object of the given type
+ * may be decoded from bytes that arrive in chunks of arbitrary size, such as
+ * the reads of a non-blocking channel. The decoder keeps its progress between
+ * chunks, so the encoded object never has to be reassembled into a single
+ * array before being decoded.
+ * 
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ * @param <OutputType> The type of object that may be decoded
+ */
+public interface IIncrementalDecoder<OutputType> {
+
+	/**
+	 * This method prepares the decoder for decoding a new object which occupies at
+	 * most the given number of bytes, discarding any previous progress.
+	 * 
+	 * @param length The maximum number of bytes of the object
+	 */
+	public void reset(int length);
+
+	/**
+	 * This method decodes as many bytes of the given chunk as needed, advancing its
+	 * position, and returns the resulting state of the decoder. Bytes after the end
+	 * of the object are never consumed, so they remain in the chunk for whatever
+	 * follows. Once the decoder has completed or failed, further chunks are left
+	 * untouched until it is reset.
+	 * 
+	 * @param chunk The next chunk of bytes
+	 * @return The state of the decoder
+	 */
+	public EDecodingState decode(ByteBuffer chunk);
+
+	/**
+	 * This method returns the decoded object contained in an {@link Optional}. If
+	 * the decoder has not completed an empty {@link Optional} will be returned.
+	 * 
+	 * @return The decoded object
+	 */
+	public Optional<OutputType> getResult();
+
+	/**
+	 * This method returns a new {@link IIncrementalDecoder} which decodes with this
+	 * decoder and converts its result using the given function.
+	 * 
+	 * @param <MappedType> The type of the converted result
+	 * @param mapper       The function that converts the result
+	 * @return The new {@link IIncrementalDecoder}
+	 */
+	public default <MappedType> IIncrementalDecoder<MappedType> map(Function<? super OutputType, Optional<MappedType>> mapper) {
+		IIncrementalDecoder<OutputType> decoder = this;
+		return new IIncrementalDecoder<MappedType>() {
+
+			@Override
+			public void reset(int length) {
+				decoder.reset(length);
+			}
+
+			@Override
+			public EDecodingState decode(ByteBuffer chunk) {
+				return decoder.decode(chunk);
+			}
+
+			@Override
+			public Optional<MappedType> getResult() {
+				return decoder.getResult().flatMap(mapper);
+			}
+
+		};
+	}
+
+}
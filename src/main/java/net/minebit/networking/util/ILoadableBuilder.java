@@ -20,4 +20,18 @@ public interface ILoadableBuilder<OutputType extends IBytable> extends IBuilder<
 	 */
 	public boolean load(byte[] data);
 
+	/**
+	 * This method decodes the data of the given {@link WireReader} starting from
+	 * its current position and replaces the current data with the ones obtained.
+	 * Unless overridden, all the remaining bytes of the reader are copied and given
+	 * to {@link #load(byte[])}.
+	 * 
+	 * @param reader The reader to get the data from
+	 * @return Whether the operation was successful
+	 */
+	public default boolean load(WireReader reader) {
+		byte[] data = reader.readBytes(reader.remaining());
+		return !reader.hasFailed() && load(data);
+	}
+
 }
@@ -0,0 +1,91 @@
+package net.minebit.networking.util;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * This class represents a bounded pool of reusable objects, which are acquired
+ * and released without locking through a fixed array of slots. When the pool
+ * is empty new objects are created by its factory. Released objects are reset
+ * before being kept, and objects that could not be reset or do not fit in the
+ * pool are discarded, so that resources held outside the heap can be freed.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ * @param <T> The type of the pooled objects
+ */
+public final class SlotPool<T> {
+
+	private final AtomicReferenceArray<T> slots;
+	private final Supplier<? extends T> factory;
+	private final Predicate<? super T> reset;
+	private final Consumer<? super T> discard;
+
+	/**
+	 * This constructor constructs a new {@link SlotPool} that keeps up to the
+	 * given number of objects, creating new ones with the given factory and
+	 * resetting and discarding released ones with the given hooks.
+	 *
+	 * @param capacity The maximum number of objects kept
+	 * @param factory  The factory of new objects, which may return NULL if an
+	 *                 object could not be created
+	 * @param reset    The hook resetting a released object and returning whether
+	 *                 it may be kept, or NULL if objects are kept as they are
+	 * @param discard  The hook invoked for every released object that is not
+	 *                 kept, or NULL if such objects are left to the garbage
+	 *                 collector
+	 */
+	public SlotPool(int capacity, Supplier<? extends T> factory, Predicate<? super T> reset, Consumer<? super T> discard) {
+		this.slots = new AtomicReferenceArray<>(Math.max(capacity, 0));
+		this.factory = factory;
+		this.reset = reset;
+		this.discard = discard;
+	}
+
+	/**
+	 * This method returns an object taken from the pool or a new one created by
+	 * the factory if the pool is empty, which may be NULL if the factory failed
+	 * to create one.
+	 *
+	 * @return The acquired object
+	 */
+	public T acquire() {
+		for (int slot = 0; slot < this.slots.length(); slot++) {
+			if (this.slots.get(slot) != null) {
+				T object = this.slots.getAndSet(slot, null);
+				if (object != null) {
+					return object;
+				}
+			}
+		}
+		return this.factory.get();
+	}
+
+	/**
+	 * This method resets the given object and returns it to the pool. If the
+	 * object could not be reset or the pool is full, it is discarded and the
+	 * operation will be marked as failed.
+	 *
+	 * @param object The object that is no longer used
+	 * @return Whether the object was kept
+	 */
+	public boolean release(T object) {
+		if (object == null) {
+			return false;
+		}
+		if (this.reset == null || this.reset.test(object)) {
+			for (int slot = 0; slot < this.slots.length(); slot++) {
+				if (this.slots.get(slot) == null && this.slots.compareAndSet(slot, null, object)) {
+					return true;
+				}
+			}
+		}
+		if (this.discard != null) {
+			this.discard.accept(object);
+		}
+		return false;
+	}
+
+}
@@ -0,0 +1,283 @@
+package net.minebit.networking.util;
+
+import java.nio.charset.StandardCharsets;
+
+import net.minebit.networking.util.converters.primitives.CharacterConverter;
+import net.minebit.networking.util.converters.primitives.DoubleConverter;
+import net.minebit.networking.util.converters.primitives.FloatConverter;
+import net.minebit.networking.util.converters.primitives.IntegerConverter;
+import net.minebit.networking.util.converters.primitives.LongConverter;
+import net.minebit.networking.util.converters.primitives.ShortConverter;
+
+/**
+ * This class represents a bounds-checked view over a region of a byte array
+ * with a moving position, that is used to decode data sequentially without
+ * copying each field into a new array. Whenever a read would exceed the region
+ * the reader is marked as failed, every following read returns a zero or NULL
+ * value and {@link #hasFailed()} reports the failure, so no exception or
+ * container object has to be created to report it.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+public final class WireReader {
+
+	private static final WireReader FAILED = new WireReader(null, 0, 0);
+
+	private final byte[] data;
+	private final int limit;
+	private int position;
+	private boolean failed;
+
+	/**
+	 * This constructor constructs a new {@link WireReader} that reads the whole
+	 * given array. If the given array is NULL the reader will be marked as failed.
+	 *
+	 * @param data The array to read from
+	 */
+	public WireReader(byte[] data) {
+		this(data, 0, data == null ? 0 : data.length);
+	}
+
+	/**
+	 * This constructor constructs a new {@link WireReader} that reads the given
+	 * number of bytes of the given array starting from the given offset. If the
+	 * given array is NULL or the given region does not fit in the array the reader
+	 * will be marked as failed.
+	 *
+	 * @param data   The array to read from
+	 * @param offset The index of the first byte of the region
+	 * @param length The number of bytes in the region
+	 */
+	public WireReader(byte[] data, int offset, int length) {
+		this.failed = data == null || offset < 0 || length < 0 || offset > data.length - length;
+		this.data = data;
+		this.position = this.failed ? 0 : offset;
+		this.limit = this.failed ? 0 : offset + length;
+	}
+
+	/**
+	 * This method returns whether any of the previous operations of the reader
+	 * failed.
+	 *
+	 * @return Whether the reader has failed
+	 */
+	public boolean hasFailed() {
+		return this.failed;
+	}
+
+	/**
+	 * This method returns the array the reader reads from.
+	 *
+	 * @return The reader's array
+	 */
+	public byte[] array() {
+		return this.data;
+	}
+
+	/**
+	 * This method returns the index in the array of the next byte to be read.
+	 *
+	 * @return The reader's position
+	 */
+	public int position() {
+		return this.position;
+	}
+
+	/**
+	 * This method returns the number of bytes that have not been read yet.
+	 *
+	 * @return The number of remaining bytes
+	 */
+	public int remaining() {
+		return this.limit - this.position;
+	}
+
+	/**
+	 * This method checks whether the given number of bytes may be read and marks
+	 * the reader as failed otherwise.
+	 *
+	 * @param length The number of bytes to read
+	 * @return Whether the bytes may be read
+	 */
+	private boolean require(int length) {
+		if (this.failed) {
+			return false;
+		}
+		if (length < 0 || length > this.limit - this.position) {
+			this.failed = true;
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * This method skips the given number of bytes. If there are not enough bytes
+	 * remaining the reader will be marked as failed.
+	 *
+	 * @param length The number of bytes to skip
+	 * @return The success of the operation
+	 */
+	public boolean skip(int length) {
+		if (!require(length)) {
+			return false;
+		}
+		this.position += length;
+		return true;
+	}
+
+	/**
+	 * This method reads a single byte value. If the reader has failed, zero will be
+	 * returned.
+	 *
+	 * @return The byte read
+	 */
+	public byte readByte() {
+		if (!require(1)) {
+			return 0;
+		}
+		return this.data[this.position++];
+	}
+
+	/**
+	 * This method reads a big-endian short value. If the reader has failed, zero
+	 * will be returned.
+	 *
+	 * @return The short read
+	 */
+	public short readShort() {
+		if (!require(ShortConverter.BYTES)) {
+			return 0;
+		}
+		short result = ShortConverter.INSTANCE.readShort(this.data, this.position);
+		this.position += ShortConverter.BYTES;
+		return result;
+	}
+
+	/**
+	 * This method reads a big-endian character value. If the reader has failed, zero
+	 * will be returned.
+	 *
+	 * @return The character read
+	 */
+	public char readChar() {
+		if (!require(CharacterConverter.BYTES)) {
+			return 0;
+		}
+		char result = CharacterConverter.INSTANCE.readChar(this.data, this.position);
+		this.position += CharacterConverter.BYTES;
+		return result;
+	}
+
+	/**
+	 * This method reads a big-endian integer value. If the reader has failed, zero
+	 * will be returned.
+	 *
+	 * @return The integer read
+	 */
+	public int readInt() {
+		if (!require(IntegerConverter.BYTES)) {
+			return 0;
+		}
+		int result = IntegerConverter.INSTANCE.readInt(this.data, this.position);
+		this.position += IntegerConverter.BYTES;
+		return result;
+	}
+
+	/**
+	 * This method reads a big-endian long value. If the reader has failed, zero
+	 * will be returned.
+	 *
+	 * @return The long read
+	 */
+	public long readLong() {
+		if (!require(LongConverter.BYTES)) {
+			return 0;
+		}
+		long result = LongConverter.INSTANCE.readLong(this.data, this.position);
+		this.position += LongConverter.BYTES;
+		return result;
+	}
+
+	/**
+	 * This method reads a big-endian float value. If the reader has failed, zero
+	 * will be returned.
+	 *
+	 * @return The float read
+	 */
+	public float readFloat() {
+		if (!require(FloatConverter.BYTES)) {
+			return 0;
+		}
+		float result = FloatConverter.INSTANCE.readFloat(this.data, this.position);
+		this.position += FloatConverter.BYTES;
+		return result;
+	}
+
+	/**
+	 * This method reads a big-endian double value. If the reader has failed, zero
+	 * will be returned.
+	 *
+	 * @return The double read
+	 */
+	public double readDouble() {
+		if (!require(DoubleConverter.BYTES)) {
+			return 0;
+		}
+		double result = DoubleConverter.INSTANCE.readDouble(this.data, this.position);
+		this.position += DoubleConverter.BYTES;
+		return result;
+	}
+
+	/**
+	 * This method reads the given number of bytes into a new array. If the reader
+	 * has failed, NULL will be returned.
+	 *
+	 * @param length The number of bytes to read
+	 * @return The bytes read
+	 */
+	public byte[] readBytes(int length) {
+		if (!require(length)) {
+			return null;
+		}
+		byte[] result = new byte[length];
+		System.arraycopy(this.data, this.position, result, 0, length);
+		this.position += length;
+		return result;
+	}
+
+	/**
+	 * This method decodes the given number of bytes as a UTF-8 {@link String}
+	 * directly from the array. If the reader has failed, NULL will be returned.
+	 *
+	 * @param length The number of bytes to decode
+	 * @return The string read
+	 */
+	public String readString(int length) {
+		if (!require(length)) {
+			return null;
+		}
+		String result = new String(this.data, this.position, length, StandardCharsets.UTF_8);
+		this.position += length;
+		return result;
+	}
+
+	/**
+	 * This method returns a new {@link WireReader} over the next given number of
+	 * bytes, sharing the same array, and skips them in this reader. If the reader
+	 * has failed, a reader that is already marked as failed will be returned.
+	 *
+	 * @param length The number of bytes of the new reader
+	 * @return The new reader
+	 */
+	public WireReader readSlice(int length) {
+		if (!require(length)) {
+			return FAILED;
+		}
+		WireReader result = new WireReader(this.data, this.position, length);
+		this.position += length;
+		return result;
+	}
+
+}
@@ -0,0 +1,328 @@
+package net.minebit.networking.util;
+
+import java.util.Optional;
+
+import net.minebit.networking.util.converters.primitives.CharacterConverter;
+import net.minebit.networking.util.converters.primitives.DoubleConverter;
+import net.minebit.networking.util.converters.primitives.FloatConverter;
+import net.minebit.networking.util.converters.primitives.IntegerConverter;
+import net.minebit.networking.util.converters.primitives.LongConverter;
+import net.minebit.networking.util.converters.primitives.ShortConverter;
+
+/**
+ * This class represents a growable byte buffer with a moving position, that is
+ * used to encode data sequentially into a byte array without creating
+ * intermediate arrays for each field written.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+public final class WireWriter {
+
+	private static final byte[] EMPTY = new byte[0];
+
+	private byte[] buffer;
+	private int position = 0;
+
+	/**
+	 * This constructor constructs a new {@link WireWriter} with a small initial
+	 * capacity which grows as data are written into it.
+	 */
+	public WireWriter() {
+		this(64);
+	}
+
+	/**
+	 * This constructor constructs a new {@link WireWriter} with the given initial
+	 * capacity which grows as data are written into it. If the given capacity is
+	 * not positive, the buffer will be allocated on the first write.
+	 *
+	 * @param capacity The initial capacity of the buffer
+	 */
+	public WireWriter(int capacity) {
+		this.buffer = capacity > 0 ? new byte[capacity] : EMPTY;
+	}
+
+	/**
+	 * This method converts the given {@link IBytable} into a byte array by writing
+	 * it into a new {@link WireWriter} and returns the result contained in an
+	 * {@link Optional}. If the given object is NULL or could not be written an
+	 * empty {@link Optional} will be returned.
+	 *
+	 * @param bytable The object to convert into bytes
+	 * @return The object's bytes
+	 */
+	public static Optional<byte[]> encode(IBytable bytable) {
+		if (bytable == null) {
+			return Optional.empty();
+		}
+		WireWriter writer = new WireWriter(0);
+		if (!bytable.write(writer)) {
+			return Optional.empty();
+		}
+		return Optional.of(writer.release());
+	}
+
+	/**
+	 * This method returns the number of bytes the given {@link String} occupies
+	 * when encoded with UTF-8. If the given {@link String} is NULL, zero will be
+	 * returned.
+	 *
+	 * @param string The string to measure
+	 * @return The encoded length of the string
+	 */
+	public static int utf8Length(String string) {
+		if (string == null) {
+			return 0;
+		}
+		int length = 0, size = string.length();
+		for (int index = 0; index < size; index++) {
+			char character = string.charAt(index);
+			if (character < 0x80) {
+				length++;
+			} else if (character < 0x800) {
+				length += 2;
+			} else if (Character.isHighSurrogate(character) && index + 1 < size && Character.isLowSurrogate(string.charAt(index + 1))) {
+				length += 4;
+				index++;
+			} else if (Character.isSurrogate(character)) {
+				length++;
+			} else {
+				length += 3;
+			}
+		}
+		return length;
+	}
+
+	/**
+	 * This method returns the current position of the writer, which is also the
+	 * number of bytes written so far.
+	 *
+	 * @return The writer's position
+	 */
+	public int position() {
+		return this.position;
+	}
+
+	/**
+	 * This method moves the position of the writer back to the given position,
+	 * discarding all data written after it. If the given position is negative or
+	 * after the current position the operation will be marked as failed.
+	 *
+	 * @param position The position to return to
+	 * @return The success of the operation
+	 */
+	public boolean truncate(int position) {
+		if (position < 0 || position > this.position) {
+			return false;
+		}
+		this.position = position;
+		return true;
+	}
+
+	/**
+	 * This method makes sure that the buffer can hold at least the given number of
+	 * bytes in total without growing again.
+	 *
+	 * @param capacity The minimum total capacity of the buffer
+	 */
+	public void ensureCapacity(int capacity) {
+		if (capacity <= this.buffer.length) {
+			return;
+		}
+		byte[] enlarged = new byte[Math.max(capacity, this.buffer.length << 1)];
+		System.arraycopy(this.buffer, 0, enlarged, 0, this.position);
+		this.buffer = enlarged;
+	}
+
+	/**
+	 * This method writes the given byte value at the current position.
+	 *
+	 * @param value The byte to write
+	 */
+	public void writeByte(byte value) {
+		ensureCapacity(this.position + 1);
+		this.buffer[this.position++] = value;
+	}
+
+	/**
+	 * This method writes the given short value in big-endian order at the
+	 * current position.
+	 *
+	 * @param value The short to write
+	 */
+	public void writeShort(short value) {
+		ensureCapacity(this.position + ShortConverter.BYTES);
+		ShortConverter.INSTANCE.writeShort(this.buffer, this.position, value);
+		this.position += ShortConverter.BYTES;
+	}
+
+	/**
+	 * This method writes the given character value in big-endian order at the
+	 * current position.
+	 *
+	 * @param value The character to write
+	 */
+	public void writeChar(char value) {
+		ensureCapacity(this.position + CharacterConverter.BYTES);
+		CharacterConverter.INSTANCE.writeChar(this.buffer, this.position, value);
+		this.position += CharacterConverter.BYTES;
+	}
+
+	/**
+	 * This method writes the given integer value in big-endian order at the
+	 * current position.
+	 *
+	 * @param value The integer to write
+	 */
+	public void writeInt(int value) {
+		ensureCapacity(this.position + IntegerConverter.BYTES);
+		IntegerConverter.INSTANCE.writeInt(this.buffer, this.position, value);
+		this.position += IntegerConverter.BYTES;
+	}
+
+	/**
+	 * This method writes the given long value in big-endian order at the
+	 * current position.
+	 *
+	 * @param value The long to write
+	 */
+	public void writeLong(long value) {
+		ensureCapacity(this.position + LongConverter.BYTES);
+		LongConverter.INSTANCE.writeLong(this.buffer, this.position, value);
+		this.position += LongConverter.BYTES;
+	}
+
+	/**
+	 * This method writes the given float value in big-endian order at the
+	 * current position.
+	 *
+	 * @param value The float to write
+	 */
+	public void writeFloat(float value) {
+		ensureCapacity(this.position + FloatConverter.BYTES);
+		FloatConverter.INSTANCE.writeFloat(this.buffer, this.position, value);
+		this.position += FloatConverter.BYTES;
+	}
+
+	/**
+	 * This method writes the given double value in big-endian order at the
+	 * current position.
+	 *
+	 * @param value The double to write
+	 */
+	public void writeDouble(double value) {
+		ensureCapacity(this.position + DoubleConverter.BYTES);
+		DoubleConverter.INSTANCE.writeDouble(this.buffer, this.position, value);
+		this.position += DoubleConverter.BYTES;
+	}
+
+	/**
+	 * This method writes the given integer value in big-endian order at the given
+	 * already written position without moving the current position. It is used to
+	 * fill in sizes and counts which are only known after the data that follow
+	 * them have been written. If the given position does not point to four already
+	 * written bytes the operation will be marked as failed.
+	 *
+	 * @param position The position to write the integer at
+	 * @param value    The integer to write
+	 * @return The success of the operation
+	 */
+	public boolean setInt(int position, int value) {
+		if (position < 0 || position > this.position - 4) {
+			return false;
+		}
+		IntegerConverter.INSTANCE.writeInt(this.buffer, position, value);
+		return true;
+	}
+
+	/**
+	 * This method writes all the bytes of the given array at the current position.
+	 * If the given array is NULL nothing will be written.
+	 *
+	 * @param bytes The bytes to write
+	 */
+	public void writeBytes(byte[] bytes) {
+		if (bytes == null) {
+			return;
+		}
+		writeBytes(bytes, 0, bytes.length);
+	}
+
+	/**
+	 * This method writes the given number of bytes of the given array starting
+	 * from the given offset at the current position.
+	 *
+	 * @param bytes  The array containing the bytes to write
+	 * @param offset The index of the first byte to write
+	 * @param length The number of bytes to write
+	 */
+	public void writeBytes(byte[] bytes, int offset, int length) {
+		ensureCapacity(this.position + length);
+		System.arraycopy(bytes, offset, this.buffer, this.position, length);
+		this.position += length;
+	}
+
+	/**
+	 * This method writes the given {@link String} encoded with UTF-8 at the current
+	 * position, without a length prefix and without creating an intermediate byte
+	 * array. The number of bytes written is equal to
+	 * {@link #utf8Length(String)}. If the given {@link String} is NULL nothing will
+	 * be written.
+	 *
+	 * @param string The string to write
+	 */
+	public void writeString(String string) {
+		if (string == null) {
+			return;
+		}
+		int size = string.length();
+		if (this.buffer.length - this.position < size * 3) {
+			ensureCapacity(this.position + utf8Length(string));
+		}
+		byte[] buffer = this.buffer;
+		int position = this.position;
+		for (int index = 0; index < size; index++) {
+			char character = string.charAt(index);
+			if (character < 0x80) {
+				buffer[position++] = (byte) character;
+			} else if (character < 0x800) {
+				buffer[position++] = (byte) (0xC0 | character >> 6);
+				buffer[position++] = (byte) (0x80 | character & 0x3F);
+			} else if (Character.isHighSurrogate(character) && index + 1 < size && Character.isLowSurrogate(string.charAt(index + 1))) {
+				int codePoint = Character.toCodePoint(character, string.charAt(++index));
+				buffer[position++] = (byte) (0xF0 | codePoint >> 18);
+				buffer[position++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+				buffer[position++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+				buffer[position++] = (byte) (0x80 | codePoint & 0x3F);
+			} else if (Character.isSurrogate(character)) {
+				buffer[position++] = '?';
+			} else {
+				buffer[position++] = (byte) (0xE0 | character >> 12);
+				buffer[position++] = (byte) (0x80 | character >> 6 & 0x3F);
+				buffer[position++] = (byte) (0x80 | character & 0x3F);
+			}
+		}
+		this.position = position;
+	}
+
+	/**
+	 * This method releases the written bytes as an array with length equal to the
+	 * number of bytes written and empties the writer. If the buffer has been filled
+	 * exactly it is handed over as it is without being copied.
+	 *
+	 * @return The written bytes
+	 */
+	public byte[] release() {
+		byte[] result = this.buffer;
+		if (this.position != result.length) {
+			result = new byte[this.position];
+			System.arraycopy(this.buffer, 0, result, 0, this.position);
+		}
+		this.buffer = EMPTY;
+		this.position = 0;
+		return result;
+	}
+
+}
@@ -0,0 +1,39 @@
+package net.minebit.networking.util.communicables;
+
+/**
+ * This class links an {@link ICommunicableGuide} provided by the application
+ * with the unique id it is registered under in a {@link CommunicableRegistry}.
+ * 
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ * @param <BuilderType> The type of {@link ICommunicableBuilder} constructed by
+ *                      the guide
+ */
+public final class CommunicableRegistration<BuilderType extends ICommunicableBuilder<?>> implements ICommunicableContainer<BuilderType> {
+
+	private final byte id;
+	private final ICommunicableGuide<BuilderType> guide;
+
+	/**
+	 * This constructor constructs a new {@link CommunicableRegistration} that links
+	 * the given guide with the given id.
+	 * 
+	 * @param id    The unique identifier of the guide
+	 * @param guide The {@link ICommunicableGuide} that constructs the builders
+	 */
+	public CommunicableRegistration(byte id, ICommunicableGuide<BuilderType> guide) {
+		this.id = id;
+		this.guide = guide;
+	}
+
+	@Override
+	public byte getId() {
+		return this.id;
+	}
+
+	@Override
+	public ICommunicableGuide<BuilderType> getGuide() {
+		return this.guide;
+	}
+
+}
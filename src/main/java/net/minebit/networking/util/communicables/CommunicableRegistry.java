@@ -0,0 +1,131 @@
+package net.minebit.networking.util.communicables;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * This class contains the {@link ICommunicableContainer}s of a kind of
+ * {@link ICommunicable}, which are the ones of the library along with the ones
+ * registered by the application, and finds them by their id through a flat
+ * array. Registering is copy-on-write, so finding a container never locks. The
+ * builders of any container, including the ones of the library, may be reused
+ * through {@link #enableRecycling(byte, int)}.
+ * 
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ * @param <BuilderType> The type of {@link ICommunicableBuilder} constructed by
+ *                      the guides of the containers
+ */
+public final class CommunicableRegistry<BuilderType extends ICommunicableBuilder<?>> {
+
+	/**
+	 * The first id that may be used by containers registered by the application.
+	 * The ids below it are reserved for the containers of the library.
+	 */
+	public static final int FIRST_CUSTOM_ID = 0x40;
+
+	private final Object mutex = new Object();
+
+	private volatile Optional<ICommunicableContainer<BuilderType>>[] containers;
+
+	/**
+	 * This constructor constructs a new {@link CommunicableRegistry} that contains
+	 * the given containers of the library.
+	 * 
+	 * @param containers The containers of the library
+	 */
+	@SuppressWarnings("unchecked")
+	public CommunicableRegistry(ICommunicableContainer<BuilderType>[] containers) {
+		Optional<ICommunicableContainer<BuilderType>>[] array = (Optional<ICommunicableContainer<BuilderType>>[]) new Optional<?>[256];
+		Arrays.fill(array, Optional.empty());
+		for (ICommunicableContainer<BuilderType> container : containers) {
+			array[container.getId() & 0xFF] = Optional.of(container);
+		}
+		this.containers = array;
+	}
+
+	/**
+	 * This method registers the given {@link ICommunicableGuide} under the given
+	 * id.
+	 * 
+	 * @param id    The unique identifier of the guide
+	 * @param guide The guide that constructs the builders
+	 * @return Whether the operation was successful
+	 * @see #register(ICommunicableContainer)
+	 */
+	public boolean register(byte id, ICommunicableGuide<BuilderType> guide) {
+		return register(new CommunicableRegistration<>(id, guide));
+	}
+
+	/**
+	 * This method registers the given {@link ICommunicableContainer}. If the
+	 * container is NULL, lacks a guide, or its id is either reserved for the
+	 * library or already taken the operation will be marked as failed.
+	 * 
+	 * @param container The container to register
+	 * @return Whether the operation was successful
+	 */
+	public boolean register(ICommunicableContainer<BuilderType> container) {
+		if (container == null || container.getGuide() == null) {
+			return false;
+		}
+		int index = container.getId() & 0xFF;
+		if (index < FIRST_CUSTOM_ID) {
+			return false;
+		}
+		synchronized (this.mutex) {
+			if (this.containers[index].isPresent()) {
+				return false;
+			}
+			Optional<ICommunicableContainer<BuilderType>>[] updatedContainers = this.containers.clone();
+			updatedContainers[index] = Optional.of(container);
+			this.containers = updatedContainers;
+		}
+		return true;
+	}
+
+	/**
+	 * This method makes the builders of the container with the given id be
+	 * reused, by replacing its guide with a {@link RecyclingGuide} that keeps up
+	 * to the given number of recycled builders. Unlike registering, this applies
+	 * to the containers of the library as well, so the builders of its own types
+	 * may be reused by the decoders finding them through the registry. If no
+	 * container has the given id, the capacity is not positive or the builders
+	 * of the container are already recycled the operation will be marked as
+	 * failed.
+	 * 
+	 * @param id       The id of the container
+	 * @param capacity The maximum number of recycled builders kept
+	 * @return Whether the operation was successful
+	 */
+	public boolean enableRecycling(byte id, int capacity) {
+		if (capacity <= 0) {
+			return false;
+		}
+		int index = id & 0xFF;
+		synchronized (this.mutex) {
+			Optional<ICommunicableContainer<BuilderType>> containerOptional = this.containers[index];
+			if (!containerOptional.isPresent() || containerOptional.get().getGuide() instanceof RecyclingGuide) {
+				return false;
+			}
+			ICommunicableGuide<BuilderType> guide = new RecyclingGuide<>(containerOptional.get().getGuide(), capacity);
+			Optional<ICommunicableContainer<BuilderType>>[] updatedContainers = this.containers.clone();
+			updatedContainers[index] = Optional.of(new CommunicableRegistration<>(id, guide));
+			this.containers = updatedContainers;
+		}
+		return true;
+	}
+
+	/**
+	 * This method returns the {@link ICommunicableContainer} that has the given id
+	 * contained in an {@link Optional}. If it could not be found, an empty
+	 * {@link Optional} shall be returned.
+	 * 
+	 * @param id The id number of the wanted container
+	 * @return The container with the exact given id
+	 */
+	public Optional<ICommunicableContainer<BuilderType>> getById(byte id) {
+		return this.containers[id & 0xFF];
+	}
+
+}
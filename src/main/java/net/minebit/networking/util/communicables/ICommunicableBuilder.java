@@ -1,5 +1,8 @@
 package net.minebit.networking.util.communicables;
 
+import java.util.Optional;
+
+import net.minebit.networking.util.IIncrementalDecoder;
 import net.minebit.networking.util.ILoadableBuilder;
 
 /**
@@ -14,4 +17,28 @@ import net.minebit.networking.util.ILoadableBuilder;
  */
 public interface ICommunicableBuilder<OutputType extends ICommunicable> extends ILoadableBuilder<OutputType> {
 
+	/**
+	 * This method clears all the data set or loaded into the builder so that it
+	 * may be reused for building another {@link ICommunicable}, while settings
+	 * that affect how data are loaded are kept. Builders that cannot be reset
+	 * return false and must not be reused.
+	 * 
+	 * @return Whether the builder was reset
+	 */
+	public default boolean reset() {
+		return false;
+	}
+
+	/**
+	 * This method returns an {@link IIncrementalDecoder} which decodes the
+	 * communicable from chunks of bytes as they arrive, loading it into this
+	 * builder, contained in an {@link Optional}. Builders that can only load
+	 * complete byte arrays return an empty {@link Optional}.
+	 * 
+	 * @return The builder's incremental decoder
+	 */
+	public default Optional<IIncrementalDecoder<OutputType>> getDecoder() {
+		return Optional.empty();
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package net.minebit.networking.util.communicables;
+
+import java.util.Optional;
+
+/**
+ * Classes implementing this interface link an {@link ICommunicableGuide}, which
+ * constructs the builders of a type of {@link ICommunicable}, with the unique id
+ * that makes the type identifiable remotely.
+ * 
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ * @param <BuilderType> The type of {@link ICommunicableBuilder} constructed by
+ *                      the guide
+ */
+public interface ICommunicableContainer<BuilderType extends ICommunicableBuilder<?>> {
+
+	/**
+	 * This method returns the unique id of the container.
+	 * 
+	 * @return The container's id
+	 */
+	public byte getId();
+
+	/**
+	 * This method returns the guide that constructs the builders of the
+	 * container.
+	 * 
+	 * @return The container's guide
+	 */
+	public ICommunicableGuide<BuilderType> getGuide();
+
+	/**
+	 * This method returns a builder instance obtained from invoking the guide
+	 * contained in the container, which may be a recycled one. If the object
+	 * provided by the guide is NULL an empty {@link Optional} will be returned.
+	 * 
+	 * @return The builder instance
+	 */
+	public default Optional<BuilderType> getBuilder() {
+		return getGuide().build();
+	}
+
+	/**
+	 * This method hands the given builder, which was obtained from
+	 * {@link #getBuilder()} and is no longer used, back to the guide of the
+	 * container.
+	 * 
+	 * @param builder The builder that is no longer used
+	 * @see ICommunicableGuide#recycle(ICommunicableBuilder)
+	 */
+	public default void recycle(BuilderType builder) {
+		getGuide().recycle(builder);
+	}
+
+}
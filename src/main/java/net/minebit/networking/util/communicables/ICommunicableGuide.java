@@ -13,4 +13,15 @@ import net.minebit.networking.util.IGuide;
  */
 public interface ICommunicableGuide<OutputType extends ICommunicableBuilder<?>> extends IGuide<OutputType> {
 
+	/**
+	 * This method hands the given builder, which was obtained from
+	 * {@link #build()} and is no longer used, back to the guide so that it may be
+	 * reset and handed out again. Unless overridden, the builder is discarded.
+	 * 
+	 * @param builder The builder that is no longer used
+	 * @see RecyclingGuide
+	 */
+	public default void recycle(OutputType builder) {
+	}
+
 }
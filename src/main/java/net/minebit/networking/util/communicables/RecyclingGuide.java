@@ -0,0 +1,52 @@
+package net.minebit.networking.util.communicables;
+
+import java.util.Optional;
+
+import net.minebit.networking.util.SlotPool;
+
+/**
+ * This class represents an {@link ICommunicableGuide} that keeps a bounded
+ * number of recycled builders of another guide and hands them out again instead
+ * of constructing new ones. Only builders that are successfully reset when
+ * recycled are kept. The recycled builders are stored in a {@link SlotPool},
+ * whose slots are claimed and released without locking.
+ * 
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ * @param <BuilderType> The type of {@link ICommunicableBuilder} constructed by
+ *                      the guide
+ */
+public final class RecyclingGuide<BuilderType extends ICommunicableBuilder<?>> implements ICommunicableGuide<BuilderType> {
+
+	private final SlotPool<BuilderType> builders;
+
+	/**
+	 * This constructor constructs a new {@link RecyclingGuide} that keeps up to
+	 * the given number of recycled builders of the given guide.
+	 * 
+	 * @param guide    The guide that constructs new builders
+	 * @param capacity The maximum number of recycled builders kept
+	 */
+	public RecyclingGuide(ICommunicableGuide<BuilderType> guide, int capacity) {
+		this.builders = new SlotPool<>(capacity, () -> guide.build().orElse(null), builder -> builder.reset(), null);
+	}
+
+	/**
+	 * This method returns a recycled builder if one is available or a new builder
+	 * constructed by the wrapped guide otherwise.
+	 */
+	@Override
+	public Optional<BuilderType> build() {
+		return Optional.ofNullable(this.builders.acquire());
+	}
+
+	/**
+	 * This method resets the given builder and keeps it to be handed out again. If
+	 * the builder could not be reset or there is no free slot, it is discarded.
+	 */
+	@Override
+	public void recycle(BuilderType builder) {
+		this.builders.release(builder);
+	}
+
+}
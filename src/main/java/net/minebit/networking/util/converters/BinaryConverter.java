@@ -2,6 +2,7 @@ package net.minebit.networking.util.converters;
 
 import java.util.Optional;
 
+import net.minebit.networking.util.WireWriter;
 import net.minebit.networking.util.converters.primitives.ShortConverter;
 
 /**
@@ -37,13 +38,9 @@ public class BinaryConverter implements IConverter<boolean[]> {
 		if (input == null) {
 			return Optional.empty();
 		}
-		int length = input.length / 8 + ((input.length % 8 == 0) ? 0 : 1);
-		byte[] bytes = new byte[length];
-		for (int index = 0; index < input.length; index++) {
-			byte value = (byte) ((input[index] ? 1 : 0) << 7 - index % 8);
-			bytes[index / 8] += value;
-		}
-		return Optional.of(bytes);
+		WireWriter writer = new WireWriter(size(input));
+		write(writer, input);
+		return Optional.of(writer.release());
 	}
 
 	@Override
@@ -51,10 +48,46 @@ public class BinaryConverter implements IConverter<boolean[]> {
 		if (input == null) {
 			return Optional.empty();
 		}
-		boolean[] booleans = new boolean[input.length * 8];
-		for (int index = 0; index < input.length; index++) {
+		return read(input, 0, input.length);
+	}
+
+	@Override
+	public int size(boolean[] input) {
+		return input == null ? -1 : input.length / 8 + ((input.length % 8 == 0) ? 0 : 1);
+	}
+
+	/**
+	 * This method packs the given boolean array eight values per byte directly
+	 * into the given {@link WireWriter}.
+	 */
+	@Override
+	public boolean write(WireWriter writer, boolean[] input) {
+		if (input == null) {
+			return false;
+		}
+		for (int start = 0; start < input.length; start += 8) {
+			int value = 0;
+			for (int index = start; index < start + 8 && index < input.length; index++) {
+				value |= (input[index] ? 1 : 0) << 7 - index % 8;
+			}
+			writer.writeByte((byte) value);
+		}
+		return true;
+	}
+
+	/**
+	 * This method unpacks the given region directly from the given array without
+	 * copying it first.
+	 */
+	@Override
+	public Optional<boolean[]> read(byte[] buffer, int offset, int length) {
+		if (buffer == null || offset < 0 || length < 0 || offset > buffer.length - length) {
+			return Optional.empty();
+		}
+		boolean[] booleans = new boolean[length * 8];
+		for (int index = 0; index < length; index++) {
 			for (int position = 0; position < 8; position++) {
-				boolean value = (input[index] & (1 << 7 - position)) == 0 ? false : true;
+				boolean value = (buffer[offset + index] & (1 << 7 - position)) == 0 ? false : true;
 				booleans[index * 8 + position] = value;
 			}
 		}
@@ -0,0 +1,48 @@
+package net.minebit.networking.util.converters;
+
+/**
+ * This class represents an {@link IConverterContainer} of a converter that is
+ * not part of the library, which is registered to the {@link ConverterRegistry}
+ * in order to convert objects of the application's own types.
+ * 
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ * @param <ConvertibleType> The type of object that may be converted from and to
+ *                          byte arrays
+ */
+public final class ConverterRegistration<ConvertibleType> implements IConverterContainer {
+
+	private final byte id;
+	private final Class<ConvertibleType> type;
+	private final IConverter<ConvertibleType> converter;
+
+	/**
+	 * This constructor constructs a new {@link ConverterRegistration} that links
+	 * the given converter with the given type and id.
+	 * 
+	 * @param id        The unique identifier of the converter
+	 * @param type      The type of objects the converter converts
+	 * @param converter The {@link IConverter} that converts the objects
+	 */
+	public ConverterRegistration(byte id, Class<ConvertibleType> type, IConverter<ConvertibleType> converter) {
+		this.id = id;
+		this.type = type;
+		this.converter = converter;
+	}
+
+	@Override
+	public byte getId() {
+		return this.id;
+	}
+
+	@Override
+	public Class<ConvertibleType> getType() {
+		return this.type;
+	}
+
+	@Override
+	public IConverter<ConvertibleType> getConverter() {
+		return this.converter;
+	}
+
+}
@@ -0,0 +1,189 @@
+package net.minebit.networking.util.converters;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.ServiceLoader;
+
+import net.minebit.networking.exceptions.IllegalConstructionException;
+
+/**
+ * This class contains all the {@link IConverterContainer}s that may be used to
+ * convert the values of messages, which are the ones of the
+ * {@link EConverterContainer} along with the ones registered by the application
+ * either directly or through an {@link IConverterProvider}. Converters are
+ * found by their id through a flat array and by the type of the object to
+ * convert through a {@link ClassValue}, so neither lookup depends on the number
+ * of registered converters.
+ * 
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+public final class ConverterRegistry {
+
+	/**
+	 * The first id that may be used by converters registered by the application.
+	 * The ids below it are reserved for the converters of the library.
+	 */
+	public static final int FIRST_CUSTOM_ID = 0x40;
+
+	private static final Object MUTEX = new Object();
+
+	private static volatile Optional<IConverterContainer>[] containers = createContainers();
+	private static volatile List<IConverterContainer> customContainers = Collections.emptyList();
+	private static volatile ClassValue<Optional<IConverterContainer>> optimalContainers;
+
+	static {
+		for (EConverterContainer container : EConverterContainer.values()) {
+			containers[container.getId() & 0xFF] = Optional.of(container);
+		}
+		optimalContainers = createOptimalContainers(customContainers);
+		for (IConverterProvider provider : ServiceLoader.load(IConverterProvider.class)) {
+			for (ConverterRegistration<?> registration : provider.getConverters()) {
+				register(registration);
+			}
+		}
+	}
+
+	/**
+	 * This constructor throws an {@link IllegalConstructionException} as
+	 * {@link ConverterRegistry} objects can't and shouldn't be constructed
+	 */
+	private ConverterRegistry() {
+		throw new IllegalConstructionException(ConverterRegistry.class.getSimpleName() + " objects cannot be constructed!");
+	}
+
+	/**
+	 * This method registers the given {@link IConverter} so that objects of the
+	 * given type are converted by it, identified remotely by the given id. The same
+	 * converter must be registered with the same id on both ends of a connection.
+	 * 
+	 * @param <ConvertibleType> The type of object the converter converts
+	 * @param id                The unique identifier of the converter
+	 * @param type              The type of objects the converter converts
+	 * @param converter         The {@link IConverter} that converts the objects
+	 * @return Whether the operation was successful
+	 * @see #register(ConverterRegistration)
+	 */
+	public static <ConvertibleType> boolean register(byte id, Class<ConvertibleType> type, IConverter<ConvertibleType> converter) {
+		return register(new ConverterRegistration<>(id, type, converter));
+	}
+
+	/**
+	 * This method registers the given {@link ConverterRegistration}. If the
+	 * registration is NULL, lacks a type or a converter, or its id is either
+	 * reserved for the library or already taken the operation will be marked as
+	 * failed.
+	 * 
+	 * @param registration The registration to register
+	 * @return Whether the operation was successful
+	 */
+	public static boolean register(ConverterRegistration<?> registration) {
+		if (registration == null || registration.getType() == null || registration.getConverter() == null) {
+			return false;
+		}
+		int index = registration.getId() & 0xFF;
+		if (index < FIRST_CUSTOM_ID) {
+			return false;
+		}
+		synchronized (MUTEX) {
+			if (containers[index].isPresent()) {
+				return false;
+			}
+			Optional<IConverterContainer>[] updatedContainers = containers.clone();
+			updatedContainers[index] = Optional.of(registration);
+			List<IConverterContainer> updatedCustomContainers = new ArrayList<>(customContainers);
+			updatedCustomContainers.add(registration);
+			updatedCustomContainers = Collections.unmodifiableList(updatedCustomContainers);
+			containers = updatedContainers;
+			customContainers = updatedCustomContainers;
+			optimalContainers = createOptimalContainers(updatedCustomContainers);
+		}
+		return true;
+	}
+
+	/**
+	 * This method returns the {@link IConverterContainer} that has the given id
+	 * contained in an {@link Optional}. If it could not be found, an empty
+	 * {@link Optional} shall be returned.
+	 * 
+	 * @param id The id number of the wanted converter.
+	 * @return The converter with the exact given id.
+	 */
+	public static Optional<IConverterContainer> getById(byte id) {
+		return containers[id & 0xFF];
+	}
+
+	/**
+	 * This method returns the best suited {@link IConverterContainer} for the
+	 * given object to be converted by contained in an {@link Optional}. A converter
+	 * registered for the exact class of the object is preferred, followed by the
+	 * registered converters of its superclasses and interfaces in the order they
+	 * were registered, while {@link Serializer} is used last. The result is cached
+	 * per class. If the given object is NULL or no suitable converter could be
+	 * found an empty {@link Optional} will be returned.
+	 * 
+	 * @param object The object to find the best converter for
+	 * @return The best suited converter
+	 */
+	public static Optional<IConverterContainer> getOptimal(Object object) {
+		if (object == null) {
+			return Optional.empty();
+		}
+		return optimalContainers.get(object.getClass());
+	}
+
+	/**
+	 * This method creates a new array with one empty {@link Optional} for each
+	 * possible converter id.
+	 * 
+	 * @return The new array
+	 */
+	@SuppressWarnings("unchecked")
+	private static Optional<IConverterContainer>[] createContainers() {
+		Optional<IConverterContainer>[] containers = (Optional<IConverterContainer>[]) new Optional<?>[256];
+		Arrays.fill(containers, Optional.empty());
+		return containers;
+	}
+
+	/**
+	 * This method creates a new {@link ClassValue} that finds the best suited
+	 * {@link IConverterContainer} for each class among the library's converters
+	 * and the given registered ones.
+	 * 
+	 * @param customContainers The converters registered by the application
+	 * @return The new {@link ClassValue}
+	 */
+	private static ClassValue<Optional<IConverterContainer>> createOptimalContainers(List<IConverterContainer> customContainers) {
+		return new ClassValue<Optional<IConverterContainer>>() {
+			@Override
+			protected Optional<IConverterContainer> computeValue(Class<?> type) {
+				for (EConverterContainer container : EConverterContainer.values()) {
+					if (container.getType() == type) {
+						return Optional.of(container);
+					}
+				}
+				for (IConverterContainer container : customContainers) {
+					if (container.getType() == type) {
+						return Optional.of(container);
+					}
+				}
+				for (IConverterContainer container : customContainers) {
+					if (container.getType().isAssignableFrom(type)) {
+						return Optional.of(container);
+					}
+				}
+				for (EConverterContainer container : EConverterContainer.values()) {
+					if (container.getType().isAssignableFrom(type)) {
+						return Optional.of(container);
+					}
+				}
+				return Optional.empty();
+			}
+		};
+	}
+
+}
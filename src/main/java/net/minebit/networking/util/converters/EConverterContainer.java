@@ -1,6 +1,7 @@
 package net.minebit.networking.util.converters;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Optional;
 
 import net.minebit.networking.util.converters.primitives.ByteConverter;
@@ -14,29 +15,56 @@ import net.minebit.networking.util.converters.primitives.ShortConverter;
 /**
  * This enum acts as a container for all {@link IConverter}s supported by the
  * library along with their unique id numbers to make them identifiable remotely
- * when used. <b>Note: </b> The objects in the enum are sorted by their id.
+ * when used. Converters for other types may be added through the
+ * {@link ConverterRegistry}. <b>Note: </b> The objects in the enum are sorted by
+ * their id.
  * 
  * @author Aggelowe
  * @since v0.2.0-beta
  *
  */
-public enum EConverterContainer {
+public enum EConverterContainer implements IConverterContainer {
 
 	// @formatter:off
-	RAW(RawConverter.ID, RawConverter.INSTANCE),
-	SERIALIZER(Serializer.ID, Serializer.INSTANCE),
-	STRING(StringConverter.ID, StringConverter.INSTANCE),
-	BYTE(ByteConverter.ID, ByteConverter.INSTANCE),
-	SHORT(ShortConverter.ID, ShortConverter.INSTANCE),
-	INTEGER(IntegerConverter.ID, IntegerConverter.INSTANCE),
-	LONG(LongConverter.ID, LongConverter.INSTANCE),
-	FLOAT(FloatConverter.ID, FloatConverter.INSTANCE),
-	DOUBLE(DoubleConverter.ID, DoubleConverter.INSTANCE),
-	CHARACTER(CharacterConverter.ID, CharacterConverter.INSTANCE),
-	BINARY(BinaryConverter.ID, BinaryConverter.INSTANCE);
+	RAW(RawConverter.ID, byte[].class, RawConverter.INSTANCE),
+	SERIALIZER(Serializer.ID, Serializable.class, Serializer.INSTANCE),
+	STRING(StringConverter.ID, String.class, StringConverter.INSTANCE),
+	BYTE(ByteConverter.ID, Byte.class, ByteConverter.INSTANCE),
+	SHORT(ShortConverter.ID, Short.class, ShortConverter.INSTANCE),
+	INTEGER(IntegerConverter.ID, Integer.class, IntegerConverter.INSTANCE),
+	LONG(LongConverter.ID, Long.class, LongConverter.INSTANCE),
+	FLOAT(FloatConverter.ID, Float.class, FloatConverter.INSTANCE),
+	DOUBLE(DoubleConverter.ID, Double.class, DoubleConverter.INSTANCE),
+	CHARACTER(CharacterConverter.ID, Character.class, CharacterConverter.INSTANCE),
+	BINARY(BinaryConverter.ID, boolean[].class, BinaryConverter.INSTANCE);
 	// @formatter:on
 
+	private static final Optional<EConverterContainer>[] CONTAINERS;
+	private static final ClassValue<Optional<EConverterContainer>> OPTIMAL_CONTAINERS;
+
+	static {
+		@SuppressWarnings("unchecked")
+		Optional<EConverterContainer>[] containers = (Optional<EConverterContainer>[]) new Optional<?>[256];
+		Arrays.fill(containers, Optional.empty());
+		for (EConverterContainer container : values()) {
+			containers[container.id & 0xFF] = Optional.of(container);
+		}
+		CONTAINERS = containers;
+		OPTIMAL_CONTAINERS = new ClassValue<Optional<EConverterContainer>>() {
+			@Override
+			protected Optional<EConverterContainer> computeValue(Class<?> type) {
+				for (EConverterContainer container : values()) {
+					if (container.type == type) {
+						return Optional.of(container);
+					}
+				}
+				return type == null || !SERIALIZER.type.isAssignableFrom(type) ? Optional.empty() : Optional.of(SERIALIZER);
+			}
+		};
+	}
+
 	private final byte id;
+	private final Class<?> type;
 	private final IConverter<?> converter;
 
 	/**
@@ -44,10 +72,12 @@ public enum EConverterContainer {
 	 * the supported raw converter along with its unique id.
 	 * 
 	 * @param id        The unique identifier of the converter
+	 * @param type      The type of objects the converter converts
 	 * @param converter The {@link IConverter} that converts the objects.
 	 */
-	private EConverterContainer(byte id, IConverter<?> converter) {
+	private EConverterContainer(byte id, Class<?> type, IConverter<?> converter) {
 		this.id = id;
+		this.type = type;
 		this.converter = converter;
 	}
 
@@ -57,89 +87,56 @@ public enum EConverterContainer {
 	 * 
 	 * @return The converter's {@link IConverter}
 	 */
+	@Override
 	public IConverter<?> getConverter() {
 		return this.converter;
 	}
 
+	@Override
+	public Class<?> getType() {
+		return this.type;
+	}
+
 	/**
 	 * This method returns the unique id of this {@link EConverterContainer}
 	 * instance.
 	 * 
 	 * @return The container's id
 	 */
+	@Override
 	public byte getId() {
 		return this.id;
 	}
 
 	/**
-	 * This method searches with binary search the enum for the
-	 * {@link EConverterContainer} that has the given id. If it could not be found,
-	 * an empty {@link Optional} shall be returned.
+	 * This method returns the {@link EConverterContainer} that has the given id
+	 * from a flat array indexed by id. If it could not be found, an empty
+	 * {@link Optional} shall be returned.
 	 * 
 	 * @param id The id number of the wanted converter.
 	 * @return The converter with the exact given id.
+	 * @see ConverterRegistry#getById(byte)
 	 */
 	public static Optional<EConverterContainer> getById(byte id) {
-		int min = 0, max = values().length - 1, mid;
-		while (max >= min) {
-			mid = (max - min) / 2 + min;
-			EConverterContainer value = values()[mid];
-			if (value.id == id) {
-				return Optional.of(value);
-			}
-			if (value.id > id) {
-				max = mid - 1;
-				continue;
-			}
-			min = mid + 1;
-		}
-		return Optional.empty();
+		return CONTAINERS[id & 0xFF];
 	}
 
 	/**
-	 * This method checks the class type of the given object and returns the best
-	 * suited {@link EConverterContainer} for it to be converted by. If the given
-	 * object is NULL or no suitable {@link EConverterContainer} could be found an
-	 * empty {@link Optional} will be returned.
+	 * This method returns the best suited {@link EConverterContainer} for the
+	 * class of the given object to be converted by, which is computed once per
+	 * class and cached. If the given object is NULL or no suitable
+	 * {@link EConverterContainer} could be found an empty {@link Optional} will be
+	 * returned.
 	 * 
 	 * @param object The object to find the best {@link EConverterContainer} for
 	 * @return The best suited converter
+	 * @see ConverterRegistry#getOptimal(Object)
 	 */
 	public static Optional<EConverterContainer> getOptimal(Object object) {
-		if (object instanceof byte[]) {
-			return Optional.of(RAW);
-		}
-		if (object instanceof boolean[]) {
-			return Optional.of(BINARY);
-		}
-		if (object instanceof String) {
-			return Optional.of(STRING);
-		}
-		if (object instanceof Byte) {
-			return Optional.of(BYTE);
-		}
-		if (object instanceof Short) {
-			return Optional.of(SHORT);
-		}
-		if (object instanceof Integer) {
-			return Optional.of(INTEGER);
-		}
-		if (object instanceof Long) {
-			return Optional.of(LONG);
-		}
-		if (object instanceof Float) {
-			return Optional.of(FLOAT);
-		}
-		if (object instanceof Double) {
-			return Optional.of(DOUBLE);
-		}
-		if (object instanceof Character) {
-			return Optional.of(CHARACTER);
-		}
-		if (object instanceof Serializable) {
-			return Optional.of(SERIALIZER);
+		if (object == null) {
+			return Optional.empty();
 		}
-		return Optional.empty();
+		return OPTIMAL_CONTAINERS.get(object.getClass());
 	}
 
 }
@@ -2,6 +2,8 @@ package net.minebit.networking.util.converters;
 
 import java.util.Optional;
 
+import net.minebit.networking.util.WireWriter;
+
 /**
  * Classes implementing this interface define how a primitive or an
  * {@link Object} may be converted to a byte array and vice versa.
@@ -33,4 +35,55 @@ public interface IConverter<ConvertibleType> {
 	 */
 	public Optional<ConvertibleType> bytesToSource(byte[] input);
 
+	/**
+	 * This method returns the number of bytes the given input will occupy once
+	 * converted, if it can be known without converting it. Otherwise, or if the
+	 * given input is NULL, a negative number will be returned.
+	 * 
+	 * @param input The object to measure
+	 * @return The converted size of the object
+	 */
+	public default int size(ConvertibleType input) {
+		return -1;
+	}
+
+	/**
+	 * This method converts the input {@link Object} of the given type and writes
+	 * the result directly into the given {@link WireWriter}. Unless overridden, the
+	 * result of {@link #sourceToBytes(Object)} is written.
+	 * 
+	 * @param writer The writer to write the converted object into
+	 * @param input  The object to convert
+	 * @return Whether the operation was successful
+	 */
+	public default boolean write(WireWriter writer, ConvertibleType input) {
+		Optional<byte[]> bytes = sourceToBytes(input);
+		if (!bytes.isPresent()) {
+			return false;
+		}
+		writer.writeBytes(bytes.get());
+		return true;
+	}
+
+	/**
+	 * This method converts the given number of bytes of the given array starting
+	 * from the given offset to an instance of an {@link Object} of the given type
+	 * and returns it in an {@link Optional}. If the given region does not fit in
+	 * the array an empty {@link Optional} will be returned. Unless overridden, the
+	 * region is copied and given to {@link #bytesToSource(byte[])}.
+	 * 
+	 * @param buffer The array containing the bytes to convert
+	 * @param offset The index of the first byte to convert
+	 * @param length The number of bytes to convert
+	 * @return The given bytes converted into an object
+	 */
+	public default Optional<ConvertibleType> read(byte[] buffer, int offset, int length) {
+		if (buffer == null || offset < 0 || length < 0 || offset > buffer.length - length) {
+			return Optional.empty();
+		}
+		byte[] input = new byte[length];
+		System.arraycopy(buffer, offset, input, 0, length);
+		return bytesToSource(input);
+	}
+
 }
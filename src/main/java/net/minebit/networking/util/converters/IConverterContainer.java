@@ -0,0 +1,36 @@
+package net.minebit.networking.util.converters;
+
+/**
+ * Classes implementing this interface link an {@link IConverter} with the type
+ * of objects it converts and its unique id number, that makes it identifiable
+ * remotely when used.
+ * 
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ */
+public interface IConverterContainer {
+
+	/**
+	 * This method returns the unique id of the contained {@link IConverter}.
+	 * 
+	 * @return The container's id
+	 */
+	public byte getId();
+
+	/**
+	 * This method returns the type of objects the contained {@link IConverter}
+	 * converts. Instances of subclasses of the type may be converted as well.
+	 * 
+	 * @return The container's type
+	 */
+	public Class<?> getType();
+
+	/**
+	 * This method returns the {@link IConverter} contained that is used to convert
+	 * the objects given to it to byte arrays and vice versa.
+	 * 
+	 * @return The container's {@link IConverter}
+	 */
+	public IConverter<?> getConverter();
+
+}
@@ -0,0 +1,26 @@
+package net.minebit.networking.util.converters;
+
+import java.util.Collection;
+import java.util.ServiceLoader;
+
+/**
+ * Classes implementing this interface provide {@link ConverterRegistration}s
+ * which are registered to the {@link ConverterRegistry} automatically when it is
+ * first used. Implementations are discovered through the {@link ServiceLoader}
+ * and therefore must be listed in a
+ * <i>META-INF/services/net.minebit.networking.util.converters.IConverterProvider</i>
+ * file and have a public constructor without parameters.
+ * 
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ */
+public interface IConverterProvider {
+
+	/**
+	 * This method returns the {@link ConverterRegistration}s to register.
+	 * 
+	 * @return The provided registrations
+	 */
+	public Collection<ConverterRegistration<?>> getConverters();
+
+}
@@ -2,6 +2,8 @@ package net.minebit.networking.util.converters;
 
 import java.util.Optional;
 
+import net.minebit.networking.util.WireWriter;
+
 /**
  * This class converts the given byte arrays into byte arrays and vice versa by
  * returning the given byte array as a result. <b>Note:</b> This converter
@@ -48,4 +50,18 @@ public final class RawConverter implements IConverter<byte[]> {
 		return input == null ? Optional.empty() : Optional.of(input);
 	}
 
+	@Override
+	public int size(byte[] input) {
+		return input == null ? -1 : input.length;
+	}
+
+	@Override
+	public boolean write(WireWriter writer, byte[] input) {
+		if (input == null) {
+			return false;
+		}
+		writer.writeBytes(input);
+		return true;
+	}
+
 }
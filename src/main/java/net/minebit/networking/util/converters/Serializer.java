@@ -68,7 +68,19 @@ public final class Serializer implements IConverter<Object> {
 		if (input == null) {
 			return Optional.empty();
 		}
-		ByteArrayInputStream byteStream = new ByteArrayInputStream(input);
+		return read(input, 0, input.length);
+	}
+
+	/**
+	 * This method deserializes the given region directly from the given array
+	 * without copying it first.
+	 */
+	@Override
+	public Optional<Object> read(byte[] buffer, int offset, int length) {
+		if (buffer == null || offset < 0 || length < 0 || offset > buffer.length - length) {
+			return Optional.empty();
+		}
+		ByteArrayInputStream byteStream = new ByteArrayInputStream(buffer, offset, length);
 		try {
 			ObjectInputStream objectStream = new ObjectInputStream(byteStream);
 			return Optional.of(objectStream.readObject());
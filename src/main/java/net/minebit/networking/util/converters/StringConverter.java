@@ -3,6 +3,8 @@ package net.minebit.networking.util.converters;
 import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 
+import net.minebit.networking.util.WireWriter;
+
 /**
  * This class contains the means to convert {@link String} objects into byte
  * arrays by utilizing java's build in {@link String} methods and vice versa to
@@ -52,4 +54,34 @@ public class StringConverter implements IConverter<String> {
 		return input == null ? Optional.empty() : Optional.of(new String(input, StandardCharsets.UTF_8));
 	}
 
+	@Override
+	public int size(String input) {
+		return input == null ? -1 : WireWriter.utf8Length(input);
+	}
+
+	/**
+	 * This method writes the given {@link String} encoded with UTF-8 directly into
+	 * the given {@link WireWriter} without creating an intermediate byte array.
+	 */
+	@Override
+	public boolean write(WireWriter writer, String input) {
+		if (input == null) {
+			return false;
+		}
+		writer.writeString(input);
+		return true;
+	}
+
+	/**
+	 * This method decodes the given region with UTF-8 directly from the given
+	 * array without copying it first.
+	 */
+	@Override
+	public Optional<String> read(byte[] buffer, int offset, int length) {
+		if (buffer == null || offset < 0 || length < 0 || offset > buffer.length - length) {
+			return Optional.empty();
+		}
+		return Optional.of(new String(buffer, offset, length, StandardCharsets.UTF_8));
+	}
+
 }
@@ -0,0 +1,103 @@
+package net.minebit.networking.util.converters.primitives;
+
+import net.minebit.networking.exceptions.IllegalConstructionException;
+
+/**
+ * This class reads and writes big-endian primitive values in byte arrays for
+ * the primitive converters. This version assembles the values byte by byte,
+ * while the version of the Java 21 layer of the multi-release jar, which the
+ * runtime loads in its place when supported, accesses the arrays through byte
+ * array views.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+final class ByteArrayViews {
+
+	/**
+	 * This constructor throws an {@link IllegalConstructionException} as
+	 * {@link ByteArrayViews} objects can't and shouldn't be constructed
+	 */
+	private ByteArrayViews() {
+		throw new IllegalConstructionException(ByteArrayViews.class.getSimpleName() + " objects cannot be constructed!");
+	}
+
+	/**
+	 * This method writes the given short value in big-endian order into the given
+	 * array starting from the given offset.
+	 *
+	 * @param buffer The array to write the value into
+	 * @param offset The index to start writing from
+	 * @param value  The short value to write
+	 */
+	static void writeShort(byte[] buffer, int offset, short value) {
+		buffer[offset] = (byte) (value >> 8);
+		buffer[offset + 1] = (byte) value;
+	}
+
+	/**
+	 * This method reads a big-endian short value from the given array starting
+	 * from the given offset.
+	 *
+	 * @param buffer The array to read the value from
+	 * @param offset The index to start reading from
+	 * @return The short value read
+	 */
+	static short readShort(byte[] buffer, int offset) {
+		return (short) ((buffer[offset] & 0xFF) << 8 | (buffer[offset + 1] & 0xFF));
+	}
+
+	/**
+	 * This method writes the given integer value in big-endian order into the
+	 * given array starting from the given offset.
+	 *
+	 * @param buffer The array to write the value into
+	 * @param offset The index to start writing from
+	 * @param value  The integer value to write
+	 */
+	static void writeInt(byte[] buffer, int offset, int value) {
+		buffer[offset] = (byte) (value >> 24);
+		buffer[offset + 1] = (byte) (value >> 16);
+		buffer[offset + 2] = (byte) (value >> 8);
+		buffer[offset + 3] = (byte) value;
+	}
+
+	/**
+	 * This method reads a big-endian integer value from the given array starting
+	 * from the given offset.
+	 *
+	 * @param buffer The array to read the value from
+	 * @param offset The index to start reading from
+	 * @return The integer value read
+	 */
+	static int readInt(byte[] buffer, int offset) {
+		return (buffer[offset] & 0xFF) << 24 | (buffer[offset + 1] & 0xFF) << 16 | (buffer[offset + 2] & 0xFF) << 8 | (buffer[offset + 3] & 0xFF);
+	}
+
+	/**
+	 * This method writes the given long value in big-endian order into the given
+	 * array starting from the given offset.
+	 *
+	 * @param buffer The array to write the value into
+	 * @param offset The index to start writing from
+	 * @param value  The long value to write
+	 */
+	static void writeLong(byte[] buffer, int offset, long value) {
+		writeInt(buffer, offset, (int) (value >> 32));
+		writeInt(buffer, offset + 4, (int) value);
+	}
+
+	/**
+	 * This method reads a big-endian long value from the given array starting
+	 * from the given offset.
+	 *
+	 * @param buffer The array to read the value from
+	 * @param offset The index to start reading from
+	 * @return The long value read
+	 */
+	static long readLong(byte[] buffer, int offset) {
+		return (long) readInt(buffer, offset) << 32 | (readInt(buffer, offset + 4) & 0xFFFFFFFFL);
+	}
+
+}
@@ -2,6 +2,7 @@ package net.minebit.networking.util.converters.primitives;
 
 import java.util.Optional;
 
+import net.minebit.networking.util.WireWriter;
 import net.minebit.networking.util.converters.IConverter;
 
 /**
@@ -25,6 +26,11 @@ public class ByteConverter implements IConverter<Byte> {
 	 */
 	public static final ByteConverter INSTANCE = new ByteConverter();
 
+	/**
+	 * The number of bytes a single byte value occupies once converted.
+	 */
+	public static final int BYTES = 1;
+
 	/**
 	 * This constructor constructs a new {@link ByteConverter} that to converts
 	 * single byte values into byte arrays and vice versa.
@@ -32,6 +38,46 @@ public class ByteConverter implements IConverter<Byte> {
 	private ByteConverter() {
 	}
 
+	/**
+	 * This method writes the given byte value into the given array at the given
+	 * offset, without creating any objects. The array must have at least one byte
+	 * available at the offset.
+	 * 
+	 * @param buffer The array to write the value into
+	 * @param offset The index to write the value at
+	 * @param value  The byte value to write
+	 */
+	public void writeByte(byte[] buffer, int offset, byte value) {
+		buffer[offset] = value;
+	}
+
+	/**
+	 * This method reads the byte value at the given offset of the given array,
+	 * without creating any objects. The array must have at least one byte
+	 * available at the offset.
+	 * 
+	 * @param buffer The array to read the value from
+	 * @param offset The index to read the value from
+	 * @return The byte value read
+	 */
+	public byte readByte(byte[] buffer, int offset) {
+		return buffer[offset];
+	}
+
+	/**
+	 * This method reads the byte value stored in the given region, which is its
+	 * last byte, ignoring any bytes before it. If the region is empty a zero is
+	 * returned.
+	 * 
+	 * @param buffer The array containing the region
+	 * @param offset The index of the first byte of the region
+	 * @param length The number of bytes in the region
+	 * @return The byte value read
+	 */
+	private byte readPadded(byte[] buffer, int offset, int length) {
+		return length == 0 ? 0 : buffer[offset + length - 1];
+	}
+
 	/**
 	 * This method converts the given byte value and returns the resultant byte
 	 * array in an {@link Optional}. If the given object is NULL then an empty
@@ -42,7 +88,9 @@ public class ByteConverter implements IConverter<Byte> {
 		if (input == null) {
 			return Optional.empty();
 		}
-		return Optional.of(new byte[] { input });
+		byte[] result = new byte[BYTES];
+		writeByte(result, 0, input);
+		return Optional.of(result);
 	}
 
 	/**
@@ -56,10 +104,29 @@ public class ByteConverter implements IConverter<Byte> {
 		if (input == null) {
 			return Optional.empty();
 		}
-		if (input.length == 0) {
-			return Optional.of((byte) 0);
+		return Optional.of(readPadded(input, 0, input.length));
+	}
+
+	@Override
+	public int size(Byte input) {
+		return input == null ? -1 : BYTES;
+	}
+
+	@Override
+	public boolean write(WireWriter writer, Byte input) {
+		if (input == null) {
+			return false;
+		}
+		writer.writeByte(input);
+		return true;
+	}
+
+	@Override
+	public Optional<Byte> read(byte[] buffer, int offset, int length) {
+		if (buffer == null || offset < 0 || length < 0 || offset > buffer.length - length) {
+			return Optional.empty();
 		}
-		return Optional.of(input[input.length - 1]);
+		return Optional.of(readPadded(buffer, offset, length));
 	}
 
 }
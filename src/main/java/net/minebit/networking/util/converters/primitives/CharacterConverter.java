@@ -2,7 +2,7 @@ package net.minebit.networking.util.converters.primitives;
 
 import java.util.Optional;
 
-import net.minebit.networking.util.ByteUtils;
+import net.minebit.networking.util.WireWriter;
 import net.minebit.networking.util.converters.IConverter;
 
 /**
@@ -26,6 +26,11 @@ public class CharacterConverter implements IConverter<Character> {
 	 */
 	public static final CharacterConverter INSTANCE = new CharacterConverter();
 
+	/**
+	 * The number of bytes a single character value occupies once converted.
+	 */
+	public static final int BYTES = 2;
+
 	/**
 	 * This constructor constructs a new {@link CharacterConverter} that to converts
 	 * single character values into byte arrays and vice versa.
@@ -33,6 +38,53 @@ public class CharacterConverter implements IConverter<Character> {
 	private CharacterConverter() {
 	}
 
+	/**
+	 * This method writes the given character value in big-endian order into the given
+	 * array starting from the given offset, without creating any objects. The
+	 * array must have at least {@link #BYTES} bytes available at the offset.
+	 * 
+	 * @param buffer The array to write the value into
+	 * @param offset The index to start writing from
+	 * @param value  The character value to write
+	 */
+	public void writeChar(byte[] buffer, int offset, char value) {
+		ByteArrayViews.writeShort(buffer, offset, (short) value);
+	}
+
+	/**
+	 * This method reads a big-endian character value from the given array starting
+	 * from the given offset, without creating any objects. The array must have at
+	 * least {@link #BYTES} bytes available at the offset.
+	 * 
+	 * @param buffer The array to read the value from
+	 * @param offset The index to start reading from
+	 * @return The character value read
+	 */
+	public char readChar(byte[] buffer, int offset) {
+		return (char) ByteArrayViews.readShort(buffer, offset);
+	}
+
+	/**
+	 * This method reads the character value stored in the last two bytes of the
+	 * given region. A region of a single byte is read as the low byte of the
+	 * character code, and an empty region as the NUL character.
+	 * 
+	 * @param buffer The array containing the region
+	 * @param offset The index of the first byte of the region
+	 * @param length The number of bytes in the region
+	 * @return The character value read
+	 */
+	private char readPadded(byte[] buffer, int offset, int length) {
+		if (length >= BYTES) {
+			return readChar(buffer, offset + length - BYTES);
+		}
+		int result = 0;
+		for (int index = offset; index < offset + length; index++) {
+			result = result << 8 | (buffer[index] & 0xFF);
+		}
+		return (char) result;
+	}
+
 	/**
 	 * This method converts the given character value and returns the resultant byte
 	 * array in an {@link Optional}. If the given object is NULL then an empty
@@ -43,7 +95,8 @@ public class CharacterConverter implements IConverter<Character> {
 		if (input == null) {
 			return Optional.empty();
 		}
-		byte[] result = new byte[] { (byte) (input >> 8), (byte) input.charValue() };
+		byte[] result = new byte[BYTES];
+		writeChar(result, 0, input);
 		return Optional.of(result);
 	}
 
@@ -58,12 +111,29 @@ public class CharacterConverter implements IConverter<Character> {
 		if (input == null) {
 			return Optional.empty();
 		}
-		byte[] clone = ByteUtils.clone(input).orElse(new byte[2]);
-		if (clone.length < 2) {
-			clone = ByteUtils.enlarge(clone, 2 - clone.length, 0).orElse(new byte[2]);
+		return Optional.of(readPadded(input, 0, input.length));
+	}
+
+	@Override
+	public int size(Character input) {
+		return input == null ? -1 : BYTES;
+	}
+
+	@Override
+	public boolean write(WireWriter writer, Character input) {
+		if (input == null) {
+			return false;
 		}
-		char result = (char) ((clone[clone.length - 2] & 0xFF) << 8 | (clone[clone.length - 1] & 0xFF));
-		return Optional.of(result);
+		writer.writeChar(input);
+		return true;
+	}
+
+	@Override
+	public Optional<Character> read(byte[] buffer, int offset, int length) {
+		if (buffer == null || offset < 0 || length < 0 || offset > buffer.length - length) {
+			return Optional.empty();
+		}
+		return Optional.of(readPadded(buffer, offset, length));
 	}
 
 }
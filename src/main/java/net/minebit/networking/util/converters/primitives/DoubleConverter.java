@@ -2,6 +2,7 @@ package net.minebit.networking.util.converters.primitives;
 
 import java.util.Optional;
 
+import net.minebit.networking.util.WireWriter;
 import net.minebit.networking.util.converters.IConverter;
 
 /**
@@ -25,6 +26,11 @@ public class DoubleConverter implements IConverter<Double> {
 	 */
 	public static final DoubleConverter INSTANCE = new DoubleConverter();
 
+	/**
+	 * The number of bytes a single double value occupies once converted.
+	 */
+	public static final int BYTES = 8;
+
 	/**
 	 * This constructor constructs a new {@link DoubleConverter} that to converts
 	 * single double values into byte arrays and vice versa.
@@ -33,35 +39,95 @@ public class DoubleConverter implements IConverter<Double> {
 	}
 
 	/**
-	 * This method converts the given double value by utilizing the
-	 * {@link LongConverter}'s methods and returns the resultant byte array in an
-	 * {@link Optional}. If the given object is NULL then an empty optional will be
-	 * returned.
+	 * This method writes the given double value in big-endian order into the given
+	 * array starting from the given offset, without creating any objects. The
+	 * array must have at least {@link #BYTES} bytes available at the offset.
+	 * 
+	 * @param buffer The array to write the value into
+	 * @param offset The index to start writing from
+	 * @param value  The double value to write
+	 */
+	public void writeDouble(byte[] buffer, int offset, double value) {
+		LongConverter.INSTANCE.writeLong(buffer, offset, Double.doubleToLongBits(value));
+	}
+
+	/**
+	 * This method reads a big-endian double value from the given array starting
+	 * from the given offset, without creating any objects. The array must have at
+	 * least {@link #BYTES} bytes available at the offset.
+	 * 
+	 * @param buffer The array to read the value from
+	 * @param offset The index to start reading from
+	 * @return The double value read
+	 */
+	public double readDouble(byte[] buffer, int offset) {
+		return Double.longBitsToDouble(LongConverter.INSTANCE.readLong(buffer, offset));
+	}
+
+	/**
+	 * This method reads the double value whose IEEE 754 bits are stored in the
+	 * last eight bytes of the given region. A shorter region supplies only the
+	 * low-order bits of the value, leaving the high-order ones, including its
+	 * sign, cleared, so that the value read is never negative.
+	 * 
+	 * @param buffer The array containing the region
+	 * @param offset The index of the first byte of the region
+	 * @param length The number of bytes in the region
+	 * @return The double value read
+	 */
+	private double readPadded(byte[] buffer, int offset, int length) {
+		return Double.longBitsToDouble(LongConverter.INSTANCE.readPadded(buffer, offset, length));
+	}
+
+	/**
+	 * This method converts the given double value and returns the resultant byte
+	 * array in an {@link Optional}. If the given object is NULL then an empty
+	 * optional will be returned.
 	 */
 	@Override
 	public Optional<byte[]> sourceToBytes(Double input) {
 		if (input == null) {
 			return Optional.empty();
 		}
-		long changed = Double.doubleToLongBits(input);
-		return LongConverter.INSTANCE.sourceToBytes(changed);
+		byte[] result = new byte[BYTES];
+		writeDouble(result, 0, input);
+		return Optional.of(result);
 	}
 
 	/**
-	 * This method converts the given byte array by utilizing the
-	 * {@link LongConverter}'s methods and returns the resultant double value in an
-	 * {@link Optional}. If the given byte array is NULL then an empty optional will
-	 * be returned. If the given byte array is empty then an optional containing a
-	 * zero will be returned.
+	 * This method converts the given byte array and returns the resultant double
+	 * value in an {@link Optional}. If the given byte array is NULL then an empty
+	 * optional will be returned. If the given byte array is empty then an optional
+	 * containing a zero will be returned.
 	 */
 	@Override
 	public Optional<Double> bytesToSource(byte[] input) {
-		Optional<Long> converted = LongConverter.INSTANCE.bytesToSource(input);
-		if (converted.isPresent()) {
-			return Optional.of(Double.longBitsToDouble(converted.get()));
-		} else {
+		if (input == null) {
+			return Optional.empty();
+		}
+		return Optional.of(readPadded(input, 0, input.length));
+	}
+
+	@Override
+	public int size(Double input) {
+		return input == null ? -1 : BYTES;
+	}
+
+	@Override
+	public boolean write(WireWriter writer, Double input) {
+		if (input == null) {
+			return false;
+		}
+		writer.writeDouble(input);
+		return true;
+	}
+
+	@Override
+	public Optional<Double> read(byte[] buffer, int offset, int length) {
+		if (buffer == null || offset < 0 || length < 0 || offset > buffer.length - length) {
 			return Optional.empty();
 		}
+		return Optional.of(readPadded(buffer, offset, length));
 	}
 
 }
@@ -2,6 +2,7 @@ package net.minebit.networking.util.converters.primitives;
 
 import java.util.Optional;
 
+import net.minebit.networking.util.WireWriter;
 import net.minebit.networking.util.converters.IConverter;
 
 /**
@@ -25,6 +26,11 @@ public class FloatConverter implements IConverter<Float> {
 	 */
 	public static final FloatConverter INSTANCE = new FloatConverter();
 
+	/**
+	 * The number of bytes a single float value occupies once converted.
+	 */
+	public static final int BYTES = 4;
+
 	/**
 	 * This constructor constructs a new {@link FloatConverter} that to converts
 	 * single float values into byte arrays and vice versa.
@@ -33,35 +39,95 @@ public class FloatConverter implements IConverter<Float> {
 	}
 
 	/**
-	 * This method converts the given float value by utilizing the
-	 * {@link IntegerConverter}'s methods and returns the resultant byte array in an
-	 * {@link Optional}. If the given object is NULL then an empty optional will be
-	 * returned.
+	 * This method writes the given float value in big-endian order into the given
+	 * array starting from the given offset, without creating any objects. The
+	 * array must have at least {@link #BYTES} bytes available at the offset.
+	 * 
+	 * @param buffer The array to write the value into
+	 * @param offset The index to start writing from
+	 * @param value  The float value to write
+	 */
+	public void writeFloat(byte[] buffer, int offset, float value) {
+		IntegerConverter.INSTANCE.writeInt(buffer, offset, Float.floatToIntBits(value));
+	}
+
+	/**
+	 * This method reads a big-endian float value from the given array starting
+	 * from the given offset, without creating any objects. The array must have at
+	 * least {@link #BYTES} bytes available at the offset.
+	 * 
+	 * @param buffer The array to read the value from
+	 * @param offset The index to start reading from
+	 * @return The float value read
+	 */
+	public float readFloat(byte[] buffer, int offset) {
+		return Float.intBitsToFloat(IntegerConverter.INSTANCE.readInt(buffer, offset));
+	}
+
+	/**
+	 * This method reads the float value whose IEEE 754 bits are stored in the last
+	 * four bytes of the given region. A shorter region supplies only the low-order
+	 * bits of the value, leaving the high-order ones, including its sign, cleared,
+	 * so that the value read is never negative.
+	 * 
+	 * @param buffer The array containing the region
+	 * @param offset The index of the first byte of the region
+	 * @param length The number of bytes in the region
+	 * @return The float value read
+	 */
+	private float readPadded(byte[] buffer, int offset, int length) {
+		return Float.intBitsToFloat(IntegerConverter.INSTANCE.readPadded(buffer, offset, length));
+	}
+
+	/**
+	 * This method converts the given float value and returns the resultant byte
+	 * array in an {@link Optional}. If the given object is NULL then an empty
+	 * optional will be returned.
 	 */
 	@Override
 	public Optional<byte[]> sourceToBytes(Float input) {
 		if (input == null) {
 			return Optional.empty();
 		}
-		int changed = Float.floatToIntBits(input);
-		return IntegerConverter.INSTANCE.sourceToBytes(changed);
+		byte[] result = new byte[BYTES];
+		writeFloat(result, 0, input);
+		return Optional.of(result);
 	}
 
 	/**
-	 * This method converts the given byte array by utilizing the
-	 * {@link IntegerConverter}'s methods and returns the resultant float value in
-	 * an {@link Optional}. If the given byte array is NULL then an empty optional
-	 * will be returned. If the given byte array is empty then an optional
+	 * This method converts the given byte array and returns the resultant float
+	 * value in an {@link Optional}. If the given byte array is NULL then an empty
+	 * optional will be returned. If the given byte array is empty then an optional
 	 * containing a zero will be returned.
 	 */
 	@Override
 	public Optional<Float> bytesToSource(byte[] input) {
-		Optional<Integer> converted = IntegerConverter.INSTANCE.bytesToSource(input);
-		if (converted.isPresent()) {
-			return Optional.of(Float.intBitsToFloat(converted.get()));
-		} else {
+		if (input == null) {
+			return Optional.empty();
+		}
+		return Optional.of(readPadded(input, 0, input.length));
+	}
+
+	@Override
+	public int size(Float input) {
+		return input == null ? -1 : BYTES;
+	}
+
+	@Override
+	public boolean write(WireWriter writer, Float input) {
+		if (input == null) {
+			return false;
+		}
+		writer.writeFloat(input);
+		return true;
+	}
+
+	@Override
+	public Optional<Float> read(byte[] buffer, int offset, int length) {
+		if (buffer == null || offset < 0 || length < 0 || offset > buffer.length - length) {
 			return Optional.empty();
 		}
+		return Optional.of(readPadded(buffer, offset, length));
 	}
 
 }
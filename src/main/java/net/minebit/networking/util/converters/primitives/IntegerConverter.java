@@ -2,7 +2,7 @@ package net.minebit.networking.util.converters.primitives;
 
 import java.util.Optional;
 
-import net.minebit.networking.util.ByteUtils;
+import net.minebit.networking.util.WireWriter;
 import net.minebit.networking.util.converters.IConverter;
 
 /**
@@ -26,6 +26,11 @@ public class IntegerConverter implements IConverter<Integer> {
 	 */
 	public static final IntegerConverter INSTANCE = new IntegerConverter();
 
+	/**
+	 * The number of bytes a single integer value occupies once converted.
+	 */
+	public static final int BYTES = 4;
+
 	/**
 	 * This constructor constructs a new {@link IntegerConverter} that to converts
 	 * single integer values into byte arrays and vice versa.
@@ -33,6 +38,54 @@ public class IntegerConverter implements IConverter<Integer> {
 	private IntegerConverter() {
 	}
 
+	/**
+	 * This method writes the given integer value in big-endian order into the given
+	 * array starting from the given offset, without creating any objects. The
+	 * array must have at least {@link #BYTES} bytes available at the offset.
+	 * 
+	 * @param buffer The array to write the value into
+	 * @param offset The index to start writing from
+	 * @param value  The integer value to write
+	 */
+	public void writeInt(byte[] buffer, int offset, int value) {
+		ByteArrayViews.writeInt(buffer, offset, value);
+	}
+
+	/**
+	 * This method reads a big-endian integer value from the given array starting
+	 * from the given offset, without creating any objects. The array must have at
+	 * least {@link #BYTES} bytes available at the offset.
+	 * 
+	 * @param buffer The array to read the value from
+	 * @param offset The index to start reading from
+	 * @return The integer value read
+	 */
+	public int readInt(byte[] buffer, int offset) {
+		return ByteArrayViews.readInt(buffer, offset);
+	}
+
+	/**
+	 * This method reads the integer value stored in the last four bytes of the
+	 * given region. A shorter region is read as the low-order bytes of the value,
+	 * without extending its sign, so that it is never negative. This method is
+	 * also used by {@link FloatConverter} to read the bits of a float value.
+	 * 
+	 * @param buffer The array containing the region
+	 * @param offset The index of the first byte of the region
+	 * @param length The number of bytes in the region
+	 * @return The integer value read
+	 */
+	int readPadded(byte[] buffer, int offset, int length) {
+		if (length >= BYTES) {
+			return readInt(buffer, offset + length - BYTES);
+		}
+		int result = 0;
+		for (int index = offset; index < offset + length; index++) {
+			result = result << 8 | (buffer[index] & 0xFF);
+		}
+		return result;
+	}
+
 	/**
 	 * This method converts the given integer value and returns the resultant byte
 	 * array in an {@link Optional}. If the given object is NULL then an empty
@@ -43,7 +96,8 @@ public class IntegerConverter implements IConverter<Integer> {
 		if (input == null) {
 			return Optional.empty();
 		}
-		byte[] result = new byte[] { (byte) (input >> 24), (byte) (input >> 16), (byte) (input >> 8), (byte) input.intValue() };
+		byte[] result = new byte[BYTES];
+		writeInt(result, 0, input);
 		return Optional.of(result);
 	}
 
@@ -58,12 +112,29 @@ public class IntegerConverter implements IConverter<Integer> {
 		if (input == null) {
 			return Optional.empty();
 		}
-		byte[] clone = ByteUtils.clone(input).orElse(new byte[4]);
-		if (clone.length < 4) {
-			clone = ByteUtils.enlarge(clone, 4 - clone.length, 0).orElse(new byte[4]);
+		return Optional.of(readPadded(input, 0, input.length));
+	}
+
+	@Override
+	public int size(Integer input) {
+		return input == null ? -1 : BYTES;
+	}
+
+	@Override
+	public boolean write(WireWriter writer, Integer input) {
+		if (input == null) {
+			return false;
 		}
-		int result = (clone[clone.length - 4] & 0xFF) << 24 | (clone[clone.length - 3] & 0xFF) << 16 | (clone[clone.length - 2] & 0xFF) << 8 | (clone[clone.length - 1] & 0xFF);
-		return Optional.of(result);
+		writer.writeInt(input);
+		return true;
+	}
+
+	@Override
+	public Optional<Integer> read(byte[] buffer, int offset, int length) {
+		if (buffer == null || offset < 0 || length < 0 || offset > buffer.length - length) {
+			return Optional.empty();
+		}
+		return Optional.of(readPadded(buffer, offset, length));
 	}
 
 }
@@ -2,7 +2,7 @@ package net.minebit.networking.util.converters.primitives;
 
 import java.util.Optional;
 
-import net.minebit.networking.util.ByteUtils;
+import net.minebit.networking.util.WireWriter;
 import net.minebit.networking.util.converters.IConverter;
 
 /**
@@ -26,6 +26,11 @@ public class LongConverter implements IConverter<Long> {
 	 */
 	public static final LongConverter INSTANCE = new LongConverter();
 
+	/**
+	 * The number of bytes a single long value occupies once converted.
+	 */
+	public static final int BYTES = 8;
+
 	/**
 	 * This constructor constructs a new {@link LongConverter} that to converts
 	 * single long values into byte arrays and vice versa.
@@ -33,6 +38,54 @@ public class LongConverter implements IConverter<Long> {
 	private LongConverter() {
 	}
 
+	/**
+	 * This method writes the given long value in big-endian order into the given
+	 * array starting from the given offset, without creating any objects. The
+	 * array must have at least {@link #BYTES} bytes available at the offset.
+	 * 
+	 * @param buffer The array to write the value into
+	 * @param offset The index to start writing from
+	 * @param value  The long value to write
+	 */
+	public void writeLong(byte[] buffer, int offset, long value) {
+		ByteArrayViews.writeLong(buffer, offset, value);
+	}
+
+	/**
+	 * This method reads a big-endian long value from the given array starting
+	 * from the given offset, without creating any objects. The array must have at
+	 * least {@link #BYTES} bytes available at the offset.
+	 * 
+	 * @param buffer The array to read the value from
+	 * @param offset The index to start reading from
+	 * @return The long value read
+	 */
+	public long readLong(byte[] buffer, int offset) {
+		return ByteArrayViews.readLong(buffer, offset);
+	}
+
+	/**
+	 * This method reads the long value stored in the last eight bytes of the given
+	 * region. A shorter region is read as the low-order bytes of the value,
+	 * without extending its sign, so that it is never negative. This method is
+	 * also used by {@link DoubleConverter} to read the bits of a double value.
+	 * 
+	 * @param buffer The array containing the region
+	 * @param offset The index of the first byte of the region
+	 * @param length The number of bytes in the region
+	 * @return The long value read
+	 */
+	long readPadded(byte[] buffer, int offset, int length) {
+		if (length >= BYTES) {
+			return readLong(buffer, offset + length - BYTES);
+		}
+		long result = 0;
+		for (int index = offset; index < offset + length; index++) {
+			result = result << 8 | (buffer[index] & 0xFF);
+		}
+		return result;
+	}
+
 	/**
 	 * This method converts the given long value and returns the resultant byte
 	 * array in an {@link Optional}. If the given object is NULL then an empty
@@ -43,7 +96,8 @@ public class LongConverter implements IConverter<Long> {
 		if (input == null) {
 			return Optional.empty();
 		}
-		byte[] result = new byte[] { (byte) (input >> 56), (byte) (input >> 48), (byte) (input >> 40), (byte) (input >> 32), (byte) (input >> 24), (byte) (input >> 16), (byte) (input >> 8), (byte) input.longValue() };
+		byte[] result = new byte[BYTES];
+		writeLong(result, 0, input);
 		return Optional.of(result);
 	}
 
@@ -58,12 +112,29 @@ public class LongConverter implements IConverter<Long> {
 		if (input == null) {
 			return Optional.empty();
 		}
-		byte[] clone = ByteUtils.clone(input).orElse(new byte[8]);
-		if (clone.length < 8) {
-			clone = ByteUtils.enlarge(clone, 8 - clone.length, 0).orElse(new byte[8]);
+		return Optional.of(readPadded(input, 0, input.length));
+	}
+
+	@Override
+	public int size(Long input) {
+		return input == null ? -1 : BYTES;
+	}
+
+	@Override
+	public boolean write(WireWriter writer, Long input) {
+		if (input == null) {
+			return false;
 		}
-		long result = ((long) (clone[clone.length - 8] & 0xFF) << 56) | ((long) (clone[clone.length - 7] & 0xFF) << 48) | ((long) (clone[clone.length - 6] & 0xFF) << 40) | ((long) (clone[clone.length - 5] & 0xFF) << 32) | ((long) (clone[clone.length - 4] & 0xFF) << 24) | ((long) (clone[clone.length - 3] & 0xFF) << 16) | ((long) (clone[clone.length - 2] & 0xFF) << 8) | ((long) clone[clone.length - 1] & 0xFF);
-		return Optional.of(result);
+		writer.writeLong(input);
+		return true;
+	}
+
+	@Override
+	public Optional<Long> read(byte[] buffer, int offset, int length) {
+		if (buffer == null || offset < 0 || length < 0 || offset > buffer.length - length) {
+			return Optional.empty();
+		}
+		return Optional.of(readPadded(buffer, offset, length));
 	}
 
 }
@@ -2,7 +2,7 @@ package net.minebit.networking.util.converters.primitives;
 
 import java.util.Optional;
 
-import net.minebit.networking.util.ByteUtils;
+import net.minebit.networking.util.WireWriter;
 import net.minebit.networking.util.converters.IConverter;
 
 /**
@@ -26,6 +26,11 @@ public class ShortConverter implements IConverter<Short> {
 	 */
 	public static final ShortConverter INSTANCE = new ShortConverter();
 
+	/**
+	 * The number of bytes a single short value occupies once converted.
+	 */
+	public static final int BYTES = 2;
+
 	/**
 	 * This constructor constructs a new {@link ShortConverter} that to converts
 	 * single short values into byte arrays and vice versa.
@@ -33,6 +38,53 @@ public class ShortConverter implements IConverter<Short> {
 	private ShortConverter() {
 	}
 
+	/**
+	 * This method writes the given short value in big-endian order into the given
+	 * array starting from the given offset, without creating any objects. The
+	 * array must have at least {@link #BYTES} bytes available at the offset.
+	 * 
+	 * @param buffer The array to write the value into
+	 * @param offset The index to start writing from
+	 * @param value  The short value to write
+	 */
+	public void writeShort(byte[] buffer, int offset, short value) {
+		ByteArrayViews.writeShort(buffer, offset, value);
+	}
+
+	/**
+	 * This method reads a big-endian short value from the given array starting
+	 * from the given offset, without creating any objects. The array must have at
+	 * least {@link #BYTES} bytes available at the offset.
+	 * 
+	 * @param buffer The array to read the value from
+	 * @param offset The index to start reading from
+	 * @return The short value read
+	 */
+	public short readShort(byte[] buffer, int offset) {
+		return ByteArrayViews.readShort(buffer, offset);
+	}
+
+	/**
+	 * This method reads the short value stored in the last two bytes of the given
+	 * region. A region of a single byte is read as an unsigned value between 0
+	 * and 255, and an empty region as a zero.
+	 * 
+	 * @param buffer The array containing the region
+	 * @param offset The index of the first byte of the region
+	 * @param length The number of bytes in the region
+	 * @return The short value read
+	 */
+	private short readPadded(byte[] buffer, int offset, int length) {
+		if (length >= BYTES) {
+			return readShort(buffer, offset + length - BYTES);
+		}
+		int result = 0;
+		for (int index = offset; index < offset + length; index++) {
+			result = result << 8 | (buffer[index] & 0xFF);
+		}
+		return (short) result;
+	}
+
 	/**
 	 * This method converts the given short value and returns the resultant byte
 	 * array in an {@link Optional}. If the given object is NULL then an empty
@@ -43,7 +95,8 @@ public class ShortConverter implements IConverter<Short> {
 		if (input == null) {
 			return Optional.empty();
 		}
-		byte[] result = new byte[] { (byte) (input >> 8), (byte) input.shortValue() };
+		byte[] result = new byte[BYTES];
+		writeShort(result, 0, input);
 		return Optional.of(result);
 	}
 
@@ -58,12 +111,29 @@ public class ShortConverter implements IConverter<Short> {
 		if (input == null) {
 			return Optional.empty();
 		}
-		byte[] clone = ByteUtils.clone(input).orElse(new byte[2]);
-		if (clone.length < 2) {
-			clone = ByteUtils.enlarge(clone, 2 - clone.length, 0).orElse(new byte[2]);
+		return Optional.of(readPadded(input, 0, input.length));
+	}
+
+	@Override
+	public int size(Short input) {
+		return input == null ? -1 : BYTES;
+	}
+
+	@Override
+	public boolean write(WireWriter writer, Short input) {
+		if (input == null) {
+			return false;
 		}
-		short result = (short) ((clone[clone.length - 2] & 0xFF) << 8 | (clone[clone.length - 1] & 0xFF));
-		return Optional.of(result);
+		writer.writeShort(input);
+		return true;
+	}
+
+	@Override
+	public Optional<Short> read(byte[] buffer, int offset, int length) {
+		if (buffer == null || offset < 0 || length < 0 || offset > buffer.length - length) {
+			return Optional.empty();
+		}
+		return Optional.of(readPadded(buffer, offset, length));
 	}
 
 }
@@ -0,0 +1,365 @@
+package net.minebit.networking.wrappers;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.zip.Adler32;
+
+/**
+ * This class represents a preset dictionary used by the {@link DictionaryWrapper}
+ * to compress payloads that are too short to contain repetitions of their own,
+ * but repeat the titles and the key names of every other payload. The
+ * dictionary is identified by the Adler-32 checksum of its contents, which is
+ * the id zlib itself records for preset dictionaries, so the same dictionary
+ * has the same id on both ends of a connection. Dictionaries may be trained
+ * from a sample of encoded messages through
+ * {@link #train(Collection, int)}.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+public final class CompressionDictionary {
+
+	/**
+	 * The largest size of a dictionary, which is the size of the deflate window.
+	 */
+	public static final int MAX_SIZE = 32 * 1024;
+
+	private static final int KMER_SIZE = 8;
+	private static final int SEGMENT_SIZE = 32;
+	private static final int SEGMENT_STEP = 8;
+	private static final int MIN_FREQUENCY = 2;
+
+	private final int id;
+	private final byte[] bytes;
+
+	/**
+	 * This constructor constructs a new {@link CompressionDictionary} with the
+	 * given contents and id.
+	 *
+	 * @param id    The id of the dictionary
+	 * @param bytes The contents of the dictionary
+	 */
+	private CompressionDictionary(int id, byte[] bytes) {
+		this.id = id;
+		this.bytes = bytes;
+	}
+
+	/**
+	 * This method returns a new {@link CompressionDictionary} containing a copy of
+	 * the given bytes in an {@link Optional}. If the array is NULL, empty, longer
+	 * than {@link #MAX_SIZE} or its checksum is zero, which is reserved for no
+	 * dictionary, an empty {@link Optional} will be returned.
+	 *
+	 * @param bytes The contents of the dictionary
+	 * @return The new dictionary
+	 */
+	public static Optional<CompressionDictionary> of(byte[] bytes) {
+		if (bytes == null || bytes.length == 0 || bytes.length > MAX_SIZE) {
+			return Optional.empty();
+		}
+		Adler32 checksum = new Adler32();
+		checksum.update(bytes, 0, bytes.length);
+		int id = (int) checksum.getValue();
+		if (id == 0) {
+			return Optional.empty();
+		}
+		return Optional.of(new CompressionDictionary(id, bytes.clone()));
+	}
+
+	/**
+	 * This method trains a dictionary of at most the given size from the given
+	 * sample of encoded payloads and returns it in an {@link Optional}. The
+	 * sample is scanned for sequences of eight bytes, which are counted once for
+	 * every payload containing them. Segments of the payloads are then chosen
+	 * greedily by the total count of the sequences they contain which have not
+	 * been covered by an earlier segment, until the dictionary is full. The
+	 * segments are laid out so the most valuable ones are placed at the end of
+	 * the dictionary, closest to the data, where they are referenced with the
+	 * shortest distances. If the sample is NULL, the size is not valid or no
+	 * sequence appears in more than one payload an empty {@link Optional} will be
+	 * returned.
+	 *
+	 * @param samples The encoded payloads to train the dictionary from
+	 * @param size    The largest size of the dictionary
+	 * @return The trained dictionary
+	 */
+	public static Optional<CompressionDictionary> train(Collection<byte[]> samples, int size) {
+		if (samples == null || size <= 0 || size > MAX_SIZE) {
+			return Optional.empty();
+		}
+		byte[][] payloads = samples.stream().filter(sample -> sample != null && sample.length >= KMER_SIZE).toArray(byte[][]::new);
+		FrequencyTable frequencies = new FrequencyTable();
+		for (int index = 0; index < payloads.length; index++) {
+			byte[] payload = payloads[index];
+			long kmer = 0;
+			for (int position = 0; position < payload.length; position++) {
+				kmer = kmer << 8 | (payload[position] & 0xFF);
+				if (position >= KMER_SIZE - 1) {
+					frequencies.count(kmer, index);
+				}
+			}
+		}
+		PriorityQueue<Segment> candidates = new PriorityQueue<>();
+		for (byte[] payload : payloads) {
+			int last = Math.max(payload.length - SEGMENT_SIZE, 0);
+			for (int start = 0;; start = Math.min(start + SEGMENT_STEP, last)) {
+				int score = score(frequencies, payload, start);
+				if (score > 0) {
+					candidates.add(new Segment(payload, start, score));
+				}
+				if (start == last) {
+					break;
+				}
+			}
+		}
+		Segment[] chosen = new Segment[size / KMER_SIZE + 1];
+		int count = 0, total = 0;
+		while (total < size && count < chosen.length && !candidates.isEmpty()) {
+			Segment segment = candidates.poll();
+			int score = score(frequencies, segment.payload, segment.start);
+			if (score < segment.score) {
+				if (score > 0) {
+					candidates.add(new Segment(segment.payload, segment.start, score));
+				}
+				continue;
+			}
+			cover(frequencies, segment.payload, segment.start);
+			chosen[count++] = segment;
+			total += segment.length();
+		}
+		if (count == 0) {
+			return Optional.empty();
+		}
+		byte[] bytes = new byte[Math.min(total, size)];
+		int position = bytes.length;
+		for (int index = 0; index < count && position > 0; index++) {
+			Segment segment = chosen[index];
+			int length = Math.min(segment.length(), position);
+			position -= length;
+			System.arraycopy(segment.payload, segment.start + segment.length() - length, bytes, position, length);
+		}
+		return of(bytes);
+	}
+
+	/**
+	 * This method returns the id of the dictionary, which is the Adler-32
+	 * checksum of its contents.
+	 *
+	 * @return The dictionary's id
+	 */
+	public int getId() {
+		return this.id;
+	}
+
+	/**
+	 * This method returns a copy of the contents of the dictionary.
+	 *
+	 * @return The dictionary's contents
+	 */
+	public byte[] getBytes() {
+		return this.bytes.clone();
+	}
+
+	/**
+	 * This method returns the number of bytes of the dictionary.
+	 *
+	 * @return The dictionary's size
+	 */
+	public int size() {
+		return this.bytes.length;
+	}
+
+	/**
+	 * This method returns the contents of the dictionary without copying them,
+	 * so they must not be modified.
+	 *
+	 * @return The dictionary's contents
+	 */
+	byte[] bytes() {
+		return this.bytes;
+	}
+
+	/**
+	 * This method returns the total count of the sequences contained in the
+	 * segment of the given payload starting from the given index which appear in
+	 * more than one payload and have not been covered.
+	 *
+	 * @param frequencies The counts of the sequences
+	 * @param payload     The payload containing the segment
+	 * @param start       The index of the first byte of the segment
+	 * @return The score of the segment
+	 */
+	private static int score(FrequencyTable frequencies, byte[] payload, int start) {
+		int end = Math.min(start + SEGMENT_SIZE, payload.length), score = 0;
+		long kmer = 0;
+		for (int position = start; position < end; position++) {
+			kmer = kmer << 8 | (payload[position] & 0xFF);
+			if (position - start >= KMER_SIZE - 1) {
+				int frequency = frequencies.get(kmer);
+				if (frequency >= MIN_FREQUENCY) {
+					score += frequency;
+				}
+			}
+		}
+		return score;
+	}
+
+	/**
+	 * This method marks the sequences contained in the segment of the given
+	 * payload starting from the given index as covered, so they no longer count
+	 * towards the score of other segments.
+	 *
+	 * @param frequencies The counts of the sequences
+	 * @param payload     The payload containing the segment
+	 * @param start       The index of the first byte of the segment
+	 */
+	private static void cover(FrequencyTable frequencies, byte[] payload, int start) {
+		int end = Math.min(start + SEGMENT_SIZE, payload.length);
+		long kmer = 0;
+		for (int position = start; position < end; position++) {
+			kmer = kmer << 8 | (payload[position] & 0xFF);
+			if (position - start >= KMER_SIZE - 1) {
+				frequencies.clear(kmer);
+			}
+		}
+	}
+
+	/**
+	 * This class represents a candidate segment of a payload along with its score
+	 * when it was last computed. Candidates are ordered by decreasing score.
+	 */
+	private static final class Segment implements Comparable<Segment> {
+
+		final byte[] payload;
+		final int start;
+		final int score;
+
+		/**
+		 * This constructor constructs a new {@link Segment} of the given payload
+		 * starting from the given index with the given score.
+		 *
+		 * @param payload The payload containing the segment
+		 * @param start   The index of the first byte of the segment
+		 * @param score   The score of the segment
+		 */
+		Segment(byte[] payload, int start, int score) {
+			this.payload = payload;
+			this.start = start;
+			this.score = score;
+		}
+
+		/**
+		 * This method returns the number of bytes of the segment.
+		 *
+		 * @return The length of the segment
+		 */
+		int length() {
+			return Math.min(SEGMENT_SIZE, this.payload.length - this.start);
+		}
+
+		@Override
+		public int compareTo(Segment other) {
+			return Integer.compare(other.score, this.score);
+		}
+
+	}
+
+	/**
+	 * This class represents an open addressing table counting the number of
+	 * payloads each sequence of eight bytes appears in, without boxing the
+	 * sequences.
+	 */
+	private static final class FrequencyTable {
+
+		private long[] keys = new long[1 << 12];
+		private int[] counts = new int[1 << 12];
+		private int[] owners = new int[1 << 12];
+		private int size = 0;
+
+		/**
+		 * This method counts the given sequence as appearing in the payload with the
+		 * given index, unless it has already been counted for it.
+		 *
+		 * @param kmer  The sequence packed into a long
+		 * @param owner The index of the payload
+		 */
+		void count(long kmer, int owner) {
+			int slot = slot(kmer);
+			if (this.counts[slot] == 0) {
+				this.keys[slot] = kmer;
+				this.counts[slot] = 1;
+				this.owners[slot] = owner;
+				if (++this.size > this.keys.length >>> 1) {
+					grow();
+				}
+			} else if (this.owners[slot] != owner) {
+				this.counts[slot]++;
+				this.owners[slot] = owner;
+			}
+		}
+
+		/**
+		 * This method returns the number of payloads the given sequence appears in,
+		 * or zero if it has been covered.
+		 *
+		 * @param kmer The sequence packed into a long
+		 * @return The count of the sequence
+		 */
+		int get(long kmer) {
+			int slot = slot(kmer);
+			return this.counts[slot] < 0 ? 0 : this.counts[slot];
+		}
+
+		/**
+		 * This method marks the given sequence as covered.
+		 *
+		 * @param kmer The sequence packed into a long
+		 */
+		void clear(long kmer) {
+			int slot = slot(kmer);
+			if (this.counts[slot] > 0) {
+				this.counts[slot] = -1;
+			}
+		}
+
+		/**
+		 * This method returns the slot of the given sequence, or the empty slot it
+		 * would be placed in.
+		 *
+		 * @param kmer The sequence packed into a long
+		 * @return The slot of the sequence
+		 */
+		private int slot(long kmer) {
+			int mask = this.keys.length - 1;
+			long hash = kmer * 0x9E3779B97F4A7C15L;
+			int slot = (int) (hash ^ hash >>> 32) & mask;
+			while (this.counts[slot] != 0 && this.keys[slot] != kmer) {
+				slot = (slot + 1) & mask;
+			}
+			return slot;
+		}
+
+		/**
+		 * This method doubles the capacity of the table.
+		 */
+		private void grow() {
+			long[] keys = this.keys;
+			int[] counts = this.counts, owners = this.owners;
+			this.keys = new long[keys.length << 1];
+			this.counts = new int[keys.length << 1];
+			this.owners = new int[keys.length << 1];
+			for (int index = 0; index < keys.length; index++) {
+				if (counts[index] != 0) {
+					int slot = slot(keys[index]);
+					this.keys[slot] = keys[index];
+					this.counts[slot] = counts[index];
+					this.owners[slot] = owners[index];
+				}
+			}
+		}
+
+	}
+
+}
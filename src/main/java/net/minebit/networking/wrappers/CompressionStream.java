@@ -0,0 +1,174 @@
+package net.minebit.networking.wrappers;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import net.minebit.networking.util.converters.primitives.IntegerConverter;
+
+/**
+ * This class represents the pair of raw deflate streams a connection keeps for
+ * the {@link StreamWrapper}, one compressing the payloads it sends and one
+ * decompressing the payloads it receives. Every payload is flushed with
+ * {@link Deflater#SYNC_FLUSH}, so it can be decompressed as soon as it arrives
+ * while the history of both streams spans every payload of the connection. The
+ * four bytes every flush ends with are always the same, so they are removed
+ * from the sent payloads and appended again to the received ones. Each
+ * direction is guarded by its own lock, and once a received payload fails to
+ * decompress the incoming stream can no longer be trusted and every later
+ * payload fails as well.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+final class CompressionStream {
+
+	private static final byte[] FLUSH_TAIL = { 0x00, 0x00, (byte) 0xFF, (byte) 0xFF };
+	private static final int MAX_RATIO = 1032;
+	private static final int INITIAL_SCRATCH_SIZE = 256;
+	private static final int MAX_SCRATCH_SIZE = 1 << 20;
+
+	private final Deflater deflater;
+	private final Inflater inflater = new Inflater(true);
+	private final byte[] probe = new byte[1];
+
+	private byte[] output = new byte[INITIAL_SCRATCH_SIZE];
+	private byte[] input = new byte[INITIAL_SCRATCH_SIZE];
+	private boolean ended = false;
+	private boolean broken = false;
+
+	/**
+	 * This constructor constructs a new {@link CompressionStream} whose outgoing
+	 * stream uses the given compression level.
+	 *
+	 * @param level The compression level of the outgoing stream
+	 */
+	CompressionStream(int level) {
+		this.deflater = new Deflater(level, true);
+	}
+
+	/**
+	 * This method compresses the given region of the given array into the
+	 * outgoing stream and returns the length of the original data followed by the
+	 * flushed output, without the flush tail, in an {@link Optional}. If the
+	 * stream has been ended an empty {@link Optional} will be returned.
+	 *
+	 * @param source The array containing the data to compress
+	 * @param offset The index of the first byte to compress
+	 * @param length The number of bytes to compress
+	 * @return The compressed payload
+	 */
+	Optional<byte[]> deflate(byte[] source, int offset, int length) {
+		synchronized (this.deflater) {
+			if (this.ended) {
+				return Optional.empty();
+			}
+			this.deflater.setInput(source, offset, length);
+			byte[] output = this.output;
+			int position = IntegerConverter.BYTES;
+			while (true) {
+				position += this.deflater.deflate(output, position, output.length - position, Deflater.SYNC_FLUSH);
+				if (position < output.length) {
+					break;
+				}
+				output = Arrays.copyOf(output, output.length << 1);
+			}
+			this.output = output.length > MAX_SCRATCH_SIZE ? new byte[INITIAL_SCRATCH_SIZE] : output;
+			int end = position - FLUSH_TAIL.length;
+			if (end < IntegerConverter.BYTES) {
+				return Optional.empty();
+			}
+			IntegerConverter.INSTANCE.writeInt(output, 0, length);
+			return Optional.of(Arrays.copyOf(output, end));
+		}
+	}
+
+	/**
+	 * This method decompresses the given region of the given array, which must be
+	 * the next payload compressed by the outgoing stream of the other end of the
+	 * connection, through the incoming stream and returns the original data in an
+	 * {@link Optional}. If the stream has been ended or broken, or the payload is
+	 * corrupted, an empty {@link Optional} will be returned.
+	 *
+	 * @param source The array containing the payload
+	 * @param offset The index of the first byte of the payload
+	 * @param length The number of bytes of the payload
+	 * @return The decompressed data
+	 */
+	Optional<byte[]> inflate(byte[] source, int offset, int length) {
+		synchronized (this.inflater) {
+			if (this.ended || this.broken || length < IntegerConverter.BYTES) {
+				return Optional.empty();
+			}
+			int unwrappedLength = IntegerConverter.INSTANCE.readInt(source, offset);
+			int dataLength = length - IntegerConverter.BYTES + FLUSH_TAIL.length;
+			if (unwrappedLength < 0 || unwrappedLength > (long) dataLength * MAX_RATIO) {
+				this.broken = true;
+				return Optional.empty();
+			}
+			byte[] input = this.input.length < dataLength ? new byte[dataLength] : this.input;
+			System.arraycopy(source, offset + IntegerConverter.BYTES, input, 0, dataLength - FLUSH_TAIL.length);
+			System.arraycopy(FLUSH_TAIL, 0, input, dataLength - FLUSH_TAIL.length, FLUSH_TAIL.length);
+			this.input = input.length > MAX_SCRATCH_SIZE ? new byte[INITIAL_SCRATCH_SIZE] : input;
+			byte[] result = new byte[unwrappedLength];
+			if (!inflate(input, dataLength, result)) {
+				this.broken = true;
+				return Optional.empty();
+			}
+			return Optional.of(result);
+		}
+	}
+
+	/**
+	 * This method ends both streams, releasing their native memory. Every later
+	 * operation fails.
+	 */
+	void end() {
+		synchronized (this.deflater) {
+			synchronized (this.inflater) {
+				if (!this.ended) {
+					this.ended = true;
+					this.deflater.end();
+					this.inflater.end();
+				}
+			}
+		}
+	}
+
+	/**
+	 * This method decompresses the given number of bytes of the given array,
+	 * ending with a flush tail, into the whole of the given target array, and
+	 * returns whether the input was consumed exactly when the target was filled.
+	 *
+	 * @param input  The array containing the payload and the flush tail
+	 * @param length The number of bytes of the payload and the flush tail
+	 * @param target The array to write the decompressed data into
+	 * @return Whether the operation was successful
+	 */
+	private boolean inflate(byte[] input, int length, byte[] target) {
+		this.inflater.setInput(input, 0, length);
+		int position = 0;
+		try {
+			while (position < target.length) {
+				int count = this.inflater.inflate(target, position, target.length - position);
+				if (count == 0 && (this.inflater.finished() || this.inflater.needsInput() || this.inflater.needsDictionary())) {
+					return false;
+				}
+				position += count;
+			}
+			while (this.inflater.getRemaining() > 0) {
+				int remaining = this.inflater.getRemaining();
+				if (this.inflater.inflate(this.probe) > 0 || this.inflater.finished() || this.inflater.getRemaining() == remaining) {
+					return false;
+				}
+			}
+		} catch (DataFormatException exception) {
+			return false;
+		}
+		return true;
+	}
+
+}
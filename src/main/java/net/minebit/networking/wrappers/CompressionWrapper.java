@@ -1,14 +1,32 @@
 package net.minebit.networking.wrappers;
 
-import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.zip.DataFormatException;
 import java.util.zip.Deflater;
 import java.util.zip.Inflater;
 
+import net.minebit.networking.util.converters.primitives.IntegerConverter;
+import net.minebit.networking.wrappers.ZlibPool.Compressor;
+import net.minebit.networking.wrappers.ZlibPool.Decompressor;
+
 /**
  * This class contains the means to compress the given byte arrays and vice
- * versa to decompress the given byte arrays.
+ * versa to decompress the given byte arrays. Compression is adaptive: payloads
+ * too short to benefit from it, payloads a sample of which appears to be
+ * incompressible and payloads whose compression would not make them shorter
+ * are stored as they are, while the compression level is raised or lowered
+ * according to the ratio and the processing time per byte observed. Every
+ * payload starts with a flag stating whether it was compressed and the length
+ * of the original data, so it is decompressed straight into an array of the
+ * exact size and is never longer than the original by more than
+ * {@link #HEADER_SIZE} bytes. The native zlib state is kept in a bounded pool
+ * and reused, and the data may also be compressed and decompressed into
+ * buffers supplied by the caller. The number of payloads taking each
+ * {@link ECompressionPath} is counted.
  * 
  * @author Aggelowe
  * @since v0.2.0-beta
@@ -27,89 +45,703 @@ public class CompressionWrapper implements IWrapper {
 	public static final CompressionWrapper INSTANCE = new CompressionWrapper();
 
 	/**
-	 * The size of the buffer used in compression and decompression of the byte
-	 * arrays.
+	 * The number of bytes of the flag and the length of the original data
+	 * preceding the stored or compressed data.
+	 */
+	public static final int HEADER_SIZE = 1 + IntegerConverter.BYTES;
+
+	/**
+	 * The length below which payloads are stored without being compressed.
+	 */
+	public static final int MIN_LENGTH = 128;
+
+	/**
+	 * The length from which a sample of payloads is checked for being
+	 * incompressible before they are compressed.
+	 */
+	public static final int PROBE_LENGTH = 2048;
+
+	/**
+	 * The lowest compression level used.
 	 */
-	private int bufferSize = 1024;
+	public static final int MIN_LEVEL = Deflater.BEST_SPEED;
+
+	/**
+	 * The highest compression level used.
+	 */
+	public static final int MAX_LEVEL = 6;
+
+	/**
+	 * The processing time per byte of original data, in nanoseconds, above which
+	 * the compression level is lowered.
+	 */
+	public static final int BUDGET_NANOS_PER_BYTE = 16;
+
+	private static final byte STORED = 0x00;
+	private static final byte DEFLATED = 0x01;
+
+	private static final int MAX_RATIO = 1032;
+
+	private static final int SAMPLE_CHUNKS = 64;
+	private static final int SAMPLE_CHUNK_SIZE = 16;
+	private static final int SAMPLE_SIZE = SAMPLE_CHUNKS * SAMPLE_CHUNK_SIZE;
+	private static final double MAX_ENTROPY = 7.5;
+	private static final double[] ENTROPY_TERMS = new double[SAMPLE_SIZE + 1];
+
+	private static final int WINDOW = 256;
+	private static final double POOR_RATIO = 0.9;
+	private static final double MIN_GAIN = 0.02;
+	private static final int HOLD_WINDOWS = 64;
+
+	static {
+		for (int count = 1; count <= SAMPLE_SIZE; count++) {
+			ENTROPY_TERMS[count] = count * Math.log(count) / Math.log(2);
+		}
+	}
+
+	private final Object mutex = new Object();
+
+	private final ZlibPool pool = new ZlibPool(MIN_LEVEL, Runtime.getRuntime().availableProcessors() * 2);
+	private final LongAdder[] counts = new LongAdder[ECompressionPath.values().length];
+	private final LongAdder windowInput = new LongAdder();
+	private final LongAdder windowOutput = new LongAdder();
+	private final LongAdder windowNanos = new LongAdder();
+	private final AtomicInteger windowCount = new AtomicInteger(0);
+
+	private volatile int level = MIN_LEVEL;
+	private double previousRatio = 1;
+	private boolean raised = false;
+	private int hold = 0;
 
 	/**
 	 * This constructor constructs a new {@link CompressionWrapper} that to
 	 * compresses and decompresses byte arrays.
 	 */
 	private CompressionWrapper() {
+		for (int index = 0; index < this.counts.length; index++) {
+			this.counts[index] = new LongAdder();
+		}
 	}
 
 	/**
-	 * This method compresses the given byte array using the ZLib algorithm and
-	 * returns the result in an {@link Optional}. If the given array is NULL or an
-	 * error occurs while compressing it then an empty {@link Optional} will be
-	 * returned.
+	 * This method compresses the given byte array using the ZLib algorithm, unless
+	 * it is stored as it is, and returns the result in an {@link Optional}. If
+	 * the given array is NULL or an error occurs while compressing it then an
+	 * empty {@link Optional} will be returned.
 	 */
 	@Override
 	public Optional<byte[]> wrap(byte[] bytes) {
 		if (bytes == null) {
 			return Optional.empty();
 		}
-		Deflater deflater = new Deflater(Deflater.BEST_SPEED);
-		deflater.setInput(bytes);
-		deflater.finish();
-		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-		byte[] compressionBuffer = new byte[this.bufferSize];
-		while (!deflater.finished()) {
-			int size = deflater.deflate(compressionBuffer);
-			if (size > 0) {
-				outputStream.write(compressionBuffer, 0, size);
-			}
+		Optional<ByteBuffer> wrappedOptional = wrap(ByteBuffer.wrap(bytes));
+		if (!wrappedOptional.isPresent()) {
+			return Optional.empty();
 		}
-		deflater.end();
-		byte[] result = outputStream.toByteArray();
-		return Optional.of(result);
+		return Optional.of(wrappedOptional.get().array());
 	}
 
 	/**
-	 * This method decompresses the given byte array using the ZLib algorithm and
-	 * returns the result in an {@link Optional}. If the given array is NULL or an
-	 * error occurs while decompressing it then an empty {@link Optional} will be
-	 * returned.
+	 * This method compresses the remaining bytes of the given buffer using the
+	 * ZLib algorithm through a pooled deflater, unless they are stored as they
+	 * are, and returns a buffer over an array of the exact size of the result in
+	 * an {@link Optional}. The position of the given buffer is not changed. If the
+	 * given buffer is NULL or an error occurs while compressing it then an empty
+	 * {@link Optional} will be returned.
 	 */
 	@Override
-	public Optional<byte[]> unwrap(byte[] bytes) {
+	public Optional<ByteBuffer> wrap(ByteBuffer bytes) {
 		if (bytes == null) {
 			return Optional.empty();
 		}
-		Inflater inflater = new Inflater();
-		inflater.setInput(bytes);
-		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-		byte[] decompressionBuffer = new byte[this.bufferSize];
-		while (!inflater.finished()) {
-			int remaining;
+		byte[] source;
+		int offset, length = bytes.remaining();
+		if (bytes.hasArray()) {
+			source = bytes.array();
+			offset = bytes.arrayOffset() + bytes.position();
+		} else {
+			source = new byte[length];
+			offset = 0;
+			bytes.duplicate().get(source);
+		}
+		if (length > Integer.MAX_VALUE - HEADER_SIZE) {
+			return Optional.empty();
+		}
+		ECompressionPath path = classify(ByteBuffer.wrap(source, offset, length));
+		if (path == ECompressionPath.COMPRESSED) {
+			Compressor compressor = this.pool.acquireCompressor();
+			try {
+				byte[] scratch = compressor.scratch(HEADER_SIZE + length);
+				int written = deflate(compressor, source, offset, length, scratch, HEADER_SIZE, length - 1);
+				if (written >= 0) {
+					writeHeader(scratch, 0, DEFLATED, length);
+					return Optional.of(ByteBuffer.wrap(Arrays.copyOf(scratch, HEADER_SIZE + written)));
+				}
+			} finally {
+				this.pool.release(compressor);
+			}
+			path = ECompressionPath.EXPANDED;
+		}
+		byte[] result = new byte[HEADER_SIZE + length];
+		store(path, source, offset, length, result, 0);
+		return Optional.of(ByteBuffer.wrap(result));
+	}
+
+	/**
+	 * This method compresses the given number of bytes of the given source array
+	 * starting from the given offset using the ZLib algorithm through a pooled
+	 * deflater, unless they are stored as they are, and writes the result into
+	 * the given target array starting from the given offset, without allocating
+	 * any arrays. The target must have at least
+	 * {@link #getMaxWrappedLength(int)} bytes available at its offset. If the
+	 * region of either array is not valid, -1 will be returned.
+	 *
+	 * @param source       The array containing the data to compress
+	 * @param offset       The index of the first byte to compress
+	 * @param length       The number of bytes to compress
+	 * @param target       The array to write the compressed data into
+	 * @param targetOffset The index to start writing from
+	 * @return The number of bytes written or -1
+	 */
+	public int wrap(byte[] source, int offset, int length, byte[] target, int targetOffset) {
+		int maxLength = getMaxWrappedLength(length);
+		if (!isValidRegion(source, offset, length) || maxLength < 0 || !isValidRegion(target, targetOffset, maxLength)) {
+			return -1;
+		}
+		ECompressionPath path = classify(ByteBuffer.wrap(source, offset, length));
+		if (path == ECompressionPath.COMPRESSED) {
+			Compressor compressor = this.pool.acquireCompressor();
+			try {
+				int written = deflate(compressor, source, offset, length, target, targetOffset + HEADER_SIZE, length - 1);
+				if (written >= 0) {
+					writeHeader(target, targetOffset, DEFLATED, length);
+					return HEADER_SIZE + written;
+				}
+			} finally {
+				this.pool.release(compressor);
+			}
+			path = ECompressionPath.EXPANDED;
+		}
+		store(path, source, offset, length, target, targetOffset);
+		return maxLength;
+	}
+
+	/**
+	 * This method compresses the remaining bytes of the given source buffer using
+	 * the ZLib algorithm through a pooled deflater, unless they are stored as
+	 * they are, and writes the result into the given target buffer, advancing
+	 * the positions of both buffers. Direct buffers are read and written in place
+	 * on runtimes supporting it. The target must have at least
+	 * {@link #getMaxWrappedLength(int)} bytes remaining. If either buffer is NULL
+	 * or the target is too short the operation will be marked as failed.
+	 *
+	 * @param source The buffer containing the data to compress
+	 * @param target The buffer to write the compressed data into
+	 * @return Whether the operation was successful
+	 */
+	public boolean wrap(ByteBuffer source, ByteBuffer target) {
+		if (source == null || target == null) {
+			return false;
+		}
+		int start = target.position(), length = source.remaining();
+		int maxLength = getMaxWrappedLength(length);
+		if (maxLength < 0 || target.remaining() < maxLength) {
+			return false;
+		}
+		ECompressionPath path = classify(source);
+		if (path == ECompressionPath.COMPRESSED) {
+			ByteBuffer window = target.duplicate();
+			window.position(start + HEADER_SIZE);
+			window.limit(start + HEADER_SIZE + length - 1);
+			Compressor compressor = this.pool.acquireCompressor();
+			boolean deflated;
 			try {
-				remaining = inflater.inflate(decompressionBuffer);
-			} catch (DataFormatException exception) {
-				return Optional.empty();
+				compressor.setLevel(this.level);
+				long begin = System.nanoTime();
+				deflated = ZlibBuffers.deflate(compressor.deflater, source.duplicate(), window);
+				observe(length, deflated ? window.position() - start - HEADER_SIZE : length, System.nanoTime() - begin);
+			} finally {
+				this.pool.release(compressor);
 			}
-			if (remaining > 0) {
-				outputStream.write(decompressionBuffer, 0, remaining);
+			if (deflated) {
+				this.counts[ECompressionPath.COMPRESSED.ordinal()].increment();
+				target.put(start, DEFLATED);
+				target.putInt(start + 1, length);
+				target.position(window.position());
+				source.position(source.limit());
+				return true;
 			}
+			path = ECompressionPath.EXPANDED;
+		}
+		this.counts[path.ordinal()].increment();
+		target.put(STORED);
+		target.putInt(length);
+		target.put(source);
+		return true;
+	}
+
+	/**
+	 * This method decompresses the given byte array using the ZLib algorithm, if
+	 * it was compressed, and returns the result in an {@link Optional}. If the
+	 * given array is NULL or an error occurs while decompressing it then an empty
+	 * {@link Optional} will be returned.
+	 */
+	@Override
+	public Optional<byte[]> unwrap(byte[] bytes) {
+		if (bytes == null) {
+			return Optional.empty();
+		}
+		return unwrap(bytes, 0, bytes.length);
+	}
+
+	/**
+	 * This method decompresses the given number of bytes of the given array
+	 * starting from the given offset using the ZLib algorithm through a pooled
+	 * inflater, if they were compressed, straight into an array of the size
+	 * stated by their header, and returns the result in an {@link Optional}. If
+	 * the given region is not valid or an error occurs while decompressing it
+	 * then an empty {@link Optional} will be returned.
+	 */
+	@Override
+	public Optional<byte[]> unwrap(byte[] bytes, int offset, int length) {
+		int unwrappedLength = getUnwrappedLength(bytes, offset, length);
+		if (unwrappedLength < 0) {
+			return Optional.empty();
+		}
+		byte[] result = new byte[unwrappedLength];
+		if (unwrap(bytes, offset, length, result, 0) < 0) {
+			return Optional.empty();
 		}
-		inflater.end();
-		byte[] result = outputStream.toByteArray();
 		return Optional.of(result);
 	}
 
+	/**
+	 * This method decompresses the given number of bytes of the given source
+	 * array starting from the given offset using the ZLib algorithm through a
+	 * pooled inflater, if they were compressed, and writes the result into the
+	 * given target array starting from the given offset, without allocating any
+	 * arrays. The target must have at least
+	 * {@link #getUnwrappedLength(byte[], int, int)} bytes available at its
+	 * offset. If the region of either array is not valid, the data is corrupted
+	 * or its length differs from the one stated by its header, -1 will be
+	 * returned.
+	 *
+	 * @param source       The array containing the data to decompress
+	 * @param offset       The index of the first byte to decompress
+	 * @param length       The number of bytes to decompress
+	 * @param target       The array to write the decompressed data into
+	 * @param targetOffset The index to start writing from
+	 * @return The number of bytes written or -1
+	 */
+	public int unwrap(byte[] source, int offset, int length, byte[] target, int targetOffset) {
+		int unwrappedLength = getUnwrappedLength(source, offset, length);
+		if (unwrappedLength < 0 || !isValidRegion(target, targetOffset, unwrappedLength)) {
+			return -1;
+		}
+		if (source[offset] == STORED) {
+			System.arraycopy(source, offset + HEADER_SIZE, target, targetOffset, unwrappedLength);
+			return unwrappedLength;
+		}
+		Decompressor decompressor = this.pool.acquireDecompressor();
+		try {
+			int written = inflate(decompressor, source, offset + HEADER_SIZE, length - HEADER_SIZE, target, targetOffset, unwrappedLength);
+			return written == unwrappedLength ? written : -1;
+		} finally {
+			this.pool.release(decompressor);
+		}
+	}
+
+	/**
+	 * This method decompresses the remaining bytes of the given source buffer
+	 * using the ZLib algorithm through a pooled inflater, if they were
+	 * compressed, and writes the result into the given target buffer, advancing
+	 * the positions of both buffers. Direct buffers are read and written in place
+	 * on runtimes supporting it. The target must have at least as many bytes
+	 * remaining as stated by the header of the data. If either buffer is NULL,
+	 * the data is corrupted or does not fit into the target the operation will be
+	 * marked as failed, and the contents of the target after its position are
+	 * undefined.
+	 *
+	 * @param source The buffer containing the data to decompress
+	 * @param target The buffer to write the decompressed data into
+	 * @return Whether the operation was successful
+	 */
+	public boolean unwrap(ByteBuffer source, ByteBuffer target) {
+		if (source == null || target == null || source.remaining() < HEADER_SIZE) {
+			return false;
+		}
+		int start = source.position();
+		byte flag = source.get(start);
+		int unwrappedLength = source.getInt(start + 1);
+		if (!isValidUnwrappedLength(flag, unwrappedLength, source.remaining()) || target.remaining() < unwrappedLength) {
+			return false;
+		}
+		source.position(start + HEADER_SIZE);
+		if (flag == STORED) {
+			target.put(source);
+			return true;
+		}
+		ByteBuffer window = target.duplicate();
+		window.limit(window.position() + unwrappedLength);
+		Decompressor decompressor = this.pool.acquireDecompressor();
+		try {
+			if (!ZlibBuffers.inflate(decompressor, source, window) || window.hasRemaining()) {
+				source.position(start);
+				return false;
+			}
+		} finally {
+			this.pool.release(decompressor);
+		}
+		target.position(window.position());
+		return true;
+	}
+
+	/**
+	 * This method returns the number of payloads that have taken the given path
+	 * since the wrapper was loaded.
+	 *
+	 * @param path The path taken by the payloads
+	 * @return The number of payloads
+	 */
+	public long getCount(ECompressionPath path) {
+		return path == null ? 0 : this.counts[path.ordinal()].sum();
+	}
+
+	/**
+	 * This method returns the compression level currently used, which is adapted
+	 * to the payloads compressed.
+	 *
+	 * @return The current compression level
+	 */
+	public int getLevel() {
+		return this.level;
+	}
+
+	/**
+	 * This method returns the largest number of bytes the wrapped form of the
+	 * given number of bytes may occupy, including its header. If the number is
+	 * negative or the result overflows -1 will be returned.
+	 *
+	 * @param length The number of bytes to compress
+	 * @return The maximum wrapped length or -1
+	 */
+	public static int getMaxWrappedLength(int length) {
+		return length < 0 || length > Integer.MAX_VALUE - HEADER_SIZE ? -1 : HEADER_SIZE + length;
+	}
+
+	/**
+	 * This method returns the length of the original data stated by the header of
+	 * the wrapped data in the given number of bytes of the given array starting
+	 * from the given offset. If the region is not valid or the stated length
+	 * could not have been wrapped into it, -1 will be returned.
+	 *
+	 * @param source The array containing the wrapped data
+	 * @param offset The index of the first byte of the wrapped data
+	 * @param length The number of bytes of the wrapped data
+	 * @return The length of the original data or -1
+	 */
+	public static int getUnwrappedLength(byte[] source, int offset, int length) {
+		if (!isValidRegion(source, offset, length) || length < HEADER_SIZE) {
+			return -1;
+		}
+		int unwrappedLength = IntegerConverter.INSTANCE.readInt(source, offset + 1);
+		return isValidUnwrappedLength(source[offset], unwrappedLength, length) ? unwrappedLength : -1;
+	}
+
 	/**
 	 * This method sets the size of the buffer used for compressing and
-	 * decompressing the given byte arrays.
+	 * decompressing the given byte arrays. It no longer has any effect, as the
+	 * output is written straight into arrays of the required size.
 	 * 
 	 * @param bufferSize The new buffer size
 	 * @return Whether the operation was successful.
+	 * @deprecated The wrapper no longer uses an intermediate buffer
 	 */
+	@Deprecated
 	public boolean setBufferSize(int bufferSize) {
-		if (bufferSize <= 0) {
-			return false;
+		return bufferSize > 0;
+	}
+
+	/**
+	 * This method returns the path the remaining bytes of the given buffer should
+	 * take, which is {@link ECompressionPath#COMPRESSED} if compressing them
+	 * should be attempted.
+	 *
+	 * @param buffer The buffer containing the payload
+	 * @return The path of the payload
+	 */
+	private static ECompressionPath classify(ByteBuffer buffer) {
+		int length = buffer.remaining();
+		if (length < MIN_LENGTH) {
+			return ECompressionPath.SMALL;
 		}
-		this.bufferSize = bufferSize;
-		return true;
+		if (length >= PROBE_LENGTH && isIncompressible(buffer)) {
+			return ECompressionPath.INCOMPRESSIBLE;
+		}
+		return ECompressionPath.COMPRESSED;
+	}
+
+	/**
+	 * This method estimates the entropy of the remaining bytes of the given
+	 * buffer from evenly spaced chunks of them and returns whether it is too high
+	 * for the bytes to be worth compressing. The buffer must have at least
+	 * {@link #PROBE_LENGTH} bytes remaining.
+	 *
+	 * @param buffer The buffer containing the payload
+	 * @return Whether the payload appears to be incompressible
+	 */
+	private static boolean isIncompressible(ByteBuffer buffer) {
+		int[] frequencies = new int[256];
+		int start = buffer.position();
+		int step = (buffer.remaining() - SAMPLE_CHUNK_SIZE) / (SAMPLE_CHUNKS - 1);
+		for (int chunk = 0; chunk < SAMPLE_CHUNKS; chunk++) {
+			int base = start + chunk * step;
+			for (int index = base; index < base + SAMPLE_CHUNK_SIZE; index++) {
+				frequencies[buffer.get(index) & 0xFF]++;
+			}
+		}
+		double sum = 0;
+		for (int frequency : frequencies) {
+			sum += ENTROPY_TERMS[frequency];
+		}
+		return ENTROPY_TERMS[SAMPLE_SIZE] / SAMPLE_SIZE - sum / SAMPLE_SIZE > MAX_ENTROPY;
+	}
+
+	/**
+	 * This method compresses the given region of the given source array with the
+	 * given pooled deflater at the current level into the given region of the
+	 * given target array, records the ratio and time observed and returns the
+	 * number of bytes written, or -1 if they did not fit.
+	 *
+	 * @param compressor   The pooled deflater to use
+	 * @param source       The array containing the data to compress
+	 * @param offset       The index of the first byte to compress
+	 * @param length       The number of bytes to compress
+	 * @param target       The array to write the compressed data into
+	 * @param targetOffset The index to start writing from
+	 * @param targetLength The number of bytes available in the target
+	 * @return The number of bytes written or -1
+	 */
+	private int deflate(Compressor compressor, byte[] source, int offset, int length, byte[] target, int targetOffset, int targetLength) {
+		compressor.setLevel(this.level);
+		long begin = System.nanoTime();
+		int written = deflate(compressor.deflater, source, offset, length, target, targetOffset, targetLength);
+		observe(length, written < 0 ? length : written, System.nanoTime() - begin);
+		if (written >= 0) {
+			this.counts[ECompressionPath.COMPRESSED.ordinal()].increment();
+		}
+		return written;
+	}
+
+	/**
+	 * This method records a compression of the given number of bytes into the
+	 * given number of bytes that took the given time, and adapts the compression
+	 * level at the end of every window of compressions.
+	 *
+	 * @param input  The number of bytes compressed
+	 * @param output The number of bytes produced, or the input if aborted
+	 * @param nanos  The time taken in nanoseconds
+	 */
+	private void observe(int input, int output, long nanos) {
+		this.windowInput.add(input);
+		this.windowOutput.add(output);
+		this.windowNanos.add(nanos);
+		if ((this.windowCount.incrementAndGet() & (WINDOW - 1)) == 0) {
+			adapt();
+		}
+	}
+
+	/**
+	 * This method adapts the compression level to the ratio and the time per byte
+	 * observed during the last window. The level is lowered when the time exceeds
+	 * the budget and dropped to the lowest one when the payloads barely compress.
+	 * Otherwise it is raised one step at a time, as long as every step improves
+	 * the ratio noticeably, after which it is held for a number of windows.
+	 */
+	private void adapt() {
+		synchronized (this.mutex) {
+			long input = this.windowInput.sumThenReset(), output = this.windowOutput.sumThenReset(), nanos = this.windowNanos.sumThenReset();
+			if (input == 0) {
+				return;
+			}
+			double ratio = (double) output / input, cost = (double) nanos / input;
+			int level = this.level;
+			if (ratio > POOR_RATIO) {
+				level = MIN_LEVEL;
+				this.raised = false;
+				this.hold = HOLD_WINDOWS;
+			} else if (cost > BUDGET_NANOS_PER_BYTE || (this.raised && ratio > this.previousRatio * (1 - MIN_GAIN))) {
+				level = Math.max(level - 1, MIN_LEVEL);
+				this.raised = false;
+				this.hold = HOLD_WINDOWS;
+			} else if (this.hold > 0) {
+				this.hold--;
+				this.raised = false;
+			} else if (level < MAX_LEVEL) {
+				level++;
+				this.previousRatio = ratio;
+				this.raised = true;
+			} else {
+				this.raised = false;
+			}
+			this.level = level;
+		}
+	}
+
+	/**
+	 * This method counts the given path and writes the given region of the given
+	 * source array into the given target array uncompressed, preceded by its
+	 * header.
+	 *
+	 * @param path         The path taken by the payload
+	 * @param source       The array containing the payload
+	 * @param offset       The index of the first byte of the payload
+	 * @param length       The number of bytes of the payload
+	 * @param target       The array to write the payload into
+	 * @param targetOffset The index to start writing from
+	 */
+	private void store(ECompressionPath path, byte[] source, int offset, int length, byte[] target, int targetOffset) {
+		this.counts[path.ordinal()].increment();
+		writeHeader(target, targetOffset, STORED, length);
+		System.arraycopy(source, offset, target, targetOffset + HEADER_SIZE, length);
+	}
+
+	/**
+	 * This method writes the header of wrapped data with the given flag and
+	 * original length into the given array starting from the given offset.
+	 *
+	 * @param target The array to write the header into
+	 * @param offset The index to start writing from
+	 * @param flag   Whether the data is stored or compressed
+	 * @param length The length of the original data
+	 */
+	private static void writeHeader(byte[] target, int offset, byte flag, int length) {
+		target[offset] = flag;
+		IntegerConverter.INSTANCE.writeInt(target, offset + 1, length);
+	}
+
+	/**
+	 * This method compresses the given region of the given source array with the
+	 * given deflater into the given region of the given target array and returns
+	 * the number of bytes written, or -1 if they did not fit.
+	 *
+	 * @param deflater     The deflater to use
+	 * @param source       The array containing the data to compress
+	 * @param offset       The index of the first byte to compress
+	 * @param length       The number of bytes to compress
+	 * @param target       The array to write the compressed data into
+	 * @param targetOffset The index to start writing from
+	 * @param targetLength The number of bytes available in the target
+	 * @return The number of bytes written or -1
+	 */
+	static int deflate(Deflater deflater, byte[] source, int offset, int length, byte[] target, int targetOffset, int targetLength) {
+		deflater.setInput(source, offset, length);
+		deflater.finish();
+		int position = targetOffset, end = targetOffset + targetLength;
+		while (!deflater.finished()) {
+			if (position == end) {
+				return -1;
+			}
+			position += deflater.deflate(target, position, end - position);
+		}
+		return position - targetOffset;
+	}
+
+	/**
+	 * This method decompresses the given region of the given source array with the
+	 * given pooled inflater into the given region of the given target array and
+	 * returns the number of bytes written, or -1 if the data is corrupted,
+	 * incomplete or did not fit.
+	 *
+	 * @param decompressor The pooled inflater to use
+	 * @param source       The array containing the data to decompress
+	 * @param offset       The index of the first byte to decompress
+	 * @param length       The number of bytes to decompress
+	 * @param target       The array to write the decompressed data into
+	 * @param targetOffset The index to start writing from
+	 * @param targetLength The number of bytes available in the target
+	 * @return The number of bytes written or -1
+	 */
+	static int inflate(Decompressor decompressor, byte[] source, int offset, int length, byte[] target, int targetOffset, int targetLength) {
+		return inflate(decompressor, null, source, offset, length, target, targetOffset, targetLength);
+	}
+
+	/**
+	 * This method decompresses the given region of the given source array with the
+	 * given pooled inflater into the given region of the given target array,
+	 * supplying the given preset dictionary when the data requires one, and
+	 * returns the number of bytes written, or -1 if the data is corrupted,
+	 * incomplete, did not fit or requires a different dictionary. Once the target
+	 * is full, any remaining output is detected through the probe array of the
+	 * inflater, so nothing is allocated.
+	 *
+	 * @param decompressor The pooled inflater to use
+	 * @param dictionary   The preset dictionary of the data or NULL
+	 * @param source       The array containing the data to decompress
+	 * @param offset       The index of the first byte to decompress
+	 * @param length       The number of bytes to decompress
+	 * @param target       The array to write the decompressed data into
+	 * @param targetOffset The index to start writing from
+	 * @param targetLength The number of bytes available in the target
+	 * @return The number of bytes written or -1
+	 */
+	static int inflate(Decompressor decompressor, byte[] dictionary, byte[] source, int offset, int length, byte[] target, int targetOffset, int targetLength) {
+		Inflater inflater = decompressor.inflater;
+		inflater.setInput(source, offset, length);
+		int position = targetOffset, end = targetOffset + targetLength;
+		try {
+			while (!inflater.finished()) {
+				boolean full = position == end;
+				int count = full ? inflater.inflate(decompressor.probe) : inflater.inflate(target, position, end - position);
+				if (full && count > 0) {
+					return -1;
+				}
+				if (count == 0 && !inflater.finished() && inflater.needsDictionary()) {
+					if (dictionary == null) {
+						return -1;
+					}
+					inflater.setDictionary(dictionary);
+					dictionary = null;
+					continue;
+				}
+				if (count == 0 && !inflater.finished() && inflater.needsInput()) {
+					return -1;
+				}
+				position += count;
+			}
+		} catch (DataFormatException | IllegalArgumentException exception) {
+			return -1;
+		}
+		return position - targetOffset;
+	}
+
+	/**
+	 * This method returns whether the given length of original data could have
+	 * been wrapped with the given flag into the given number of bytes, which
+	 * include the header.
+	 *
+	 * @param flag            Whether the data is stored or compressed
+	 * @param unwrappedLength The length stated by the header
+	 * @param length          The number of bytes of the wrapped data
+	 * @return Whether the length is acceptable
+	 */
+	private static boolean isValidUnwrappedLength(byte flag, int unwrappedLength, int length) {
+		if (flag == STORED) {
+			return unwrappedLength == length - HEADER_SIZE;
+		}
+		return flag == DEFLATED && unwrappedLength >= 0 && unwrappedLength <= (long) (length - HEADER_SIZE) * MAX_RATIO;
+	}
+
+	/**
+	 * This method returns whether the given region lies within the given array.
+	 *
+	 * @param array  The array containing the region
+	 * @param offset The index of the first byte of the region
+	 * @param length The number of bytes of the region
+	 * @return Whether the region is valid
+	 */
+	private static boolean isValidRegion(byte[] array, int offset, int length) {
+		return array != null && offset >= 0 && length >= 0 && offset <= array.length - length;
 	}
 
 }
@@ -0,0 +1,301 @@
+package net.minebit.networking.wrappers;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.Deflater;
+
+import net.minebit.networking.util.converters.primitives.IntegerConverter;
+import net.minebit.networking.wrappers.ZlibPool.Compressor;
+import net.minebit.networking.wrappers.ZlibPool.Decompressor;
+
+/**
+ * This class contains the means to compress the given byte arrays with a preset
+ * {@link CompressionDictionary} and vice versa to decompress them. Short
+ * messages repeat the same titles and key names but rarely repeat anything
+ * within themselves, so compressing them against a dictionary containing those
+ * repetitions shortens them far more than compressing them on their own. Every
+ * payload starts with a flag stating whether it was compressed, the id of the
+ * dictionary it was compressed with, or zero if none was used, and the length
+ * of the original data. Dictionaries are registered with the wrapper, and the
+ * one used by a connection is the one negotiated when its session was created
+ * and kept in its {@link WrapperContext}. Payloads are decompressed with the
+ * registered dictionary that has the id they carry, regardless of the
+ * connection they were received through. Payloads that would not be shortened
+ * are stored as they are.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+public class DictionaryWrapper implements IWrapper {
+
+	/**
+	 * The unique id of the wrapper's container
+	 */
+	public static final byte ID = 0x01;
+
+	/**
+	 * The only instance of the {@link DictionaryWrapper} object.
+	 */
+	public static final DictionaryWrapper INSTANCE = new DictionaryWrapper();
+
+	/**
+	 * The number of bytes of the flag, the dictionary id and the length of the
+	 * original data preceding the stored or compressed data.
+	 */
+	public static final int HEADER_SIZE = 1 + 2 * IntegerConverter.BYTES;
+
+	/**
+	 * The compression level used.
+	 */
+	public static final int LEVEL = 6;
+
+	private static final byte STORED = 0x00;
+	private static final byte DEFLATED = 0x01;
+
+	private static final int MAX_RATIO = 1032;
+
+	private final ZlibPool pool = new ZlibPool(LEVEL, Runtime.getRuntime().availableProcessors() * 2);
+	private final ConcurrentHashMap<Integer, CompressionDictionary> dictionaries = new ConcurrentHashMap<>();
+
+	/**
+	 * This constructor constructs a new {@link DictionaryWrapper} that
+	 * compresses and decompresses byte arrays with preset dictionaries.
+	 */
+	private DictionaryWrapper() {
+	}
+
+	/**
+	 * This method registers the given dictionary, so it may be negotiated and
+	 * used to decompress the payloads carrying its id. If the dictionary is NULL
+	 * or a dictionary with the same id is already registered the operation will
+	 * be marked as failed.
+	 *
+	 * @param dictionary The dictionary to register
+	 * @return Whether the operation was successful
+	 */
+	public boolean register(CompressionDictionary dictionary) {
+		if (dictionary == null) {
+			return false;
+		}
+		return this.dictionaries.putIfAbsent(dictionary.getId(), dictionary) == null;
+	}
+
+	/**
+	 * This method unregisters the dictionary with the given id. Payloads
+	 * compressed with it can no longer be decompressed. If no dictionary with the
+	 * given id is registered the operation will be marked as failed.
+	 *
+	 * @param id The id of the dictionary
+	 * @return Whether the operation was successful
+	 */
+	public boolean unregister(int id) {
+		return this.dictionaries.remove(id) != null;
+	}
+
+	/**
+	 * This method returns the registered dictionary with the given id in an
+	 * {@link Optional}. If it could not be found, an empty {@link Optional} will
+	 * be returned.
+	 *
+	 * @param id The id of the dictionary
+	 * @return The dictionary with the given id
+	 */
+	public Optional<CompressionDictionary> getDictionary(int id) {
+		return Optional.ofNullable(this.dictionaries.get(id));
+	}
+
+	/**
+	 * This method returns the ids of all the registered dictionaries, which a
+	 * client offers when creating a session.
+	 *
+	 * @return The ids of the dictionaries
+	 */
+	public int[] getDictionaryIds() {
+		return this.dictionaries.keySet().stream().mapToInt(Integer::intValue).toArray();
+	}
+
+	/**
+	 * This method returns the first of the given dictionary ids, which are
+	 * offered in order of preference, that belongs to a registered dictionary.
+	 * If none does or the array is NULL zero will be returned, meaning that no
+	 * dictionary is used.
+	 *
+	 * @param offered The ids of the offered dictionaries
+	 * @return The id of the chosen dictionary or zero
+	 */
+	public int negotiate(int[] offered) {
+		if (offered == null) {
+			return 0;
+		}
+		for (int id : offered) {
+			if (id != 0 && this.dictionaries.containsKey(id)) {
+				return id;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * This method compresses the given byte array without a dictionary, unless it
+	 * is stored as it is, and returns the result in an {@link Optional}. If the
+	 * given array is NULL or an error occurs while compressing it then an empty
+	 * {@link Optional} will be returned.
+	 */
+	@Override
+	public Optional<byte[]> wrap(byte[] bytes) {
+		if (bytes == null) {
+			return Optional.empty();
+		}
+		return wrap(bytes, 0, bytes.length, 0);
+	}
+
+	/**
+	 * This method compresses the remaining bytes of the given buffer with the
+	 * dictionary of the given context, unless they are stored as they are, and
+	 * returns a buffer over the result in an {@link Optional}. The position of
+	 * the given buffer is not changed. If the context is NULL no dictionary is
+	 * used. If the given buffer is NULL, the dictionary of the context is not
+	 * registered or an error occurs while compressing the bytes then an empty
+	 * {@link Optional} will be returned.
+	 */
+	@Override
+	public Optional<ByteBuffer> wrap(ByteBuffer bytes, WrapperContext context) {
+		if (bytes == null) {
+			return Optional.empty();
+		}
+		int dictionaryId = context == null ? 0 : context.getDictionaryId();
+		Optional<byte[]> wrappedOptional;
+		if (bytes.hasArray()) {
+			wrappedOptional = wrap(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining(), dictionaryId);
+		} else {
+			byte[] array = new byte[bytes.remaining()];
+			bytes.duplicate().get(array);
+			wrappedOptional = wrap(array, 0, array.length, dictionaryId);
+		}
+		return wrappedOptional.isPresent() ? Optional.of(ByteBuffer.wrap(wrappedOptional.get())) : Optional.empty();
+	}
+
+	/**
+	 * This method compresses the given number of bytes of the given array starting
+	 * from the given offset with the registered dictionary that has the given id,
+	 * or without a dictionary if the id is zero, unless they are stored as they
+	 * are, and returns the result in an {@link Optional}. If the region is not
+	 * valid, the dictionary is not registered or an error occurs while
+	 * compressing the bytes then an empty {@link Optional} will be returned.
+	 *
+	 * @param bytes        The array containing the bytes to compress
+	 * @param offset       The index of the first byte to compress
+	 * @param length       The number of bytes to compress
+	 * @param dictionaryId The id of the dictionary or zero
+	 * @return The resultant byte array
+	 */
+	public Optional<byte[]> wrap(byte[] bytes, int offset, int length, int dictionaryId) {
+		if (bytes == null || offset < 0 || length < 0 || offset > bytes.length - length || length > Integer.MAX_VALUE - HEADER_SIZE) {
+			return Optional.empty();
+		}
+		CompressionDictionary dictionary = null;
+		if (dictionaryId != 0) {
+			dictionary = this.dictionaries.get(dictionaryId);
+			if (dictionary == null) {
+				return Optional.empty();
+			}
+		}
+		Compressor compressor = this.pool.acquireCompressor();
+		try {
+			byte[] scratch = compressor.scratch(HEADER_SIZE + length);
+			Deflater deflater = compressor.deflater;
+			if (dictionary != null) {
+				deflater.setDictionary(dictionary.bytes());
+			}
+			int written = CompressionWrapper.deflate(deflater, bytes, offset, length, scratch, HEADER_SIZE, Math.max(length - 1, 0));
+			if (written >= 0) {
+				writeHeader(scratch, DEFLATED, dictionaryId, length);
+				return Optional.of(Arrays.copyOf(scratch, HEADER_SIZE + written));
+			}
+		} finally {
+			this.pool.release(compressor);
+		}
+		byte[] result = new byte[HEADER_SIZE + length];
+		writeHeader(result, STORED, 0, length);
+		System.arraycopy(bytes, offset, result, HEADER_SIZE, length);
+		return Optional.of(result);
+	}
+
+	/**
+	 * This method decompresses the given byte array with the registered
+	 * dictionary whose id it carries, if it was compressed, and returns the
+	 * result in an {@link Optional}. If the given array is NULL, its dictionary is
+	 * not registered or an error occurs while decompressing it then an empty
+	 * {@link Optional} will be returned.
+	 */
+	@Override
+	public Optional<byte[]> unwrap(byte[] bytes) {
+		if (bytes == null) {
+			return Optional.empty();
+		}
+		return unwrap(bytes, 0, bytes.length);
+	}
+
+	/**
+	 * This method decompresses the given number of bytes of the given array
+	 * starting from the given offset with the registered dictionary whose id they
+	 * carry, if they were compressed, straight into an array of the size stated
+	 * by their header, and returns the result in an {@link Optional}. If the given
+	 * region is not valid, its dictionary is not registered or an error occurs
+	 * while decompressing it then an empty {@link Optional} will be returned.
+	 */
+	@Override
+	public Optional<byte[]> unwrap(byte[] bytes, int offset, int length) {
+		if (bytes == null || offset < 0 || length < HEADER_SIZE || offset > bytes.length - length) {
+			return Optional.empty();
+		}
+		byte flag = bytes[offset];
+		int dictionaryId = IntegerConverter.INSTANCE.readInt(bytes, offset + 1);
+		int unwrappedLength = IntegerConverter.INSTANCE.readInt(bytes, offset + 1 + IntegerConverter.BYTES);
+		int wrappedLength = length - HEADER_SIZE;
+		if (flag == STORED) {
+			if (dictionaryId != 0 || unwrappedLength != wrappedLength) {
+				return Optional.empty();
+			}
+			return Optional.of(Arrays.copyOfRange(bytes, offset + HEADER_SIZE, offset + length));
+		}
+		if (flag != DEFLATED || unwrappedLength < 0 || unwrappedLength > (long) wrappedLength * MAX_RATIO) {
+			return Optional.empty();
+		}
+		byte[] dictionary = null;
+		if (dictionaryId != 0) {
+			CompressionDictionary registered = this.dictionaries.get(dictionaryId);
+			if (registered == null) {
+				return Optional.empty();
+			}
+			dictionary = registered.bytes();
+		}
+		byte[] result = new byte[unwrappedLength];
+		Decompressor decompressor = this.pool.acquireDecompressor();
+		try {
+			int written = CompressionWrapper.inflate(decompressor, dictionary, bytes, offset + HEADER_SIZE, wrappedLength, result, 0, unwrappedLength);
+			return written == unwrappedLength ? Optional.of(result) : Optional.empty();
+		} finally {
+			this.pool.release(decompressor);
+		}
+	}
+
+	/**
+	 * This method writes the header of wrapped data with the given flag,
+	 * dictionary id and original length into the start of the given array.
+	 *
+	 * @param target       The array to write the header into
+	 * @param flag         Whether the data is stored or compressed
+	 * @param dictionaryId The id of the dictionary or zero
+	 * @param length       The length of the original data
+	 */
+	private static void writeHeader(byte[] target, byte flag, int dictionaryId, int length) {
+		target[0] = flag;
+		IntegerConverter.INSTANCE.writeInt(target, 1, dictionaryId);
+		IntegerConverter.INSTANCE.writeInt(target, 1 + IntegerConverter.BYTES, length);
+	}
+
+}
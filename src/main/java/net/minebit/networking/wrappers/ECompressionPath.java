@@ -0,0 +1,37 @@
+package net.minebit.networking.wrappers;
+
+/**
+ * This enum contains the ways the {@link CompressionWrapper} may handle a
+ * payload, which are counted so the effect of the adaptive compression can be
+ * observed.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+public enum ECompressionPath {
+
+	/**
+	 * The payload was stored uncompressed because it was too short to benefit
+	 * from compression.
+	 */
+	SMALL,
+
+	/**
+	 * The payload was stored uncompressed because a sample of it appeared to be
+	 * incompressible, such as already compressed or encrypted data.
+	 */
+	INCOMPRESSIBLE,
+
+	/**
+	 * The payload was stored uncompressed because its compression was aborted
+	 * once it would not have been shorter than the payload.
+	 */
+	EXPANDED,
+
+	/**
+	 * The payload was compressed.
+	 */
+	COMPRESSED;
+
+}
@@ -1,5 +1,6 @@
 package net.minebit.networking.wrappers;
 
+import java.util.Arrays;
 import java.util.Optional;
 
 /**
@@ -13,7 +14,25 @@ import java.util.Optional;
  */
 public enum EWrapperContainer {
 
-	COMPRESSION(CompressionWrapper.ID, CompressionWrapper.INSTANCE);
+	COMPRESSION(CompressionWrapper.ID, CompressionWrapper.INSTANCE),
+
+	DICTIONARY(DictionaryWrapper.ID, DictionaryWrapper.INSTANCE),
+
+	STREAM(StreamWrapper.ID, StreamWrapper.INSTANCE),
+
+	LZ(LzWrapper.ID, LzWrapper.INSTANCE);
+
+	private static final Optional<EWrapperContainer>[] CONTAINERS;
+
+	static {
+		@SuppressWarnings("unchecked")
+		Optional<EWrapperContainer>[] containers = (Optional<EWrapperContainer>[]) new Optional<?>[256];
+		Arrays.fill(containers, Optional.empty());
+		for (EWrapperContainer container : values()) {
+			containers[container.id & 0xFF] = Optional.of(container);
+		}
+		CONTAINERS = containers;
+	}
 
 	private final byte id;
 	private final IWrapper wrapper;
@@ -50,28 +69,15 @@ public enum EWrapperContainer {
 	}
 
 	/**
-	 * This method searches with binary search the enum for the
-	 * {@link EWrapperContainer} that has the given id. If it could not be found, an
-	 * empty {@link Optional} shall be returned.
+	 * This method returns the {@link EWrapperContainer} that has the given id from
+	 * a flat array indexed by id. If it could not be found, an empty
+	 * {@link Optional} shall be returned.
 	 * 
 	 * @param id The id number of the wanted wrapper.
 	 * @return The wrapper with the exact given id.
 	 */
 	public static Optional<EWrapperContainer> getById(byte id) {
-		int min = 0, max = values().length - 1, mid;
-		while (max >= min) {
-			mid = (max - min) / 2 + min;
-			EWrapperContainer value = values()[mid];
-			if (value.id == id) {
-				return Optional.of(value);
-			}
-			if (value.id > id) {
-				max = mid - 1;
-				continue;
-			}
-			min = mid + 1;
-		}
-		return Optional.empty();
+		return CONTAINERS[id & 0xFF];
 	}
 
 }
@@ -1,12 +1,14 @@
 package net.minebit.networking.wrappers;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Optional;
 
 /**
  * Classes implementing this interface define how an array of bytes may be
- * wrapped into an new array of bytes or unwrapped into the original.
- * 
- * TODO Connection data will be given as input for both methods
+ * wrapped into an new array of bytes or unwrapped into the original. The
+ * methods taking a {@link WrapperContext} are given the state of the connection
+ * the bytes are sent or received through.
  * 
  * @author Aggelowe
  * @since v0.2.0-beta
@@ -33,4 +35,93 @@ public interface IWrapper {
 	 */
 	public Optional<byte[]> unwrap(byte[] bytes);
 
+	/**
+	 * This method wraps the remaining bytes of the given buffer using the defined
+	 * algorithm, without changing its position, and returns a buffer over the
+	 * wrapped result in an {@link Optional}. If the an error occurs while
+	 * wrapping the bytes the {@link Optional} will be empty. By default the bytes
+	 * are copied into an array and wrapped through {@link #wrap(byte[])}.
+	 * 
+	 * @param bytes The buffer to wrap
+	 * @return The resultant buffer
+	 */
+	public default Optional<ByteBuffer> wrap(ByteBuffer bytes) {
+		if (bytes == null) {
+			return Optional.empty();
+		}
+		byte[] array = new byte[bytes.remaining()];
+		bytes.duplicate().get(array);
+		Optional<byte[]> wrappedOptional = wrap(array);
+		return wrappedOptional.isPresent() ? Optional.of(ByteBuffer.wrap(wrappedOptional.get())) : Optional.empty();
+	}
+
+	/**
+	 * This method wraps the remaining bytes of the given buffer using the defined
+	 * algorithm and the state of the given {@link WrapperContext}, without
+	 * changing its position, and returns a buffer over the wrapped result in an
+	 * {@link Optional}. If the an error occurs while wrapping the bytes the
+	 * {@link Optional} will be empty. The resultant buffer may be direct, so its
+	 * readers must not assume it is backed by an accessible array. By default
+	 * the context is ignored and the bytes are wrapped through
+	 * {@link #wrap(ByteBuffer)}.
+	 * 
+	 * @param bytes   The buffer to wrap
+	 * @param context The context of the connection or NULL
+	 * @return The resultant buffer
+	 */
+	public default Optional<ByteBuffer> wrap(ByteBuffer bytes, WrapperContext context) {
+		return wrap(bytes);
+	}
+
+	/**
+	 * This method unwraps the given number of bytes of the given array starting
+	 * from the given offset using the defined algorithm and returns the unwrapped
+	 * result in an {@link Optional}. If the region is not valid or an error
+	 * occurs while unwrapping the bytes the {@link Optional} will be empty. By
+	 * default the region is copied and unwrapped through
+	 * {@link #unwrap(byte[])}.
+	 * 
+	 * @param bytes  The array containing the bytes to unwrap
+	 * @param offset The index of the first byte to unwrap
+	 * @param length The number of bytes to unwrap
+	 * @return The resultant byte array
+	 */
+	public default Optional<byte[]> unwrap(byte[] bytes, int offset, int length) {
+		if (bytes == null || offset < 0 || length < 0 || offset > bytes.length - length) {
+			return Optional.empty();
+		}
+		return unwrap(Arrays.copyOfRange(bytes, offset, offset + length));
+	}
+
+	/**
+	 * This method unwraps the given number of bytes of the given array starting
+	 * from the given offset using the defined algorithm and the state of the
+	 * given {@link WrapperContext}, and returns the unwrapped result in an
+	 * {@link Optional}. If the region is not valid or an error occurs while
+	 * unwrapping the bytes the {@link Optional} will be empty. By default the
+	 * context is ignored and the bytes are unwrapped through
+	 * {@link #unwrap(byte[], int, int)}.
+	 * 
+	 * @param bytes   The array containing the bytes to unwrap
+	 * @param offset  The index of the first byte to unwrap
+	 * @param length  The number of bytes to unwrap
+	 * @param context The context of the connection or NULL
+	 * @return The resultant byte array
+	 */
+	public default Optional<byte[]> unwrap(byte[] bytes, int offset, int length, WrapperContext context) {
+		return unwrap(bytes, offset, length);
+	}
+
+	/**
+	 * This method returns whether the wrapper keeps state across the payloads of
+	 * a connection, in which case the payloads must be unwrapped in the order
+	 * they were wrapped, through the context of the same connection. By default
+	 * wrappers are stateless.
+	 * 
+	 * @return Whether the wrapper is stateful
+	 */
+	public default boolean isStateful() {
+		return false;
+	}
+
 }
@@ -0,0 +1,603 @@
+package net.minebit.networking.wrappers;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Optional;
+
+import net.minebit.networking.util.SlotPool;
+import net.minebit.networking.util.converters.primitives.IntegerConverter;
+import net.minebit.networking.util.converters.primitives.LongConverter;
+
+/**
+ * This class contains the means to compress the given byte arrays with a fast
+ * LZ77 algorithm written in plain Java and vice versa to decompress them,
+ * trading some of the ratio of the {@link CompressionWrapper} for far less
+ * processing time. The compressed data follows the block format of LZ4: a
+ * sequence of literal runs, each followed by a match copying earlier output
+ * from a distance of at most 65535 bytes. Matches are found through hash
+ * chains, visiting a bounded number of earlier positions with the same four
+ * leading bytes, and decompression only copies literals and matches with
+ * {@link System#arraycopy(Object, int, Object, int, int)}. The hash tables are
+ * kept in a bounded pool and reused without being cleared, and the data may
+ * also be compressed and decompressed into arrays supplied by the caller
+ * without allocating any. Every payload starts with a flag stating whether it
+ * was compressed and the length of the original data, and payloads that would
+ * not be shortened are stored as they are.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+public class LzWrapper implements IWrapper {
+
+	/**
+	 * The unique id of the wrapper's container
+	 */
+	public static final byte ID = 0x03;
+
+	/**
+	 * The only instance of the {@link LzWrapper} object.
+	 */
+	public static final LzWrapper INSTANCE = new LzWrapper();
+
+	/**
+	 * The number of bytes of the flag and the length of the original data
+	 * preceding the stored or compressed data.
+	 */
+	public static final int HEADER_SIZE = 1 + IntegerConverter.BYTES;
+
+	/**
+	 * The number of earlier positions visited through the hash chains when
+	 * looking for a match.
+	 */
+	public static final int MAX_ATTEMPTS = 4;
+
+	private static final byte STORED = 0x00;
+	private static final byte COMPRESSED = 0x01;
+
+	private static final int MIN_MATCH = 4;
+	private static final int LAST_LITERALS = 5;
+	private static final int MATCH_FIND_LIMIT = 12;
+	private static final int MAX_DISTANCE = 0xFFFF;
+	private static final int HASH_LOG = 14;
+	private static final int WINDOW_MASK = 0xFFFF;
+	private static final int NICE_LENGTH = 64;
+	private static final int SKIP_TRIGGER = 6;
+	private static final int RUN_MASK = 0x0F;
+	private static final int MAX_RATIO = 255;
+	private static final int MAX_SCRATCH_SIZE = 1 << 20;
+
+	private final SlotPool<State> states = new SlotPool<>(Runtime.getRuntime().availableProcessors() * 2, State::new, State::trim, null);
+
+	/**
+	 * This constructor constructs a new {@link LzWrapper} that compresses and
+	 * decompresses byte arrays.
+	 */
+	private LzWrapper() {
+	}
+
+	/**
+	 * This method compresses the given byte array, unless it is stored as it is,
+	 * and returns the result in an {@link Optional}. If the given array is NULL
+	 * then an empty {@link Optional} will be returned.
+	 */
+	@Override
+	public Optional<byte[]> wrap(byte[] bytes) {
+		if (bytes == null) {
+			return Optional.empty();
+		}
+		return wrap(bytes, 0, bytes.length);
+	}
+
+	/**
+	 * This method compresses the remaining bytes of the given buffer, unless they
+	 * are stored as they are, and returns a buffer over an array of the exact
+	 * size of the result in an {@link Optional}. The position of the given buffer
+	 * is not changed. If the given buffer is NULL then an empty {@link Optional}
+	 * will be returned.
+	 */
+	@Override
+	public Optional<ByteBuffer> wrap(ByteBuffer bytes) {
+		if (bytes == null) {
+			return Optional.empty();
+		}
+		Optional<byte[]> wrappedOptional;
+		if (bytes.hasArray()) {
+			wrappedOptional = wrap(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+		} else {
+			byte[] array = new byte[bytes.remaining()];
+			bytes.duplicate().get(array);
+			wrappedOptional = wrap(array, 0, array.length);
+		}
+		return wrappedOptional.isPresent() ? Optional.of(ByteBuffer.wrap(wrappedOptional.get())) : Optional.empty();
+	}
+
+	/**
+	 * This method compresses the given number of bytes of the given array starting
+	 * from the given offset, unless they are stored as they are, and returns the
+	 * result in an array of its exact size contained in an {@link Optional}. If
+	 * the region is not valid an empty {@link Optional} will be returned.
+	 *
+	 * @param bytes  The array containing the bytes to compress
+	 * @param offset The index of the first byte to compress
+	 * @param length The number of bytes to compress
+	 * @return The resultant byte array
+	 */
+	public Optional<byte[]> wrap(byte[] bytes, int offset, int length) {
+		int maxLength = getMaxWrappedLength(length);
+		if (!isValidRegion(bytes, offset, length) || maxLength < 0) {
+			return Optional.empty();
+		}
+		State state = this.states.acquire();
+		try {
+			byte[] scratch = state.scratch(maxLength);
+			int written = compress(state, bytes, offset, length, scratch, HEADER_SIZE, length - 1);
+			if (written >= 0) {
+				writeHeader(scratch, 0, COMPRESSED, length);
+				return Optional.of(Arrays.copyOf(scratch, HEADER_SIZE + written));
+			}
+		} finally {
+			this.states.release(state);
+		}
+		byte[] result = new byte[maxLength];
+		writeHeader(result, 0, STORED, length);
+		System.arraycopy(bytes, offset, result, HEADER_SIZE, length);
+		return Optional.of(result);
+	}
+
+	/**
+	 * This method compresses the given number of bytes of the given source array
+	 * starting from the given offset, unless they are stored as they are, and
+	 * writes the result into the given target array starting from the given
+	 * offset, without allocating any arrays. The target must have at least
+	 * {@link #getMaxWrappedLength(int)} bytes available at its offset. If the
+	 * region of either array is not valid, -1 will be returned.
+	 *
+	 * @param source       The array containing the data to compress
+	 * @param offset       The index of the first byte to compress
+	 * @param length       The number of bytes to compress
+	 * @param target       The array to write the compressed data into
+	 * @param targetOffset The index to start writing from
+	 * @return The number of bytes written or -1
+	 */
+	public int wrap(byte[] source, int offset, int length, byte[] target, int targetOffset) {
+		int maxLength = getMaxWrappedLength(length);
+		if (!isValidRegion(source, offset, length) || maxLength < 0 || !isValidRegion(target, targetOffset, maxLength)) {
+			return -1;
+		}
+		State state = this.states.acquire();
+		try {
+			int written = compress(state, source, offset, length, target, targetOffset + HEADER_SIZE, length - 1);
+			if (written >= 0) {
+				writeHeader(target, targetOffset, COMPRESSED, length);
+				return HEADER_SIZE + written;
+			}
+		} finally {
+			this.states.release(state);
+		}
+		writeHeader(target, targetOffset, STORED, length);
+		System.arraycopy(source, offset, target, targetOffset + HEADER_SIZE, length);
+		return maxLength;
+	}
+
+	/**
+	 * This method decompresses the given byte array, if it was compressed, and
+	 * returns the result in an {@link Optional}. If the given array is NULL or it
+	 * is corrupted then an empty {@link Optional} will be returned.
+	 */
+	@Override
+	public Optional<byte[]> unwrap(byte[] bytes) {
+		if (bytes == null) {
+			return Optional.empty();
+		}
+		return unwrap(bytes, 0, bytes.length);
+	}
+
+	/**
+	 * This method decompresses the given number of bytes of the given array
+	 * starting from the given offset, if they were compressed, straight into an
+	 * array of the size stated by their header, and returns the result in an
+	 * {@link Optional}. If the given region is not valid or it is corrupted then
+	 * an empty {@link Optional} will be returned.
+	 */
+	@Override
+	public Optional<byte[]> unwrap(byte[] bytes, int offset, int length) {
+		int unwrappedLength = getUnwrappedLength(bytes, offset, length);
+		if (unwrappedLength < 0) {
+			return Optional.empty();
+		}
+		byte[] result = new byte[unwrappedLength];
+		if (unwrap(bytes, offset, length, result, 0) < 0) {
+			return Optional.empty();
+		}
+		return Optional.of(result);
+	}
+
+	/**
+	 * This method decompresses the given number of bytes of the given source
+	 * array starting from the given offset, if they were compressed, and writes
+	 * the result into the given target array starting from the given offset,
+	 * without allocating any arrays. The target must have at least
+	 * {@link #getUnwrappedLength(byte[], int, int)} bytes available at its
+	 * offset. If the region of either array is not valid, the data is corrupted
+	 * or its length differs from the one stated by its header, -1 will be
+	 * returned.
+	 *
+	 * @param source       The array containing the data to decompress
+	 * @param offset       The index of the first byte to decompress
+	 * @param length       The number of bytes to decompress
+	 * @param target       The array to write the decompressed data into
+	 * @param targetOffset The index to start writing from
+	 * @return The number of bytes written or -1
+	 */
+	public int unwrap(byte[] source, int offset, int length, byte[] target, int targetOffset) {
+		int unwrappedLength = getUnwrappedLength(source, offset, length);
+		if (unwrappedLength < 0 || !isValidRegion(target, targetOffset, unwrappedLength)) {
+			return -1;
+		}
+		if (source[offset] == STORED) {
+			System.arraycopy(source, offset + HEADER_SIZE, target, targetOffset, unwrappedLength);
+			return unwrappedLength;
+		}
+		return decompress(source, offset + HEADER_SIZE, length - HEADER_SIZE, target, targetOffset, unwrappedLength) ? unwrappedLength : -1;
+	}
+
+	/**
+	 * This method returns the largest number of bytes the wrapped form of the
+	 * given number of bytes may occupy, including its header. If the number is
+	 * negative or the result overflows -1 will be returned.
+	 *
+	 * @param length The number of bytes to compress
+	 * @return The maximum wrapped length or -1
+	 */
+	public static int getMaxWrappedLength(int length) {
+		return length < 0 || length > Integer.MAX_VALUE - HEADER_SIZE ? -1 : HEADER_SIZE + length;
+	}
+
+	/**
+	 * This method returns the length of the original data stated by the header of
+	 * the wrapped data in the given number of bytes of the given array starting
+	 * from the given offset. If the region is not valid or the stated length
+	 * could not have been wrapped into it, -1 will be returned.
+	 *
+	 * @param source The array containing the wrapped data
+	 * @param offset The index of the first byte of the wrapped data
+	 * @param length The number of bytes of the wrapped data
+	 * @return The length of the original data or -1
+	 */
+	public static int getUnwrappedLength(byte[] source, int offset, int length) {
+		if (!isValidRegion(source, offset, length) || length < HEADER_SIZE) {
+			return -1;
+		}
+		byte flag = source[offset];
+		int unwrappedLength = IntegerConverter.INSTANCE.readInt(source, offset + 1);
+		if (flag == STORED) {
+			return unwrappedLength == length - HEADER_SIZE ? unwrappedLength : -1;
+		}
+		boolean valid = flag == COMPRESSED && unwrappedLength >= 0 && unwrappedLength <= (long) (length - HEADER_SIZE) * MAX_RATIO;
+		return valid ? unwrappedLength : -1;
+	}
+
+	/**
+	 * This method compresses the given region of the given source array into the
+	 * given region of the given target array using the hash chains of the given
+	 * state, and returns the number of bytes written, or -1 if they did not fit.
+	 *
+	 * @param state        The hash chains to use
+	 * @param source       The array containing the data to compress
+	 * @param offset       The index of the first byte to compress
+	 * @param length       The number of bytes to compress
+	 * @param target       The array to write the compressed data into
+	 * @param targetOffset The index to start writing from
+	 * @param targetLength The number of bytes available in the target
+	 * @return The number of bytes written or -1
+	 */
+	private static int compress(State state, byte[] source, int offset, int length, byte[] target, int targetOffset, int targetLength) {
+		int[] head = state.head, chain = state.chain;
+		int base = state.advance(length) - offset;
+		int end = offset + length, matchLimit = end - MATCH_FIND_LIMIT, literalLimit = end - LAST_LITERALS;
+		int anchor = offset, position = offset, output = targetOffset, outputEnd = targetOffset + targetLength;
+		while (position < matchLimit) {
+			int sequence = IntegerConverter.INSTANCE.readInt(source, position);
+			int hash = hash(sequence), current = base + position;
+			int candidate = head[hash], bestLength = 0, bestPosition = 0;
+			for (int attempt = 0; attempt < MAX_ATTEMPTS && candidate >= state.base && current - candidate <= MAX_DISTANCE && candidate < current; attempt++) {
+				int match = candidate - base;
+				if (IntegerConverter.INSTANCE.readInt(source, match) == sequence) {
+					int matchLength = MIN_MATCH + commonLength(source, match + MIN_MATCH, position + MIN_MATCH, literalLimit);
+					if (matchLength > bestLength) {
+						bestLength = matchLength;
+						bestPosition = match;
+						if (matchLength >= NICE_LENGTH) {
+							break;
+						}
+					}
+				}
+				candidate = chain[candidate & WINDOW_MASK];
+			}
+			chain[current & WINDOW_MASK] = head[hash];
+			head[hash] = current;
+			if (bestLength == 0) {
+				position += 1 + ((position - anchor) >>> SKIP_TRIGGER);
+				continue;
+			}
+			output = writeSequence(source, anchor, position - anchor, position - bestPosition, bestLength, target, output, outputEnd);
+			if (output < 0) {
+				return -1;
+			}
+			int matchEnd = position + bestLength, insertEnd = Math.min(matchEnd, matchLimit);
+			for (int inserted = Math.max(position + 1, insertEnd - 2); inserted < insertEnd; inserted++) {
+				int insertedHash = hash(IntegerConverter.INSTANCE.readInt(source, inserted));
+				chain[(base + inserted) & WINDOW_MASK] = head[insertedHash];
+				head[insertedHash] = base + inserted;
+			}
+			position = anchor = matchEnd;
+		}
+		output = writeSequence(source, anchor, end - anchor, 0, 0, target, output, outputEnd);
+		return output < 0 ? -1 : output - targetOffset;
+	}
+
+	/**
+	 * This method writes a sequence of the given literals followed by a match of
+	 * the given length at the given distance, or only the literals if the match
+	 * length is zero, into the given target array, and returns the index after
+	 * the sequence, or -1 if it did not fit.
+	 *
+	 * @param source         The array containing the literals
+	 * @param literalOffset  The index of the first literal
+	 * @param literalLength  The number of literals
+	 * @param distance       The distance of the match
+	 * @param matchLength    The length of the match or zero
+	 * @param target         The array to write the sequence into
+	 * @param output         The index to start writing from
+	 * @param outputEnd      The index the sequence must end before
+	 * @return The index after the sequence or -1
+	 */
+	private static int writeSequence(byte[] source, int literalOffset, int literalLength, int distance, int matchLength, byte[] target, int output, int outputEnd) {
+		int matchCode = matchLength - MIN_MATCH;
+		long required = 1L + literalLength + literalLength / 255 + 1 + (matchLength == 0 ? 0 : 2 + matchCode / 255 + 1);
+		if (required > outputEnd - output) {
+			return -1;
+		}
+		int token = output++;
+		if (literalLength >= RUN_MASK) {
+			target[token] = (byte) (RUN_MASK << 4);
+			output = writeLength(target, output, literalLength - RUN_MASK);
+		} else {
+			target[token] = (byte) (literalLength << 4);
+		}
+		System.arraycopy(source, literalOffset, target, output, literalLength);
+		output += literalLength;
+		if (matchLength == 0) {
+			return output;
+		}
+		target[output++] = (byte) distance;
+		target[output++] = (byte) (distance >>> 8);
+		if (matchCode >= RUN_MASK) {
+			target[token] |= RUN_MASK;
+			output = writeLength(target, output, matchCode - RUN_MASK);
+		} else {
+			target[token] |= (byte) matchCode;
+		}
+		return output;
+	}
+
+	/**
+	 * This method writes the given remainder of a run length as a sequence of
+	 * bytes of 255 followed by a byte smaller than 255, and returns the index
+	 * after them.
+	 *
+	 * @param target The array to write the length into
+	 * @param output The index to start writing from
+	 * @param length The remainder of the run length
+	 * @return The index after the length
+	 */
+	private static int writeLength(byte[] target, int output, int length) {
+		while (length >= 0xFF) {
+			target[output++] = (byte) 0xFF;
+			length -= 0xFF;
+		}
+		target[output++] = (byte) length;
+		return output;
+	}
+
+	/**
+	 * This method decompresses the given region of the given source array into
+	 * the given region of the given target array and returns whether the data
+	 * filled the target exactly. Every length and distance is checked against
+	 * the bounds of both regions, so corrupted data cannot read or write outside
+	 * them.
+	 *
+	 * @param source       The array containing the data to decompress
+	 * @param offset       The index of the first byte to decompress
+	 * @param length       The number of bytes to decompress
+	 * @param target       The array to write the decompressed data into
+	 * @param targetOffset The index to start writing from
+	 * @param targetLength The number of bytes of the original data
+	 * @return Whether the operation was successful
+	 */
+	private static boolean decompress(byte[] source, int offset, int length, byte[] target, int targetOffset, int targetLength) {
+		int input = offset, end = offset + length, output = targetOffset, outputEnd = targetOffset + targetLength;
+		while (input < end) {
+			int token = source[input++] & 0xFF;
+			int literalLength = token >>> 4;
+			if (literalLength == RUN_MASK) {
+				int value;
+				do {
+					if (input == end) {
+						return false;
+					}
+					value = source[input++] & 0xFF;
+					literalLength += value;
+				} while (value == 0xFF && literalLength > 0);
+			}
+			if (literalLength < 0 || literalLength > end - input || literalLength > outputEnd - output) {
+				return false;
+			}
+			System.arraycopy(source, input, target, output, literalLength);
+			input += literalLength;
+			output += literalLength;
+			if (input == end) {
+				break;
+			}
+			if (end - input < 2) {
+				return false;
+			}
+			int distance = (source[input] & 0xFF) | (source[input + 1] & 0xFF) << 8;
+			input += 2;
+			if (distance == 0 || distance > output - targetOffset) {
+				return false;
+			}
+			int matchLength = token & RUN_MASK;
+			if (matchLength == RUN_MASK) {
+				int value;
+				do {
+					if (input == end) {
+						return false;
+					}
+					value = source[input++] & 0xFF;
+					matchLength += value;
+				} while (value == 0xFF && matchLength > 0);
+			}
+			matchLength += MIN_MATCH;
+			if (matchLength < MIN_MATCH || matchLength > outputEnd - output) {
+				return false;
+			}
+			int from = output - distance;
+			while (matchLength > 0) {
+				int count = Math.min(matchLength, output - from);
+				System.arraycopy(target, from, target, output, count);
+				output += count;
+				matchLength -= count;
+			}
+		}
+		return output == outputEnd;
+	}
+
+	/**
+	 * This method returns the number of equal bytes at the given indices of the
+	 * given array, comparing eight bytes at a time and stopping before the given
+	 * limit of the second index.
+	 *
+	 * @param array The array containing the bytes
+	 * @param first The index of the earlier bytes
+	 * @param second The index of the later bytes
+	 * @param limit The index the later bytes must end before
+	 * @return The number of equal bytes
+	 */
+	private static int commonLength(byte[] array, int first, int second, int limit) {
+		int start = second;
+		while (second <= limit - Long.BYTES) {
+			long difference = LongConverter.INSTANCE.readLong(array, first) ^ LongConverter.INSTANCE.readLong(array, second);
+			if (difference != 0) {
+				return second - start + (Long.numberOfLeadingZeros(difference) >>> 3);
+			}
+			first += Long.BYTES;
+			second += Long.BYTES;
+		}
+		while (second < limit && array[first] == array[second]) {
+			first++;
+			second++;
+		}
+		return second - start;
+	}
+
+	/**
+	 * This method returns the slot of the hash table of the given four bytes.
+	 *
+	 * @param sequence The four bytes as an integer
+	 * @return The slot of the bytes
+	 */
+	private static int hash(int sequence) {
+		return (sequence * 0x9E3779B1) >>> (Integer.SIZE - HASH_LOG);
+	}
+
+	/**
+	 * This method writes the header of wrapped data with the given flag and
+	 * original length into the given array starting from the given offset.
+	 *
+	 * @param target The array to write the header into
+	 * @param offset The index to start writing from
+	 * @param flag   Whether the data is stored or compressed
+	 * @param length The length of the original data
+	 */
+	private static void writeHeader(byte[] target, int offset, byte flag, int length) {
+		target[offset] = flag;
+		IntegerConverter.INSTANCE.writeInt(target, offset + 1, length);
+	}
+
+	/**
+	 * This method returns whether the given region lies within the given array.
+	 *
+	 * @param array  The array containing the region
+	 * @param offset The index of the first byte of the region
+	 * @param length The number of bytes of the region
+	 * @return Whether the region is valid
+	 */
+	private static boolean isValidRegion(byte[] array, int offset, int length) {
+		return array != null && offset >= 0 && length >= 0 && offset <= array.length - length;
+	}
+
+	/**
+	 * This class represents the hash table and the hash chains used to find
+	 * matches, along with a scratch array the output is written into. The
+	 * positions recorded are offset by a base that is advanced past every
+	 * compressed region, so the entries of earlier regions are recognized as
+	 * stale without clearing the tables.
+	 */
+	private static final class State {
+
+		final int[] head = new int[1 << HASH_LOG];
+		final int[] chain = new int[WINDOW_MASK + 1];
+		int base = 1;
+		int limit = 1;
+		byte[] scratch = null;
+
+		/**
+		 * This method reserves positions for a region of the given length following
+		 * every region reserved before and returns the position of its first byte,
+		 * clearing the hash table if the positions would overflow.
+		 *
+		 * @param length The length of the region
+		 * @return The position of the first byte of the region
+		 */
+		int advance(int length) {
+			if (this.limit > Integer.MAX_VALUE - length) {
+				Arrays.fill(this.head, 0);
+				this.limit = 1;
+			}
+			this.base = this.limit;
+			this.limit += length;
+			return this.base;
+		}
+
+		/**
+		 * This method drops the scratch array if it has grown too large, before
+		 * the state is returned to the pool.
+		 *
+		 * @return Whether the state may be kept
+		 */
+		boolean trim() {
+			if (this.scratch != null && this.scratch.length > MAX_SCRATCH_SIZE) {
+				this.scratch = null;
+			}
+			return true;
+		}
+
+		/**
+		 * This method returns a scratch array of at least the given length,
+		 * growing it if needed.
+		 *
+		 * @param length The minimum length
+		 * @return The scratch array
+		 */
+		byte[] scratch(int length) {
+			if (this.scratch == null || this.scratch.length < length) {
+				this.scratch = new byte[Math.max(length, 256)];
+			}
+			return this.scratch;
+		}
+
+	}
+
+}
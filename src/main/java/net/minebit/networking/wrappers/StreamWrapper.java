@@ -0,0 +1,113 @@
+package net.minebit.networking.wrappers;
+
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.zip.Deflater;
+
+/**
+ * This class contains the means to compress the payloads sent through a
+ * connection and decompress the payloads received through it with a single
+ * deflate stream per direction, kept in the {@link WrapperContext} of the
+ * connection for as long as it is open. Each payload is flushed at its end, so
+ * it can be decompressed as soon as it arrives, while repetitions across
+ * payloads are compressed as references to the earlier ones and no payload pays
+ * for a header or a trailer of its own. Since the payloads depend on the ones
+ * sent before them, they must be unwrapped in the order they were wrapped and
+ * cannot be replayed through another connection, and the wrapper cannot be
+ * used without a context. A session resumed through a new connection starts new
+ * streams.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+public class StreamWrapper implements IWrapper {
+
+	/**
+	 * The unique id of the wrapper's container
+	 */
+	public static final byte ID = 0x02;
+
+	/**
+	 * The only instance of the {@link StreamWrapper} object.
+	 */
+	public static final StreamWrapper INSTANCE = new StreamWrapper();
+
+	/**
+	 * The compression level of the outgoing streams.
+	 */
+	public static final int LEVEL = Deflater.DEFAULT_COMPRESSION;
+
+	/**
+	 * This constructor constructs a new {@link StreamWrapper} that compresses and
+	 * decompresses the payloads of connections.
+	 */
+	private StreamWrapper() {
+	}
+
+	/**
+	 * This method always returns an empty {@link Optional}, since payloads can
+	 * only be compressed through the stream of a connection.
+	 */
+	@Override
+	public Optional<byte[]> wrap(byte[] bytes) {
+		return Optional.empty();
+	}
+
+	/**
+	 * This method always returns an empty {@link Optional}, since payloads can
+	 * only be decompressed through the stream of a connection.
+	 */
+	@Override
+	public Optional<byte[]> unwrap(byte[] bytes) {
+		return Optional.empty();
+	}
+
+	/**
+	 * This method compresses the remaining bytes of the given buffer through the
+	 * outgoing stream of the given context and returns a buffer over the result in
+	 * an {@link Optional}. The position of the given buffer is not changed. If the
+	 * buffer or the context is NULL or the stream has been ended an empty
+	 * {@link Optional} will be returned.
+	 */
+	@Override
+	public Optional<ByteBuffer> wrap(ByteBuffer bytes, WrapperContext context) {
+		if (bytes == null || context == null) {
+			return Optional.empty();
+		}
+		Optional<byte[]> wrappedOptional;
+		if (bytes.hasArray()) {
+			wrappedOptional = context.getStream().deflate(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+		} else {
+			byte[] array = new byte[bytes.remaining()];
+			bytes.duplicate().get(array);
+			wrappedOptional = context.getStream().deflate(array, 0, array.length);
+		}
+		return wrappedOptional.isPresent() ? Optional.of(ByteBuffer.wrap(wrappedOptional.get())) : Optional.empty();
+	}
+
+	/**
+	 * This method decompresses the given number of bytes of the given array
+	 * starting from the given offset through the incoming stream of the given
+	 * context and returns the result in an {@link Optional}. If the region is not
+	 * valid, the context is NULL, the stream has been ended or the payload is
+	 * corrupted or out of order an empty {@link Optional} will be returned.
+	 */
+	@Override
+	public Optional<byte[]> unwrap(byte[] bytes, int offset, int length, WrapperContext context) {
+		if (bytes == null || context == null || offset < 0 || length < 0 || offset > bytes.length - length) {
+			return Optional.empty();
+		}
+		return context.getStream().inflate(bytes, offset, length);
+	}
+
+	/**
+	 * This method returns true, since the payloads depend on the ones wrapped
+	 * before them.
+	 */
+	@Override
+	public boolean isStateful() {
+		return true;
+	}
+
+}
@@ -0,0 +1,79 @@
+package net.minebit.networking.wrappers;
+
+/**
+ * This class represents the state a connection keeps for the wrappers applied to
+ * the frames it sends and receives, such as the preset dictionary negotiated
+ * when its session was created and the compression streams of the
+ * {@link StreamWrapper}. Every connection and client has its own context, which
+ * is given to the wrappers along with the bytes to wrap or unwrap.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+public final class WrapperContext {
+
+	private final Object mutex = new Object();
+
+	private volatile int dictionaryId = 0;
+	private CompressionStream stream = null;
+
+	/**
+	 * This constructor constructs a new {@link WrapperContext} without a
+	 * negotiated dictionary.
+	 */
+	public WrapperContext() {
+	}
+
+	/**
+	 * This method returns the id of the preset dictionary used by the
+	 * {@link DictionaryWrapper} to compress the frames sent, or zero if none has
+	 * been negotiated.
+	 *
+	 * @return The id of the dictionary
+	 */
+	public int getDictionaryId() {
+		return this.dictionaryId;
+	}
+
+	/**
+	 * This method sets the id of the preset dictionary used by the
+	 * {@link DictionaryWrapper} to compress the frames sent. Zero disables the
+	 * dictionary.
+	 *
+	 * @param dictionaryId The id of the dictionary
+	 */
+	public void setDictionaryId(int dictionaryId) {
+		this.dictionaryId = dictionaryId;
+	}
+
+	/**
+	 * This method ends the compression streams of the context, releasing their
+	 * native memory, so the next frame sent or received starts new streams. It is
+	 * invoked when the connection of the context is closed or reestablished.
+	 */
+	public void reset() {
+		synchronized (this.mutex) {
+			if (this.stream != null) {
+				this.stream.end();
+				this.stream = null;
+			}
+		}
+	}
+
+	/**
+	 * This method returns the compression streams of the context, starting them
+	 * if they have not been started.
+	 *
+	 * @return The context's compression streams
+	 */
+	CompressionStream getStream() {
+		synchronized (this.mutex) {
+			if (this.stream == null) {
+				this.stream = new CompressionStream(StreamWrapper.LEVEL);
+			}
+			return this.stream;
+		}
+	}
+
+}
@@ -0,0 +1,116 @@
+package net.minebit.networking.wrappers;
+
+import java.nio.ByteBuffer;
+import java.util.zip.Deflater;
+
+import net.minebit.networking.exceptions.IllegalConstructionException;
+import net.minebit.networking.wrappers.ZlibPool.Decompressor;
+
+/**
+ * This class compresses and decompresses the contents of {@link ByteBuffer}s
+ * for the {@link CompressionWrapper}. This version passes the arrays backing
+ * heap buffers to the deflaters and inflaters directly and copies the contents
+ * of direct buffers through temporary arrays, while the version of the Java 21
+ * layer of the multi-release jar, which the runtime loads in its place when
+ * supported, passes every buffer directly.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+final class ZlibBuffers {
+
+	/**
+	 * This constructor throws an {@link IllegalConstructionException} as
+	 * {@link ZlibBuffers} objects can't and shouldn't be constructed
+	 */
+	private ZlibBuffers() {
+		throw new IllegalConstructionException(ZlibBuffers.class.getSimpleName() + " objects cannot be constructed!");
+	}
+
+	/**
+	 * This method compresses the remaining bytes of the given source buffer with
+	 * the given deflater into the given target buffer, advancing the positions of
+	 * both buffers, and returns whether the result fit into the target.
+	 *
+	 * @param deflater The deflater to use
+	 * @param source   The buffer containing the data to compress
+	 * @param target   The buffer to write the compressed data into
+	 * @return Whether the data was compressed completely
+	 */
+	static boolean deflate(Deflater deflater, ByteBuffer source, ByteBuffer target) {
+		int length = source.remaining();
+		byte[] input = array(source);
+		int offset = source.hasArray() ? source.arrayOffset() + source.position() : 0;
+		int written;
+		if (target.hasArray()) {
+			written = CompressionWrapper.deflate(deflater, input, offset, length, target.array(), target.arrayOffset() + target.position(), target.remaining());
+			if (written >= 0) {
+				target.position(target.position() + written);
+			}
+		} else {
+			byte[] output = new byte[target.remaining()];
+			written = CompressionWrapper.deflate(deflater, input, offset, length, output, 0, output.length);
+			if (written >= 0) {
+				target.put(output, 0, written);
+			}
+		}
+		if (written < 0) {
+			return false;
+		}
+		source.position(source.limit());
+		return true;
+	}
+
+	/**
+	 * This method decompresses the remaining bytes of the given source buffer
+	 * with the given pooled inflater into the given target buffer, advancing the
+	 * positions of both buffers, and returns whether the data was complete, not
+	 * corrupted and fit into the target.
+	 *
+	 * @param decompressor The pooled inflater to use
+	 * @param source       The buffer containing the data to decompress
+	 * @param target       The buffer to write the decompressed data into
+	 * @return Whether the data was decompressed completely
+	 */
+	static boolean inflate(Decompressor decompressor, ByteBuffer source, ByteBuffer target) {
+		int length = source.remaining();
+		byte[] input = array(source);
+		int offset = source.hasArray() ? source.arrayOffset() + source.position() : 0;
+		int written;
+		if (target.hasArray()) {
+			written = CompressionWrapper.inflate(decompressor, input, offset, length, target.array(), target.arrayOffset() + target.position(), target.remaining());
+			if (written >= 0) {
+				target.position(target.position() + written);
+			}
+		} else {
+			byte[] output = new byte[target.remaining()];
+			written = CompressionWrapper.inflate(decompressor, input, offset, length, output, 0, output.length);
+			if (written >= 0) {
+				target.put(output, 0, written);
+			}
+		}
+		if (written < 0) {
+			return false;
+		}
+		source.position(source.limit() - decompressor.inflater.getRemaining());
+		return true;
+	}
+
+	/**
+	 * This method returns the array backing the given buffer or, if it is a
+	 * direct buffer, a copy of its remaining bytes.
+	 *
+	 * @param buffer The buffer to read
+	 * @return The array containing the bytes of the buffer
+	 */
+	private static byte[] array(ByteBuffer buffer) {
+		if (buffer.hasArray()) {
+			return buffer.array();
+		}
+		byte[] copy = new byte[buffer.remaining()];
+		buffer.duplicate().get(copy);
+		return copy;
+	}
+
+}
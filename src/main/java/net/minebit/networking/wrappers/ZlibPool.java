@@ -0,0 +1,166 @@
+package net.minebit.networking.wrappers;
+
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import net.minebit.networking.util.SlotPool;
+
+/**
+ * This class represents a bounded pool of {@link Deflater}s and
+ * {@link Inflater}s, whose native zlib state is reset and reused instead of
+ * being allocated for every operation. Each deflater is kept along with a
+ * scratch array its output is written into, and each inflater along with a
+ * single byte array used to check that no data follows the expected output.
+ * Instances are acquired and released without locking through
+ * {@link SlotPool}s. When the pool is empty new instances are created and when
+ * it is full released instances are ended immediately. Pooling instead of
+ * keeping an instance per thread keeps the native memory bounded even when the
+ * wrappers are used from a large number of virtual threads.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+final class ZlibPool {
+
+	private static final int MAX_SCRATCH_SIZE = 1 << 20;
+
+	private final SlotPool<Compressor> compressors;
+	private final SlotPool<Decompressor> decompressors;
+
+	/**
+	 * This constructor constructs a new {@link ZlibPool} that keeps up to the
+	 * given number of deflaters, created with the given compression level, and
+	 * of inflaters.
+	 *
+	 * @param level    The initial compression level of the deflaters
+	 * @param capacity The maximum number of deflaters and inflaters kept
+	 */
+	ZlibPool(int level, int capacity) {
+		this.compressors = new SlotPool<>(capacity, () -> new Compressor(new Deflater(level), level), compressor -> {
+			compressor.deflater.reset();
+			if (compressor.scratch.length > MAX_SCRATCH_SIZE) {
+				compressor.scratch = new byte[0];
+			}
+			return true;
+		}, compressor -> compressor.deflater.end());
+		this.decompressors = new SlotPool<>(capacity, () -> new Decompressor(new Inflater()), decompressor -> {
+			decompressor.inflater.reset();
+			return true;
+		}, decompressor -> decompressor.inflater.end());
+	}
+
+	/**
+	 * This method returns a deflater taken from the pool or a newly created one
+	 * if the pool is empty.
+	 *
+	 * @return The acquired deflater
+	 */
+	Compressor acquireCompressor() {
+		return this.compressors.acquire();
+	}
+
+	/**
+	 * This method resets the given deflater and returns it to the pool, or ends
+	 * it if the pool is full. A scratch array that grew too large is dropped.
+	 *
+	 * @param compressor The deflater that is no longer used
+	 */
+	void release(Compressor compressor) {
+		this.compressors.release(compressor);
+	}
+
+	/**
+	 * This method returns an inflater taken from the pool or a newly created one
+	 * if the pool is empty.
+	 *
+	 * @return The acquired inflater
+	 */
+	Decompressor acquireDecompressor() {
+		return this.decompressors.acquire();
+	}
+
+	/**
+	 * This method resets the given inflater and returns it to the pool, or ends
+	 * it if the pool is full.
+	 *
+	 * @param decompressor The inflater that is no longer used
+	 */
+	void release(Decompressor decompressor) {
+		this.decompressors.release(decompressor);
+	}
+
+	/**
+	 * This class represents a pooled deflater along with the scratch array its
+	 * output is written into, which grows as needed.
+	 */
+	static final class Compressor {
+
+		final Deflater deflater;
+		int level;
+		byte[] scratch = new byte[0];
+
+		/**
+		 * This constructor constructs a new {@link Compressor} around the given
+		 * deflater with the given compression level.
+		 *
+		 * @param deflater The pooled deflater
+		 * @param level    The compression level of the deflater
+		 */
+		Compressor(Deflater deflater, int level) {
+			this.deflater = deflater;
+			this.level = level;
+		}
+
+		/**
+		 * This method changes the compression level of the deflater, which must
+		 * not be in use, if it differs from the given one.
+		 *
+		 * @param level The compression level to use
+		 */
+		void setLevel(int level) {
+			if (this.level != level) {
+				this.deflater.setLevel(level);
+				this.level = level;
+			}
+		}
+
+		/**
+		 * This method returns the scratch array, replacing it with a larger one if
+		 * it is shorter than the given length.
+		 *
+		 * @param length The minimum length of the array
+		 * @return The scratch array
+		 */
+		byte[] scratch(int length) {
+			if (this.scratch.length < length) {
+				this.scratch = new byte[length];
+			}
+			return this.scratch;
+		}
+
+	}
+
+	/**
+	 * This class represents a pooled inflater along with the single byte array
+	 * it inflates into once the expected output has been written, to detect any
+	 * data that follows it without allocating.
+	 */
+	static final class Decompressor {
+
+		final Inflater inflater;
+		final byte[] probe = new byte[1];
+
+		/**
+		 * This constructor constructs a new {@link Decompressor} around the given
+		 * inflater.
+		 *
+		 * @param inflater The pooled inflater
+		 */
+		Decompressor(Inflater inflater) {
+			this.inflater = inflater;
+		}
+
+	}
+
+}
@@ -0,0 +1,39 @@
+package net.minebit.networking.dispatch;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import net.minebit.networking.exceptions.IllegalConstructionException;
+
+/**
+ * This class creates the executors running the handlers registered with
+ * {@link EExecutionMode#BLOCKING}, which give every handler a thread of its
+ * own. This version of the Java 21 layer of the multi-release jar runs every
+ * handler on a new virtual thread, so blocked handlers do not hold platform
+ * threads.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+public final class BlockingExecutors {
+
+	/**
+	 * This constructor throws an {@link IllegalConstructionException} as
+	 * {@link BlockingExecutors} objects can't and shouldn't be constructed
+	 */
+	private BlockingExecutors() {
+		throw new IllegalConstructionException(BlockingExecutors.class.getSimpleName() + " objects cannot be constructed!");
+	}
+
+	/**
+	 * This method creates a new executor running every task on a virtual thread
+	 * of its own.
+	 *
+	 * @return The new executor
+	 */
+	public static ExecutorService create() {
+		return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("minebit-blocking-", 1).factory());
+	}
+
+}
@@ -0,0 +1,48 @@
+package net.minebit.networking.util;
+
+import net.minebit.networking.exceptions.IllegalConstructionException;
+
+/**
+ * This class creates the threads serving single connections in blocking mode,
+ * each of which spends most of its time blocked reading from its connection.
+ * This version of the Java 21 layer of the multi-release jar creates virtual
+ * threads, which release their carrier while blocked, so a server may serve a
+ * connection per thread without being limited by the number of platform
+ * threads.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+public final class ConnectionThreads {
+
+	/**
+	 * This constructor throws an {@link IllegalConstructionException} as
+	 * {@link ConnectionThreads} objects can't and shouldn't be constructed
+	 */
+	private ConnectionThreads() {
+		throw new IllegalConstructionException(ConnectionThreads.class.getSimpleName() + " objects cannot be constructed!");
+	}
+
+	/**
+	 * This method creates a new virtual thread with the given name running the
+	 * given task, which is not started yet.
+	 *
+	 * @param task The task of the thread
+	 * @param name The name of the thread
+	 * @return The new thread
+	 */
+	public static Thread create(Runnable task, String name) {
+		return Thread.ofVirtual().name(name).unstarted(task);
+	}
+
+	/**
+	 * This method returns whether the threads created are virtual threads.
+	 *
+	 * @return Whether the threads are virtual
+	 */
+	public static boolean isVirtual() {
+		return true;
+	}
+
+}
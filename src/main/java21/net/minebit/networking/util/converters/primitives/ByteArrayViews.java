@@ -0,0 +1,106 @@
+package net.minebit.networking.util.converters.primitives;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+import net.minebit.networking.exceptions.IllegalConstructionException;
+
+/**
+ * This class reads and writes big-endian primitive values in byte arrays for
+ * the primitive converters. This version of the Java 21 layer of the
+ * multi-release jar accesses the arrays through byte array views, which the
+ * compiler turns into single unaligned loads and stores, and is loaded by the
+ * runtime in place of the version assembling the values byte by byte.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+final class ByteArrayViews {
+
+	private static final VarHandle SHORT = MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.BIG_ENDIAN);
+	private static final VarHandle INT = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+	private static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+	/**
+	 * This constructor throws an {@link IllegalConstructionException} as
+	 * {@link ByteArrayViews} objects can't and shouldn't be constructed
+	 */
+	private ByteArrayViews() {
+		throw new IllegalConstructionException(ByteArrayViews.class.getSimpleName() + " objects cannot be constructed!");
+	}
+
+	/**
+	 * This method writes the given short value in big-endian order into the given
+	 * array starting from the given offset.
+	 *
+	 * @param buffer The array to write the value into
+	 * @param offset The index to start writing from
+	 * @param value  The short value to write
+	 */
+	static void writeShort(byte[] buffer, int offset, short value) {
+		SHORT.set(buffer, offset, value);
+	}
+
+	/**
+	 * This method reads a big-endian short value from the given array starting
+	 * from the given offset.
+	 *
+	 * @param buffer The array to read the value from
+	 * @param offset The index to start reading from
+	 * @return The short value read
+	 */
+	static short readShort(byte[] buffer, int offset) {
+		return (short) SHORT.get(buffer, offset);
+	}
+
+	/**
+	 * This method writes the given integer value in big-endian order into the
+	 * given array starting from the given offset.
+	 *
+	 * @param buffer The array to write the value into
+	 * @param offset The index to start writing from
+	 * @param value  The integer value to write
+	 */
+	static void writeInt(byte[] buffer, int offset, int value) {
+		INT.set(buffer, offset, value);
+	}
+
+	/**
+	 * This method reads a big-endian integer value from the given array starting
+	 * from the given offset.
+	 *
+	 * @param buffer The array to read the value from
+	 * @param offset The index to start reading from
+	 * @return The integer value read
+	 */
+	static int readInt(byte[] buffer, int offset) {
+		return (int) INT.get(buffer, offset);
+	}
+
+	/**
+	 * This method writes the given long value in big-endian order into the given
+	 * array starting from the given offset.
+	 *
+	 * @param buffer The array to write the value into
+	 * @param offset The index to start writing from
+	 * @param value  The long value to write
+	 */
+	static void writeLong(byte[] buffer, int offset, long value) {
+		LONG.set(buffer, offset, value);
+	}
+
+	/**
+	 * This method reads a big-endian long value from the given array starting
+	 * from the given offset.
+	 *
+	 * @param buffer The array to read the value from
+	 * @param offset The index to start reading from
+	 * @return The long value read
+	 */
+	static long readLong(byte[] buffer, int offset) {
+		return (long) LONG.get(buffer, offset);
+	}
+
+}
@@ -0,0 +1,86 @@
+package net.minebit.networking.wrappers;
+
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import net.minebit.networking.exceptions.IllegalConstructionException;
+import net.minebit.networking.wrappers.ZlibPool.Decompressor;
+
+/**
+ * This class compresses and decompresses the contents of {@link ByteBuffer}s
+ * for the {@link CompressionWrapper}. This version of the Java 21 layer of the
+ * multi-release jar passes every buffer, heap or direct, to the deflaters and
+ * inflaters directly, so direct buffers are never copied through temporary
+ * arrays.
+ *
+ * @author Aggelowe
+ * @since v0.2.0-beta
+ *
+ */
+final class ZlibBuffers {
+
+	/**
+	 * This constructor throws an {@link IllegalConstructionException} as
+	 * {@link ZlibBuffers} objects can't and shouldn't be constructed
+	 */
+	private ZlibBuffers() {
+		throw new IllegalConstructionException(ZlibBuffers.class.getSimpleName() + " objects cannot be constructed!");
+	}
+
+	/**
+	 * This method compresses the remaining bytes of the given source buffer with
+	 * the given deflater into the given target buffer, advancing the positions of
+	 * both buffers, and returns whether the result fit into the target.
+	 *
+	 * @param deflater The deflater to use
+	 * @param source   The buffer containing the data to compress
+	 * @param target   The buffer to write the compressed data into
+	 * @return Whether the data was compressed completely
+	 */
+	static boolean deflate(Deflater deflater, ByteBuffer source, ByteBuffer target) {
+		deflater.setInput(source);
+		deflater.finish();
+		while (!deflater.finished()) {
+			if (!target.hasRemaining()) {
+				return false;
+			}
+			deflater.deflate(target);
+		}
+		return true;
+	}
+
+	/**
+	 * This method decompresses the remaining bytes of the given source buffer
+	 * with the given pooled inflater into the given target buffer, advancing the
+	 * positions of both buffers, and returns whether the data was complete, not
+	 * corrupted and fit into the target. Once the target is full, any remaining
+	 * output is detected through the probe array of the inflater.
+	 *
+	 * @param decompressor The pooled inflater to use
+	 * @param source       The buffer containing the data to decompress
+	 * @param target       The buffer to write the decompressed data into
+	 * @return Whether the data was decompressed completely
+	 */
+	static boolean inflate(Decompressor decompressor, ByteBuffer source, ByteBuffer target) {
+		Inflater inflater = decompressor.inflater;
+		inflater.setInput(source);
+		try {
+			while (!inflater.finished()) {
+				boolean full = !target.hasRemaining();
+				int count = full ? inflater.inflate(decompressor.probe) : inflater.inflate(target);
+				if (full && count > 0) {
+					return false;
+				}
+				if (count == 0 && !inflater.finished() && (inflater.needsInput() || inflater.needsDictionary())) {
+					return false;
+				}
+			}
+		} catch (DataFormatException exception) {
+			return false;
+		}
+		return true;
+	}
+
+}